@@ -0,0 +1,159 @@
+/**
+ * @file JsonBenchmark.java
+ *
+ * @description
+ * JMH-бенчмарк специализированных JSON-(де)сериализаторов ({@code SpecializedJsonModule}) против пути
+ * через бины Jackson (BeanSerializer/BeanDeserializer) на тех же данных.
+ *
+ * @details
+ * - {@code specialized=true} — ObjectMapper проекта с модулем, {@code false} — та же конфигурация без него
+ * - {@link #writeSuccessResponse} — ответ {@code SuccessResponse} со списком из {@code tasks} задач
+ *   (как GET /tasks)
+ * - {@link #readTaskCreateDto} — разбор тела {@code TaskCreateDto} (как POST /tasks)
+ * - Перед замерами {@link #setup} сверяет байты специализированного пути с путём через бины
+ *   ({@code ObjectMapperProvider.create(false)}) для успешного и ошибочного конверта и задачи:
+ *   при расхождении бенчмарк падает, ответы на проводе не должны меняться
+ *
+ * Запуск (профиль {@code jmh}):
+ * mvn -B -P jmh compile exec:exec@jmh
+ * mvn -B -P jmh compile exec:exec@jmh -Djmh.args="JsonBenchmark.readTaskCreateDto -f 1"
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.bench;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.controller.dto.TaskCreateDto;
+import com.chyvacheck.tasktracker.core.exceptions.base.ErrorCode;
+import com.chyvacheck.tasktracker.core.response.http.ErrorResponse;
+import com.chyvacheck.tasktracker.core.response.http.HttpStatusCode;
+import com.chyvacheck.tasktracker.core.response.http.SuccessResponse;
+import com.chyvacheck.tasktracker.core.system.ObjectMapperProvider;
+import com.chyvacheck.tasktracker.model.Task;
+
+/**
+ * Сравнение специализированной (де)сериализации JSON с путём через бины.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonBenchmark {
+
+	@Param({ "true", "false" })
+	public boolean specialized;
+
+	@Param({ "100" })
+	public int tasks;
+
+	private ObjectWriter writer;
+	private ObjectReader createDtoReader;
+	private SuccessResponse response;
+	private byte[] createDtoBody;
+
+	/**
+	 * * Setup
+	 */
+
+	@Setup
+	public void setup() {
+		ObjectMapper mapper = ObjectMapperProvider.create(this.specialized);
+
+		this.writer = mapper.writer();
+		this.createDtoReader = mapper.readerFor(TaskCreateDto.class);
+
+		LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 9, 30, 12, 345_000_000);
+		List<Task> list = new ArrayList<>(this.tasks);
+		for (int i = 1; i <= this.tasks; i++) {
+			// Конструктор без аргументов: ID задаётся вручную, счётчик ID и settings.json не затрагиваются
+			Task task = new Task();
+			task.setId(i);
+			task.setTitle("Task number " + i);
+			task.setCompleted(i % 3 == 0);
+			task.setCreatedAt(createdAt.plusMinutes(i));
+			task.setDeadline(i % 2 == 0 ? createdAt.plusDays(i) : null);
+			task.setVersion(i % 5);
+			list.add(task);
+		}
+
+		this.response = new SuccessResponse(HttpStatusCode.OK, "All tasks fetched successfully", list, null);
+		this.createDtoBody = "{\"title\":\"Buy milk\",\"deadline\":\"2030-05-01T12:00:00.123\"}"
+				.getBytes(StandardCharsets.UTF_8);
+
+		requireSameBytes(this.response);
+		requireSameBytes(new ErrorResponse(ErrorCode.TASK_NOT_FOUND, "Task with this id not found",
+				Map.of("title", "Title is required"), Map.of("id", 7L)));
+		requireSameBytes(list.get(1));
+	}
+
+	/**
+	 * Проверить, что специализированный путь пишет те же байты, что и путь через бины.
+	 *
+	 * @param value сериализуемое значение
+	 * @throws IllegalStateException если байты различаются
+	 */
+	private static void requireSameBytes(Object value) {
+		try {
+			byte[] specialized = ObjectMapperProvider.create(true).writeValueAsBytes(value);
+			byte[] bean = ObjectMapperProvider.create(false).writeValueAsBytes(value);
+
+			if (!Arrays.equals(specialized, bean)) {
+				throw new IllegalStateException("Specialized JSON differs from the bean path:\n"
+						+ new String(specialized, StandardCharsets.UTF_8) + "\n"
+						+ new String(bean, StandardCharsets.UTF_8));
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * * Benchmarks
+	 */
+
+	@Benchmark
+	public byte[] writeSuccessResponse() throws Exception {
+		return this.writer.writeValueAsBytes(this.response);
+	}
+
+	@Benchmark
+	public TaskCreateDto readTaskCreateDto() throws Exception {
+		return this.createDtoReader.readValue(this.createDtoBody);
+	}
+}
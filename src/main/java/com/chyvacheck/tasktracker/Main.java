@@ -15,6 +15,20 @@
  * - Настраивает ObjectMapper
  * - Подключает глобальные обработчики ошибок
  * - Инициализирует все модули (репозиторий, сервис, контроллер, middleware)
+ * - Подключает сбор метрик запросов (GET /metrics), включая память и CPU потока-обработчика по маршрутам
+ * - По параметру {@code tasktracker.repository.backend=memory} хранит задачи в памяти (снимки чтения MVCC)
+ * - По параметру {@code tasktracker.repository.instrumented} оборачивает репозиторий сбором статистики I/O
+ * - По параметру {@code tasktracker.storage.backend=async} обслуживает маршруты задач асинхронным файловым
+ *   репозиторием: он несовместим с {@code tasktracker.repository.backend=memory} (запуск прерывается),
+ *   а инструментирование репозитория к нему не применяется (только к пакетному импорту)
+ * - По параметру {@code tasktracker.jfr.enabled} (по умолчанию выключен) запускает in-process агрегацию
+ *   JFR-событий по фазам запроса (порог длительности фазы — {@code tasktracker.jfr.thresholdMs})
+ * - Присваивает каждому запросу RequestId и трассирует долю запросов
+ *   ({@code tasktracker.tracing.sampleRate}, просмотр через GET /admin/traces)
+ * - Снимает стеки запросов дольше {@code tasktracker.slow.thresholdMs} (журнал в GET /admin/slow-requests)
+ * - Профилирование CPU/памяти по запросу через POST /admin/profile
+ *   (не дольше {@code tasktracker.profiler.maxDurationSeconds})
+ * - Маршруты /admin регистрируются только при {@code tasktracker.admin.enabled=true} (по умолчанию выключены)
  * - Регистрирует все маршруты через RouteManager
  * 
  * Приложение стартует на порту 7070.
@@ -34,6 +48,8 @@ package com.chyvacheck.tasktracker;
  * ! lib imports
  */
 import io.javalin.Javalin;
+import io.javalin.compression.CompressionStrategy;
+import io.javalin.compression.Gzip;
 import io.javalin.json.JavalinJackson;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -41,52 +57,177 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * ! java imports
  */
 import java.util.List;
+import java.time.Duration;
 
 /**
  * ! my imports
  */
 import com.chyvacheck.tasktracker.core.exceptions.handler.GlobalExceptionHandler;
+import com.chyvacheck.tasktracker.core.metrics.MetricsRegistry;
+import com.chyvacheck.tasktracker.core.response.http.ResponseCompressor;
 import com.chyvacheck.tasktracker.core.routes.RouteManager;
+import com.chyvacheck.tasktracker.core.system.MutationPipeline;
 import com.chyvacheck.tasktracker.core.system.ObjectMapperProvider;
+import com.chyvacheck.tasktracker.core.system.StorageExecutor;
+import com.chyvacheck.tasktracker.core.system.jfr.JfrPhaseStats;
+import com.chyvacheck.tasktracker.core.system.jfr.JfrProfiler;
+import com.chyvacheck.tasktracker.core.system.tracing.Tracer;
+import com.chyvacheck.tasktracker.filesystem.AsyncTaskFileStorage;
 import com.chyvacheck.tasktracker.filesystem.SystemSettingsStorage;
+import com.chyvacheck.tasktracker.middleware.context.RequestContextMiddleware;
+import com.chyvacheck.tasktracker.middleware.jfr.JfrRequestMiddleware;
+import com.chyvacheck.tasktracker.middleware.metrics.RequestMetricsMiddleware;
+import com.chyvacheck.tasktracker.middleware.metrics.ResourceUsageMiddleware;
 import com.chyvacheck.tasktracker.middleware.validate.ValidateMiddleware;
+import com.chyvacheck.tasktracker.middleware.watchdog.SlowRequestWatchdog;
 import com.chyvacheck.tasktracker.repository.ITaskRepository;
+import com.chyvacheck.tasktracker.repository.impl.AsyncFileTaskRepository;
 import com.chyvacheck.tasktracker.repository.impl.FileTaskRepository;
+import com.chyvacheck.tasktracker.repository.impl.InMemoryTaskRepository;
+import com.chyvacheck.tasktracker.repository.impl.InstrumentedTaskRepository;
+import com.chyvacheck.tasktracker.controller.AdminController;
+import com.chyvacheck.tasktracker.controller.MetricsController;
 import com.chyvacheck.tasktracker.controller.TaskController;
+import com.chyvacheck.tasktracker.service.AsyncTaskService;
+import com.chyvacheck.tasktracker.service.IAsyncTaskService;
 import com.chyvacheck.tasktracker.service.ITaskService;
+import com.chyvacheck.tasktracker.service.NonBlockingTaskService;
 import com.chyvacheck.tasktracker.service.TaskService;
+import com.chyvacheck.tasktracker.utils.ConfigUtil;
 
 /**
  * Главная точка входа в приложение Task Tracker.
  */
 public class Main {
 	public static void main(String[] args) {
+		// Выбор хранилища проверяется до запуска модулей: при ошибке процесс сразу завершается
+		boolean memoryRepository = "memory".equals(ConfigUtil.getString("tasktracker.repository.backend", "file"));
+		boolean asyncStorageBackend = "async".equals(ConfigUtil.getString("tasktracker.storage.backend", "file"));
+		boolean instrumentedRepository = ConfigUtil.getBoolean("tasktracker.repository.instrumented", false);
+
+		// Асинхронное хранилище читает и пишет файлы задач напрямую: с репозиторием в памяти задачи
+		// разошлись бы между памятью (пакетный импорт) и файлами (остальные маршруты)
+		if (asyncStorageBackend && memoryRepository) {
+			throw new IllegalStateException(
+					"tasktracker.storage.backend=async is incompatible with tasktracker.repository.backend=memory");
+		}
+		if (asyncStorageBackend && instrumentedRepository) {
+			System.err.println("tasktracker.repository.instrumented applies only to POST /tasks/batch"
+					+ " with tasktracker.storage.backend=async");
+		}
+
 		// Загружаем системные настройки (например, lastId)
 		SystemSettingsStorage.loadSettings();
 
 		// Настройка ObjectMapper для работы с датами и запретом автоприведения типов
 		ObjectMapper objectMapper = ObjectMapperProvider.get();
 
+		// Порог и уровень gzip: общие для ответов контроллеров и остальных ответов Javalin
+		int compressionMinBytes = (int) ConfigUtil.getLong("tasktracker.compression.minBytes", 1500);
+		int compressionLevel = (int) ConfigUtil.getLong("tasktracker.compression.level", 6);
+
 		// Инициализация Javalin сервера
 		Javalin app = Javalin.create(config -> {
 			config.jsonMapper(new JavalinJackson(objectMapper, false));
+
+			CompressionStrategy compression = new CompressionStrategy(null, new Gzip(compressionLevel));
+			compression.setDefaultMinSizeForCompression(compressionMinBytes);
+			config.http.customCompression(compression);
 		}).start(7070);
 
+		// Реестр метрик (общий для всех подсистем)
+		MetricsRegistry metricsRegistry = MetricsRegistry.initialize();
+
+		// Сжатие ответов контроллеров (с кешем сжатых тел и метриками)
+		ResponseCompressor.initialize(metricsRegistry, compressionMinBytes, compressionLevel);
+
+		// Живая статистика по фазам запроса из JFR-событий (без внешнего агента); по умолчанию выключена:
+		// при пороге 0 каждая фаза каждого запроса записывается и разбирается потоком JFR
+		if (ConfigUtil.getBoolean("tasktracker.jfr.enabled", false)) {
+			JfrPhaseStats.initialize(metricsRegistry,
+					Duration.ofMillis(ConfigUtil.getLong("tasktracker.jfr.thresholdMs", 0))).start();
+		}
+
+		// Профилировщик по запросу (одна запись за раз, длительность ограничена)
+		JfrProfiler jfrProfiler = JfrProfiler.initialize(
+				ConfigUtil.getLong("tasktracker.profiler.maxDurationSeconds", 60));
+
+		// Выборочная трассировка запросов
+		Tracer tracer = Tracer.initialize(
+				ConfigUtil.getDouble("tasktracker.tracing.sampleRate", 0.01),
+				(int) ConfigUtil.getLong("tasktracker.tracing.capacity", 256));
+
 		// Инициализация middlewares
+		RequestContextMiddleware requestContextMiddleware = RequestContextMiddleware.initialize(tracer);
 		ValidateMiddleware.initialize();
+		RequestMetricsMiddleware requestMetricsMiddleware = RequestMetricsMiddleware.initialize(metricsRegistry);
+		ResourceUsageMiddleware resourceUsageMiddleware = ResourceUsageMiddleware.initialize(metricsRegistry);
+		JfrRequestMiddleware jfrRequestMiddleware = JfrRequestMiddleware.initialize();
+		SlowRequestWatchdog slowRequestWatchdog = SlowRequestWatchdog.initialize(
+				ConfigUtil.getLong("tasktracker.slow.thresholdMs", 500),
+				ConfigUtil.getLong("tasktracker.slow.sampleIntervalMs", 20),
+				(int) ConfigUtil.getLong("tasktracker.slow.journalCapacity", 64));
 
 		// Создание сервисов и репозиториев
-		ITaskRepository taskRepository = FileTaskRepository.initialize();
-		ITaskService taskService = TaskService.initialize(taskRepository);
-		TaskController taskController = TaskController.initialize(taskService);
+		// Репозиторий в памяти со снимками чтения (MVCC) вместо файлового (tasktracker.repository.backend=memory)
+		ITaskRepository taskRepository = memoryRepository
+				? InMemoryTaskRepository.initialize()
+				: FileTaskRepository.initialize();
+		if (instrumentedRepository) {
+			taskRepository = InstrumentedTaskRepository.initialize(taskRepository, metricsRegistry);
+		}
+
+		// Конвейер изменений: все изменения задач выполняет один поток, настройки сохраняются раз на пачку
+		MutationPipeline mutationPipeline = null;
+		if (ConfigUtil.getBoolean("tasktracker.mutations.pipeline", true)) {
+			mutationPipeline = MutationPipeline.initialize(metricsRegistry,
+					(int) ConfigUtil.getLong("tasktracker.mutations.capacity", 1024),
+					(int) ConfigUtil.getLong("tasktracker.mutations.maxBatch", 64));
+			SystemSettingsStorage.deferSaves();
+			mutationPipeline.addDurabilityHook(SystemSettingsStorage::flush);
+		}
+		ITaskService taskService = TaskService.initialize(taskRepository, mutationPipeline);
+
+		// Пул хранилища: обработчики задач не держат поток Jetty во время I/O
+		StorageExecutor storageExecutor = StorageExecutor.initialize(metricsRegistry,
+				(int) ConfigUtil.getLong("tasktracker.storage.threads", 8),
+				(int) ConfigUtil.getLong("tasktracker.storage.maxQueue", 256),
+				ConfigUtil.getLong("tasktracker.storage.writeLagMs", 20));
+
+		// Хранилище на AsynchronousFileChannel: I/O без потока на каждую операцию (tasktracker.storage.backend=async);
+		// маршруты задач, кроме пакетного импорта, идут мимо taskRepository (и его инструментирования)
+		IAsyncTaskService asyncTaskService;
+		if (asyncStorageBackend) {
+			AsyncTaskFileStorage asyncStorage = AsyncTaskFileStorage.initialize(metricsRegistry,
+					(int) ConfigUtil.getLong("tasktracker.storage.async.threads", 4),
+					(int) ConfigUtil.getLong("tasktracker.storage.async.maxInFlight", 64));
+			asyncTaskService = NonBlockingTaskService.initialize(taskService,
+					AsyncFileTaskRepository.initialize(asyncStorage), mutationPipeline, asyncStorage.getExecutor());
+		} else {
+			asyncTaskService = AsyncTaskService.initialize(taskService, storageExecutor);
+		}
+
+		TaskController taskController = TaskController.initialize(taskService, asyncTaskService);
+		MetricsController metricsController = MetricsController.initialize(metricsRegistry);
+		AdminController adminController = AdminController.initialize(tracer, slowRequestWatchdog, jfrProfiler);
 
 		/**
 		 * ✅ Регистрация маршрутов через RouteManager
 		 */
 		RouteManager routeManager = new RouteManager(app);
+		routeManager.use(requestContextMiddleware); // первым: контекст нужен остальным
+		routeManager.use(requestMetricsMiddleware);
+		routeManager.use(resourceUsageMiddleware);
+		routeManager.use(jfrRequestMiddleware);
+		routeManager.use(slowRequestWatchdog);
 		routeManager.registerControllers(List.of(
-				taskController // в будущем — другие контроллеры
+				taskController,
+				metricsController // в будущем — другие контроллеры
 		));
+		// Служебные маршруты без авторизации — только по явному включению
+		if (ConfigUtil.getBoolean("tasktracker.admin.enabled", false)) {
+			routeManager.registerControllers(List.of(adminController));
+		}
 
 		// Регистрация глобального обработчика ошибок
 		new GlobalExceptionHandler(app);
@@ -0,0 +1,219 @@
+/**
+ * @file AdminController.java
+ *
+ * @extends BaseController
+ *
+ * @description
+ * Контроллер служебных (диагностических) эндпоинтов приложения.
+ *
+ * @details
+ * Роуты:
+ * - GET /admin/traces — последние трассы запросов, попавших в выборку {@link Tracer} (новые — первыми)
+ * - GET /admin/slow-requests — журнал медленных запросов {@link SlowRequestWatchdog} (новые — первыми)
+ * - POST /admin/profile — JFR-профиль CPU или выделений памяти за заданное время ({@link JfrProfiler})
+ *
+ * Query-параметры валидируются через {@link AdminQueryDto} и {@link ProfileQueryDto}.
+ *
+ * Контроллер регистрируется только при {@code tasktracker.admin.enabled=true} (по умолчанию выключен):
+ * эндпоинты не требуют авторизации и не должны быть доступны на публичном порту без явного решения.
+ *
+ * Запись профиля идёт на потоке {@link JfrProfiler}: поток Jetty освобождается через {@link #async}
+ * и не занят на время записи.
+ *
+ * Профиль возвращается без обёртки SuccessResponse — в текстовом формате свёрнутых стеков,
+ * который напрямую принимают flamegraph.pl, speedscope и аналоги.
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.controller;
+
+/**
+ * ! lib imports
+ */
+import io.javalin.http.Context;
+
+/**
+ * ! java imports
+ */
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.controller.dto.AdminQueryDto;
+import com.chyvacheck.tasktracker.controller.dto.ProfileQueryDto;
+import com.chyvacheck.tasktracker.core.base.BaseController;
+import com.chyvacheck.tasktracker.core.response.http.HttpStatusCode;
+import com.chyvacheck.tasktracker.core.routes.Routable;
+import com.chyvacheck.tasktracker.core.routes.RouteDefinition;
+import com.chyvacheck.tasktracker.core.system.jfr.JfrProfiler;
+import com.chyvacheck.tasktracker.core.system.tracing.Trace;
+import com.chyvacheck.tasktracker.core.system.tracing.Tracer;
+import com.chyvacheck.tasktracker.middleware.validate.ValidateMiddleware;
+import com.chyvacheck.tasktracker.middleware.watchdog.SlowRequestRecord;
+import com.chyvacheck.tasktracker.middleware.watchdog.SlowRequestWatchdog;
+
+/**
+ * Контроллер служебных эндпоинтов.
+ */
+public class AdminController extends BaseController implements Routable {
+
+	private static final int DEFAULT_LIMIT = 50;
+	private static final int DEFAULT_PROFILE_SECONDS = 10;
+	private static final String COLLAPSED_CONTENT_TYPE = "text/plain; charset=utf-8";
+
+	private static AdminController instance;
+	private final Tracer tracer;
+	private final SlowRequestWatchdog slowRequestWatchdog;
+	private final JfrProfiler jfrProfiler;
+	private final ValidateMiddleware validateMiddleware = ValidateMiddleware.getInstance();
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор AdminController.
+	 *
+	 * @param tracer              трассировщик запросов
+	 * @param slowRequestWatchdog сторож медленных запросов
+	 * @param jfrProfiler         профилировщик по запросу
+	 */
+	protected AdminController(Tracer tracer, SlowRequestWatchdog slowRequestWatchdog, JfrProfiler jfrProfiler) {
+		super(AdminController.class, "/admin");
+		this.tracer = tracer;
+		this.slowRequestWatchdog = slowRequestWatchdog;
+		this.jfrProfiler = jfrProfiler;
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр AdminController.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param tracer              трассировщик запросов
+	 * @param slowRequestWatchdog сторож медленных запросов
+	 * @param jfrProfiler         профилировщик по запросу
+	 * @return инициализированный экземпляр AdminController
+	 * @throws IllegalStateException если контроллер уже был инициализирован
+	 */
+	public static AdminController initialize(Tracer tracer, SlowRequestWatchdog slowRequestWatchdog,
+			JfrProfiler jfrProfiler) {
+		if (instance != null) {
+			throw new IllegalStateException("AdminController already initialized!");
+		}
+
+		AdminController.instance = new AdminController(tracer, slowRequestWatchdog, jfrProfiler);
+		return instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр AdminController.
+	 *
+	 * @return экземпляр AdminController
+	 * @throws IllegalStateException если контроллер ещё не был инициализирован
+	 */
+	public static AdminController getInstance() {
+		if (AdminController.instance == null) {
+			throw new IllegalStateException("AdminController is not initialized yet!");
+		}
+		return AdminController.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	@Override
+	public List<RouteDefinition> routes() {
+		return List.of(
+				new RouteDefinition("GET", basePath + "/traces", this::getTraces),
+				new RouteDefinition("GET", basePath + "/slow-requests", this::getSlowRequests),
+				new RouteDefinition("POST", basePath + "/profile", this::profile));
+	}
+
+	/**
+	 * Получить последние трассы запросов.
+	 * <p>
+	 * Возвращает статус {@code 200 OK} и список трасс с деревом спанов по слоям.
+	 *
+	 * @param ctx Контекст HTTP-запроса Javalin
+	 * @throws Exception Если валидация query-параметров завершается с ошибкой
+	 */
+	private void getTraces(Context ctx) throws Exception {
+
+		AdminQueryDto dto = this.validateMiddleware.fromQuery(ctx, AdminQueryDto.class);
+
+		int limit = dto.getLimit() != null ? dto.getLimit() : DEFAULT_LIMIT;
+		long minDurationMs = dto.getMinDurationMs() != null ? dto.getMinDurationMs() : 0;
+
+		List<Trace> traces = this.tracer.recent(limit, minDurationMs);
+
+		respond(ctx,
+				HttpStatusCode.OK,
+				"Traces fetched successfully",
+				traces,
+				Map.of(
+						"sampleRate", this.tracer.getSampleRate(),
+						"capacity", this.tracer.getCapacity()));
+	}
+
+	/**
+	 * Получить журнал медленных запросов.
+	 * <p>
+	 * Возвращает статус {@code 200 OK} и записи журнала со свёрнутыми стеками потока-обработчика.
+	 *
+	 * @param ctx Контекст HTTP-запроса Javalin
+	 * @throws Exception Если валидация query-параметров завершается с ошибкой
+	 */
+	private void getSlowRequests(Context ctx) throws Exception {
+
+		AdminQueryDto dto = this.validateMiddleware.fromQuery(ctx, AdminQueryDto.class);
+
+		int limit = dto.getLimit() != null ? dto.getLimit() : DEFAULT_LIMIT;
+		long minDurationMs = dto.getMinDurationMs() != null ? dto.getMinDurationMs() : 0;
+
+		List<SlowRequestRecord> records = this.slowRequestWatchdog.recent(limit, minDurationMs);
+
+		respond(ctx,
+				HttpStatusCode.OK,
+				"Slow requests fetched successfully",
+				records,
+				Map.of(
+						"thresholdMs", this.slowRequestWatchdog.getThresholdMs(),
+						"sampleIntervalMs", this.slowRequestWatchdog.getSampleIntervalMs()));
+	}
+
+	/**
+	 * Записать JFR-профиль и вернуть свёрнутые стеки.
+	 * <p>
+	 * Возвращает статус {@code 200 OK} и профиль в текстовом формате
+	 * ({@code frame;frame;...;frame weight} на строку). Количество семплов — в заголовке {@code X-Profile-Samples}.
+	 * Если профилирование уже выполняется, возвращает {@code 409 Conflict}.
+	 * Запрос завершается асинхронно, когда запись разобрана.
+	 *
+	 * @param ctx Контекст HTTP-запроса Javalin
+	 * @throws Exception Если валидация query-параметров завершается с ошибкой
+	 */
+	private void profile(Context ctx) throws Exception {
+
+		ProfileQueryDto dto = this.validateMiddleware.fromQuery(ctx, ProfileQueryDto.class);
+
+		int seconds = dto.getSeconds() != null ? dto.getSeconds() : DEFAULT_PROFILE_SECONDS;
+		String mode = dto.getMode() != null ? dto.getMode() : JfrProfiler.MODE_CPU;
+		boolean appOnly = dto.getAppOnly() != null && dto.getAppOnly();
+
+		async(ctx, this.jfrProfiler.profile(seconds, mode, appOnly).thenAccept(profile -> {
+			ctx.header("X-Profile-Samples", Long.toString(profile.getSamples()));
+			ctx.contentType(COLLAPSED_CONTENT_TYPE);
+			ctx.result(profile.getCollapsed());
+		}));
+	}
+}
@@ -0,0 +1,117 @@
+/**
+ * @file MetricsController.java
+ *
+ * @extends BaseController
+ *
+ * @description
+ * Контроллер для экспорта метрик приложения.
+ *
+ * @details
+ * Роуты:
+ * - GET /metrics — все метрики из {@link MetricsRegistry} в текстовом формате Prometheus
+ *
+ * Ответ не оборачивается в SuccessResponse, так как формат задан Prometheus.
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.controller;
+
+/**
+ * ! lib imports
+ */
+import io.javalin.http.Context;
+
+/**
+ * ! java imports
+ */
+import java.util.List;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseController;
+import com.chyvacheck.tasktracker.core.metrics.MetricsRegistry;
+import com.chyvacheck.tasktracker.core.routes.Routable;
+import com.chyvacheck.tasktracker.core.routes.RouteDefinition;
+
+/**
+ * Контроллер для экспорта метрик.
+ */
+public class MetricsController extends BaseController implements Routable {
+
+	private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	private static MetricsController instance;
+	private final MetricsRegistry metricsRegistry;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор MetricsController.
+	 *
+	 * @param metricsRegistry реестр метрик
+	 */
+	protected MetricsController(MetricsRegistry metricsRegistry) {
+		super(MetricsController.class, "/metrics");
+		this.metricsRegistry = metricsRegistry;
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр MetricsController.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param metricsRegistry реестр метрик
+	 * @return инициализированный экземпляр MetricsController
+	 * @throws IllegalStateException если контроллер уже был инициализирован
+	 */
+	public static MetricsController initialize(MetricsRegistry metricsRegistry) {
+		if (instance != null) {
+			throw new IllegalStateException("MetricsController already initialized!");
+		}
+
+		MetricsController.instance = new MetricsController(metricsRegistry);
+		return instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр MetricsController.
+	 *
+	 * @return экземпляр MetricsController
+	 * @throws IllegalStateException если контроллер ещё не был инициализирован
+	 */
+	public static MetricsController getInstance() {
+		if (MetricsController.instance == null) {
+			throw new IllegalStateException("MetricsController is not initialized yet!");
+		}
+		return MetricsController.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	@Override
+	public List<RouteDefinition> routes() {
+		return List.of(
+				new RouteDefinition("GET", basePath, this::getMetrics));
+	}
+
+	/**
+	 * Получить все метрики в формате Prometheus.
+	 *
+	 * @param ctx Контекст HTTP-запроса Javalin
+	 */
+	private void getMetrics(Context ctx) {
+		ctx.contentType(PROMETHEUS_CONTENT_TYPE);
+		ctx.result(metricsRegistry.scrape());
+	}
+}
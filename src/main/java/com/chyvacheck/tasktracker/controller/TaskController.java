@@ -19,8 +19,32 @@
  * - GET /tasks/incomplete — получить не выполненные задачи
  * - GET /tasks/{id} — получить задачу по ID
  * - POST /tasks — создать новую задачу
+ * - POST /tasks/batch — импортировать массив задач (тело читается потоково, поэлементно)
  * - PATCH /tasks/{id} — отметить задачу как выполненную
  * 
+ * GET-роуты принимают {@code ?fields=id,title,...} — проекцию полей задачи ({@link TaskProjection}):
+ * в ответ пишутся только запрошенные поля, хранилище не разбирает остальные.
+ * 
+ * GET /tasks/{id} без проекции отдаёт сохранённый документ задачи как есть, без разбора и сериализации
+ * ({@link ITaskService#openTaskDocument}), если хранилище это поддерживает ({@code tasktracker.storage.rawReads}).
+ * 
+ * Версии задач: ответы с одной задачей ({@code GET /tasks/{id}} с разбором, {@code PATCH}) несут
+ * {@code ETag} с версией задачи ({@code "3"}). {@code PATCH} и {@code DELETE /tasks/{id}} принимают
+ * {@code If-Match}: список сильных ETag через запятую или {@code *}; если версия задачи не равна ни одному
+ * из них — 412 {@code TASK_VERSION_MISMATCH}. Условный запрос ({@code If-Match}, включая {@code *}) к несуществующей
+ * задаче тоже получает 412, а не 404 (RFC 9110: условие ложно без текущего представления).
+ * Сохранённый документ ({@code tasktracker.storage.rawReads}) отдаётся без {@code ETag}: версия в нём не разбирается.
+ * 
+ * Готовые ответы списков (и их gzip-версии) кешируются по маршруту и проекции до следующего изменения задач
+ * ({@link ITaskService#getVersion()}); отключается параметром {@code tasktracker.cache.lists=false}.
+ * 
+ * Обращения к хранилищу выполняются асинхронно ({@link IAsyncTaskService}, {@code ctx.future()}):
+ * поток Jetty занят только валидацией, а I/O идёт на пуле хранилища. При переполнении очереди хранилища
+ * запрос получает 503 ({@code STORAGE_OVERLOADED}). Исключение — импорт ({@code POST /tasks/batch}):
+ * он читает тело запроса потоково и ждёт каждую запись — писателя конвейера изменений или (без конвейера)
+ * пул хранилища ({@link StorageExecutor#call}), поэтому не отклоняется посреди тела, а замедляет клиента.
+ * Изменения остальных маршрутов с конвейером только публикуются: потоки хранилища не ждут писателя.
+ * 
  * Использует валидацию данных через ValidateMiddleware.
  * Генерирует стандартные ответы и ошибки с использованием базовых исключений.
  * 
@@ -34,30 +58,50 @@ package com.chyvacheck.tasktracker.controller;
  * ! lib imports
  */
 import io.javalin.http.Context;
+import io.javalin.http.Header;
 
 /**
  * ! java imports
  */
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * ! my imports
  */
 import com.chyvacheck.tasktracker.core.exceptions.custom.NotFoundTaskException;
+import com.chyvacheck.tasktracker.core.exceptions.custom.TaskVersionMismatchException;
 import com.chyvacheck.tasktracker.core.response.http.HttpStatusCode;
-import com.chyvacheck.tasktracker.core.response.http.SuccessResponse;
+import com.chyvacheck.tasktracker.core.response.http.ResponseCache;
 import com.chyvacheck.tasktracker.core.response.service.ServiceProcessType;
 import com.chyvacheck.tasktracker.core.response.service.ServiceResponse;
 import com.chyvacheck.tasktracker.core.routes.Routable;
 import com.chyvacheck.tasktracker.core.routes.RouteDefinition;
+import com.chyvacheck.tasktracker.core.system.ContentFormat;
+import com.chyvacheck.tasktracker.core.system.StorageExecutor;
+import com.chyvacheck.tasktracker.core.system.StorageExecutor.Priority;
+import com.chyvacheck.tasktracker.core.system.json.TaskProjection;
 import com.chyvacheck.tasktracker.core.base.BaseController;
+import com.chyvacheck.tasktracker.middleware.validate.BatchValidationResult;
 import com.chyvacheck.tasktracker.middleware.validate.ValidateMiddleware;
 import com.chyvacheck.tasktracker.controller.dto.TaskIdPathDto;
 import com.chyvacheck.tasktracker.controller.dto.TaskCreateDto;
+import com.chyvacheck.tasktracker.controller.dto.TaskFieldsQueryDto;
+import com.chyvacheck.tasktracker.filesystem.TaskDocument;
+import com.chyvacheck.tasktracker.service.IAsyncTaskService;
 import com.chyvacheck.tasktracker.service.ITaskService;
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
 import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+import com.chyvacheck.tasktracker.utils.ConfigUtil;
 
 /**
  * Контроллер для работы с задачами (Task).
@@ -66,7 +110,12 @@ public class TaskController extends BaseController implements Routable {
 
 	private static TaskController instance;
 	private final ITaskService taskService;
+	private final IAsyncTaskService asyncTaskService;
 	private final ValidateMiddleware validateMiddleware = ValidateMiddleware.getInstance();
+	private final StorageExecutor storageExecutor = StorageExecutor.getInstance();
+	private final ResponseCache listCache = ConfigUtil.getBoolean("tasktracker.cache.lists", true)
+			? new ResponseCache(256)
+			: null;
 
 	/**
 	 * * Constructor
@@ -75,11 +124,13 @@ public class TaskController extends BaseController implements Routable {
 	/**
 	 * Конструктор TaskController.
 	 * 
-	 * @param taskService сервис для работы с задачами
+	 * @param taskService      сервис для работы с задачами
+	 * @param asyncTaskService асинхронный сервис для работы с задачами
 	 */
-	protected TaskController(ITaskService taskService) {
+	protected TaskController(ITaskService taskService, IAsyncTaskService asyncTaskService) {
 		super(TaskController.class, "/tasks"); // Устанавливаем базовый путь для маршрутов задач
 		this.taskService = taskService;
+		this.asyncTaskService = asyncTaskService;
 	}
 
 	/**
@@ -93,16 +144,17 @@ public class TaskController extends BaseController implements Routable {
 	 * При повторной попытке инициализации будет выброшено исключение
 	 * {@link IllegalStateException}.
 	 *
-	 * @param taskService сервис задач, необходимый для работы контроллера
+	 * @param taskService      сервис задач, необходимый для работы контроллера
+	 * @param asyncTaskService асинхронный сервис задач (обращения к хранилищу вне потока запроса)
 	 * @return инициализированный экземпляр TaskController
 	 * @throws IllegalStateException если контроллер уже был инициализирован
 	 */
-	public static TaskController initialize(ITaskService taskService) {
+	public static TaskController initialize(ITaskService taskService, IAsyncTaskService asyncTaskService) {
 		if (instance != null) {
 			throw new IllegalStateException("TaskController already initialized!");
 		}
 
-		TaskController.instance = new TaskController(taskService);
+		TaskController.instance = new TaskController(taskService, asyncTaskService);
 		return instance;
 	}
 
@@ -131,6 +183,7 @@ public class TaskController extends BaseController implements Routable {
 		return List.of(
 				new RouteDefinition("GET", basePath, this::getAllTasks),
 				new RouteDefinition("POST", basePath, this::createOneTask),
+				new RouteDefinition("POST", basePath + "/batch", this::importTasks),
 				new RouteDefinition("GET", basePath + "/completed", this::getCompletedTasks),
 				new RouteDefinition("GET", basePath + "/incomplete", this::getIncompleteTasks),
 				new RouteDefinition("GET", basePath + "/{id}", this::getOneTaskById),
@@ -148,16 +201,15 @@ public class TaskController extends BaseController implements Routable {
 	 * Возвращает статус {@code 200 OK} и список всех задач.
 	 *
 	 * @param ctx Контекст HTTP-запроса Javalin
+	 * @throws Exception Если валидация query-параметров завершается с ошибкой
 	 */
-	private void getAllTasks(Context ctx) {
+	private void getAllTasks(Context ctx) throws Exception {
 
-		ServiceResponse<List<Task>> resultOpt = taskService.getAllTasks();
+		TaskProjection projection = projection(ctx);
 
-		ctx.json(new SuccessResponse(
-				HttpStatusCode.OK,
-				"All tasks fetched successfully",
-				resultOpt.getData(),
-				null));
+		respondList(ctx, "all", "All tasks fetched successfully", projection,
+				() -> asyncTaskService.getAllTasks(fields(projection))
+						.thenApply(ServiceResponse::getData));
 	}
 
 	/**
@@ -166,16 +218,15 @@ public class TaskController extends BaseController implements Routable {
 	 * Возвращает статус {@code 200 OK} и список задач, помеченных как завершённые.
 	 *
 	 * @param ctx Контекст HTTP-запроса Javalin
+	 * @throws Exception Если валидация query-параметров завершается с ошибкой
 	 */
-	private void getCompletedTasks(Context ctx) {
+	private void getCompletedTasks(Context ctx) throws Exception {
 
-		ServiceResponse<List<Task>> resultOpt = taskService.getTasksByCompletionStatus(true);
+		TaskProjection projection = projection(ctx);
 
-		ctx.json(new SuccessResponse(
-				HttpStatusCode.OK,
-				"Complete tasks fetched successfully",
-				resultOpt.getData(),
-				null));
+		respondList(ctx, "completed", "Complete tasks fetched successfully", projection,
+				() -> asyncTaskService.getTasksByCompletionStatus(true, fields(projection))
+						.thenApply(ServiceResponse::getData));
 	}
 
 	/**
@@ -184,16 +235,15 @@ public class TaskController extends BaseController implements Routable {
 	 * Возвращает статус {@code 200 OK} и список задач, которые ещё не завершены.
 	 *
 	 * @param ctx Контекст HTTP-запроса Javalin
+	 * @throws Exception Если валидация query-параметров завершается с ошибкой
 	 */
-	private void getIncompleteTasks(Context ctx) {
+	private void getIncompleteTasks(Context ctx) throws Exception {
 
-		ServiceResponse<List<Task>> resultOpt = taskService.getTasksByCompletionStatus(false);
+		TaskProjection projection = projection(ctx);
 
-		ctx.json(new SuccessResponse(
-				HttpStatusCode.OK,
-				"Incomplete tasks fetched successfully",
-				resultOpt.getData(),
-				null));
+		respondList(ctx, "incomplete", "Incomplete tasks fetched successfully", projection,
+				() -> asyncTaskService.getTasksByCompletionStatus(false, fields(projection))
+						.thenApply(ServiceResponse::getData));
 	}
 
 	/**
@@ -211,21 +261,191 @@ public class TaskController extends BaseController implements Routable {
 	private void getOneTaskById(Context ctx) throws Exception {
 
 		TaskIdPathDto dto = this.validateMiddleware.fromPath(ctx, TaskIdPathDto.class);
+		TaskProjection projection = projection(ctx);
+
+		long id = dto.getId();
+
+		// Полная задача в JSON — это ровно сохранённый документ: отдаём его без разбора
+		if (projection == null && asyncTaskService.hasTaskDocuments()
+				&& ContentFormat.forAccept(ctx.header(Header.ACCEPT)) == ContentFormat.JSON) {
+			async(ctx, asyncTaskService.openTaskDocument(id).thenCompose(documentOpt -> {
+				if (documentOpt.isEmpty()) {
+					// Документа нет — обычное чтение вернёт 404 (или задачу, если её успели создать)
+					return asyncTaskService.getOneTaskById(id, TaskField.ALL)
+							.thenAccept(resultOpt -> respondTask(ctx, id, resultOpt, null));
+				}
+
+				try {
+					respondDocument(ctx,
+							HttpStatusCode.OK,
+							"Tasks fetched successfully",
+							documentOpt.get(),
+							Map.of("id", id));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return CompletableFuture.completedFuture(null);
+			}));
+			return;
+		}
+
+		async(ctx, asyncTaskService.getOneTaskById(id, fields(projection))
+				.thenAccept(resultOpt -> respondTask(ctx, id, resultOpt, projection)));
+	}
 
-		Optional<ServiceResponse<Task>> resultOpt = taskService.getOneTaskById(dto.getId());
+	/**
+	 * Отправить задачу, прочитанную по идентификатору.
+	 *
+	 * @param ctx        Контекст HTTP-запроса Javalin
+	 * @param id         идентификатор задачи
+	 * @param resultOpt  результат чтения
+	 * @param projection проекция или {@code null}
+	 * @throws NotFoundTaskException если задача не найдена
+	 */
+	private void respondTask(Context ctx, long id, Optional<ServiceResponse<Task>> resultOpt,
+			TaskProjection projection) {
 
 		if (resultOpt.isEmpty()) {
-			throw new NotFoundTaskException("Task with this id not found", Map.of("id", dto.getId()));
+			throw new NotFoundTaskException("Task with this id not found", Map.of("id", id));
 		}
 
 		ServiceResponse<Task> result = resultOpt.get();
 
-		ctx.json(new SuccessResponse(
+		if (fields(projection).contains(TaskField.VERSION)) {
+			ctx.header(Header.ETAG, etag(result.getData()));
+		}
+
+		respond(ctx,
 				HttpStatusCode.OK,
 				"Tasks fetched successfully",
 				result.getData(),
-				Map.of("id", dto.getId())));
+				Map.of("id", id),
+				projection);
+	}
+
+	/**
+	 * Отправить список задач, переиспользуя готовый ответ, пока задачи не изменились.
+	 *
+	 * @param ctx        Контекст HTTP-запроса Javalin
+	 * @param list       имя списка (ключ кеша вместе с проекцией)
+	 * @param message    сообщение ответа
+	 * @param projection проекция или {@code null}
+	 * @param tasks      асинхронный поставщик списка задач
+	 */
+	private void respondList(Context ctx, String list, String message, TaskProjection projection,
+			Supplier<CompletableFuture<List<Task>>> tasks) {
+		if (this.listCache == null) {
+			async(ctx, tasks.get().thenAccept(data -> respond(ctx, HttpStatusCode.OK, message, data, null, projection)));
+			return;
+		}
+
+		// Версия читается до данных: изменение во время чтения сделает запись устаревшей
+		long version = asyncTaskService.getVersion();
+
+		respondCached(ctx, this.listCache, Map.entry(list, fields(projection)), version,
+				HttpStatusCode.OK, message, tasks, projection);
+	}
+
+	/**
+	 * Получить проекцию полей задачи из query-параметра {@code fields}.
+	 *
+	 * @param ctx Контекст HTTP-запроса Javalin
+	 * @return проекция или {@code null}, если параметр не задан
+	 * @throws Exception Если параметр не прошёл валидацию
+	 */
+	private TaskProjection projection(Context ctx) throws Exception {
+		TaskFieldsQueryDto query = this.validateMiddleware.fromQuery(ctx, TaskFieldsQueryDto.class);
+
+		return query.getFields() == null ? null : TaskProjection.parse(query.getFields());
+	}
+
+	/**
+	 * Поля задачи, которые нужно прочитать из хранилища для проекции.
+	 *
+	 * @param projection проекция или {@code null}
+	 * @return набор полей
+	 */
+	private static Set<TaskField> fields(TaskProjection projection) {
+		return projection == null ? TaskField.ALL : projection.getFields();
+	}
+
+	/**
+	 * ETag задачи: её версия в кавычках (сильный ETag).
+	 *
+	 * @param task задача
+	 * @return значение заголовка {@code ETag}
+	 */
+	private static String etag(Task task) {
+		return "\"" + task.getVersion() + "\"";
+	}
+
+	/**
+	 * Ожидаемые версии задачи из заголовка {@code If-Match}.
+	 * <p>
+	 * Без заголовка или с {@code *} версия не проверяется. Иначе заголовок — список ETag через запятую
+	 * ({@code "1", "2"}); условие выполнено, если версия задачи равна любому сильному ETag вида {@code "3"}.
+	 * Слабые ETag и чужие значения совпасть не могут (If-Match сравнивает строго) и пропускаются;
+	 * если в списке не осталось ни одной версии — сразу 412.
+	 *
+	 * @param ctx Контекст HTTP-запроса Javalin
+	 * @param id  идентификатор задачи
+	 * @return ожидаемые версии или {@link ExpectedVersion#ANY}
+	 * @throws TaskVersionMismatchException если ни одно значение заголовка не может совпасть с версией задачи
+	 */
+	private static ExpectedVersion expectedVersion(Context ctx, long id) {
+		String ifMatch = ctx.header(Header.IF_MATCH);
+
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return ExpectedVersion.ANY;
+		}
+
+		String[] tags = ifMatch.split(",");
+		long[] versions = new long[tags.length];
+		int count = 0;
+
+		for (String part : tags) {
+			String tag = part.trim();
+
+			if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+				try {
+					long version = Long.parseLong(tag.substring(1, tag.length() - 1));
+					if (version >= 0) {
+						versions[count++] = version;
+					}
+				} catch (NumberFormatException e) {
+					// не версия задачи — совпасть не может
+				}
+			}
+		}
+
+		if (count == 0) {
+			throw new TaskVersionMismatchException("Task version does not match",
+					Map.of("id", id, "ifMatch", ifMatch.trim()));
+		}
+
+		return ExpectedVersion.of(Arrays.copyOf(versions, count));
+	}
 
+	/**
+	 * Ошибка для задачи, которой нет.
+	 * <p>
+	 * Без {@code If-Match} — 404 {@code TASK_NOT_FOUND}. С {@code If-Match} (любым, включая {@code *}) — 412
+	 * {@code TASK_VERSION_MISMATCH}: по RFC 9110 (13.1.1) условие ложно, если у ресурса нет текущего
+	 * представления, а предусловия проверяются раньше, чем выбирается ответ самого метода.
+	 *
+	 * @param ctx Контекст HTTP-запроса Javalin
+	 * @param id  идентификатор задачи
+	 * @return исключение для ответа
+	 */
+	private static RuntimeException missingTask(Context ctx, long id) {
+		String ifMatch = ctx.header(Header.IF_MATCH);
+
+		if (ifMatch != null && !ifMatch.isBlank()) {
+			return new TaskVersionMismatchException("Task version does not match",
+					Map.of("id", id, "ifMatch", ifMatch.trim()));
+		}
+
+		return new NotFoundTaskException("Task with this id not found", Map.of("id", id));
 	}
 
 	/**
@@ -247,15 +467,67 @@ public class TaskController extends BaseController implements Routable {
 
 		TaskCreateDto dto = this.validateMiddleware.fromBody(ctx, TaskCreateDto.class);
 
-		ServiceResponse<Task> resultOpt = taskService.createOneTask(dto.getTitle(), false, dto.getDeadline());
+		async(ctx, asyncTaskService.createOneTask(dto.getTitle(), false, dto.getDeadline())
+				.thenAccept(result -> respond(ctx,
+						HttpStatusCode.CREATED,
+						"Task created successfully",
+						result.getData(),
+						null)));
+
+	}
+
+	/**
+	 * Импортировать массив задач.
+	 * <p>
+	 * Тело запроса ({@code [TaskCreateDto, ...]}) разбирается из потока поэлементно, каждая валидная задача
+	 * создаётся сразу. Невалидные элементы пропускаются, их ошибки возвращаются в ответе
+	 * в формате {@code [index].field} (элемент {@code null} — {@code [index]}). Возвращает статус
+	 * {@code 201 Created}, если создана хотя бы одна задача, иначе {@code 200 OK}.
+	 * <p>
+	 * Если разбор тела или сохранение прервались после создания части задач, возвращает
+	 * {@code 207 Multi-Status}: отчёт о созданных и отклонённых элементах и {@code failure}
+	 * (индекс элемента, на котором чтение остановилось, код и сообщение ошибки).
+	 *
+	 * @param ctx Контекст HTTP-запроса Javalin
+	 * @throws Exception Если тело запроса не удалось разобрать (до создания первой задачи) или оно слишком большое
+	 */
+	private void importTasks(Context ctx) throws Exception {
+
+		// С конвейером изменений поток запроса сам ждёт писателя, не занимая поток хранилища
+		BatchValidationResult result = this.validateMiddleware.forEachFromBody(ctx, TaskCreateDto.class,
+				dto -> {
+					if (taskService.hasMutationPipeline()) {
+						taskService.createOneTask(dto.getTitle(), false, dto.getDeadline());
+					} else {
+						this.storageExecutor.call(Priority.WRITE,
+								() -> taskService.createOneTask(dto.getTitle(), false, dto.getDeadline()));
+					}
+				});
+
+		Map<String, Object> data = new LinkedHashMap<>();
+		data.put("created", result.getAccepted());
+		data.put("rejected", result.getRejected());
+		data.put("errors", result.getErrors());
+
+		// Чтение прервано после сохранения части задач: 207 с отчётом, а не ошибка без него
+		if (result.isFailed()) {
+			data.put("failure", result.getFailure());
+
+			respond(ctx,
+					HttpStatusCode.MULTI_STATUS,
+					"Tasks partially imported",
+					data,
+					null);
+			return;
+		}
 
-		ctx.status(HttpStatusCode.CREATED.getCode());
-		ctx.json(new SuccessResponse(
-				HttpStatusCode.CREATED,
-				"Task created successfully",
-				resultOpt.getData(),
-				null));
+		HttpStatusCode status = result.getAccepted() > 0 ? HttpStatusCode.CREATED : HttpStatusCode.OK;
 
+		respond(ctx,
+				status,
+				"Tasks imported",
+				data,
+				null);
 	}
 
 	/**
@@ -274,6 +546,8 @@ public class TaskController extends BaseController implements Routable {
 	 * {@link NotFoundTaskException}.
 	 * - В случае непредвиденного типа процесса возвращает
 	 * {@code 500 Internal Server Error}.
+	 * - Если версия задачи не совпадает ни с одним ETag из {@code If-Match} или задачи нет, а
+	 * {@code If-Match} передан, возвращает {@code 412 Precondition Failed}.
 	 * <p>
 	 * Использует валидацию параметров пути через {@link ValidateMiddleware}.
 	 *
@@ -284,39 +558,51 @@ public class TaskController extends BaseController implements Routable {
 	private void completeOneTaskById(Context ctx) throws Exception {
 
 		TaskIdPathDto dto = this.validateMiddleware.fromPath(ctx, TaskIdPathDto.class);
+		ExpectedVersion expectedVersion = expectedVersion(ctx, dto.getId());
 
-		Optional<ServiceResponse<Task>> resultOpt = taskService.completeOneTaskById(dto.getId());
+		async(ctx, asyncTaskService.completeOneTaskById(dto.getId(), expectedVersion)
+				.thenAccept(resultOpt -> respondCompleted(ctx, dto, resultOpt)));
+	}
+
+	/**
+	 * Отправить результат завершения задачи.
+	 *
+	 * @param ctx       Контекст HTTP-запроса Javalin
+	 * @param dto       параметры пути запроса
+	 * @param resultOpt результат операции
+	 * @throws NotFoundTaskException если задача не найдена (или 412 при {@code If-Match}, см. {@link #missingTask})
+	 */
+	private void respondCompleted(Context ctx, TaskIdPathDto dto, Optional<ServiceResponse<Task>> resultOpt) {
 
 		if (resultOpt.isEmpty()) {
-			throw new NotFoundTaskException("Task with this id not found", Map.of("id", dto.getId()));
+			throw missingTask(ctx, dto.getId());
 		}
 
 		ServiceResponse<Task> result = resultOpt.get();
 
+		ctx.header(Header.ETAG, etag(result.getData()));
+
 		if (result.getProcess() == ServiceProcessType.NOTHING) {
 			// Задача уже была выполнена
-			ctx.status(HttpStatusCode.OK.getCode());
-			ctx.json(new SuccessResponse(
+			respond(ctx,
 					HttpStatusCode.OK,
 					"Task is already completed",
 					result.getData(),
-					Map.of("id", dto.getId())));
+					Map.of("id", dto.getId()));
 		} else if (result.getProcess() == ServiceProcessType.UPDATED) {
 			// Задача успешно завершена
-			ctx.status(HttpStatusCode.CREATED.getCode());
-			ctx.json(new SuccessResponse(
+			respond(ctx,
 					HttpStatusCode.CREATED,
 					"Task marked as completed successfully",
 					result.getData(),
-					Map.of("id", dto.getId())));
+					Map.of("id", dto.getId()));
 		} else {
 			// Непредвиденное поведение (на будущее защита)
-			ctx.status(HttpStatusCode.INTERNAL_SERVER_ERROR.getCode());
-			ctx.json(new SuccessResponse(
+			respond(ctx,
 					HttpStatusCode.INTERNAL_SERVER_ERROR,
 					"Unknown process during task completion",
 					result.getData(),
-					Map.of("id", dto.getId())));
+					Map.of("id", dto.getId()));
 		}
 
 	}
@@ -327,6 +613,9 @@ public class TaskController extends BaseController implements Routable {
 
 	/**
 	 * Удалить задачу по её идентификатору.
+	 * <p>
+	 * Если передан {@code If-Match} и версия задачи не совпадает ни с одним ETag из него (или задачи нет),
+	 * задача не удаляется и возвращается {@code 412 Precondition Failed}.
 	 *
 	 * @param ctx контекст запроса
 	 * @throws Exception если валидация или удаление завершились ошибкой
@@ -334,20 +623,21 @@ public class TaskController extends BaseController implements Routable {
 	private void deleteOneTaskById(Context ctx) throws Exception {
 
 		TaskIdPathDto dto = ValidateMiddleware.getInstance().fromPath(ctx, TaskIdPathDto.class);
+		ExpectedVersion expectedVersion = expectedVersion(ctx, dto.getId());
 
-		Optional<ServiceResponse<Task>> resultOpt = taskService.deleteOneTaskById(dto.getId());
+		async(ctx, asyncTaskService.deleteOneTaskById(dto.getId(), expectedVersion).thenAccept(resultOpt -> {
 
-		if (resultOpt.isEmpty()) {
-			throw new NotFoundTaskException("Task with this id not found", Map.of("id", dto.getId()));
-		}
+			if (resultOpt.isEmpty()) {
+				throw missingTask(ctx, dto.getId());
+			}
 
-		ServiceResponse<Task> result = resultOpt.get();
+			ServiceResponse<Task> result = resultOpt.get();
 
-		ctx.status(HttpStatusCode.OK.getCode());
-		ctx.json(new SuccessResponse(
-				HttpStatusCode.OK,
-				"Task deleted successfully",
-				result.getData(),
-				Map.of("id", dto.getId())));
+			respond(ctx,
+					HttpStatusCode.OK,
+					"Task deleted successfully",
+					result.getData(),
+					Map.of("id", dto.getId()));
+		}));
 	}
 }
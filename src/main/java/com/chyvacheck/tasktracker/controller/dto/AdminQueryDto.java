@@ -0,0 +1,55 @@
+/**
+ * @file AdminQueryDto.java
+ * 
+ * @description
+ * Data Transfer Object (DTO) для query-параметров диагностических эндпоинтов AdminController
+ * (трассы запросов, журнал медленных запросов).
+ * 
+ * @details
+ * DTO включает следующие поля (оба необязательные):
+ * - limit: максимальное количество записей в ответе (от 1 до 1000)
+ * - minDurationMs: минимальная длительность запроса в миллисекундах (ноль или больше)
+ * 
+ * Пример использования:
+ * GET /admin/traces?limit=20&minDurationMs=50
+ * GET /admin/slow-requests?limit=5
+ * 
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.controller.dto;
+
+/**
+ * ! lib imports
+ */
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * DTO для валидации query-параметров GET /admin/traces и GET /admin/slow-requests.
+ */
+public class AdminQueryDto {
+
+	/**
+	 * Максимальное количество записей в ответе.
+	 */
+	@Min(value = 1, message = "Limit must be at least 1")
+	@Max(value = 1000, message = "Limit must be at most 1000")
+	private Integer limit;
+
+	/**
+	 * Минимальная длительность запроса в миллисекундах.
+	 */
+	@PositiveOrZero(message = "Minimal duration must be zero or positive")
+	private Long minDurationMs;
+
+	public Integer getLimit() {
+		return limit;
+	}
+
+	public Long getMinDurationMs() {
+		return minDurationMs;
+	}
+}
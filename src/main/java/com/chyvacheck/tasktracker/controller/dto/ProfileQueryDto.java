@@ -0,0 +1,61 @@
+/**
+ * @file ProfileQueryDto.java
+ * 
+ * @description
+ * Data Transfer Object (DTO) для query-параметров эндпоинта профилирования по запросу.
+ * 
+ * @details
+ * DTO включает следующие поля (все необязательные):
+ * - seconds: длительность записи в секундах (не меньше 1; верхняя граница задаётся конфигурацией)
+ * - mode: режим профилирования — {@code cpu} (семплирование методов) или {@code alloc} (выделения памяти)
+ * - appOnly: оставить в стеках только кадры {@code com.chyvacheck.tasktracker}
+ * 
+ * Пример использования:
+ * POST /admin/profile?seconds=10&mode=cpu&appOnly=true
+ * 
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.controller.dto;
+
+/**
+ * ! lib imports
+ */
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * DTO для валидации query-параметров POST /admin/profile.
+ */
+public class ProfileQueryDto {
+
+	/**
+	 * Длительность записи в секундах.
+	 */
+	@Min(value = 1, message = "Duration must be at least 1 second")
+	private Integer seconds;
+
+	/**
+	 * Режим профилирования.
+	 */
+	@Pattern(regexp = "cpu|alloc", message = "Mode must be 'cpu' or 'alloc'")
+	private String mode;
+
+	/**
+	 * Оставить только кадры приложения.
+	 */
+	private Boolean appOnly;
+
+	public Integer getSeconds() {
+		return seconds;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	public Boolean getAppOnly() {
+		return appOnly;
+	}
+}
@@ -76,4 +76,12 @@ public class TaskCreateDto {
 		return deadline;
 	}
 
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public void setDeadline(LocalDateTime deadline) {
+		this.deadline = deadline;
+	}
+
 }
@@ -0,0 +1,42 @@
+/**
+ * @file TaskFieldsQueryDto.java
+ *
+ * @description
+ * Data Transfer Object (DTO) для query-параметра {@code fields} эндпоинтов чтения задач TaskController.
+ *
+ * @details
+ * DTO включает следующее поле (необязательное):
+ * - fields: имена полей задачи через запятую ({@code createdAt, id, title, completed, deadline, version});
+ *   без параметра задача возвращается целиком
+ *
+ * Пример использования:
+ * GET /tasks?fields=id,title,completed
+ * GET /tasks/42?fields=title
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.controller.dto;
+
+/**
+ * ! lib imports
+ */
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * DTO для валидации query-параметра `fields` в запросах чтения задач.
+ */
+public class TaskFieldsQueryDto {
+
+	/**
+	 * Запрошенные поля задачи через запятую.
+	 */
+	@Pattern(regexp = "(createdAt|id|title|completed|deadline|version)(,(createdAt|id|title|completed|deadline|version))*",
+			message = "Fields must be a comma-separated list of: createdAt, id, title, completed, deadline, version")
+	private String fields;
+
+	public String getFields() {
+		return fields;
+	}
+}
@@ -12,6 +12,15 @@
  * - Автоматически присваивает тип модуля как CONTROLLER
  * - Используется для унификации архитектуры всех контроллеров
  * - Обеспечивает общую точку расширения (если в будущем потребуется добавить базовые методы для всех контроллеров)
+ * - Пишет успешные ответы через {@link #respond}: конверт SuccessResponse собирается из предсериализованного
+ *   шаблона ({@link SuccessTemplate}) без создания объекта ответа
+ * - Формат ответа выбирается по заголовку {@code Accept} ({@link ContentFormat}): JSON или тот же конверт в CBOR
+ * - Тела не меньше порога сжимаются в gzip по {@code Accept-Encoding} ({@link ResponseCompressor});
+ *   {@link #respondCached} переиспользует готовое тело и его gzip-версию, пока не изменилась версия данных
+ * - Асинхронные обработчики передают работу в {@link #async}: поток Jetty освобождается до завершения future,
+ *   а контекст запроса переносится на поток, который завершит запрос
+ * - {@link #respondDocument} отдаёт уже сериализованный документ из хранилища между частями шаблона,
+ *   не разбирая его
  * 
  * Пример наследования:
  * public class TaskController extends BaseController
@@ -22,15 +31,38 @@
 
 package com.chyvacheck.tasktracker.core.base;
 
+/**
+ * ! lib imports
+ */
+import io.javalin.http.Context;
+import io.javalin.http.Header;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
 /**
  * ! java imports
  */
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * ! my imports
  */
+import com.chyvacheck.tasktracker.core.response.http.HttpStatusCode;
+import com.chyvacheck.tasktracker.core.response.http.ResponseCache;
+import com.chyvacheck.tasktracker.core.response.http.ResponseCompressor;
+import com.chyvacheck.tasktracker.core.response.http.SuccessResponse;
+import com.chyvacheck.tasktracker.core.response.http.SuccessTemplate;
+import com.chyvacheck.tasktracker.core.system.ContentFormat;
 import com.chyvacheck.tasktracker.core.system.ModuleType;
+import com.chyvacheck.tasktracker.core.system.context.RequestIdContext;
+import com.chyvacheck.tasktracker.filesystem.TaskDocument;
 
 /**
  * Абстрактный базовый класс для всех контроллеров приложения.
@@ -54,6 +86,210 @@ public abstract class BaseController extends BaseModule {
 		this.basePath = basePath;
 	}
 
+	/**
+	 * Отправить успешный ответ в стандартном конверте.
+	 * <p>
+	 * Эквивалент {@code ctx.status(status); ctx.json(new SuccessResponse(status, message, data, details))}
+	 * с тем же телом ответа байт в байт.
+	 *
+	 * @param ctx     контекст запроса
+	 * @param status  HTTP-статус (2xx)
+	 * @param message сообщение ответа
+	 * @param data    данные ответа
+	 * @param details дополнительные детали ответа
+	 * @throws IllegalArgumentException если статус не является успешным
+	 */
+	protected void respond(Context ctx, HttpStatusCode status, String message, Object data,
+			Map<String, Object> details) {
+		respond(ctx, status, message, data, details, null);
+	}
+
+	/**
+	 * Отправить успешный ответ в стандартном конверте, записав {@code data} указанным writer'ом
+	 * (например, проекцией полей задачи).
+	 *
+	 * @param ctx        контекст запроса
+	 * @param status     HTTP-статус (2xx)
+	 * @param message    сообщение ответа
+	 * @param data       данные ответа
+	 * @param details    дополнительные детали ответа
+	 * @param dataWriter writer для {@code data}; {@code null} — глобальный ObjectMapper
+	 * @throws IllegalArgumentException если статус не является успешным
+	 */
+	protected void respond(Context ctx, HttpStatusCode status, String message, Object data,
+			Map<String, Object> details, SuccessTemplate.ValueWriter dataWriter) {
+		ContentFormat format = ContentFormat.forAccept(ctx.header(Header.ACCEPT));
+
+		send(ctx, status, format, render(format, status, message, data, details, dataWriter), null);
+	}
+
+	/**
+	 * Отправить успешный ответ без деталей, переиспользуя тело из кеша, пока версия данных не изменилась.
+	 * <p>
+	 * Версия читается до получения данных: если данные изменятся во время построения тела,
+	 * запись в кеше сразу окажется устаревшей. В кеше хранится и gzip-версия тела, поэтому
+	 * повторная отдача не сжимает его заново.
+	 *
+	 * @param ctx        контекст запроса
+	 * @param cache      кеш ответов
+	 * @param key        ключ ответа в кеше (без учёта формата — он добавляется автоматически)
+	 * @param version    текущая версия данных
+	 * @param status     HTTP-статус (2xx)
+	 * @param message    сообщение ответа
+	 * @param data       асинхронный поставщик данных ответа (вызывается только при промахе кеша)
+	 * @param dataWriter writer для {@code data}; {@code null} — глобальный ObjectMapper
+	 * @throws IllegalArgumentException если статус не является успешным
+	 */
+	protected void respondCached(Context ctx, ResponseCache cache, Object key, long version, HttpStatusCode status,
+			String message, Supplier<? extends CompletableFuture<?>> data, SuccessTemplate.ValueWriter dataWriter) {
+		ContentFormat format = ContentFormat.forAccept(ctx.header(Header.ACCEPT));
+		ResponseCache.Entry cached = cache.get(key, format, version);
+
+		// Попадание отдаётся сразу на потоке запроса, без обращения к хранилищу
+		if (cached != null) {
+			send(ctx, status, format, cached.getBody(), cached);
+			return;
+		}
+
+		async(ctx, data.get().thenAccept(value -> {
+			byte[] body = render(format, status, message, value, null, dataWriter);
+			ResponseCache.Entry entry = cache.put(key, format, version, body);
+			send(ctx, status, format, entry.getBody(), entry);
+		}));
+	}
+
+	/**
+	 * Завершить запрос асинхронно: ответ пишется, когда завершится {@code work}.
+	 * <p>
+	 * Поток Jetty освобождается сразу. Продолжение запроса (after-обработчики, обработка исключения)
+	 * выполняется на потоке, завершившем {@code work}; контекст запроса переносится на этот поток
+	 * и снимается с текущего.
+	 *
+	 * @param ctx  контекст запроса
+	 * @param work работа, которая пишет ответ (или завершается исключением)
+	 */
+	protected void async(Context ctx, CompletableFuture<?> work) {
+		RequestIdContext context = RequestIdContext.current();
+
+		ctx.future(() -> work.whenComplete((result, error) -> RequestIdContext.attach(context)));
+		RequestIdContext.detach(context);
+	}
+
+	/**
+	 * Отправить успешный JSON-ответ, значением {@code data} которого является сохранённый документ.
+	 * <p>
+	 * Документ не разбирается: в поток ответа пишутся начало конверта, байты файла
+	 * ({@link TaskDocument#transferTo}) и конец конверта. Если тело нужно сжать, оно собирается в памяти
+	 * и отдаётся как обычно. Документ закрывается в любом случае.
+	 *
+	 * @param ctx      контекст запроса
+	 * @param status   HTTP-статус (2xx)
+	 * @param message  сообщение ответа
+	 * @param document документ, который становится значением {@code data}
+	 * @param details  дополнительные детали ответа
+	 * @throws IOException если документ не удалось прочитать
+	 */
+	protected void respondDocument(Context ctx, HttpStatusCode status, String message, TaskDocument document,
+			Map<String, Object> details) throws IOException {
+		try (document) {
+			SuccessTemplate template = SuccessTemplate.of(status, message);
+			byte[] head = template.renderHead(details);
+			byte[] tail = template.getTail();
+			long length = head.length + document.getSize() + tail.length;
+
+			if (ResponseCompressor.getInstance().shouldCompress(ctx, (int) Math.min(length, Integer.MAX_VALUE))) {
+				ByteArrayOutputStream body = new ByteArrayOutputStream((int) length);
+				body.write(head);
+				body.write(document.readAllBytes());
+				body.write(tail);
+				send(ctx, status, ContentFormat.JSON, body.toByteArray(), null);
+				return;
+			}
+
+			ctx.status(status.getCode());
+			ctx.header(Header.VARY, Header.ACCEPT + ", " + Header.ACCEPT_ENCODING);
+			ctx.contentType(ContentFormat.JSON.getMimeType());
+
+			// Начало конверта короче порога сжатия, поэтому Javalin не сжимает поток
+			OutputStream out = ctx.outputStream();
+			out.write(head);
+			document.transferTo(out);
+			out.write(tail);
+		}
+	}
+
+	/**
+	 * Собрать тело успешного ответа в выбранном формате.
+	 *
+	 * @param format     формат ответа
+	 * @param status     HTTP-статус (2xx)
+	 * @param message    сообщение ответа
+	 * @param data       данные ответа
+	 * @param details    дополнительные детали ответа
+	 * @param dataWriter writer для {@code data}; {@code null} — глобальный ObjectMapper
+	 * @return тело ответа
+	 */
+	private static byte[] render(ContentFormat format, HttpStatusCode status, String message, Object data,
+			Map<String, Object> details, SuccessTemplate.ValueWriter dataWriter) {
+		if (format == ContentFormat.JSON) {
+			return SuccessTemplate.of(status, message).render(data, details, dataWriter);
+		}
+
+		Object value = dataWriter == null ? data : new WrittenValue(data, dataWriter);
+		return format.write(new SuccessResponse(status, message, value, details));
+	}
+
+	/**
+	 * Записать тело ответа, сжав его в gzip, если клиент это принимает и тело не меньше порога.
+	 *
+	 * @param ctx    контекст запроса
+	 * @param status HTTP-статус
+	 * @param format формат ответа
+	 * @param body   тело ответа
+	 * @param entry  запись кеша с этим телом или {@code null}
+	 */
+	private static void send(Context ctx, HttpStatusCode status, ContentFormat format, byte[] body,
+			ResponseCache.Entry entry) {
+		ResponseCompressor compressor = ResponseCompressor.getInstance();
+
+		ctx.status(status.getCode());
+		ctx.header(Header.VARY, Header.ACCEPT + ", " + Header.ACCEPT_ENCODING);
+		ctx.contentType(format.getMimeType());
+
+		if (compressor.shouldCompress(ctx, body.length)) {
+			// С выставленным Content-Encoding Javalin не сжимает ответ повторно
+			ctx.header(Header.CONTENT_ENCODING, ResponseCompressor.GZIP);
+			ctx.result(entry != null ? entry.gzip(compressor) : compressor.compress(body));
+		} else {
+			ctx.result(body);
+		}
+	}
+
+	/**
+	 * Значение {@code data}, которое пишется собственным writer'ом в любом формате Jackson.
+	 */
+	private static final class WrittenValue extends JsonSerializable.Base {
+
+		private final Object value;
+		private final SuccessTemplate.ValueWriter writer;
+
+		private WrittenValue(Object value, SuccessTemplate.ValueWriter writer) {
+			this.value = value;
+			this.writer = writer;
+		}
+
+		@Override
+		public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+			this.writer.write(gen, this.value);
+		}
+
+		@Override
+		public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+				throws IOException {
+			serialize(gen, serializers);
+		}
+	}
+
 	protected long logRequestStart(String methodName, String path, Map<String, ?> params) {
 		long startTime = System.currentTimeMillis();
 		this.info("Incoming request", Map.of(
@@ -18,6 +18,11 @@
  * 
  * При генерации ответа API на ошибку формирует стандартную структуру ErrorResponse.
  * 
+ * Ожидаемые бизнес-ошибки (404, ошибки валидации) создаются без стека вызовов
+ * (protected-конструктор с {@code writableStackTrace = false}): их бросают на каждый
+ * неверный запрос клиента, а стек для них не несёт информации. Подавленные исключения
+ * (try-with-resources) отключаются только вместе со стеком: исключения со стеком их сохраняют.
+ * 
  * Пример использования:
  * throw new BaseException(\"User not found\", ErrorCode.USER_NOT_FOUND, Map.of(\"id\", 1L), null);
  * 
@@ -56,7 +61,22 @@ public class BaseException extends RuntimeException {
 	 */
 	public BaseException(String message, ErrorCode code, Map<String, Object> details,
 			Map<String, String> errors) {
-		super(message);
+		this(message, code, details, errors, true);
+	}
+
+	/**
+	 * Конструктор базового исключения с выбором, снимать ли стек вызовов.
+	 *
+	 * @param message            текст ошибки для пользователя
+	 * @param code               код ошибки (ErrorCode)
+	 * @param details            дополнительные детали ошибки (параметры запроса)
+	 * @param errors             ошибки валидации по полям
+	 * @param writableStackTrace {@code false} — исключение без стека и без подавленных исключений
+	 *                           (для ожидаемых ошибок)
+	 */
+	protected BaseException(String message, ErrorCode code, Map<String, Object> details,
+			Map<String, String> errors, boolean writableStackTrace) {
+		super(message, null, writableStackTrace, writableStackTrace);
 
 		this.code = code;
 		this.details = details;
@@ -13,9 +13,11 @@
  * - 403 (Forbidden): Ошибки авторизации
  * - 404 (Not Found): Ошибки отсутствия ресурса
  * - 409 (Conflict): Конфликтные ситуации при запросах
+ * - 412 (Precondition Failed): Не выполнено условие запроса (например, {@code If-Match})
  * - 413 (Payload Too Large): Превышение допустимого размера запроса
  * - 422 (Unprocessable Entity): Ошибки бизнес-логики
  * - 500 (Internal Server Error): Ошибки сервера
+ * - 503 (Service Unavailable): Временная перегрузка сервера
  * 
  * Используется в BaseException и для формирования ErrorResponse в API.
  * 
@@ -128,6 +130,18 @@ public enum ErrorCode {
 	 */
 	USERNAME_ALREADY_TAKEN(HttpStatusCode.CONFLICT),
 
+	/**
+	 * Профилирование уже выполняется (одновременно допускается только одна запись).
+	 */
+	PROFILING_IN_PROGRESS(HttpStatusCode.CONFLICT),
+
+	// --- 412 PRECONDITION FAILED ---
+
+	/**
+	 * Версия задачи не совпадает с ожидаемой ({@code If-Match}): задачу успели изменить.
+	 */
+	TASK_VERSION_MISMATCH(HttpStatusCode.PRECONDITION_FAILED),
+
 	// --- 413 PAYLOAD TOO LARGE ---
 
 	/**
@@ -145,7 +159,14 @@ public enum ErrorCode {
 	/**
 	 * Внутренняя ошибка сервера.
 	 */
-	INTERNAL_ERROR(HttpStatusCode.INTERNAL_SERVER_ERROR);
+	INTERNAL_ERROR(HttpStatusCode.INTERNAL_SERVER_ERROR),
+
+	// --- 503 SERVICE UNAVAILABLE ---
+
+	/**
+	 * Очередь операций хранилища переполнена, запрос отклонён (можно повторить позже).
+	 */
+	STORAGE_OVERLOADED(HttpStatusCode.SERVICE_UNAVAILABLE);
 
 	private final HttpStatusCode status;
 
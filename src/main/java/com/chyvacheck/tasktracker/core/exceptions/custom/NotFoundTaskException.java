@@ -20,7 +20,8 @@ import com.chyvacheck.tasktracker.core.exceptions.base.ErrorCode;
 public class NotFoundTaskException extends BaseException {
 
 	public NotFoundTaskException(String message, Map<String, Object> details) {
-		super(message, ErrorCode.TASK_NOT_FOUND, details, null);
+		// Ожидаемая ошибка клиента — без стека вызовов
+		super(message, ErrorCode.TASK_NOT_FOUND, details, null, false);
 	}
 
 }
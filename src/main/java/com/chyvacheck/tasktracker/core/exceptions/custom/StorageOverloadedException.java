@@ -0,0 +1,26 @@
+/**
+ * @file StorageOverloadedException.java
+ * @extends BaseException
+ * @author Dmytro Shakh
+ */
+package com.chyvacheck.tasktracker.core.exceptions.custom;
+
+/**
+ * ! java imports
+ */
+import java.util.Map;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseException;
+import com.chyvacheck.tasktracker.core.exceptions.base.ErrorCode;
+
+public class StorageOverloadedException extends BaseException {
+
+	public StorageOverloadedException(String message, Map<String, Object> details) {
+		// Ожидаемый отказ под нагрузкой — без стека вызовов
+		super(message, ErrorCode.STORAGE_OVERLOADED, details, null, false);
+	}
+
+}
@@ -0,0 +1,26 @@
+/**
+ * @file TaskVersionMismatchException.java
+ * @extends BaseException
+ * @author Dmytro Shakh
+ */
+package com.chyvacheck.tasktracker.core.exceptions.custom;
+
+/**
+ * ! java imports
+ */
+import java.util.Map;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseException;
+import com.chyvacheck.tasktracker.core.exceptions.base.ErrorCode;
+
+public class TaskVersionMismatchException extends BaseException {
+
+	public TaskVersionMismatchException(String message, Map<String, Object> details) {
+		// Ожидаемый конфликт параллельных изменений — без стека вызовов
+		super(message, ErrorCode.TASK_VERSION_MISMATCH, details, null, false);
+	}
+
+}
@@ -0,0 +1,26 @@
+/**
+ * @file ValidationFailedException.java
+ * @extends BaseException
+ * @author Dmytro Shakh
+ */
+package com.chyvacheck.tasktracker.core.exceptions.custom;
+
+/**
+ * ! java imports
+ */
+import java.util.Map;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseException;
+import com.chyvacheck.tasktracker.core.exceptions.base.ErrorCode;
+
+public class ValidationFailedException extends BaseException {
+
+	public ValidationFailedException(String message, Map<String, Object> details, Map<String, String> errors) {
+		// Ожидаемая ошибка клиента — без стека вызовов
+		super(message, ErrorCode.VALIDATION_FAILED, details, errors, false);
+	}
+
+}
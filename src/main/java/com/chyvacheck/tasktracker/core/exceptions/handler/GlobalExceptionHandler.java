@@ -14,6 +14,16 @@
  * - Перехватывать неожиданные исключения (RuntimeException, NullPointerException и др.) и предотвращать падение сервера
  * - Выводить отладочную информацию в лог (или консоль)
  * 
+ * Тело ответа собирается из предсериализованного {@link ErrorTemplate} (код ошибки + сообщение),
+ * для неожиданных ошибок — кешируется целиком по классу исключения.
+ * Клиентам, запросившим CBOR ({@code Accept: application/cbor}), тот же ErrorResponse отдаётся в CBOR
+ * ({@link ContentFormat}).
+ * Ошибки клиента (4xx) пишутся в лог уровнем debug; отключается параметром
+ * {@code tasktracker.errors.logClientErrors=false}. Стек неожиданных ошибок печатается
+ * только в окружении debug.
+ * Отказы из-за перегрузки (503) — ожидаемое поведение под нагрузкой: они пишутся в лог как ошибки клиента
+ * (их видно по метрикам), а ответ получает заголовок {@code Retry-After}.
+ * 
  * Использование:
  * - Вызывается единожды в Main классе при старте приложения
  * - Интегрируется через метод register(Javalin app)
@@ -32,11 +42,13 @@ package com.chyvacheck.tasktracker.core.exceptions.handler;
  * ! lib imports
  */
 import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.Header;
 
-import java.util.HashMap;
 /**
  * ! java imports
  */
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -46,12 +58,33 @@ import com.chyvacheck.tasktracker.core.base.BaseException;
 import com.chyvacheck.tasktracker.core.base.BaseExceptionHandler;
 import com.chyvacheck.tasktracker.core.exceptions.base.ErrorCode;
 import com.chyvacheck.tasktracker.core.response.http.ErrorResponse;
+import com.chyvacheck.tasktracker.core.response.http.ErrorTemplate;
+import com.chyvacheck.tasktracker.core.response.http.HttpStatusCode;
+import com.chyvacheck.tasktracker.core.system.ContentFormat;
+import com.chyvacheck.tasktracker.utils.ConfigUtil;
+import com.chyvacheck.tasktracker.utils.EnvironmentUtil;
 
 /**
  * Глобальный обработчик всех ошибок в приложении.
  */
 public class GlobalExceptionHandler extends BaseExceptionHandler {
 
+	private static final String INTERNAL_ERROR_MESSAGE = "Something went wrong on the server";
+	private static final String RETRY_AFTER_SECONDS = "1";
+
+	/**
+	 * Тело ответа 500 зависит только от класса исключения.
+	 */
+	private static final ClassValue<byte[]> INTERNAL_ERROR_BODIES = new ClassValue<>() {
+		@Override
+		protected byte[] computeValue(Class<?> exceptionClass) {
+			return ErrorTemplate.of(ErrorCode.INTERNAL_ERROR, INTERNAL_ERROR_MESSAGE)
+					.render(null, Map.of("exception", exceptionClass.getSimpleName()));
+		}
+	};
+
+	private final boolean logClientErrors = ConfigUtil.getBoolean("tasktracker.errors.logClientErrors", true);
+
 	private Javalin app;
 
 	public GlobalExceptionHandler(Javalin app) {
@@ -71,31 +104,70 @@ public class GlobalExceptionHandler extends BaseExceptionHandler {
 		// ✅ Обработка всех ошибок BaseException
 		this.app.exception(BaseException.class, (e, ctx) -> {
 
-			Map<String, Object> details = new HashMap<>();
-			details.put("errorCode", e.getErrorCode());
-			details.put("details", e.getDetails());
-			details.put("message", e.getMessage());
+			boolean overloaded = e.getStatus() == HttpStatusCode.SERVICE_UNAVAILABLE.getCode();
+
+			if (e.getStatus() >= 500 && !overloaded) {
+				this.error("BaseException detected", describe(e), e);
+			} else if (this.logClientErrors) {
+				this.debug("BaseException detected", describe(e));
+			}
 
-			this.error("BaseException detected", details, e);
 			ctx.status(e.getStatus());
+			if (overloaded) {
+				ctx.header(Header.RETRY_AFTER, RETRY_AFTER_SECONDS);
+			}
 
-			ctx.json(new ErrorResponse(
-					e.getErrorCode(),
-					e.getMessage(),
-					e.getErrors(),
-					e.getDetails()));
+			ContentFormat format = ContentFormat.forAccept(ctx.header(Header.ACCEPT));
+			byte[] body = format == ContentFormat.JSON
+					? ErrorTemplate.of(e.getErrorCode(), e.getMessage()).render(e.getDetails(), e.getErrors())
+					: format.write(new ErrorResponse(e.getErrorCode(), e.getMessage(), e.getErrors(), e.getDetails()));
+
+			respond(ctx, format, body);
 		});
 
 		// ✅ Обработка всех неожиданных ошибок
 		this.app.exception(Exception.class, (e, ctx) -> {
-			e.printStackTrace(); // можно заменить на полноценный логгер
+			this.error("Unhandled exception", Map.of("exception", e.getClass().getName()), e);
+			if (EnvironmentUtil.isDebug()) {
+				e.printStackTrace();
+			}
 
 			ctx.status(500);
-			ctx.json(new ErrorResponse(
-					ErrorCode.INTERNAL_ERROR,
-					"Something went wrong on the server",
-					Map.of("exception", e.getClass().getSimpleName()),
-					null));
+
+			ContentFormat format = ContentFormat.forAccept(ctx.header(Header.ACCEPT));
+			byte[] body = format == ContentFormat.JSON
+					? INTERNAL_ERROR_BODIES.get(e.getClass())
+					: format.write(new ErrorResponse(ErrorCode.INTERNAL_ERROR, INTERNAL_ERROR_MESSAGE,
+							Map.of("exception", e.getClass().getSimpleName()), null));
+
+			respond(ctx, format, body);
 		});
 	}
+
+	/**
+	 * Записать готовое тело ответа.
+	 *
+	 * @param ctx    контекст запроса
+	 * @param format формат тела, выбранный по заголовку {@code Accept}
+	 * @param body   тело ответа
+	 */
+	private static void respond(Context ctx, ContentFormat format, byte[] body) {
+		ctx.header(Header.VARY, Header.ACCEPT);
+		ctx.contentType(format.getMimeType());
+		ctx.result(body);
+	}
+
+	/**
+	 * Собрать детали исключения для лога.
+	 *
+	 * @param e исключение
+	 * @return карта деталей
+	 */
+	private static Map<String, Object> describe(BaseException e) {
+		Map<String, Object> details = new HashMap<>();
+		details.put("errorCode", e.getErrorCode());
+		details.put("details", e.getDetails());
+		details.put("message", e.getMessage());
+		return details;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+/**
+ * @file Counter.java
+ *
+ * @description
+ * Монотонно возрастающий счётчик для метрик (количество запросов, байт и т.д.).
+ * Основан на {@link LongAdder}, поэтому не создаёт contention при записи из многих потоков.
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.metrics;
+
+/**
+ * ! java imports
+ */
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Монотонный счётчик метрик.
+ */
+public class Counter {
+
+	private final LongAdder value = new LongAdder();
+
+	/**
+	 * Увеличить счётчик на единицу.
+	 */
+	public void increment() {
+		this.value.increment();
+	}
+
+	/**
+	 * Увеличить счётчик на указанное значение.
+	 *
+	 * @param delta неотрицательное приращение
+	 */
+	public void add(long delta) {
+		this.value.add(delta);
+	}
+
+	/**
+	 * Получить текущее значение счётчика.
+	 *
+	 * @return значение
+	 */
+	public long get() {
+		return this.value.sum();
+	}
+}
@@ -0,0 +1,170 @@
+/**
+ * @file Histogram.java
+ *
+ * @description
+ * Lock-free гистограмма в стиле HDR (log-linear бакеты) для записи распределений значений
+ * (латентность в наносекундах, размеры в байтах и т.д.).
+ *
+ * @details
+ * Устройство:
+ * - Значения до 32 хранятся точно (линейная область)
+ * - Каждый следующий диапазон [2^n, 2^(n+1)) делится на 32 под-бакета → относительная погрешность ≈ 3%
+ * - Запись — один {@code incrementAndGet} в {@link AtomicLongArray}, без блокировок и аллокаций
+ * - Максимально различимое значение — 2^44 (≈ 4.8 часа в наносекундах), всё что больше попадает в последний бакет
+ *
+ * Снимок ({@link Snapshot}) используется для расчёта перцентилей при экспорте метрик.
+ *
+ * @example
+ * Histogram histogram = new Histogram();
+ * histogram.record(System.nanoTime() - start);
+ * long p99 = histogram.snapshot().valueAtQuantile(0.99);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.metrics;
+
+/**
+ * ! java imports
+ */
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear гистограмма значений.
+ */
+public class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+	private static final int MAX_VALUE_BITS = 44;
+	private static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Записать значение в гистограмму.
+	 * Отрицательные значения приводятся к нулю.
+	 *
+	 * @param value записываемое значение
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+
+		this.counts.incrementAndGet(indexOf(value));
+		this.sum.add(value);
+
+		long current;
+		while (value > (current = this.max.get()) && !this.max.compareAndSet(current, value)) {
+			// повторяем CAS пока не обновим максимум
+		}
+	}
+
+	/**
+	 * Получить согласованный снимок гистограммы.
+	 *
+	 * @return снимок счётчиков
+	 */
+	public Snapshot snapshot() {
+		long[] copy = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			copy[i] = this.counts.get(i);
+			total += copy[i];
+		}
+		return new Snapshot(copy, total, this.sum.sum(), this.max.get());
+	}
+
+	/**
+	 * Вычислить индекс бакета для значения.
+	 *
+	 * @param value неотрицательное значение
+	 * @return индекс бакета
+	 */
+	static int indexOf(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+
+		int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+		int index = (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) & SUB_BUCKET_MASK);
+
+		return Math.min(index, BUCKET_COUNT - 1);
+	}
+
+	/**
+	 * Получить наибольшее значение, попадающее в бакет.
+	 *
+	 * @param index индекс бакета
+	 * @return верхняя граница бакета
+	 */
+	static long highestEquivalentValue(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long lower = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+
+		return lower + (1L << shift) - 1;
+	}
+
+	/**
+	 * Неизменяемый снимок гистограммы.
+	 */
+	public static class Snapshot {
+
+		private final long[] counts;
+		private final long count;
+		private final long sum;
+		private final long max;
+
+		private Snapshot(long[] counts, long count, long sum, long max) {
+			this.counts = counts;
+			this.count = count;
+			this.sum = sum;
+			this.max = max;
+		}
+
+		/**
+		 * Получить значение для заданного квантиля.
+		 *
+		 * @param quantile квантиль от 0 до 1 (например, 0.99)
+		 * @return значение с точностью до бакета (не больше максимума)
+		 */
+		public long valueAtQuantile(double quantile) {
+			if (this.count == 0) {
+				return 0;
+			}
+
+			long rank = Math.max(1, (long) Math.ceil(quantile * this.count));
+			long seen = 0;
+			for (int i = 0; i < this.counts.length; i++) {
+				seen += this.counts[i];
+				if (seen >= rank) {
+					return Math.min(highestEquivalentValue(i), this.max);
+				}
+			}
+			return this.max;
+		}
+
+		public long getCount() {
+			return this.count;
+		}
+
+		public long getSum() {
+			return this.sum;
+		}
+
+		public long getMax() {
+			return this.max;
+		}
+	}
+}
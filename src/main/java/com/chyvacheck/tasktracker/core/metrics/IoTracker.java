@@ -0,0 +1,94 @@
+/**
+ * @file IoTracker.java
+ *
+ * @description
+ * Потоковые (thread-local) счётчики операций ввода-вывода хранилища.
+ * Слой хранения отмечает прочитанные/записанные байты и просмотренные записи,
+ * а инструментирующие декораторы считают разницу до и после вызова на том же потоке.
+ *
+ * @details
+ * - Запись в счётчики не требует синхронизации и не аллоцирует память
+ * - Значения только растут; интерес представляет разница между двумя чтениями
+ *
+ * @example
+ * IoTracker.Counts io = IoTracker.current();
+ * long before = io.getBytesRead();
+ * repository.getAllTask();
+ * long bytesRead = io.getBytesRead() - before;
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.metrics;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseUtil;
+
+/**
+ * Thread-local счётчики I/O хранилища.
+ */
+public class IoTracker extends BaseUtil {
+
+	private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+	/**
+	 * Получить счётчики текущего потока.
+	 *
+	 * @return счётчики текущего потока
+	 */
+	public static Counts current() {
+		return COUNTS.get();
+	}
+
+	/**
+	 * Отметить прочитанные байты.
+	 *
+	 * @param bytes количество байт
+	 */
+	public static void recordRead(long bytes) {
+		COUNTS.get().bytesRead += bytes;
+	}
+
+	/**
+	 * Отметить записанные байты.
+	 *
+	 * @param bytes количество байт
+	 */
+	public static void recordWrite(long bytes) {
+		COUNTS.get().bytesWritten += bytes;
+	}
+
+	/**
+	 * Отметить просмотренные записи (задачи).
+	 *
+	 * @param records количество записей
+	 */
+	public static void recordScanned(long records) {
+		COUNTS.get().recordsScanned += records;
+	}
+
+	/**
+	 * Накопительные счётчики одного потока.
+	 */
+	public static class Counts {
+
+		private long bytesRead;
+		private long bytesWritten;
+		private long recordsScanned;
+
+		public long getBytesRead() {
+			return this.bytesRead;
+		}
+
+		public long getBytesWritten() {
+			return this.bytesWritten;
+		}
+
+		public long getRecordsScanned() {
+			return this.recordsScanned;
+		}
+	}
+}
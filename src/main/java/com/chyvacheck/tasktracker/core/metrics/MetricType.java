@@ -0,0 +1,35 @@
+/**
+ * @file MetricType.java
+ *
+ * @description
+ * Перечисление типов метрик в терминах формата Prometheus.
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.metrics;
+
+/**
+ * Типы метрик.
+ */
+public enum MetricType {
+	COUNTER("counter"), // Монотонный счётчик
+	GAUGE("gauge"), // Текущее значение (может уменьшаться)
+	SUMMARY("summary"); // Распределение с квантилями (на базе Histogram)
+
+	private final String prometheusName;
+
+	MetricType(String prometheusName) {
+		this.prometheusName = prometheusName;
+	}
+
+	/**
+	 * Получить имя типа для строки {@code # TYPE}.
+	 *
+	 * @return имя типа в формате Prometheus
+	 */
+	public String getPrometheusName() {
+		return prometheusName;
+	}
+}
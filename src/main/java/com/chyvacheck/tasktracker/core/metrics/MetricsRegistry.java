@@ -0,0 +1,280 @@
+/**
+ * @file MetricsRegistry.java
+ *
+ * @extends BaseModule
+ *
+ * @description
+ * Единый реестр метрик приложения (счётчики, gauge, гистограммы).
+ * Все подсистемы (HTTP-слой, репозитории, хранилище) регистрируют свои метрики здесь,
+ * а {@code GET /metrics} отдаёт их в текстовом формате Prometheus.
+ *
+ * @details
+ * - Метрики группируются в семейства по имени; внутри семейства — по набору лейблов
+ * - Повторная регистрация с тем же именем и лейблами возвращает уже существующий объект
+ * - Гистограммы экспортируются как summary с квантилями 0.5 / 0.9 / 0.99 / 0.999
+ * - Для гистограмм задаётся масштаб (например, 1e-9 для перевода наносекунд в секунды)
+ *
+ * Поиск метрики по лейблам не бесплатен, поэтому горячий код должен кешировать
+ * полученные {@link Counter} / {@link Histogram}.
+ *
+ * @example
+ * Histogram latency = registry.histogram("tasktracker_http_request_duration_seconds",
+ *         "HTTP request latency", MetricsRegistry.NANOS_TO_SECONDS, Map.of("route", "GET /tasks"));
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.metrics;
+
+/**
+ * ! java imports
+ */
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseModule;
+import com.chyvacheck.tasktracker.core.system.ModuleType;
+
+/**
+ * Реестр метрик приложения.
+ */
+public class MetricsRegistry extends BaseModule {
+
+	/**
+	 * Масштаб для экспорта наносекунд в секундах.
+	 */
+	public static final double NANOS_TO_SECONDS = 1e-9;
+
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+	private static MetricsRegistry instance;
+
+	private final Map<String, Family> families = new ConcurrentHashMap<>();
+
+	/**
+	 * * Constructor
+	 */
+
+	protected MetricsRegistry() {
+		super(ModuleType.SYSTEM, MetricsRegistry.class);
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр MetricsRegistry.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @return инициализированный экземпляр MetricsRegistry
+	 * @throws IllegalStateException если реестр уже был инициализирован
+	 */
+	public static MetricsRegistry initialize() {
+		if (MetricsRegistry.instance != null) {
+			throw new IllegalStateException("MetricsRegistry already initialized!");
+		}
+		MetricsRegistry.instance = new MetricsRegistry();
+		return MetricsRegistry.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр MetricsRegistry.
+	 *
+	 * @return экземпляр MetricsRegistry
+	 * @throws IllegalStateException если реестр ещё не был инициализирован
+	 */
+	public static MetricsRegistry getInstance() {
+		if (MetricsRegistry.instance == null) {
+			throw new IllegalStateException("MetricsRegistry is not initialized yet!");
+		}
+		return MetricsRegistry.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Получить (или создать) счётчик.
+	 *
+	 * @param name   имя метрики
+	 * @param help   описание метрики
+	 * @param labels лейблы (может быть пустым)
+	 * @return счётчик
+	 */
+	public Counter counter(String name, String help, Map<String, String> labels) {
+		Family family = family(name, help, MetricType.COUNTER, 1);
+		return (Counter) family.metrics.computeIfAbsent(renderLabels(labels), key -> new Counter());
+	}
+
+	/**
+	 * Получить (или создать) гистограмму.
+	 *
+	 * @param name   имя метрики
+	 * @param help   описание метрики
+	 * @param scale  множитель значений при экспорте
+	 * @param labels лейблы (может быть пустым)
+	 * @return гистограмма
+	 */
+	public Histogram histogram(String name, String help, double scale, Map<String, String> labels) {
+		Family family = family(name, help, MetricType.SUMMARY, scale);
+		return (Histogram) family.metrics.computeIfAbsent(renderLabels(labels), key -> new Histogram());
+	}
+
+	/**
+	 * Зарегистрировать gauge, значение которого вычисляется при экспорте.
+	 *
+	 * @param name     имя метрики
+	 * @param help     описание метрики
+	 * @param labels   лейблы (может быть пустым)
+	 * @param supplier источник текущего значения
+	 */
+	public void gauge(String name, String help, Map<String, String> labels, DoubleSupplier supplier) {
+		Family family = family(name, help, MetricType.GAUGE, 1);
+		family.metrics.put(renderLabels(labels), supplier);
+	}
+
+	/**
+	 * Сформировать текстовое представление всех метрик в формате Prometheus.
+	 *
+	 * @return текст для ответа {@code GET /metrics}
+	 */
+	public String scrape() {
+		StringBuilder out = new StringBuilder(4096);
+
+		for (Family family : new TreeMap<>(this.families).values()) {
+			out.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+			out.append("# TYPE ").append(family.name).append(' ').append(family.type.getPrometheusName())
+					.append('\n');
+
+			for (Map.Entry<String, Object> entry : new TreeMap<>(family.metrics).entrySet()) {
+				String labels = entry.getKey();
+				Object metric = entry.getValue();
+
+				if (metric instanceof Counter counter) {
+					appendSample(out, family.name, labels, null, Long.toString(counter.get()));
+				} else if (metric instanceof DoubleSupplier gauge) {
+					appendSample(out, family.name, labels, null, formatDouble(gauge.getAsDouble()));
+				} else if (metric instanceof Histogram histogram) {
+					Histogram.Snapshot snapshot = histogram.snapshot();
+					for (double quantile : QUANTILES) {
+						appendSample(out, family.name, labels, "quantile=\"" + quantile + "\"",
+								formatDouble(scaled(snapshot.valueAtQuantile(quantile), family.scale)));
+					}
+					appendSample(out, family.name + "_sum", labels, null,
+							formatDouble(scaled(snapshot.getSum(), family.scale)));
+					appendSample(out, family.name + "_count", labels, null, Long.toString(snapshot.getCount()));
+				}
+			}
+		}
+
+		return out.toString();
+	}
+
+	/**
+	 * Получить или создать семейство метрик, проверив совпадение типа.
+	 */
+	private Family family(String name, String help, MetricType type, double scale) {
+		Family family = this.families.computeIfAbsent(name, key -> new Family(name, help, type, scale));
+
+		if (family.type != type) {
+			throw new IllegalArgumentException(
+					"Metric " + name + " already registered as " + family.type + ", not " + type);
+		}
+		return family;
+	}
+
+	/**
+	 * Добавить одну строку сэмпла в вывод.
+	 */
+	private static void appendSample(StringBuilder out, String name, String labels, String extraLabel,
+			String value) {
+		out.append(name);
+
+		if (!labels.isEmpty() || extraLabel != null) {
+			out.append('{').append(labels);
+			if (extraLabel != null) {
+				if (!labels.isEmpty()) {
+					out.append(',');
+				}
+				out.append(extraLabel);
+			}
+			out.append('}');
+		}
+
+		out.append(' ').append(value).append('\n');
+	}
+
+	/**
+	 * Отрендерить лейблы в каноничную строку {@code a="1",b="2"} (отсортировано по ключу).
+	 */
+	private static String renderLabels(Map<String, String> labels) {
+		if (labels == null || labels.isEmpty()) {
+			return "";
+		}
+
+		StringBuilder out = new StringBuilder();
+		for (Map.Entry<String, String> label : new TreeMap<>(labels).entrySet()) {
+			if (out.length() > 0) {
+				out.append(',');
+			}
+			out.append(label.getKey()).append("=\"").append(escapeLabelValue(label.getValue())).append('"');
+		}
+		return out.toString();
+	}
+
+	/**
+	 * Экранировать значение лейбла по правилам формата Prometheus.
+	 */
+	private static String escapeLabelValue(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	/**
+	 * Применить масштаб к значению. Дробный масштаб применяется делением,
+	 * чтобы избежать артефактов вида {@code 0.005324791000000001}.
+	 */
+	private static double scaled(long value, double scale) {
+		return scale < 1 ? value / Math.rint(1 / scale) : value * scale;
+	}
+
+	/**
+	 * Отформатировать число с плавающей точкой для экспорта.
+	 */
+	private static String formatDouble(double value) {
+		if (Double.isNaN(value)) {
+			return "NaN";
+		}
+		if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			return Long.toString((long) value);
+		}
+		return Double.toString(value);
+	}
+
+	/**
+	 * Семейство метрик с общим именем, типом и описанием.
+	 */
+	private static class Family {
+
+		private final String name;
+		private final String help;
+		private final MetricType type;
+		private final double scale;
+		private final Map<String, Object> metrics = new ConcurrentHashMap<>();
+
+		private Family(String name, String help, MetricType type, double scale) {
+			this.name = name;
+			this.help = help;
+			this.type = type;
+			this.scale = scale;
+		}
+	}
+}
@@ -15,6 +15,7 @@
  * - details: дополнительные детали ошибки
  * 
  * Проверяет, что переданный HTTP-статус является кодом ошибки.
+ * Порядок полей закреплён ({@link JsonPropertyOrder}), как в {@link SuccessResponse}.
  * 
  * Пример использования:
  * return new ErrorResponse(ErrorCode.TASK_NOT_FOUND, "Task not found", null, Map.of("id", 1L));
@@ -30,6 +31,11 @@
 
 package com.chyvacheck.tasktracker.core.response.http;
 
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 /**
  * ! java imports
  */
@@ -44,6 +50,7 @@ import com.chyvacheck.tasktracker.core.response.base.InnerResponse;
 /**
  * Реализация ответа API в случае ошибки.
  */
+@JsonPropertyOrder({ "message", "details", "errorCode", "errors", "statusCode", "httpStatusName" })
 public class ErrorResponse extends InnerResponse {
 
 	private final ErrorCode errorCode;
@@ -0,0 +1,198 @@
+/**
+ * @file ErrorTemplate.java
+ *
+ * @description
+ * Предсериализованный шаблон ответа с ошибкой ({@link ErrorResponse}) для пары «код ошибки + сообщение».
+ * Неизменяемые части JSON (message, errorCode, httpStatusName, statusCode) сериализуются один раз,
+ * на каждый ответ дописываются только {@code details} и {@code errors}.
+ *
+ * @details
+ * - Шаблон строится сериализацией самого {@link ErrorResponse} через {@link ObjectMapperProvider},
+ *   поэтому порядок полей и экранирование совпадают с {@code ctx.json(new ErrorResponse(...))} байт в байт
+ * - Шаблоны кешируются по коду ошибки и сообщению; кеш ограничен {@link #MAX_CACHED} записями
+ *   (сообщения с переменной частью не должны его раздувать — после заполнения шаблон строится без кеша)
+ * - Частый случай {@code details = {"id": 42}} (одно числовое значение) пишется без ObjectMapper
+ *
+ * @example
+ * byte[] body = ErrorTemplate.of(ErrorCode.TASK_NOT_FOUND, "Task with this id not found")
+ * 		.render(Map.of("id", 42L), null);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.response.http;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * ! java imports
+ */
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.exceptions.base.ErrorCode;
+import com.chyvacheck.tasktracker.core.system.ObjectMapperProvider;
+
+/**
+ * Предсериализованный шаблон ответа с ошибкой.
+ */
+public final class ErrorTemplate {
+
+	public static final int MAX_CACHED = 512;
+
+	private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+	private static final String DETAILS_MARKER = "\"details\":null";
+	private static final String ERRORS_MARKER = "\"errors\":null";
+
+	private static final Map<ErrorCode, Map<String, ErrorTemplate>> TEMPLATES = new EnumMap<>(ErrorCode.class);
+	private static final AtomicInteger cached = new AtomicInteger();
+
+	static {
+		for (ErrorCode code : ErrorCode.values()) {
+			TEMPLATES.put(code, new ConcurrentHashMap<>());
+		}
+	}
+
+	private final byte[] prefix;
+	private final byte[] middle;
+	private final byte[] suffix;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Построить шаблон, разрезав сериализованный ответ по значениям {@code details} и {@code errors}.
+	 *
+	 * @param code    код ошибки
+	 * @param message сообщение об ошибке
+	 */
+	private ErrorTemplate(ErrorCode code, String message) {
+		String json = write(new ErrorResponse(code, message, null, null));
+
+		// Сообщение идёт первым полем и экранировано, поэтому маркеры ищутся с конца
+		int details = json.lastIndexOf(DETAILS_MARKER) + DETAILS_MARKER.length() - NULL.length;
+		int errors = json.lastIndexOf(ERRORS_MARKER) + ERRORS_MARKER.length() - NULL.length;
+
+		this.prefix = json.substring(0, details).getBytes(StandardCharsets.UTF_8);
+		this.middle = json.substring(details + NULL.length, errors).getBytes(StandardCharsets.UTF_8);
+		this.suffix = json.substring(errors + NULL.length).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Получить шаблон для кода ошибки и сообщения.
+	 *
+	 * @param code    код ошибки
+	 * @param message сообщение об ошибке
+	 * @return шаблон ответа
+	 */
+	public static ErrorTemplate of(ErrorCode code, String message) {
+		if (message == null) {
+			return new ErrorTemplate(code, null);
+		}
+
+		Map<String, ErrorTemplate> byMessage = TEMPLATES.get(code);
+		ErrorTemplate template = byMessage.get(message);
+
+		if (template != null) {
+			return template;
+		}
+
+		template = new ErrorTemplate(code, message);
+
+		if (cached.get() < MAX_CACHED && byMessage.putIfAbsent(message, template) == null) {
+			cached.incrementAndGet();
+		}
+
+		return template;
+	}
+
+	/**
+	 * Сериализовать значение через глобальный ObjectMapper.
+	 *
+	 * @param value значение
+	 * @return JSON-строка
+	 */
+	private static String write(Object value) {
+		try {
+			return ObjectMapperProvider.get().writeValueAsString(value);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Unable to serialize error response", e);
+		}
+	}
+
+	/**
+	 * Сериализовать карту {@code details}/{@code errors}.
+	 *
+	 * @param map карта значений
+	 * @return JSON в UTF-8
+	 */
+	private static byte[] writeMap(Map<String, ?> map) {
+		if (map == null) {
+			return NULL;
+		}
+
+		if (map.size() == 1) {
+			Map.Entry<String, ?> entry = map.entrySet().iterator().next();
+			Object value = entry.getValue();
+
+			if (entry.getKey() != null && (value instanceof Long || value instanceof Integer)) {
+				StringBuilder builder = new StringBuilder(entry.getKey().length() + 24);
+				builder.append("{\"");
+				JsonStringEncoder.getInstance().quoteAsString(entry.getKey(), builder);
+				builder.append("\":").append(value).append('}');
+				return builder.toString().getBytes(StandardCharsets.UTF_8);
+			}
+		}
+
+		return write(map).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Собрать тело ответа с ошибкой.
+	 *
+	 * @param details дополнительные детали ошибки (может быть {@code null})
+	 * @param errors  ошибки по полям (может быть {@code null})
+	 * @return JSON-тело ответа в UTF-8
+	 */
+	public byte[] render(Map<String, Object> details, Map<String, String> errors) {
+		byte[] detailsJson = writeMap(details);
+		byte[] errorsJson = writeMap(errors);
+
+		byte[] body = new byte[this.prefix.length + detailsJson.length + this.middle.length + errorsJson.length
+				+ this.suffix.length];
+
+		int offset = 0;
+		offset = append(body, offset, this.prefix);
+		offset = append(body, offset, detailsJson);
+		offset = append(body, offset, this.middle);
+		offset = append(body, offset, errorsJson);
+		append(body, offset, this.suffix);
+
+		return body;
+	}
+
+	private static int append(byte[] target, int offset, byte[] source) {
+		System.arraycopy(source, 0, target, offset, source.length);
+		return offset + source.length;
+	}
+}
@@ -0,0 +1,152 @@
+/**
+ * @file ResponseCache.java
+ *
+ * @description
+ * Кеш готовых тел ответов (например, списков задач) с версионной инвалидацией.
+ * Рядом с исходными байтами хранится их gzip-версия, поэтому повторные попадания не сжимаются заново.
+ *
+ * @details
+ * - Ключ — произвольный объект вызывающего кода (маршрут, проекция) плюс формат ответа ({@link ContentFormat})
+ * - Запись действительна только для той версии данных, с которой она построена: версия читается до
+ *   получения данных, поэтому запись, построенная во время изменения, сразу считается устаревшей
+ * - gzip-версия строится лениво при первом запросе с {@code Accept-Encoding: gzip}; гонка двух потоков
+ *   приводит лишь к лишнему сжатию, а не к неверному ответу
+ * - Кеш ограничен {@code maxEntries} ключами; после заполнения новые ключи не кешируются
+ *
+ * @example
+ * ResponseCache.Entry entry = cache.get(key, ContentFormat.JSON, version);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.response.http;
+
+/**
+ * ! java imports
+ */
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.system.ContentFormat;
+
+/**
+ * Кеш тел ответов.
+ */
+public final class ResponseCache {
+
+	private final int maxEntries;
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор кеша.
+	 *
+	 * @param maxEntries максимальное количество ключей
+	 */
+	public ResponseCache(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Получить тело ответа для ключа, формата и версии данных.
+	 *
+	 * @param key     ключ вызывающего кода
+	 * @param format  формат ответа
+	 * @param version текущая версия данных
+	 * @return запись или {@code null}, если тела нет или оно построено для другой версии
+	 */
+	public Entry get(Object key, ContentFormat format, long version) {
+		Entry entry = this.entries.get(new Key(key, format));
+		return entry != null && entry.version == version ? entry : null;
+	}
+
+	/**
+	 * Сохранить тело ответа.
+	 *
+	 * @param key     ключ вызывающего кода
+	 * @param format  формат ответа
+	 * @param version версия данных, прочитанная до построения тела
+	 * @param body    тело ответа
+	 * @return сохранённая запись (её можно сразу отдавать)
+	 */
+	public Entry put(Object key, ContentFormat format, long version, byte[] body) {
+		Entry entry = new Entry(version, body);
+		Key cacheKey = new Key(key, format);
+
+		if (this.entries.size() < this.maxEntries || this.entries.containsKey(cacheKey)) {
+			this.entries.merge(cacheKey, entry, (current, fresh) -> fresh.version >= current.version ? fresh : current);
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Очистить кеш.
+	 */
+	public void clear() {
+		this.entries.clear();
+	}
+
+	/**
+	 * Ключ кеша: ключ вызывающего кода и формат ответа.
+	 */
+	private record Key(Object key, ContentFormat format) {
+	}
+
+	/**
+	 * Тело ответа и его gzip-версия.
+	 */
+	public static final class Entry {
+
+		private final long version;
+		private final byte[] body;
+		private volatile byte[] gzip;
+
+		private Entry(long version, byte[] body) {
+			this.version = version;
+			this.body = body;
+		}
+
+		/**
+		 * Получить тело в gzip, сжав его при первом обращении.
+		 *
+		 * @param compressor компрессор
+		 * @return тело в gzip
+		 */
+		public byte[] gzip(ResponseCompressor compressor) {
+			byte[] result = this.gzip;
+
+			if (result == null) {
+				result = compressor.compress(this.body);
+				this.gzip = result;
+			} else {
+				compressor.recordCached();
+			}
+
+			return result;
+		}
+
+		/**
+		 * ? Get
+		 */
+
+		public byte[] getBody() {
+			return body;
+		}
+
+		public long getVersion() {
+			return version;
+		}
+	}
+}
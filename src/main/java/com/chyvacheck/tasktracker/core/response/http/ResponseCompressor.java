@@ -0,0 +1,270 @@
+/**
+ * @file ResponseCompressor.java
+ *
+ * @description
+ * Сжатие тел ответов контроллеров (gzip) по заголовку {@code Accept-Encoding} с порогом минимального размера
+ * и метриками степени сжатия и затрат CPU.
+ *
+ * @details
+ * - Сжимаются только тела не меньше {@code minBytes}: для коротких ответов (чтение одной задачи, ошибки)
+ *   заголовки gzip и CPU дороже выигрыша
+ * - Уже сжатое тело можно переиспользовать ({@link ResponseCache}) — тогда сжатие не повторяется,
+ *   а в метриках учитывается повторная отдача
+ * - Ответ с выставленным {@code Content-Encoding} Javalin не сжимает повторно; остальные ответы
+ *   (метрики, профили) сжимает сам Javalin с тем же порогом и уровнем (см. Main)
+ *
+ * Метрики:
+ * - {@code tasktracker_http_compression_responses_total{source="compressed|cached"}} — сжатые ответы
+ * - {@code tasktracker_http_compression_input_bytes_total} / {@code tasktracker_http_compression_output_bytes_total}
+ *   — байты до и после сжатия (только реально выполненные сжатия)
+ * - {@code tasktracker_http_compression_ratio} — отношение исходного размера к сжатому
+ * - {@code tasktracker_http_compression_cpu_seconds} — CPU-время одного сжатия
+ *   (wall-clock, если JVM не поддерживает CPU-время потока)
+ *
+ * @example
+ * ResponseCompressor compressor = ResponseCompressor.initialize(registry, 1500, 6);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.response.http;
+
+/**
+ * ! lib imports
+ */
+import io.javalin.http.Context;
+import io.javalin.http.Header;
+
+/**
+ * ! java imports
+ */
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.metrics.Counter;
+import com.chyvacheck.tasktracker.core.metrics.Histogram;
+import com.chyvacheck.tasktracker.core.metrics.MetricsRegistry;
+
+/**
+ * Сжатие тел ответов.
+ */
+public final class ResponseCompressor {
+
+	public static final String GZIP = "gzip";
+
+	private static ResponseCompressor instance;
+
+	private final int minBytes;
+	private final int level;
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	private final boolean cpuSupported;
+
+	private final Counter compressed;
+	private final Counter cached;
+	private final Counter inputBytes;
+	private final Counter outputBytes;
+	private final Histogram cpu;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор компрессора.
+	 *
+	 * @param registry реестр метрик
+	 * @param minBytes минимальный размер тела для сжатия
+	 * @param level    уровень gzip (1..9)
+	 */
+	private ResponseCompressor(MetricsRegistry registry, int minBytes, int level) {
+		this.minBytes = minBytes;
+		this.level = level;
+		if (this.threads.isCurrentThreadCpuTimeSupported() && !this.threads.isThreadCpuTimeEnabled()) {
+			this.threads.setThreadCpuTimeEnabled(true);
+		}
+		this.cpuSupported = this.threads.isCurrentThreadCpuTimeSupported() && this.threads.isThreadCpuTimeEnabled();
+
+		this.compressed = registry.counter("tasktracker_http_compression_responses_total",
+				"Compressed responses by source of the compressed body", Map.of("source", "compressed"));
+		this.cached = registry.counter("tasktracker_http_compression_responses_total",
+				"Compressed responses by source of the compressed body", Map.of("source", "cached"));
+		this.inputBytes = registry.counter("tasktracker_http_compression_input_bytes_total",
+				"Bytes passed to the response compressor", Map.of());
+		this.outputBytes = registry.counter("tasktracker_http_compression_output_bytes_total",
+				"Bytes produced by the response compressor", Map.of());
+		this.cpu = registry.histogram("tasktracker_http_compression_cpu_seconds",
+				"CPU time spent compressing one response", MetricsRegistry.NANOS_TO_SECONDS, Map.of());
+		registry.gauge("tasktracker_http_compression_ratio",
+				"Uncompressed to compressed size ratio of compressed responses", Map.of(), this::ratio);
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр ResponseCompressor.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param registry реестр метрик
+	 * @param minBytes минимальный размер тела для сжатия
+	 * @param level    уровень gzip (1..9)
+	 * @return инициализированный экземпляр ResponseCompressor
+	 * @throws IllegalStateException если компрессор уже был инициализирован
+	 */
+	public static ResponseCompressor initialize(MetricsRegistry registry, int minBytes, int level) {
+		if (ResponseCompressor.instance != null) {
+			throw new IllegalStateException("ResponseCompressor already initialized!");
+		}
+		ResponseCompressor.instance = new ResponseCompressor(registry, minBytes, level);
+		return ResponseCompressor.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр ResponseCompressor.
+	 *
+	 * @return экземпляр ResponseCompressor
+	 * @throws IllegalStateException если компрессор ещё не был инициализирован
+	 */
+	public static ResponseCompressor getInstance() {
+		if (ResponseCompressor.instance == null) {
+			throw new IllegalStateException("ResponseCompressor is not initialized yet!");
+		}
+		return ResponseCompressor.instance;
+	}
+
+	/**
+	 * Принимает ли клиент gzip (по заголовку {@code Accept-Encoding}).
+	 *
+	 * @param acceptEncoding значение заголовка (может быть {@code null})
+	 * @return true, если gzip допустим
+	 */
+	static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+
+		boolean accepted = false;
+
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.split(";");
+			String name = parts[0].trim();
+
+			if (!name.equalsIgnoreCase(GZIP) && !name.equalsIgnoreCase("x-gzip") && !name.equals("*")) {
+				continue;
+			}
+
+			boolean allowed = true;
+			for (int i = 1; i < parts.length; i++) {
+				String parameter = parts[i].trim();
+				if (parameter.startsWith("q=")) {
+					try {
+						allowed = Double.parseDouble(parameter.substring(2)) > 0;
+					} catch (NumberFormatException e) {
+						allowed = false;
+					}
+				}
+			}
+
+			// Явный запрет gzip важнее разрешения через *
+			if (!name.equals("*")) {
+				return allowed;
+			}
+			accepted = allowed;
+		}
+
+		return accepted;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Нужно ли сжимать тело этого размера для запроса.
+	 *
+	 * @param ctx    контекст запроса
+	 * @param length размер тела в байтах
+	 * @return true, если тело нужно отдать в gzip
+	 */
+	public boolean shouldCompress(Context ctx, int length) {
+		return length >= this.minBytes && acceptsGzip(ctx.header(Header.ACCEPT_ENCODING));
+	}
+
+	/**
+	 * Сжать тело ответа, записав размер и CPU-время в метрики.
+	 *
+	 * @param body тело ответа
+	 * @return тело в gzip
+	 */
+	public byte[] compress(byte[] body) {
+		long start = this.cpuSupported ? this.threads.getCurrentThreadCpuTime() : System.nanoTime();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+		try (GZIPOutputStream gzip = new LeveledGzipStream(out, this.level)) {
+			gzip.write(body);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to compress response", e);
+		}
+		byte[] result = out.toByteArray();
+
+		long end = this.cpuSupported ? this.threads.getCurrentThreadCpuTime() : System.nanoTime();
+
+		this.cpu.record(end - start);
+		this.compressed.increment();
+		this.inputBytes.add(body.length);
+		this.outputBytes.add(result.length);
+
+		return result;
+	}
+
+	/**
+	 * Отметить отдачу ранее сжатого тела (без повторного сжатия).
+	 */
+	public void recordCached() {
+		this.cached.increment();
+	}
+
+	/**
+	 * Отношение исходного размера к сжатому по всем выполненным сжатиям.
+	 *
+	 * @return степень сжатия или 0, если сжатий ещё не было
+	 */
+	private double ratio() {
+		long output = this.outputBytes.get();
+		return output == 0 ? 0 : (double) this.inputBytes.get() / output;
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public int getMinBytes() {
+		return minBytes;
+	}
+
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * Поток gzip с заданным уровнем сжатия.
+	 */
+	private static final class LeveledGzipStream extends GZIPOutputStream {
+
+		private LeveledGzipStream(ByteArrayOutputStream out, int level) throws IOException {
+			super(out);
+			this.def.setLevel(level);
+		}
+	}
+}
@@ -10,6 +10,8 @@
  * 
  * @details
  * Проверяет, что переданный статус действительно является успешным.
+ * Порядок полей закреплён ({@link JsonPropertyOrder}): у {@code statusCode} и {@code httpStatusName} нет полей,
+ * и без аннотации Jackson расставлял бы их в порядке методов из рефлексии, который зависит от процесса.
  * 
  * Пример использования:
  * return new SuccessResponse(HttpStatusCode.CREATED, "Task successfully created", Map.of("taskId", 123));
@@ -25,6 +27,11 @@
 
 package com.chyvacheck.tasktracker.core.response.http;
 
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 /**
  * ! java imports
  */
@@ -35,6 +42,7 @@ import com.chyvacheck.tasktracker.core.response.base.InnerResponse;
 /**
  * Реализация успешного ответа API.
  */
+@JsonPropertyOrder({ "message", "details", "data", "statusCode", "httpStatusName" })
 public class SuccessResponse extends InnerResponse {
 
 	private final Object data;
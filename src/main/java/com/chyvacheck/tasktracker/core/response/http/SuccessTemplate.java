@@ -0,0 +1,248 @@
+/**
+ * @file SuccessTemplate.java
+ *
+ * @description
+ * Предсериализованный шаблон успешного ответа ({@link SuccessResponse}) для пары «HTTP-статус + сообщение».
+ * Постоянные байты конверта (message, httpStatusName, statusCode) готовятся один раз, на каждый ответ
+ * сериализуются только {@code details} и {@code data} — сразу в буфер ответа, без создания SuccessResponse.
+ *
+ * @details
+ * - Шаблон строится сериализацией самого {@link SuccessResponse} через {@link ObjectMapperProvider},
+ *   поэтому ответ совпадает с {@code ctx.json(new SuccessResponse(...))} байт в байт; проверка,
+ *   что статус успешный (2xx), выполняется при построении шаблона
+ * - {@code details} и {@code data} пишутся одним {@link JsonGenerator} между сырыми кусками шаблона
+ * - Шаблоны кешируются по статусу и сообщению; кеш ограничен {@link #MAX_CACHED} записями
+ * - {@code data} можно записать собственным {@link ValueWriter} (например, проекцией полей задачи)
+ * - Тело можно собрать по частям ({@link #renderHead} + готовый JSON {@code data} + {@link #getTail}),
+ *   если {@code data} уже сериализовано (например, документ задачи из хранилища)
+ *
+ * @see ErrorTemplate
+ *
+ * @example
+ * byte[] body = SuccessTemplate.of(HttpStatusCode.OK, "All tasks fetched successfully").render(tasks, null);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.response.http;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.system.ObjectMapperProvider;
+
+/**
+ * Предсериализованный шаблон успешного ответа.
+ */
+public final class SuccessTemplate {
+
+	public static final int MAX_CACHED = 512;
+
+	private static final String NULL = "null";
+	private static final String DETAILS_MARKER = "\"details\":null";
+	private static final String DATA_MARKER = "\"data\":null";
+
+	private static final Map<HttpStatusCode, Map<String, SuccessTemplate>> TEMPLATES = new EnumMap<>(
+			HttpStatusCode.class);
+	private static final AtomicInteger cached = new AtomicInteger();
+
+	static {
+		for (HttpStatusCode status : HttpStatusCode.values()) {
+			TEMPLATES.put(status, new ConcurrentHashMap<>());
+		}
+	}
+
+	private final HttpStatusCode status;
+	private final SerializedString prefix;
+	private final SerializedString middle;
+	private final SerializedString suffix;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Построить шаблон, разрезав сериализованный ответ по значениям {@code details} и {@code data}.
+	 *
+	 * @param status  HTTP-статус (2xx)
+	 * @param message сообщение ответа
+	 * @throws IllegalArgumentException если статус не является успешным
+	 */
+	private SuccessTemplate(HttpStatusCode status, String message) {
+		this.status = status;
+
+		String json;
+		try {
+			json = ObjectMapperProvider.get().writeValueAsString(new SuccessResponse(status, message, null, null));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Unable to serialize success response", e);
+		}
+
+		// Сообщение идёт первым полем и экранировано, поэтому маркеры ищутся с конца
+		int details = json.lastIndexOf(DETAILS_MARKER) + DETAILS_MARKER.length() - NULL.length();
+		int data = json.lastIndexOf(DATA_MARKER) + DATA_MARKER.length() - NULL.length();
+
+		this.prefix = new SerializedString(json.substring(0, details));
+		this.middle = new SerializedString(json.substring(details + NULL.length(), data));
+		this.suffix = new SerializedString(json.substring(data + NULL.length()));
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Получить шаблон для HTTP-статуса и сообщения.
+	 *
+	 * @param status  HTTP-статус (2xx)
+	 * @param message сообщение ответа
+	 * @return шаблон ответа
+	 * @throws IllegalArgumentException если статус не является успешным
+	 */
+	public static SuccessTemplate of(HttpStatusCode status, String message) {
+		if (message == null) {
+			return new SuccessTemplate(status, null);
+		}
+
+		Map<String, SuccessTemplate> byMessage = TEMPLATES.get(status);
+		SuccessTemplate template = byMessage.get(message);
+
+		if (template != null) {
+			return template;
+		}
+
+		template = new SuccessTemplate(status, message);
+
+		if (cached.get() < MAX_CACHED && byMessage.putIfAbsent(message, template) == null) {
+			cached.incrementAndGet();
+		}
+
+		return template;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Собрать тело успешного ответа.
+	 *
+	 * @param data    данные ответа (может быть {@code null})
+	 * @param details дополнительные детали ответа (может быть {@code null})
+	 * @return JSON-тело ответа в UTF-8
+	 */
+	public byte[] render(Object data, Map<String, Object> details) {
+		return render(data, details, null);
+	}
+
+	/**
+	 * Собрать тело успешного ответа, записав {@code data} указанным writer'ом.
+	 *
+	 * @param data       данные ответа (может быть {@code null})
+	 * @param details    дополнительные детали ответа (может быть {@code null})
+	 * @param dataWriter writer для {@code data}; {@code null} — глобальный ObjectMapper
+	 * @return JSON-тело ответа в UTF-8
+	 */
+	public byte[] render(Object data, Map<String, Object> details, ValueWriter dataWriter) {
+		ObjectMapper mapper = ObjectMapperProvider.get();
+		ByteArrayBuilder buffer = new ByteArrayBuilder(256);
+
+		try (JsonGenerator gen = mapper.createGenerator(buffer)) {
+			// Значения пишутся в корневом контексте генератора — без разделителя между ними
+			gen.setRootValueSeparator(null);
+
+			gen.writeRaw(this.prefix);
+			mapper.writeValue(gen, details);
+			gen.writeRaw(this.middle);
+			if (dataWriter == null) {
+				mapper.writeValue(gen, data);
+			} else {
+				dataWriter.write(gen, data);
+			}
+			gen.writeRaw(this.suffix);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to serialize success response", e);
+		}
+
+		return buffer.toByteArray();
+	}
+
+	/**
+	 * Собрать начало тела ответа — всё до значения {@code data}.
+	 * <p>
+	 * Полное тело: {@code renderHead(details)}, сериализованное {@code data}, {@link #getTail()}.
+	 *
+	 * @param details дополнительные детали ответа (может быть {@code null})
+	 * @return начало JSON-тела в UTF-8
+	 */
+	public byte[] renderHead(Map<String, Object> details) {
+		ObjectMapper mapper = ObjectMapperProvider.get();
+		ByteArrayBuilder buffer = new ByteArrayBuilder(128);
+
+		try (JsonGenerator gen = mapper.createGenerator(buffer)) {
+			gen.setRootValueSeparator(null);
+
+			gen.writeRaw(this.prefix);
+			mapper.writeValue(gen, details);
+			gen.writeRaw(this.middle);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Unable to serialize success response", e);
+		}
+
+		return buffer.toByteArray();
+	}
+
+	/**
+	 * Конец тела ответа — всё после значения {@code data}.
+	 * <p>
+	 * Массив общий для всех ответов шаблона и не должен изменяться.
+	 *
+	 * @return конец JSON-тела в UTF-8
+	 */
+	public byte[] getTail() {
+		return this.suffix.asUnquotedUTF8();
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public HttpStatusCode getStatus() {
+		return status;
+	}
+
+	/**
+	 * Запись значения {@code data} в генератор ответа.
+	 */
+	@FunctionalInterface
+	public interface ValueWriter {
+
+		/**
+		 * Записать значение.
+		 *
+		 * @param gen   генератор ответа
+		 * @param value значение (может быть {@code null})
+		 */
+		void write(JsonGenerator gen, Object value) throws IOException;
+	}
+}
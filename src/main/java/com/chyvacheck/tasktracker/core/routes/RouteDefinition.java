@@ -34,6 +34,7 @@ public class RouteDefinition {
 	private final String method; // todo переписать на enum
 	private final String path;
 	private final Handler handler;
+	private final String name;
 
 	/**
 	 * Конструктор маршрута.
@@ -46,6 +47,7 @@ public class RouteDefinition {
 		this.method = method;
 		this.path = path;
 		this.handler = handler;
+		this.name = method + " " + path;
 	}
 
 	public String getMethod() {
@@ -59,4 +61,14 @@ public class RouteDefinition {
 	public Handler getHandler() {
 		return handler;
 	}
+
+	/**
+	 * Получить имя маршрута в формате {@code "METHOD path"} (например, {@code "GET /tasks/{id}"}).
+	 * Используется как лейбл в метриках и логах.
+	 *
+	 * @return имя маршрута
+	 */
+	public String getName() {
+		return name;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+/**
+ * @file RouteInterceptor.java
+ * 
+ * @description
+ * Интерфейс перехватчика жизненного цикла HTTP-запроса для маршрутов, зарегистрированных через {@link RouteManager}.
+ * 
+ * @details
+ * - onRequestStart вызывается перед обработчиком маршрута (в порядке регистрации перехватчиков)
+ * - onRequestEnd вызывается после обработчика и глобального обработчика ошибок (в обратном порядке),
+ *   поэтому {@code ctx.statusCode()} уже содержит итоговый статус ответа
+ * - onRequestEnd вызывается для всех перехватчиков, даже если onRequestStart одного из них не выполнился,
+ *   поэтому реализация должна корректно обрабатывать отсутствие своего состояния в контексте
+ * 
+ * Состояние запроса хранится в атрибутах {@link Context}.
+ * 
+ * @example
+ * routeManager.use(RequestMetricsMiddleware.initialize(metricsRegistry));
+ * 
+ * @see RouteManager
+ * 
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.routes;
+
+/**
+ * ! lib imports
+ */
+import io.javalin.http.Context;
+
+/**
+ * Перехватчик начала и завершения обработки запроса.
+ */
+public interface RouteInterceptor {
+
+	/**
+	 * Вызывается перед обработчиком маршрута.
+	 *
+	 * @param ctx   контекст запроса
+	 * @param route описание маршрута
+	 * @throws Exception если запрос нужно прервать
+	 */
+	void onRequestStart(Context ctx, RouteDefinition route) throws Exception;
+
+	/**
+	 * Вызывается после формирования ответа (включая ответы об ошибках).
+	 *
+	 * @param ctx   контекст запроса
+	 * @param route описание маршрута
+	 */
+	void onRequestEnd(Context ctx, RouteDefinition route);
+}
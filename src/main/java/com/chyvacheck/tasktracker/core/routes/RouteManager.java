@@ -1,19 +1,24 @@
-
 /**
  * @file RouteManager.java
- * 
+ *
  * @description
  * Класс для централизованной регистрации всех маршрутов приложения.
- * 
+ *
  * @details
  * Принимает список контроллеров, реализующих {@link Routable}, и регистрирует их маршруты в экземпляре Javalin.
- * 
+ *
+ * Каждый обработчик оборачивается цепочкой {@link RouteInterceptor} (метрики, трассировка и т.д.):
+ * - начало запроса обрабатывается в обёртке обработчика
+ * - завершение — в after-хуке Javalin, когда итоговый статус (в том числе после GlobalExceptionHandler) уже известен
+ *
  * @example
+ * routeManager.use(requestMetricsMiddleware);
  * routeManager.registerControllers(List.of(taskController));
- * 
+ *
  * @see Routable
  * @see RouteDefinition
- * 
+ * @see RouteInterceptor
+ *
  * @author
  * Dmytro Shakh
  */
@@ -24,10 +29,13 @@ package com.chyvacheck.tasktracker.core.routes;
  * ! lib imports
  */
 import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
 
 /**
  * ! java imports
  */
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -35,7 +43,13 @@ import java.util.List;
  */
 public class RouteManager {
 
+	/**
+	 * Атрибут контекста, в котором хранится текущий маршрут.
+	 */
+	public static final String ROUTE_ATTRIBUTE = "tasktracker.route";
+
 	private final Javalin app;
+	private volatile RouteInterceptor[] interceptors = new RouteInterceptor[0];
 
 	/**
 	 * Конструктор RouteManager.
@@ -44,6 +58,21 @@ public class RouteManager {
 	 */
 	public RouteManager(Javalin app) {
 		this.app = app;
+		this.app.after(this::completeRequest);
+	}
+
+	/**
+	 * Добавить перехватчик в цепочку.
+	 * Перехватчики должны быть добавлены до регистрации контроллеров.
+	 *
+	 * @param interceptor перехватчик запросов
+	 * @return этот RouteManager
+	 */
+	public RouteManager use(RouteInterceptor interceptor) {
+		RouteInterceptor[] next = Arrays.copyOf(this.interceptors, this.interceptors.length + 1);
+		next[next.length - 1] = interceptor;
+		this.interceptors = next;
+		return this;
 	}
 
 	/**
@@ -54,15 +83,52 @@ public class RouteManager {
 	public void registerControllers(List<Routable> controllers) {
 		for (Routable controller : controllers) {
 			for (RouteDefinition route : controller.routes()) {
+				Handler handler = wrap(route);
 				switch (route.getMethod()) {
-					case "GET" -> app.get(route.getPath(), route.getHandler());
-					case "POST" -> app.post(route.getPath(), route.getHandler());
-					case "PATCH" -> app.patch(route.getPath(), route.getHandler());
-					case "PUT" -> app.put(route.getPath(), route.getHandler());
-					case "DELETE" -> app.delete(route.getPath(), route.getHandler());
+					case "GET" -> app.get(route.getPath(), handler);
+					case "POST" -> app.post(route.getPath(), handler);
+					case "PATCH" -> app.patch(route.getPath(), handler);
+					case "PUT" -> app.put(route.getPath(), handler);
+					case "DELETE" -> app.delete(route.getPath(), handler);
 					default -> throw new IllegalArgumentException("Unsupported HTTP method: " + route.getMethod());
 				}
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Обернуть обработчик маршрута вызовом перехватчиков начала запроса.
+	 *
+	 * @param route описание маршрута
+	 * @return обработчик для регистрации в Javalin
+	 */
+	private Handler wrap(RouteDefinition route) {
+		Handler handler = route.getHandler();
+
+		return ctx -> {
+			ctx.attribute(ROUTE_ATTRIBUTE, route);
+			for (RouteInterceptor interceptor : this.interceptors) {
+				interceptor.onRequestStart(ctx, route);
+			}
+			handler.handle(ctx);
+		};
+	}
+
+	/**
+	 * Вызвать перехватчики завершения запроса в обратном порядке.
+	 *
+	 * @param ctx контекст запроса
+	 */
+	private void completeRequest(Context ctx) {
+		RouteDefinition route = ctx.attribute(ROUTE_ATTRIBUTE);
+
+		if (route == null) {
+			return;
+		}
+
+		RouteInterceptor[] chain = this.interceptors;
+		for (int i = chain.length - 1; i >= 0; i--) {
+			chain[i].onRequestEnd(ctx, route);
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/**
+ * @file ContentFormat.java
+ *
+ * @description
+ * Форматы тела запроса и ответа API: JSON (по умолчанию) и бинарный CBOR ({@code application/cbor}).
+ * Выбирает формат ответа по заголовку {@code Accept} и формат тела запроса по {@code Content-Type}.
+ *
+ * @details
+ * - Оба формата используют одну конфигурацию Jackson ({@link ObjectMapperProvider}), поэтому в CBOR
+ *   передаётся тот же конверт ответа с теми же полями и значениями (даты — строками ISO)
+ * - Без заголовка, при {@code *}/{@code *} или без упоминания CBOR выбирается JSON без разбора заголовка;
+ *   иначе выбирается поддерживаемый тип с наибольшим {@code q} (при равенстве — точный тип,
+ *   затем указанный раньше).
+ *   Неподдерживаемые типы игнорируются: ответ 406 не отдаётся, как и раньше
+ * - CBOR отключается параметром {@code tasktracker.content.cbor=false} — тогда всегда используется JSON
+ * - Для каждого класса DTO один раз создаётся {@link ObjectReader} формата (кеш в {@link ClassValue})
+ *
+ * @example
+ * ContentFormat format = ContentFormat.forAccept(ctx.header(Header.ACCEPT));
+ * byte[] body = format.write(new SuccessResponse(HttpStatusCode.OK, "OK", tasks, null));
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * ! java imports
+ */
+import java.io.UncheckedIOException;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.utils.ConfigUtil;
+
+/**
+ * Формат тела запроса и ответа.
+ */
+public enum ContentFormat {
+
+	JSON("application/json", ObjectMapperProvider.get()),
+	CBOR("application/cbor", ObjectMapperProvider.getCbor());
+
+	private static final boolean cborEnabled = ConfigUtil.getBoolean("tasktracker.content.cbor", true);
+
+	private final String mimeType;
+	private final ObjectMapper mapper;
+	private final ClassValue<ObjectReader> readers;
+
+	ContentFormat(String mimeType, ObjectMapper mapper) {
+		this.mimeType = mimeType;
+		this.mapper = mapper;
+		this.readers = new ClassValue<>() {
+			@Override
+			protected ObjectReader computeValue(Class<?> type) {
+				return mapper.readerFor(type);
+			}
+		};
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Выбрать формат ответа по заголовку {@code Accept}.
+	 *
+	 * @param accept значение заголовка (может быть {@code null})
+	 * @return формат ответа
+	 */
+	public static ContentFormat forAccept(String accept) {
+		if (!cborEnabled || accept == null || !accept.contains("cbor")) {
+			return JSON;
+		}
+
+		ContentFormat best = JSON;
+		double bestQuality = -1;
+		boolean bestWildcard = false;
+
+		for (String range : accept.split(",")) {
+			String[] parts = range.split(";");
+			String mediaRange = parts[0].trim();
+			ContentFormat format = forMediaRange(mediaRange);
+
+			if (format == null) {
+				continue;
+			}
+
+			// При равном q точный тип важнее шаблона (*/*, application/*)
+			double quality = quality(parts);
+			boolean wildcard = mediaRange.endsWith("*");
+			if (quality > bestQuality || (quality == bestQuality && bestWildcard && !wildcard)) {
+				best = format;
+				bestQuality = quality;
+				bestWildcard = wildcard;
+			}
+		}
+
+		return bestQuality > 0 ? best : JSON;
+	}
+
+	/**
+	 * Определить формат тела запроса по заголовку {@code Content-Type}.
+	 *
+	 * @param contentType значение заголовка (может быть {@code null})
+	 * @return формат тела; всё, кроме CBOR, читается как JSON
+	 */
+	public static ContentFormat forContentType(String contentType) {
+		if (cborEnabled && contentType != null && contentType.regionMatches(true, 0, CBOR.mimeType, 0,
+				CBOR.mimeType.length())) {
+			return CBOR;
+		}
+		return JSON;
+	}
+
+	/**
+	 * Формат для одного media range из {@code Accept}.
+	 *
+	 * @param mediaRange media range без параметров
+	 * @return формат или {@code null}, если тип не поддерживается
+	 */
+	private static ContentFormat forMediaRange(String mediaRange) {
+		if (mediaRange.equalsIgnoreCase(CBOR.mimeType)) {
+			return CBOR;
+		}
+		if (mediaRange.equalsIgnoreCase(JSON.mimeType) || mediaRange.equals("*/*")
+				|| mediaRange.equalsIgnoreCase("application/*")) {
+			return JSON;
+		}
+		return null;
+	}
+
+	/**
+	 * Значение параметра {@code q} media range (по умолчанию 1).
+	 *
+	 * @param parts media range, разбитый по {@code ;}
+	 * @return качество от 0 до 1
+	 */
+	private static double quality(String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			String parameter = parts[i].trim();
+			if (parameter.startsWith("q=")) {
+				try {
+					return Double.parseDouble(parameter.substring(2));
+				} catch (NumberFormatException e) {
+					return 0;
+				}
+			}
+		}
+		return 1;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Сериализовать значение в этом формате.
+	 *
+	 * @param value значение
+	 * @return тело в этом формате
+	 */
+	public byte[] write(Object value) {
+		try {
+			return this.mapper.writeValueAsBytes(value);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Получить {@link ObjectReader} этого формата для класса.
+	 *
+	 * @param type класс значения
+	 * @return reader
+	 */
+	public ObjectReader readerFor(Class<?> type) {
+		return this.readers.get(type);
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public String getMimeType() {
+		return mimeType;
+	}
+
+	public ObjectMapper getMapper() {
+		return mapper;
+	}
+}
@@ -0,0 +1,363 @@
+/**
+ * @file MutationPipeline.java
+ *
+ * @description
+ * Конвейер изменений с единственным писателем: все изменения задач (создание, завершение, удаление)
+ * выполняются по очереди на одном потоке {@code task-writer}. Потоки запросов только публикуют команду
+ * и ждут её завершения, поэтому изменениям не нужны блокировки, а общее состояние (счётчик id задач,
+ * настройки, файлы задач) меняется только одним потоком.
+ *
+ * @details
+ * - Очередь — кольцевой буфер без блокировок (ограниченная MPSC-очередь со счётчиком последовательности
+ *   у каждой ячейки): издатель занимает позицию через CAS, писатель читает ячейки по порядку
+ * - Писатель забирает из буфера пачку команд (до {@code maxBatch}), выполняет их, затем один раз на пачку
+ *   вызывает хуки сохранности ({@link #addDurabilityHook}, например сохранение настроек) и только после этого
+ *   завершает future команд: подтверждённое изменение уже сохранено
+ * - Ошибка команды завершает только её future; ошибка хука сохранности — все future пачки
+ * - Если буфер заполнен, издатель ждёт освобождения ячейки (обратное давление), а не теряет команду
+ * - Команда выполняется и завершается в контексте запроса ({@link RequestIdContext}): логи и спаны
+ *   остаются привязаны к запросу
+ * - Продолжения future выполняются на потоке писателя: асинхронные вызывающие должны переносить
+ *   тяжёлую работу (ответ клиенту) на свой пул
+ *
+ * Метрики:
+ * - {@code tasktracker_mutation_commands_total} — выполненные команды
+ * - {@code tasktracker_mutation_batch_size} — размер пачки
+ * - {@code tasktracker_mutation_durability_seconds} — время хуков сохранности одной пачки
+ * - {@code tasktracker_mutation_queued} — команды в буфере
+ *
+ * @example
+ * Task task = MutationPipeline.getInstance().call(() -> repository.createOneTask("Title", false, null));
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system;
+
+/**
+ * ! java imports
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseModule;
+import com.chyvacheck.tasktracker.core.metrics.Counter;
+import com.chyvacheck.tasktracker.core.metrics.Histogram;
+import com.chyvacheck.tasktracker.core.metrics.MetricsRegistry;
+import com.chyvacheck.tasktracker.core.system.context.RequestIdContext;
+
+/**
+ * Конвейер изменений с единственным писателем.
+ */
+public class MutationPipeline extends BaseModule {
+
+	private static final long FULL_BACKOFF_NANOS = 50_000;
+
+	private static MutationPipeline instance;
+
+	private final Command<?>[] buffer;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final int maxBatch;
+	private final AtomicLong tail = new AtomicLong();
+	private final List<Runnable> durabilityHooks = new CopyOnWriteArrayList<>();
+	private final Thread writer;
+
+	// Позиция чтения: пишет только поток писателя, метрика читает
+	private volatile long head;
+	private volatile boolean sleeping;
+
+	private final Counter commands;
+	private final Histogram batchSize;
+	private final Histogram durability;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор конвейера.
+	 *
+	 * @param registry реестр метрик
+	 * @param capacity размер кольцевого буфера (округляется вверх до степени двойки)
+	 * @param maxBatch максимальный размер пачки
+	 */
+	protected MutationPipeline(MetricsRegistry registry, int capacity, int maxBatch) {
+		super(ModuleType.SYSTEM, MutationPipeline.class);
+
+		int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+		this.buffer = new Command<?>[size];
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			this.sequences.set(i, i);
+		}
+		this.mask = size - 1;
+		this.maxBatch = Math.max(1, maxBatch);
+
+		this.commands = registry.counter("tasktracker_mutation_commands_total",
+				"Mutations executed by the single writer", Map.of());
+		this.batchSize = registry.histogram("tasktracker_mutation_batch_size",
+				"Mutations drained by the writer in one batch", 1.0, Map.of());
+		this.durability = registry.histogram("tasktracker_mutation_durability_seconds",
+				"Time spent in durability hooks after one batch", MetricsRegistry.NANOS_TO_SECONDS, Map.of());
+		registry.gauge("tasktracker_mutation_queued",
+				"Mutations published but not yet taken by the writer", Map.of(),
+				() -> Math.max(0, this.tail.get() - this.head));
+
+		this.writer = new Thread(this::drain, "task-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+
+		this.info("mutation pipeline initialized", Map.of("capacity", size, "maxBatch", this.maxBatch));
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр MutationPipeline и запускает поток писателя.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param registry реестр метрик
+	 * @param capacity размер кольцевого буфера
+	 * @param maxBatch максимальный размер пачки
+	 * @return инициализированный экземпляр MutationPipeline
+	 * @throws IllegalStateException если конвейер уже был инициализирован
+	 */
+	public static MutationPipeline initialize(MetricsRegistry registry, int capacity, int maxBatch) {
+		if (MutationPipeline.instance != null) {
+			throw new IllegalStateException("MutationPipeline already initialized!");
+		}
+		MutationPipeline.instance = new MutationPipeline(registry, capacity, maxBatch);
+		return MutationPipeline.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр MutationPipeline.
+	 *
+	 * @return экземпляр MutationPipeline
+	 * @throws IllegalStateException если конвейер ещё не был инициализирован
+	 */
+	public static MutationPipeline getInstance() {
+		if (MutationPipeline.instance == null) {
+			throw new IllegalStateException("MutationPipeline is not initialized yet!");
+		}
+		return MutationPipeline.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Добавить хук сохранности: он вызывается на потоке писателя один раз после каждой пачки,
+	 * до завершения future её команд.
+	 *
+	 * @param hook хук сохранности
+	 */
+	public void addDurabilityHook(Runnable hook) {
+		this.durabilityHooks.add(hook);
+	}
+
+	/**
+	 * Опубликовать изменение.
+	 *
+	 * @param mutation изменение (выполняется на потоке писателя)
+	 * @param <T>      тип результата
+	 * @return future, завершающийся после выполнения изменения и хуков сохранности его пачки
+	 */
+	public <T> CompletableFuture<T> submit(Supplier<T> mutation) {
+		Command<T> command = new Command<>(mutation, RequestIdContext.current());
+
+		if (Thread.currentThread() == this.writer) {
+			// Изменение из другого изменения: очередь уже у этого потока
+			command.run();
+			command.complete(null);
+			return command.future;
+		}
+
+		this.publish(command);
+		return command.future;
+	}
+
+	/**
+	 * Опубликовать изменение и дождаться его результата.
+	 *
+	 * @param mutation изменение (выполняется на потоке писателя)
+	 * @param <T>      тип результата
+	 * @return результат изменения
+	 */
+	public <T> T call(Supplier<T> mutation) {
+		try {
+			return this.submit(mutation).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Занять позицию в буфере и записать в неё команду.
+	 *
+	 * @param command команда
+	 */
+	private void publish(Command<?> command) {
+		long position;
+
+		while (true) {
+			position = this.tail.get();
+			long available = this.sequences.get((int) position & this.mask) - position;
+
+			if (available == 0) {
+				if (this.tail.compareAndSet(position, position + 1)) {
+					break;
+				}
+			} else if (available < 0) {
+				// Буфер заполнен: ждём, пока писатель освободит ячейку
+				LockSupport.unpark(this.writer);
+				LockSupport.parkNanos(FULL_BACKOFF_NANOS);
+			}
+		}
+
+		int index = (int) position & this.mask;
+		this.buffer[index] = command;
+		this.sequences.set(index, position + 1);
+
+		if (this.sleeping) {
+			LockSupport.unpark(this.writer);
+		}
+	}
+
+	/**
+	 * Цикл писателя: забрать пачку, выполнить, сохранить, завершить future.
+	 */
+	private void drain() {
+		List<Command<?>> batch = new ArrayList<>(this.maxBatch);
+
+		while (true) {
+			while (batch.size() < this.maxBatch && this.isPublished(this.head)) {
+				int index = (int) this.head & this.mask;
+				batch.add(this.buffer[index]);
+				this.buffer[index] = null;
+				this.sequences.set(index, this.head + this.buffer.length);
+				this.head++;
+			}
+
+			if (batch.isEmpty()) {
+				this.sleeping = true;
+				// Повторная проверка после флага: издатель либо увидит флаг, либо его команда видна здесь
+				if (!this.isPublished(this.head)) {
+					LockSupport.park(this);
+				}
+				this.sleeping = false;
+				continue;
+			}
+
+			for (Command<?> command : batch) {
+				command.run();
+			}
+
+			Throwable failure = null;
+			long start = System.nanoTime();
+			for (Runnable hook : this.durabilityHooks) {
+				try {
+					hook.run();
+				} catch (Throwable e) {
+					this.error("durability hook failed", Map.of("batch", batch.size()), e);
+					failure = e;
+				}
+			}
+			this.durability.record(System.nanoTime() - start);
+
+			for (Command<?> command : batch) {
+				command.complete(failure);
+			}
+
+			this.commands.add(batch.size());
+			this.batchSize.record(batch.size());
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Опубликована ли команда в позиции.
+	 *
+	 * @param position позиция в буфере
+	 * @return true, если команду можно забрать
+	 */
+	private boolean isPublished(long position) {
+		return this.sequences.get((int) position & this.mask) == position + 1;
+	}
+
+	/**
+	 * Команда конвейера: изменение, его результат и future вызывающего.
+	 *
+	 * @param <T> тип результата
+	 */
+	private static final class Command<T> {
+
+		private final Supplier<T> mutation;
+		private final RequestIdContext context;
+		private final CompletableFuture<T> future = new CompletableFuture<>();
+		private T result;
+		private Throwable error;
+
+		private Command(Supplier<T> mutation, RequestIdContext context) {
+			this.mutation = mutation;
+			this.context = context;
+		}
+
+		/**
+		 * Выполнить изменение в контексте запроса, запомнив результат или ошибку.
+		 */
+		private void run() {
+			RequestIdContext previous = RequestIdContext.attach(this.context);
+			try {
+				this.result = this.mutation.get();
+			} catch (Throwable e) {
+				this.error = e;
+			} finally {
+				RequestIdContext.restore(previous);
+			}
+		}
+
+		/**
+		 * Завершить future в контексте запроса.
+		 *
+		 * @param durabilityFailure ошибка хуков сохранности пачки или {@code null}
+		 */
+		private void complete(Throwable durabilityFailure) {
+			RequestIdContext previous = RequestIdContext.attach(this.context);
+			try {
+				if (this.error != null) {
+					this.future.completeExceptionally(this.error);
+				} else if (durabilityFailure != null) {
+					this.future.completeExceptionally(durabilityFailure);
+				} else {
+					this.future.complete(this.result);
+				}
+			} finally {
+				RequestIdContext.restore(previous);
+			}
+		}
+	}
+}
@@ -5,6 +5,12 @@
  * Предоставляет настроенный экземпляр ObjectMapper для всего проекта.
  * Используется для сериализации и десериализации JSON как в HTTP, так и в файловой системе.
  * 
+ * Для горячих типов регистрируется {@link SpecializedJsonModule} (отключается параметром
+ * {@code tasktracker.json.specialized=false}).
+ * 
+ * {@link #getCbor()} — ObjectMapper с той же конфигурацией для бинарного формата CBOR
+ * (см. {@link ContentFormat}).
+ * 
  * @author
  * Dmytro Shakh
  */
@@ -14,27 +20,52 @@ package com.chyvacheck.tasktracker.core.system;
 /**
  * ! lib imports
  */
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.databind.cfg.CoercionAction;
 import com.fasterxml.jackson.databind.cfg.CoercionInputShape;
 
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.system.json.SpecializedJsonModule;
+import com.chyvacheck.tasktracker.utils.ConfigUtil;
+
 public class ObjectMapperProvider {
 
-	private static final ObjectMapper objectMapper = createConfiguredObjectMapper();
+	private static final boolean specialized = ConfigUtil.getBoolean("tasktracker.json.specialized", true);
+	private static final ObjectMapper objectMapper = createConfiguredObjectMapper(new JsonFactory(), specialized);
+	private static final ObjectMapper cborMapper = createConfiguredObjectMapper(new CBORFactory(), specialized);
 
-	private static ObjectMapper createConfiguredObjectMapper() {
-		ObjectMapper mapper = new ObjectMapper();
+	private static ObjectMapper createConfiguredObjectMapper(JsonFactory factory, boolean specialized) {
+		ObjectMapper mapper = new ObjectMapper(factory);
 		mapper.registerModule(new JavaTimeModule());
 		mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 		mapper.coercionConfigDefaults()
 				.setCoercion(CoercionInputShape.Boolean, CoercionAction.Fail)
 				.setCoercion(CoercionInputShape.Integer, CoercionAction.Fail)
 				.setCoercion(CoercionInputShape.Float, CoercionAction.Fail);
+		if (specialized) {
+			mapper.registerModule(new SpecializedJsonModule());
+		}
 		return mapper;
 	}
 
+	/**
+	 * Создать новый ObjectMapper для JSON с конфигурацией проекта, независимо от
+	 * {@code tasktracker.json.specialized} (для сравнения специализированного пути с путём через бины
+	 * в бенчмарках {@code src/jmh}).
+	 *
+	 * @param specialized регистрировать ли {@link SpecializedJsonModule}
+	 * @return новый экземпляр ObjectMapper
+	 */
+	public static ObjectMapper create(boolean specialized) {
+		return createConfiguredObjectMapper(new JsonFactory(), specialized);
+	}
+
 	/**
 	 * Получить глобально сконфигурированный ObjectMapper.
 	 *
@@ -43,4 +74,13 @@ public class ObjectMapperProvider {
 	public static ObjectMapper get() {
 		return objectMapper;
 	}
+
+	/**
+	 * Получить ObjectMapper для CBOR с той же конфигурацией, что и {@link #get()}.
+	 *
+	 * @return экземпляр ObjectMapper для CBOR
+	 */
+	public static ObjectMapper getCbor() {
+		return cborMapper;
+	}
 }
\ No newline at end of file
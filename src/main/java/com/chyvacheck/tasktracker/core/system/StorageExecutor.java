@@ -0,0 +1,348 @@
+/**
+ * @file StorageExecutor.java
+ *
+ * @description
+ * Выделенный ограниченный пул потоков для блокирующих операций хранилища.
+ * Асинхронный сервис ({@code AsyncTaskService}) выполняет на нём вызовы репозитория, а поток Jetty
+ * освобождается до завершения I/O: параллелизм дискового I/O ограничен размером этого пула,
+ * а не пулом HTTP.
+ *
+ * @details
+ * - Контекст запроса ({@link RequestIdContext}) переносится на поток хранилища на время задачи
+ *   и её продолжений: логи, спаны трассировки и фаза запроса продолжают работать
+ * - Размер пула задаётся параметром {@code tasktracker.storage.threads}; при {@code 0} задачи выполняются
+ *   сразу на вызывающем потоке (прежнее синхронное поведение, без очереди и ограничений)
+ * - Потоки — daemon с именами {@code storage-N}
+ * - Очередь приоритетная: чтения ({@link Priority#READ}) обгоняют записи ({@link Priority#WRITE}).
+ *   Запись получает отставание {@code tasktracker.storage.writeLagMs}: ждущая дольше него запись
+ *   обгоняет новые чтения, поэтому поток чтений не может задержать записи бесконечно
+ * - Очередь ограничена {@code tasktracker.storage.maxQueue} задачами: сверх лимита {@link #submit}
+ *   сразу возвращает future с {@link StorageOverloadedException} (503), не занимая память и потоки.
+ *   {@link #call} (потоковый импорт) не отклоняется — он ждёт на вызывающем потоке, это и есть
+ *   обратное давление для клиента
+ * - {@link #completions()} — исполнитель продолжений чужих future (например, конвейера изменений): они
+ *   переносятся на пул с приоритетом {@link Priority#READ} и не отклоняются — операция уже выполнена
+ *
+ * Метрики:
+ * - {@code tasktracker_storage_executor_threads} — размер пула
+ * - {@code tasktracker_storage_executor_active} — задачи, выполняемые сейчас
+ * - {@code tasktracker_storage_executor_queued} — задачи в очереди (всего)
+ * - {@code tasktracker_storage_executor_queued_by_priority{priority}} — задачи в очереди по приоритету
+ * - {@code tasktracker_storage_executor_queue_limit} — лимит очереди
+ * - {@code tasktracker_storage_executor_wait_seconds{priority}} — время ожидания задачи в очереди
+ * - {@code tasktracker_storage_executor_rejected_total{priority}} — задачи, отклонённые из-за переполнения
+ *
+ * @example
+ * CompletableFuture<List<Task>> tasks = StorageExecutor.getInstance().submit(Priority.READ, repository::getAllTask);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system;
+
+/**
+ * ! java imports
+ */
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseModule;
+import com.chyvacheck.tasktracker.core.exceptions.custom.StorageOverloadedException;
+import com.chyvacheck.tasktracker.core.metrics.Counter;
+import com.chyvacheck.tasktracker.core.metrics.Histogram;
+import com.chyvacheck.tasktracker.core.metrics.MetricsRegistry;
+import com.chyvacheck.tasktracker.core.system.context.RequestIdContext;
+
+/**
+ * Пул потоков хранилища.
+ */
+public class StorageExecutor extends BaseModule {
+
+	/**
+	 * Приоритет операции хранилища.
+	 */
+	public enum Priority {
+		READ,
+		WRITE
+	}
+
+	private static StorageExecutor instance;
+
+	private final ThreadPoolExecutor pool;
+	private final int maxQueue;
+	private final long writeLagNanos;
+
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicInteger queued = new AtomicInteger();
+	private final AtomicInteger[] queuedByPriority = new AtomicInteger[Priority.values().length];
+	private final Histogram[] waits = new Histogram[Priority.values().length];
+	private final Counter[] rejected = new Counter[Priority.values().length];
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор пула.
+	 *
+	 * @param registry       реестр метрик
+	 * @param threads        количество потоков; {@code 0} — выполнять задачи на вызывающем потоке
+	 * @param maxQueue       максимальное количество задач в очереди
+	 * @param writeLagMillis отставание записей от чтений в очереди, мс
+	 */
+	protected StorageExecutor(MetricsRegistry registry, int threads, int maxQueue, long writeLagMillis) {
+		super(ModuleType.SYSTEM, StorageExecutor.class);
+
+		this.maxQueue = maxQueue;
+		this.writeLagNanos = TimeUnit.MILLISECONDS.toNanos(writeLagMillis);
+
+		if (threads > 0) {
+			AtomicInteger threadSequence = new AtomicInteger();
+			this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+					new PriorityBlockingQueue<>(), runnable -> {
+						Thread thread = new Thread(runnable, "storage-" + threadSequence.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					});
+		} else {
+			this.pool = null;
+		}
+
+		for (Priority priority : Priority.values()) {
+			Map<String, String> labels = Map.of("priority", priority.name().toLowerCase(Locale.ROOT));
+			AtomicInteger counter = new AtomicInteger();
+
+			this.queuedByPriority[priority.ordinal()] = counter;
+			this.waits[priority.ordinal()] = registry.histogram("tasktracker_storage_executor_wait_seconds",
+					"Time a storage task waited in the queue", MetricsRegistry.NANOS_TO_SECONDS, labels);
+			this.rejected[priority.ordinal()] = registry.counter("tasktracker_storage_executor_rejected_total",
+					"Storage tasks rejected because the queue was full", labels);
+			registry.gauge("tasktracker_storage_executor_queued_by_priority",
+					"Storage tasks waiting for a thread by priority", labels, counter::get);
+		}
+
+		registry.gauge("tasktracker_storage_executor_threads",
+				"Threads of the storage executor (0 = inline)", Map.of(), () -> threads);
+		registry.gauge("tasktracker_storage_executor_active",
+				"Storage tasks being executed", Map.of(),
+				() -> this.pool == null ? 0 : this.pool.getActiveCount());
+		registry.gauge("tasktracker_storage_executor_queued",
+				"Storage tasks waiting for a thread", Map.of(), this.queued::get);
+		registry.gauge("tasktracker_storage_executor_queue_limit",
+				"Maximum storage tasks waiting for a thread", Map.of(), () -> maxQueue);
+
+		this.info("storage executor initialized",
+				Map.of("threads", threads, "maxQueue", maxQueue, "writeLagMs", writeLagMillis));
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр StorageExecutor.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param registry       реестр метрик
+	 * @param threads        количество потоков; {@code 0} — выполнять задачи на вызывающем потоке
+	 * @param maxQueue       максимальное количество задач в очереди
+	 * @param writeLagMillis отставание записей от чтений в очереди, мс
+	 * @return инициализированный экземпляр StorageExecutor
+	 * @throws IllegalStateException если пул уже был инициализирован
+	 */
+	public static StorageExecutor initialize(MetricsRegistry registry, int threads, int maxQueue,
+			long writeLagMillis) {
+		if (StorageExecutor.instance != null) {
+			throw new IllegalStateException("StorageExecutor already initialized!");
+		}
+		StorageExecutor.instance = new StorageExecutor(registry, threads, maxQueue, writeLagMillis);
+		return StorageExecutor.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр StorageExecutor.
+	 *
+	 * @return экземпляр StorageExecutor
+	 * @throws IllegalStateException если пул ещё не был инициализирован
+	 */
+	public static StorageExecutor getInstance() {
+		if (StorageExecutor.instance == null) {
+			throw new IllegalStateException("StorageExecutor is not initialized yet!");
+		}
+		return StorageExecutor.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Выполнить задачу на потоке хранилища с контекстом текущего запроса.
+	 * Если очередь заполнена, задача не ставится, а future завершается {@link StorageOverloadedException}.
+	 *
+	 * @param priority приоритет задачи
+	 * @param task     задача
+	 * @param <T>      тип результата
+	 * @return future с результатом задачи (или её исключением)
+	 */
+	public <T> CompletableFuture<T> submit(Priority priority, Supplier<T> task) {
+		if (this.pool == null) {
+			try {
+				return CompletableFuture.completedFuture(task.get());
+			} catch (RuntimeException e) {
+				return CompletableFuture.failedFuture(e);
+			}
+		}
+
+		int depth = this.queued.incrementAndGet();
+		if (depth > this.maxQueue) {
+			this.queued.decrementAndGet();
+			this.rejected[priority.ordinal()].increment();
+			return CompletableFuture.failedFuture(new StorageOverloadedException("Storage is overloaded, retry later",
+					Map.of("queued", depth - 1, "maxQueue", this.maxQueue)));
+		}
+
+		return this.enqueue(priority, task);
+	}
+
+	/**
+	 * Исполнитель продолжений: выполняет их на потоке хранилища с контекстом текущего запроса.
+	 * Продолжения не отклоняются при заполненной очереди (операция, которую они завершают, уже выполнена)
+	 * и идут с приоритетом {@link Priority#READ}: это короткая работа вроде записи ответа.
+	 *
+	 * @return исполнитель продолжений
+	 */
+	public Executor completions() {
+		return command -> {
+			if (this.pool == null) {
+				command.run();
+				return;
+			}
+
+			this.queued.incrementAndGet();
+			this.enqueue(Priority.READ, () -> {
+				command.run();
+				return null;
+			});
+		};
+	}
+
+	/**
+	 * Выполнить задачу на потоке хранилища и дождаться результата.
+	 * Задача не отклоняется при заполненной очереди: вызывающий поток ждёт своей очереди.
+	 *
+	 * @param priority приоритет задачи
+	 * @param task     задача
+	 * @param <T>      тип результата
+	 * @return результат задачи
+	 */
+	public <T> T call(Priority priority, Supplier<T> task) {
+		if (this.pool == null) {
+			return task.get();
+		}
+
+		this.queued.incrementAndGet();
+
+		try {
+			return this.enqueue(priority, task).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Поставить задачу в очередь (счётчик глубины уже увеличен вызывающим кодом).
+	 *
+	 * @param priority приоритет задачи
+	 * @param task     задача
+	 * @param <T>      тип результата
+	 * @return future с результатом задачи
+	 */
+	private <T> CompletableFuture<T> enqueue(Priority priority, Supplier<T> task) {
+		RequestIdContext context = RequestIdContext.current();
+		CompletableFuture<T> future = new CompletableFuture<>();
+
+		this.queuedByPriority[priority.ordinal()].incrementAndGet();
+		this.pool.execute(new StorageTask(priority, this.sequence.getAndIncrement(), () -> {
+			RequestIdContext previous = RequestIdContext.attach(context);
+			try {
+				// Future завершается внутри контекста: продолжения (ответ, завершение запроса) видят его тоже
+				future.complete(task.get());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			} finally {
+				RequestIdContext.restore(previous);
+			}
+		}));
+
+		return future;
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public int getThreads() {
+		return this.pool == null ? 0 : this.pool.getCorePoolSize();
+	}
+
+	public int getMaxQueue() {
+		return maxQueue;
+	}
+
+	/**
+	 * Задача в приоритетной очереди: порядок — по сроку (время постановки плюс отставание для записей),
+	 * при равенстве — по порядку постановки.
+	 */
+	private final class StorageTask implements Runnable, Comparable<StorageTask> {
+
+		private final Priority priority;
+		private final long sequence;
+		private final long enqueuedAt = System.nanoTime();
+		private final long due;
+		private final Runnable body;
+
+		private StorageTask(Priority priority, long sequence, Runnable body) {
+			this.priority = priority;
+			this.sequence = sequence;
+			this.due = priority == Priority.WRITE ? this.enqueuedAt + writeLagNanos : this.enqueuedAt;
+			this.body = body;
+		}
+
+		@Override
+		public void run() {
+			queued.decrementAndGet();
+			queuedByPriority[this.priority.ordinal()].decrementAndGet();
+			waits[this.priority.ordinal()].record(System.nanoTime() - this.enqueuedAt);
+
+			this.body.run();
+		}
+
+		@Override
+		public int compareTo(StorageTask other) {
+			// Разность, а не сравнение: System.nanoTime() может переполняться
+			int byDue = Long.signum(this.due - other.due);
+			return byDue != 0 ? byDue : Long.compare(this.sequence, other.sequence);
+		}
+	}
+}
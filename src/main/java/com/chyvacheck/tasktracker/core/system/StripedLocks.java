@@ -0,0 +1,78 @@
+/**
+ * @file StripedLocks.java
+ *
+ * @description
+ * Блокировки по ключу с чередованием (lock striping): ключ отображается на одну из фиксированного числа
+ * блокировок. Операции над одним ключом выполняются по очереди, над разными ключами — обычно параллельно.
+ *
+ * @details
+ * - Число блокировок фиксировано (округляется вверх до степени двойки): память не растёт с числом ключей
+ * - Разные ключи могут попасть на одну блокировку — это только снижает параллелизм, но не корректность
+ * - Блокировки реентерабельные: операция над ключом может вызвать другую операцию над тем же ключом
+ *
+ * @example
+ * StripedLocks locks = new StripedLocks(64);
+ * Optional<Task> task = locks.withLock(id, () -> ...);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system;
+
+/**
+ * ! java imports
+ */
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Набор блокировок, выбираемых по ключу.
+ */
+public final class StripedLocks {
+
+	private final ReentrantLock[] locks;
+	private final int mask;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор набора блокировок.
+	 *
+	 * @param stripes число блокировок (округляется вверх до степени двойки)
+	 */
+	public StripedLocks(int stripes) {
+		int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+
+		this.locks = new ReentrantLock[size];
+		for (int i = 0; i < size; i++) {
+			this.locks[i] = new ReentrantLock();
+		}
+		this.mask = size - 1;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Выполнить действие под блокировкой ключа.
+	 *
+	 * @param key    ключ
+	 * @param action действие
+	 * @param <T>    тип результата
+	 * @return результат действия
+	 */
+	public <T> T withLock(long key, Supplier<T> action) {
+		ReentrantLock lock = this.locks[Long.hashCode(key) & this.mask];
+
+		lock.lock();
+		try {
+			return action.get();
+		} finally {
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,323 @@
+/**
+ * @file RequestIdContext.java
+ *
+ * @description
+ * Контекст текущего HTTP-запроса, привязанный к потоку обработки.
+ * Хранит идентификатор запроса, время его начала, текущую фазу обработки и (если запрос попал в выборку)
+ * дерево спанов {@link Trace}.
+ *
+ * @details
+ * - Открывается в {@code RequestContextMiddleware} при входе в обработчик маршрута и закрывается после ответа
+ * - Любой слой (middleware, сервис, репозиторий, хранилище, логгер) читает контекст без передачи параметров
+ * - Фаза обновляется при каждом входе в спан (даже если запрос не трассируется) и доступна из других потоков
+ * - Асинхронная работа запроса переносит контекст на свой поток ({@link #attach}/{@link #restore});
+ *   {@link #getThread()} указывает поток, который сейчас выполняет запрос, или {@code null}, если запрос
+ *   снят со всех потоков (ждёт в очереди хранилища или конвейера изменений)
+ * - Ресурсы запроса считаются по участкам: пока контекст привязан к потоку, память и CPU этого потока
+ *   относятся к запросу. При открытии или переносе контекста снимаются показания {@link ThreadUsage}, при
+ *   снятии (restore, detach, close) разница добавляется к запросу — так учитываются и поток Jetty,
+ *   и потоки хранилища и конвейера изменений. Показания снимаются, только если учёт включён
+ *
+ * @example
+ * String requestId = RequestIdContext.getRequestId(); // null вне запроса
+ *
+ * @see Tracer
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.context;
+
+/**
+ * ! java imports
+ */
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.system.tracing.Trace;
+
+/**
+ * Контекст текущего запроса.
+ */
+public final class RequestIdContext {
+
+	private static final ThreadLocal<RequestIdContext> CURRENT = new ThreadLocal<>();
+	// Показания счётчиков потока на начало участка (байты, наносекунды CPU); null — участок не открыт
+	private static final ThreadLocal<long[]> SEGMENT = new ThreadLocal<>();
+
+	private final String requestId;
+	private final String route;
+	private final long requestTime;
+	private final long startNanos;
+	private final Trace trace;
+
+	// Поток, выполняющий запрос; null — запрос ждёт в очереди
+	private final AtomicReference<Thread> thread;
+	private volatile String phaseLayer;
+	private volatile String phaseName;
+
+	// Ресурсы закрытых участков запроса (по всем потокам)
+	private final LongAdder allocatedBytes = new LongAdder();
+	private final LongAdder cpuNanos = new LongAdder();
+
+	/**
+	 * * Constructor
+	 */
+
+	private RequestIdContext(String requestId, String route, Trace trace) {
+		this.requestId = requestId;
+		this.route = route;
+		this.requestTime = System.currentTimeMillis();
+		this.startNanos = System.nanoTime();
+		this.trace = trace;
+		this.thread = new AtomicReference<>(Thread.currentThread());
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Открыть контекст запроса на текущем потоке.
+	 *
+	 * @param requestId идентификатор запроса
+	 * @param route     имя маршрута (например, {@code GET /tasks/{id}})
+	 * @param trace     трасса запроса или {@code null}, если запрос не попал в выборку
+	 * @return открытый контекст
+	 */
+	public static RequestIdContext open(String requestId, String route, Trace trace) {
+		RequestIdContext context = new RequestIdContext(requestId, route, trace);
+		endSegment(CURRENT.get());
+		CURRENT.set(context);
+		beginSegment();
+		return context;
+	}
+
+	/**
+	 * Закрыть контекст запроса на текущем потоке.
+	 */
+	public static void close() {
+		RequestIdContext current = CURRENT.get();
+		endSegment(current);
+		release(current);
+		CURRENT.remove();
+	}
+
+	/**
+	 * Перенести контекст запроса на текущий поток (например, поток хранилища).
+	 *
+	 * @param context контекст запроса (может быть {@code null})
+	 * @return контекст, который был на потоке до переноса, — его нужно вернуть через {@link #restore}
+	 */
+	public static RequestIdContext attach(RequestIdContext context) {
+		RequestIdContext previous = CURRENT.get();
+
+		if (context == null) {
+			endSegment(previous);
+			CURRENT.remove();
+		} else {
+			context.thread.set(Thread.currentThread());
+			if (context != previous) {
+				endSegment(previous);
+				CURRENT.set(context);
+				beginSegment();
+			}
+		}
+
+		return previous;
+	}
+
+	/**
+	 * Вернуть потоку контекст, который был на нём до {@link #attach}.
+	 *
+	 * @param previous прежний контекст (может быть {@code null})
+	 */
+	public static void restore(RequestIdContext previous) {
+		RequestIdContext current = CURRENT.get();
+
+		if (current == previous) {
+			return;
+		}
+
+		endSegment(current);
+		release(current);
+		if (previous == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(previous);
+			beginSegment();
+		}
+	}
+
+	/**
+	 * Снять контекст с текущего потока, если на нём именно этот контекст.
+	 * <p>
+	 * Пока контекст не перенесён на другой поток, запрос считается ждущим в очереди.
+	 *
+	 * @param context контекст запроса
+	 */
+	public static void detach(RequestIdContext context) {
+		if (CURRENT.get() == context) {
+			endSegment(context);
+			release(context);
+			CURRENT.remove();
+		}
+	}
+
+	/**
+	 * Получить контекст текущего потока.
+	 *
+	 * @return контекст или {@code null}, если поток не обрабатывает запрос
+	 */
+	public static RequestIdContext current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Получить идентификатор текущего запроса.
+	 *
+	 * @return идентификатор или {@code null}, если поток не обрабатывает запрос
+	 */
+	public static String getRequestId() {
+		RequestIdContext context = CURRENT.get();
+		return context == null ? null : context.requestId;
+	}
+
+	/**
+	 * Получить время начала текущего запроса.
+	 *
+	 * @return время начала в миллисекундах epoch или 0, если поток не обрабатывает запрос
+	 */
+	public static long getRequestTime() {
+		RequestIdContext context = CURRENT.get();
+		return context == null ? 0 : context.requestTime;
+	}
+
+	/**
+	 * Отметить, что текущий поток больше не выполняет запрос.
+	 * <p>
+	 * Поток сбрасывается, только если запрос ещё числится за текущим потоком: продолжение могло уже
+	 * перенести контекст на другой поток.
+	 *
+	 * @param context контекст, снимаемый с потока (может быть {@code null})
+	 */
+	private static void release(RequestIdContext context) {
+		if (context != null) {
+			context.thread.compareAndSet(Thread.currentThread(), null);
+		}
+	}
+
+	/**
+	 * Открыть участок учёта ресурсов на текущем потоке.
+	 */
+	private static void beginSegment() {
+		if (ThreadUsage.isEnabled()) {
+			SEGMENT.set(new long[] { ThreadUsage.allocatedBytes(), ThreadUsage.cpuNanos() });
+		}
+	}
+
+	/**
+	 * Закрыть участок учёта ресурсов на текущем потоке и добавить его к запросу.
+	 *
+	 * @param context контекст, привязанный к потоку (может быть {@code null})
+	 */
+	private static void endSegment(RequestIdContext context) {
+		long[] start = SEGMENT.get();
+
+		if (start == null) {
+			return;
+		}
+
+		SEGMENT.remove();
+		if (context != null) {
+			context.allocatedBytes.add(Math.max(0, ThreadUsage.allocatedBytes() - start[0]));
+			context.cpuNanos.add(Math.max(0, ThreadUsage.cpuNanos() - start[1]));
+		}
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Байты, выделенные на запрос всеми потоками: закрытые участки и открытый участок текущего потока,
+	 * если контекст привязан к нему.
+	 *
+	 * @return байты
+	 */
+	public long getAllocatedBytes() {
+		long[] start = CURRENT.get() == this ? SEGMENT.get() : null;
+		long open = start == null ? 0 : Math.max(0, ThreadUsage.allocatedBytes() - start[0]);
+		return this.allocatedBytes.sum() + open;
+	}
+
+	/**
+	 * Процессорное время запроса по всем потокам: закрытые участки и открытый участок текущего потока,
+	 * если контекст привязан к нему.
+	 *
+	 * @return наносекунды
+	 */
+	public long getCpuNanos() {
+		long[] start = CURRENT.get() == this ? SEGMENT.get() : null;
+		long open = start == null ? 0 : Math.max(0, ThreadUsage.cpuNanos() - start[1]);
+		return this.cpuNanos.sum() + open;
+	}
+
+	/**
+	 * Отметить вход в новую фазу обработки.
+	 *
+	 * @param layer слой (validation, service, repository, storage)
+	 * @param name  имя операции внутри слоя
+	 */
+	public void enterPhase(String layer, String name) {
+		this.phaseName = name;
+		this.phaseLayer = layer;
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public String getId() {
+		return this.requestId;
+	}
+
+	public String getRoute() {
+		return this.route;
+	}
+
+	public long getStartTime() {
+		return this.requestTime;
+	}
+
+	public long getStartNanos() {
+		return this.startNanos;
+	}
+
+	public Trace getTrace() {
+		return this.trace;
+	}
+
+	/**
+	 * Получить поток, который сейчас выполняет запрос.
+	 *
+	 * @return поток или {@code null}, если запрос ждёт в очереди
+	 */
+	public Thread getThread() {
+		return this.thread.get();
+	}
+
+	/**
+	 * Получить последнюю фазу, в которую вошёл запрос.
+	 *
+	 * @return фаза в виде {@code layer:name} или {@code handler}, если ни один слой ещё не начат
+	 */
+	public String getPhase() {
+		String layer = this.phaseLayer;
+		return layer == null ? "handler" : layer + ":" + this.phaseName;
+	}
+}
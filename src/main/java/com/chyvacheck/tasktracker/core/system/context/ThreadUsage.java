@@ -0,0 +1,99 @@
+/**
+ * @file ThreadUsage.java
+ *
+ * @description
+ * Показания счётчиков ресурсов текущего потока ({@link com.sun.management.ThreadMXBean}):
+ * выделенная память (байты) и процессорное время.
+ *
+ * @details
+ * - Учёт включается один раз ({@link #enable()}, вызывает {@code ResourceUsageMiddleware}); пока он выключен,
+ *   {@link RequestIdContext} не снимает показаний при переносе контекста между потоками
+ * - Если JVM не поддерживает учёт памяти или CPU по потокам, соответствующее показание — {@code -1}
+ *
+ * @see RequestIdContext
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.context;
+
+/**
+ * ! java imports
+ */
+import java.lang.management.ManagementFactory;
+
+/**
+ * Счётчики ресурсов текущего потока.
+ */
+public final class ThreadUsage {
+
+	private static final com.sun.management.ThreadMXBean threads =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private static volatile boolean enabled;
+	private static boolean allocationSupported;
+	private static boolean cpuSupported;
+
+	/**
+	 * * Constructor
+	 */
+
+	private ThreadUsage() {
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Включить учёт памяти и CPU по потокам (если JVM его поддерживает).
+	 */
+	public static synchronized void enable() {
+		if (threads.isThreadAllocatedMemorySupported() && !threads.isThreadAllocatedMemoryEnabled()) {
+			threads.setThreadAllocatedMemoryEnabled(true);
+		}
+		if (threads.isCurrentThreadCpuTimeSupported() && !threads.isThreadCpuTimeEnabled()) {
+			threads.setThreadCpuTimeEnabled(true);
+		}
+
+		allocationSupported = threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+		cpuSupported = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+		enabled = true;
+	}
+
+	/**
+	 * Включён ли учёт.
+	 *
+	 * @return true после {@link #enable()}
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static boolean isAllocationSupported() {
+		return allocationSupported;
+	}
+
+	public static boolean isCpuSupported() {
+		return cpuSupported;
+	}
+
+	/**
+	 * Байты, выделенные текущим потоком с его запуска.
+	 *
+	 * @return байты или {@code -1}, если учёт памяти недоступен
+	 */
+	public static long allocatedBytes() {
+		return allocationSupported ? threads.getCurrentThreadAllocatedBytes() : -1;
+	}
+
+	/**
+	 * Процессорное время текущего потока.
+	 *
+	 * @return наносекунды или {@code -1}, если учёт CPU недоступен
+	 */
+	public static long cpuNanos() {
+		return cpuSupported ? threads.getCurrentThreadCpuTime() : -1;
+	}
+}
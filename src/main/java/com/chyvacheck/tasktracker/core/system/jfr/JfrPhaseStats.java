@@ -0,0 +1,167 @@
+/**
+ * @file JfrPhaseStats.java
+ *
+ * @extends BaseModule
+ *
+ * @description
+ * In-process потребитель JFR-событий приложения (без внешнего агента).
+ * Через {@link RecordingStream} подписывается на события {@link RequestEvent}, {@link ValidationEvent},
+ * {@link ServiceEvent} и {@link StorageEvent} и агрегирует их в живую статистику по фазам запроса.
+ *
+ * @details
+ * - Включаются только события приложения, поэтому накладные расходы JFR минимальны
+ * - Длительность каждой фазы записывается в {@code tasktracker_phase_duration_seconds{layer, operation}}
+ * - Байты операций хранилища — в {@code tasktracker_phase_storage_bytes_total{operation}}
+ * - Обработка событий идёт в отдельном потоке JFR, горячий путь запроса не затрагивается
+ *
+ * Стоимость: при пороге 0 каждая фаза каждого запроса записывается в буфер JFR и заново разбирается
+ * потоком стрима (4 события на запрос). Поэтому агрегация по умолчанию выключена
+ * ({@code tasktracker.jfr.enabled=false}); порог {@code tasktracker.jfr.thresholdMs} оставляет только
+ * фазы не короче него — гистограммы тогда описывают лишь медленные фазы, зато запись почти бесплатна.
+ * Пока стрим не запущен, события приложения не записываются ({@code shouldCommit()} — false).
+ *
+ * @see MetricsRegistry
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.jfr;
+
+/**
+ * ! java imports
+ */
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseModule;
+import com.chyvacheck.tasktracker.core.metrics.Counter;
+import com.chyvacheck.tasktracker.core.metrics.Histogram;
+import com.chyvacheck.tasktracker.core.metrics.MetricsRegistry;
+import com.chyvacheck.tasktracker.core.system.ModuleType;
+
+/**
+ * Агрегатор JFR-событий приложения в метрики по фазам.
+ */
+public class JfrPhaseStats extends BaseModule {
+
+	private static JfrPhaseStats instance;
+
+	private final MetricsRegistry registry;
+	private final Duration threshold;
+	private final RecordingStream stream = new RecordingStream();
+
+	// События обрабатываются одним потоком JFR, поэтому синхронизация не нужна
+	private final Map<String, Histogram> durations = new HashMap<>();
+	private final Map<String, Counter> storageBytes = new HashMap<>();
+
+	/**
+	 * * Constructor
+	 */
+
+	protected JfrPhaseStats(MetricsRegistry registry, Duration threshold) {
+		super(ModuleType.SYSTEM, JfrPhaseStats.class);
+		this.registry = registry;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр JfrPhaseStats.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param registry  реестр метрик
+	 * @param threshold минимальная длительность записываемой фазы ({@link Duration#ZERO} — все фазы)
+	 * @return инициализированный экземпляр JfrPhaseStats
+	 * @throws IllegalStateException если агрегатор уже был инициализирован
+	 */
+	public static JfrPhaseStats initialize(MetricsRegistry registry, Duration threshold) {
+		if (JfrPhaseStats.instance != null) {
+			throw new IllegalStateException("JfrPhaseStats already initialized!");
+		}
+		JfrPhaseStats.instance = new JfrPhaseStats(registry, threshold);
+		return JfrPhaseStats.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр JfrPhaseStats.
+	 *
+	 * @return экземпляр JfrPhaseStats
+	 * @throws IllegalStateException если агрегатор ещё не был инициализирован
+	 */
+	public static JfrPhaseStats getInstance() {
+		if (JfrPhaseStats.instance == null) {
+			throw new IllegalStateException("JfrPhaseStats is not initialized yet!");
+		}
+		return JfrPhaseStats.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Включить события приложения и запустить обработку потока JFR в фоне.
+	 */
+	public void start() {
+		this.stream.enable(RequestEvent.class).withThreshold(this.threshold);
+		this.stream.enable(ValidationEvent.class).withThreshold(this.threshold);
+		this.stream.enable(ServiceEvent.class).withThreshold(this.threshold);
+		this.stream.enable(StorageEvent.class).withThreshold(this.threshold);
+		this.stream.setMaxAge(Duration.ofMinutes(1));
+
+		this.stream.onEvent(RequestEvent.NAME,
+				event -> record("request", event.getString("route"), event));
+		this.stream.onEvent(ValidationEvent.NAME,
+				event -> record("validation", event.getString("source"), event));
+		this.stream.onEvent(ServiceEvent.NAME,
+				event -> record("service", event.getString("operation"), event));
+		this.stream.onEvent(StorageEvent.NAME, event -> {
+			String operation = event.getString("operation");
+			record("storage", operation, event);
+			this.storageBytes.computeIfAbsent(operation, key -> this.registry.counter(
+					"tasktracker_phase_storage_bytes_total",
+					"Bytes processed by storage operations (from JFR events)",
+					Map.of("operation", key)))
+					.add(event.getLong("bytes"));
+		});
+
+		this.stream.startAsync();
+		this.info("JFR phase stats started", Map.of("thresholdMs", this.threshold.toMillis()));
+	}
+
+	/**
+	 * Остановить обработку событий.
+	 */
+	public void stop() {
+		this.stream.close();
+	}
+
+	/**
+	 * Записать длительность фазы.
+	 *
+	 * @param layer     слой (request, validation, service, storage)
+	 * @param operation имя операции внутри слоя
+	 * @param event     JFR-событие
+	 */
+	private void record(String layer, String operation, RecordedEvent event) {
+		String key = layer + '\u0000' + operation;
+
+		this.durations.computeIfAbsent(key, ignored -> this.registry.histogram(
+				"tasktracker_phase_duration_seconds",
+				"Duration of request phases (from JFR events)",
+				MetricsRegistry.NANOS_TO_SECONDS,
+				Map.of("layer", layer, "operation", operation == null ? "unknown" : operation)))
+				.record(event.getDuration().toNanos());
+	}
+}
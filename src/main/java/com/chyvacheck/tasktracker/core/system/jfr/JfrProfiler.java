@@ -0,0 +1,352 @@
+/**
+ * @file JfrProfiler.java
+ *
+ * @extends BaseModule
+ *
+ * @description
+ * Профилирование по запросу на живом узле: ограниченная по времени JFR-запись с семплированием методов
+ * ({@code jdk.ExecutionSample}) и выделений памяти ({@code jdk.ObjectAllocationSample}), разобранная
+ * в процессе через {@code jdk.jfr.consumer} в свёрнутые стеки для flame graph.
+ *
+ * @details
+ * - Одновременно выполняется только одна запись; повторный запуск получает {@link ErrorCode#PROFILING_IN_PROGRESS}
+ * - Запись идёт на собственном daemon-потоке {@code jfr-profiler}: вызывающий поток (поток Jetty) не ждёт её
+ * - Длительность ограничена параметром {@code tasktracker.profiler.maxDurationSeconds}
+ * - Файл записи создаётся во временной директории и удаляется сразу после разбора
+ * - Формат результата — строки {@code frame;frame;...;frame count} (от корня к вершине), по убыванию веса
+ * - Для {@code cpu} вес — количество семплов, для {@code alloc} — оценка выделенных байт
+ * - В режиме {@code appOnly} в стеке остаются только кадры {@code com.chyvacheck.tasktracker}
+ *
+ * Глубина стека ограничена настройкой JVM {@code -XX:FlightRecorderOptions:stackdepth} (по умолчанию 64);
+ * обрезанные стеки помечаются корневым кадром {@code [truncated]}.
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.jfr;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseException;
+import com.chyvacheck.tasktracker.core.base.BaseModule;
+import com.chyvacheck.tasktracker.core.exceptions.base.ErrorCode;
+import com.chyvacheck.tasktracker.core.system.ModuleType;
+
+/**
+ * Профилировщик CPU и выделений памяти на основе JFR.
+ */
+public class JfrProfiler extends BaseModule {
+
+	public static final String MODE_CPU = "cpu";
+	public static final String MODE_ALLOC = "alloc";
+
+	private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+	private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+	private static final String APP_PACKAGE = "com.chyvacheck.tasktracker.";
+	private static final Duration SAMPLING_PERIOD = Duration.ofMillis(10);
+
+	private static JfrProfiler instance;
+
+	private final long maxDurationSeconds;
+	private final AtomicBoolean running = new AtomicBoolean();
+	private final ExecutorService recorder;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор профилировщика.
+	 *
+	 * @param maxDurationSeconds максимальная длительность одной записи в секундах
+	 */
+	protected JfrProfiler(long maxDurationSeconds) {
+		super(ModuleType.SYSTEM, JfrProfiler.class);
+		this.maxDurationSeconds = Math.max(1, maxDurationSeconds);
+		this.recorder = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "jfr-profiler");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр JfrProfiler.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param maxDurationSeconds максимальная длительность одной записи в секундах
+	 * @return инициализированный экземпляр JfrProfiler
+	 * @throws IllegalStateException если профилировщик уже был инициализирован
+	 */
+	public static JfrProfiler initialize(long maxDurationSeconds) {
+		if (JfrProfiler.instance != null) {
+			throw new IllegalStateException("JfrProfiler already initialized!");
+		}
+		JfrProfiler.instance = new JfrProfiler(maxDurationSeconds);
+		return JfrProfiler.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр JfrProfiler.
+	 *
+	 * @return экземпляр JfrProfiler
+	 * @throws IllegalStateException если профилировщик ещё не был инициализирован
+	 */
+	public static JfrProfiler getInstance() {
+		if (JfrProfiler.instance == null) {
+			throw new IllegalStateException("JfrProfiler is not initialized yet!");
+		}
+		return JfrProfiler.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Записать профиль текущего процесса и вернуть его в виде свёрнутых стеков.
+	 * <p>
+	 * Проверки выполняются сразу, сама запись — на потоке профилировщика; вызывающий поток не блокируется.
+	 *
+	 * @param durationSeconds длительность записи в секундах
+	 * @param mode            {@link #MODE_CPU} или {@link #MODE_ALLOC}
+	 * @param appOnly         оставить только кадры приложения
+	 * @return future со свёрнутыми стеками профиля
+	 * @throws BaseException если длительность превышает допустимую или запись уже выполняется
+	 */
+	public CompletableFuture<CollapsedProfile> profile(long durationSeconds, String mode, boolean appOnly) {
+		if (durationSeconds > this.maxDurationSeconds) {
+			throw new BaseException(
+					"Profiling duration is too long",
+					ErrorCode.INVALID_QUERY_PARAMETERS,
+					Map.of("maxDurationSeconds", this.maxDurationSeconds),
+					Map.of("seconds", "Duration must be at most " + this.maxDurationSeconds + " seconds"));
+		}
+
+		if (!this.running.compareAndSet(false, true)) {
+			throw new BaseException(
+					"Profiling is already in progress",
+					ErrorCode.PROFILING_IN_PROGRESS,
+					null,
+					null);
+		}
+
+		try {
+			return CompletableFuture.supplyAsync(() -> recordProfile(durationSeconds, mode, appOnly), this.recorder);
+		} catch (RuntimeException e) {
+			this.running.set(false);
+			throw e;
+		}
+	}
+
+	/**
+	 * Выполнить запись, разобрать её и снять флаг выполняющейся записи.
+	 *
+	 * @param durationSeconds длительность записи в секундах
+	 * @param mode            режим профилирования
+	 * @param appOnly         оставить только кадры приложения
+	 * @return свёрнутые стеки профиля
+	 */
+	private CollapsedProfile recordProfile(long durationSeconds, String mode, boolean appOnly) {
+		Path file = null;
+		try {
+			this.info("profiling started", Map.of("seconds", durationSeconds, "mode", mode, "appOnly", appOnly));
+
+			file = Files.createTempFile("tasktracker-profile-", ".jfr");
+			record(Duration.ofSeconds(durationSeconds), mode, file);
+			CollapsedProfile profile = collapse(file, MODE_ALLOC.equals(mode) ? ALLOCATION_SAMPLE : EXECUTION_SAMPLE,
+					appOnly);
+
+			this.info("profiling finished", Map.of("samples", profile.getSamples(), "stacks", profile.getStacks()));
+			return profile;
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to record profile", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Profiling interrupted", e);
+		} finally {
+			if (file != null) {
+				try {
+					Files.deleteIfExists(file);
+				} catch (IOException e) {
+					this.warn("unable to delete profile file", Map.of("file", file.toString()));
+				}
+			}
+			this.running.set(false);
+		}
+	}
+
+	/**
+	 * Выполнить JFR-запись и сохранить её в файл.
+	 *
+	 * @param duration длительность записи
+	 * @param mode     режим профилирования
+	 * @param file     файл для сохранения записи
+	 */
+	private void record(Duration duration, String mode, Path file) throws IOException, InterruptedException {
+		try (Recording recording = new Recording()) {
+			recording.setName("tasktracker-profile");
+			recording.setToDisk(true);
+
+			if (MODE_ALLOC.equals(mode)) {
+				recording.enable(ALLOCATION_SAMPLE).with("throttle", "300/s").withStackTrace();
+			} else {
+				recording.enable(EXECUTION_SAMPLE).withPeriod(SAMPLING_PERIOD).withStackTrace();
+			}
+
+			recording.start();
+			Thread.sleep(duration.toMillis());
+			recording.stop();
+			recording.dump(file);
+		}
+	}
+
+	/**
+	 * Разобрать запись и свернуть стеки событий.
+	 *
+	 * @param file      файл записи
+	 * @param eventName имя учитываемого события
+	 * @param appOnly   оставить только кадры приложения
+	 * @return свёрнутые стеки
+	 */
+	private CollapsedProfile collapse(Path file, String eventName, boolean appOnly) throws IOException {
+		Map<String, Long> weights = new HashMap<>();
+		long samples = 0;
+
+		try (RecordingFile recordingFile = new RecordingFile(file)) {
+			while (recordingFile.hasMoreEvents()) {
+				RecordedEvent event = recordingFile.readEvent();
+
+				if (!eventName.equals(event.getEventType().getName())) {
+					continue;
+				}
+
+				String stack = collapseStack(event.getStackTrace(), appOnly);
+				if (stack == null) {
+					continue;
+				}
+
+				long weight = ALLOCATION_SAMPLE.equals(eventName) ? event.getLong("weight") : 1;
+				weights.merge(stack, weight, Long::sum);
+				samples++;
+			}
+		}
+
+		StringBuilder builder = new StringBuilder();
+		weights.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+				.forEach(entry -> builder.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n'));
+
+		return new CollapsedProfile(builder.toString(), samples, weights.size());
+	}
+
+	/**
+	 * Свернуть стек события в строку (от корня к вершине, через {@code ;}).
+	 *
+	 * @param stackTrace стек события
+	 * @param appOnly    оставить только кадры приложения
+	 * @return свёрнутый стек или {@code null}, если подходящих кадров нет
+	 */
+	private static String collapseStack(RecordedStackTrace stackTrace, boolean appOnly) {
+		if (stackTrace == null) {
+			return null;
+		}
+
+		List<RecordedFrame> frames = stackTrace.getFrames();
+		StringBuilder builder = new StringBuilder(frames.size() * 48);
+
+		if (stackTrace.isTruncated() && !appOnly) {
+			builder.append("[truncated]");
+		}
+
+		for (int i = frames.size() - 1; i >= 0; i--) {
+			RecordedFrame frame = frames.get(i);
+			String type = normalizeType(frame.getMethod().getType().getName());
+
+			if (appOnly && !type.startsWith(APP_PACKAGE)) {
+				continue;
+			}
+			if (builder.length() > 0) {
+				builder.append(';');
+			}
+			builder.append(type).append('.').append(frame.getMethod().getName());
+		}
+
+		return builder.length() == 0 ? null : builder.toString();
+	}
+
+	/**
+	 * Убрать из имени класса лямбды уникальный суффикс ({@code $$Lambda$263+0x.../123} → {@code $$Lambda}),
+	 * чтобы одинаковые стеки агрегировались между запусками.
+	 *
+	 * @param type имя класса
+	 * @return нормализованное имя класса
+	 */
+	public static String normalizeType(String type) {
+		int lambda = type.indexOf("$$Lambda");
+		return lambda < 0 ? type : type.substring(0, lambda + "$$Lambda".length());
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public long getMaxDurationSeconds() {
+		return this.maxDurationSeconds;
+	}
+
+	/**
+	 * Результат профилирования в формате свёрнутых стеков.
+	 */
+	public static class CollapsedProfile {
+
+		private final String collapsed;
+		private final long samples;
+		private final int stacks;
+
+		private CollapsedProfile(String collapsed, long samples, int stacks) {
+			this.collapsed = collapsed;
+			this.samples = samples;
+			this.stacks = stacks;
+		}
+
+		public String getCollapsed() {
+			return collapsed;
+		}
+
+		public long getSamples() {
+			return samples;
+		}
+
+		public int getStacks() {
+			return stacks;
+		}
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ * @file RequestEvent.java
+ * 
+ * @extends Event
+ * 
+ * @description
+ * JFR-событие обработки HTTP-запроса: от входа в обработчик контроллера до формирования ответа.
+ * 
+ * @details
+ * Поля:
+ * - route: имя маршрута (например, "GET /tasks/{id}")
+ * - status: итоговый HTTP-статус ответа
+ * 
+ * Событие отключено, пока его не включит запись JFR (внешняя или {@link JfrPhaseStats}),
+ * поэтому в обычном режиме стоит практически ноль.
+ * 
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.jfr;
+
+/**
+ * ! java imports
+ */
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-событие обработки HTTP-запроса.
+ */
+@Name(RequestEvent.NAME)
+@Label("HTTP Request")
+@Category({ "Task Tracker", "HTTP" })
+@Description("Handler entry to response of an HTTP request")
+@StackTrace(false)
+public class RequestEvent extends Event {
+
+	public static final String NAME = "com.chyvacheck.tasktracker.Request";
+
+	@Label("Route")
+	String route;
+
+	@Label("Status")
+	int status;
+
+	/**
+	 * Создать событие и начать отсчёт времени.
+	 *
+	 * @param route имя маршрута
+	 * @return начатое событие
+	 */
+	public static RequestEvent start(String route) {
+		RequestEvent event = new RequestEvent();
+		event.route = route;
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Завершить событие с итоговым статусом и записать его (если запись включена).
+	 *
+	 * @param status HTTP-статус ответа
+	 */
+	public void finish(int status) {
+		this.status = status;
+		commit();
+	}
+}
@@ -0,0 +1,69 @@
+/**
+ * @file ServiceEvent.java
+ * 
+ * @extends Event
+ * 
+ * @description
+ * JFR-событие выполнения операции сервисного слоя (TaskService).
+ * 
+ * @details
+ * Поля:
+ * - operation: имя операции (например, "getOneTaskById")
+ * - taskId: идентификатор задачи или -1, если операция не относится к одной задаче
+ * 
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.jfr;
+
+/**
+ * ! java imports
+ */
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-событие операции сервиса.
+ */
+@Name(ServiceEvent.NAME)
+@Label("Service Operation")
+@Category({ "Task Tracker", "Service" })
+@Description("Business operation of the task service")
+@StackTrace(false)
+public class ServiceEvent extends Event {
+
+	public static final String NAME = "com.chyvacheck.tasktracker.Service";
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Task Id")
+	long taskId;
+
+	/**
+	 * Создать событие и начать отсчёт времени.
+	 *
+	 * @param operation имя операции
+	 * @param taskId    идентификатор задачи или -1
+	 * @return начатое событие
+	 */
+	public static ServiceEvent start(String operation, long taskId) {
+		ServiceEvent event = new ServiceEvent();
+		event.operation = operation;
+		event.taskId = taskId;
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Завершить событие и записать его (если запись включена).
+	 */
+	public void finish() {
+		commit();
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * @file StorageEvent.java
+ * 
+ * @extends Event
+ * 
+ * @description
+ * JFR-событие операции файлового хранилища задач (TaskFileStorage).
+ * 
+ * @details
+ * Поля:
+ * - operation: "read", "readAll", "write" или "delete"
+ * - taskId: идентификатор задачи или -1 для операций над всеми задачами
+ * - bytes: количество прочитанных или записанных байт
+ * 
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.jfr;
+
+/**
+ * ! java imports
+ */
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-событие операции хранилища.
+ */
+@Name(StorageEvent.NAME)
+@Label("Storage Operation")
+@Category({ "Task Tracker", "Storage" })
+@Description("Read, write or delete of stored task files")
+@StackTrace(false)
+public class StorageEvent extends Event {
+
+	public static final String NAME = "com.chyvacheck.tasktracker.Storage";
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Task Id")
+	long taskId;
+
+	@Label("Bytes")
+	@DataAmount
+	long bytes;
+
+	/**
+	 * Создать событие и начать отсчёт времени.
+	 *
+	 * @param operation имя операции
+	 * @param taskId    идентификатор задачи или -1
+	 * @return начатое событие
+	 */
+	public static StorageEvent start(String operation, long taskId) {
+		StorageEvent event = new StorageEvent();
+		event.operation = operation;
+		event.taskId = taskId;
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Добавить обработанные байты.
+	 *
+	 * @param bytes количество байт
+	 */
+	public void addBytes(long bytes) {
+		this.bytes += bytes;
+	}
+
+	/**
+	 * Завершить событие и записать его (если запись включена).
+	 */
+	public void finish() {
+		commit();
+	}
+}
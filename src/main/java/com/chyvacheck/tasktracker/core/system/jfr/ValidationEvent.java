@@ -0,0 +1,69 @@
+/**
+ * @file ValidationEvent.java
+ * 
+ * @extends Event
+ * 
+ * @description
+ * JFR-событие валидации входящих данных в ValidateMiddleware (fromBody / fromQuery / fromPath).
+ * 
+ * @details
+ * Поля:
+ * - source: источник данных ("body", "query", "path")
+ * - dtoClass: класс DTO
+ * 
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.jfr;
+
+/**
+ * ! java imports
+ */
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR-событие валидации DTO.
+ */
+@Name(ValidationEvent.NAME)
+@Label("Validation")
+@Category({ "Task Tracker", "Middleware" })
+@Description("Deserialization and validation of a request DTO")
+@StackTrace(false)
+public class ValidationEvent extends Event {
+
+	public static final String NAME = "com.chyvacheck.tasktracker.Validation";
+
+	@Label("Source")
+	String source;
+
+	@Label("DTO Class")
+	Class<?> dtoClass;
+
+	/**
+	 * Создать событие и начать отсчёт времени.
+	 *
+	 * @param source   источник данных
+	 * @param dtoClass класс DTO
+	 * @return начатое событие
+	 */
+	public static ValidationEvent start(String source, Class<?> dtoClass) {
+		ValidationEvent event = new ValidationEvent();
+		event.source = source;
+		event.dtoClass = dtoClass;
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Завершить событие и записать его (если запись включена).
+	 */
+	public void finish() {
+		commit();
+	}
+}
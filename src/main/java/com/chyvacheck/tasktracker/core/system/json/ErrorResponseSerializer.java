@@ -0,0 +1,54 @@
+/**
+ * @file ErrorResponseSerializer.java
+ *
+ * @extends InnerResponseSerializer
+ *
+ * @description
+ * Специализированный сериализатор {@link ErrorResponse}:
+ * {@code message, details, errorCode, errors, statusCode, httpStatusName}.
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.json;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.response.http.ErrorResponse;
+
+/**
+ * Сериализатор ответа с ошибкой.
+ */
+class ErrorResponseSerializer extends InnerResponseSerializer<ErrorResponse> {
+
+	private static final SerializedString ERROR_CODE = new SerializedString("errorCode");
+	private static final SerializedString ERRORS = new SerializedString("errors");
+
+	ErrorResponseSerializer() {
+		super(ErrorResponse.class);
+	}
+
+	@Override
+	protected void writeBody(ErrorResponse value, JsonGenerator gen, SerializerProvider provider)
+			throws IOException {
+		gen.writeFieldName(ERROR_CODE);
+		gen.writeString(value.getErrorCode().name());
+
+		gen.writeFieldName(ERRORS);
+		provider.defaultSerializeValue(value.getErrors(), gen);
+	}
+}
@@ -0,0 +1,92 @@
+/**
+ * @file InnerResponseSerializer.java
+ *
+ * @extends StdSerializer
+ *
+ * @description
+ * Базовый специализированный сериализатор конвертов ответа ({@link InnerResponse}).
+ * Пишет общие поля конверта напрямую в {@link JsonGenerator}, без интроспекции бина.
+ *
+ * @details
+ * Порядок полей совпадает с тем, что давал BeanSerializer:
+ * {@code message, details, <поля наследника>, statusCode, httpStatusName}.
+ * Имена полей закодированы заранее ({@link SerializedString}).
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.json;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.response.base.InnerResponse;
+
+/**
+ * Базовый сериализатор конвертов ответа.
+ *
+ * @param <T> тип конверта
+ */
+abstract class InnerResponseSerializer<T extends InnerResponse> extends StdSerializer<T> {
+
+	private static final SerializedString MESSAGE = new SerializedString("message");
+	private static final SerializedString DETAILS = new SerializedString("details");
+	private static final SerializedString STATUS_CODE = new SerializedString("statusCode");
+	private static final SerializedString HTTP_STATUS_NAME = new SerializedString("httpStatusName");
+
+	/**
+	 * * Constructor
+	 */
+
+	protected InnerResponseSerializer(Class<T> responseClass) {
+		super(responseClass);
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	@Override
+	public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+		gen.writeStartObject(value);
+
+		gen.writeFieldName(MESSAGE);
+		gen.writeString(value.getMessage());
+
+		gen.writeFieldName(DETAILS);
+		provider.defaultSerializeValue(value.getDetails(), gen);
+
+		writeBody(value, gen, provider);
+
+		gen.writeFieldName(STATUS_CODE);
+		gen.writeNumber(value.getStatusCode());
+
+		gen.writeFieldName(HTTP_STATUS_NAME);
+		gen.writeString(value.getHttpStatusName());
+
+		gen.writeEndObject();
+	}
+
+	/**
+	 * Записать поля наследника (между {@code details} и {@code statusCode}).
+	 *
+	 * @param value    конверт ответа
+	 * @param gen      генератор
+	 * @param provider провайдер сериализаторов
+	 */
+	protected abstract void writeBody(T value, JsonGenerator gen, SerializerProvider provider) throws IOException;
+}
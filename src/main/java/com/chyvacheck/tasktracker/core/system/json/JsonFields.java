@@ -0,0 +1,297 @@
+/**
+ * @file JsonFields.java
+ *
+ * @description
+ * Общие помощники специализированных (де)сериализаторов: запись дат и чтение значений полей
+ * с быстрым путём для ожидаемого типа токена.
+ *
+ * @details
+ * - Даты пишутся в формате {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} — тем же, что использует
+ *   {@code JavaTimeModule} при отключённом {@code WRITE_DATES_AS_TIMESTAMPS}; для годов 0..9999 цифры
+ *   пишутся в буфер вручную, без DateTimeFormatter (дробная часть — без хвостовых нулей, как у форматтера)
+ * - Чтение: если токен имеет ожидаемый тип (строка, число, boolean, ISO-дата), значение берётся напрямую
+ *   из парсера; иначе вызывается штатный десериализатор Jackson для этого типа ({@code fallback}).
+ *   Так сохраняются все правила приведения типов, обработка {@code null} и тексты/типы исключений
+ * - Исключения fallback-десериализатора дополняются путём до поля ({@code wrapWithPath}), как это делает
+ *   {@code BeanDeserializer} — по нему {@code ValidateMiddleware} определяет имя поля в ошибке
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.json;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.DateTimeException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Помощники чтения и записи полей JSON.
+ */
+final class JsonFields {
+
+	static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+	/**
+	 * * Constructor
+	 */
+
+	private JsonFields() {
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Записать дату-время строкой ISO или {@code null}.
+	 *
+	 * @param gen   генератор
+	 * @param value значение
+	 */
+	static void writeDateTime(JsonGenerator gen, LocalDateTime value) throws IOException {
+		if (value == null) {
+			gen.writeNull();
+			return;
+		}
+
+		int year = value.getYear();
+		if (year < 0 || year > 9999) {
+			gen.writeString(DATE_TIME.format(value));
+			return;
+		}
+
+		char[] buffer = new char[29];
+		digits(buffer, 0, year, 4);
+		buffer[4] = '-';
+		digits(buffer, 5, value.getMonthValue(), 2);
+		buffer[7] = '-';
+		digits(buffer, 8, value.getDayOfMonth(), 2);
+		buffer[10] = 'T';
+		digits(buffer, 11, value.getHour(), 2);
+		buffer[13] = ':';
+		digits(buffer, 14, value.getMinute(), 2);
+		buffer[16] = ':';
+		digits(buffer, 17, value.getSecond(), 2);
+
+		int length = 19;
+		int nano = value.getNano();
+
+		if (nano != 0) {
+			buffer[19] = '.';
+			digits(buffer, 20, nano, 9);
+			length = 29;
+			while (buffer[length - 1] == '0') {
+				length--;
+			}
+		}
+
+		gen.writeString(buffer, 0, length);
+	}
+
+	/**
+	 * Записать число фиксированной ширины с ведущими нулями.
+	 *
+	 * @param buffer буфер
+	 * @param offset позиция первой цифры
+	 * @param value  неотрицательное число
+	 * @param width  количество цифр
+	 */
+	private static void digits(char[] buffer, int offset, int value, int width) {
+		for (int i = offset + width - 1; i >= offset; i--) {
+			buffer[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+	}
+
+	/**
+	 * Прочитать строковое значение текущего токена.
+	 *
+	 * @param p        парсер на токене значения
+	 * @param ctxt     контекст десериализации
+	 * @param fallback штатный десериализатор {@code String}
+	 * @param bean     заполняемый объект (для пути в ошибке)
+	 * @param name     имя поля
+	 * @return значение
+	 */
+	static String readString(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> fallback,
+			Object bean, String name) throws IOException {
+		if (p.hasToken(JsonToken.VALUE_STRING)) {
+			return p.getText();
+		}
+		return (String) fallback(p, ctxt, fallback, bean, name);
+	}
+
+	/**
+	 * Прочитать целочисленное значение текущего токена.
+	 *
+	 * @param p        парсер на токене значения
+	 * @param ctxt     контекст десериализации
+	 * @param fallback штатный десериализатор {@code long}
+	 * @param bean     заполняемый объект (для пути в ошибке)
+	 * @param name     имя поля
+	 * @return значение
+	 */
+	static long readLong(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> fallback,
+			Object bean, String name) throws IOException {
+		if (p.hasToken(JsonToken.VALUE_NUMBER_INT) && p.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+			return p.getLongValue();
+		}
+		return (Long) fallback(p, ctxt, fallback, bean, name);
+	}
+
+	/**
+	 * Прочитать логическое значение текущего токена.
+	 *
+	 * @param p        парсер на токене значения
+	 * @param ctxt     контекст десериализации
+	 * @param fallback штатный десериализатор {@code boolean}
+	 * @param bean     заполняемый объект (для пути в ошибке)
+	 * @param name     имя поля
+	 * @return значение
+	 */
+	static boolean readBoolean(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> fallback,
+			Object bean, String name) throws IOException {
+		if (p.hasToken(JsonToken.VALUE_TRUE)) {
+			return true;
+		}
+		if (p.hasToken(JsonToken.VALUE_FALSE)) {
+			return false;
+		}
+		return (Boolean) fallback(p, ctxt, fallback, bean, name);
+	}
+
+	/**
+	 * Прочитать дату-время текущего токена.
+	 * <p>
+	 * Быстрый путь — строка вида {@code yyyy-MM-ddTHH:mm[:ss[.n]]}, разбираемая вручную; всё остальное
+	 * (пробелы, суффикс {@code Z}, массивы, пустая строка, ошибки формата) разбирает штатный десериализатор
+	 * {@code JavaTimeModule}.
+	 *
+	 * @param p        парсер на токене значения
+	 * @param ctxt     контекст десериализации
+	 * @param fallback штатный десериализатор {@code LocalDateTime}
+	 * @param bean     заполняемый объект (для пути в ошибке)
+	 * @param name     имя поля
+	 * @return значение
+	 */
+	static LocalDateTime readDateTime(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> fallback,
+			Object bean, String name) throws IOException {
+		if (p.hasToken(JsonToken.VALUE_STRING)) {
+			String text = p.getText();
+
+			LocalDateTime value = parseDateTime(text);
+
+			if (value != null) {
+				return value;
+			}
+		}
+		return (LocalDateTime) fallback(p, ctxt, fallback, bean, name);
+	}
+
+	/**
+	 * Разобрать строку строгого вида {@code yyyy-MM-ddTHH:mm[:ss[.n{1,9}]]} без DateTimeFormatter.
+	 *
+	 * @param text строка
+	 * @return дата-время или {@code null}, если строка не подходит под строгий вид
+	 */
+	private static LocalDateTime parseDateTime(String text) {
+		int length = text.length();
+
+		if (length != 16 && length != 19 && (length < 21 || length > 29)) {
+			return null;
+		}
+		if (text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T' || text.charAt(13) != ':') {
+			return null;
+		}
+
+		int year = number(text, 0, 4);
+		int month = number(text, 5, 2);
+		int day = number(text, 8, 2);
+		int hour = number(text, 11, 2);
+		int minute = number(text, 14, 2);
+		int second = 0;
+		int nano = 0;
+
+		if (length > 16) {
+			if (text.charAt(16) != ':') {
+				return null;
+			}
+			second = number(text, 17, 2);
+		}
+
+		if (length > 19) {
+			if (text.charAt(19) != '.') {
+				return null;
+			}
+			nano = number(text, 20, length - 20);
+			for (int i = length - 20; i < 9 && nano >= 0; i++) {
+				nano *= 10;
+			}
+		}
+
+		if ((year | month | day | hour | minute | second | nano) < 0) {
+			return null;
+		}
+
+		try {
+			return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+		} catch (DateTimeException e) {
+			// Несуществующая дата (например, 30 февраля) — ошибку сообщит штатный десериализатор
+			return null;
+		}
+	}
+
+	/**
+	 * Разобрать десятичное число фиксированной ширины.
+	 *
+	 * @return число или {@code -1}, если встретился не цифровой символ
+	 */
+	private static int number(String text, int offset, int width) {
+		int value = 0;
+		for (int i = offset; i < offset + width; i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	/**
+	 * Прочитать значение штатным десериализатором, дополнив ошибку путём до поля.
+	 *
+	 * @param p        парсер на токене значения
+	 * @param ctxt     контекст десериализации
+	 * @param fallback штатный десериализатор
+	 * @param bean     заполняемый объект
+	 * @param name     имя поля
+	 * @return значение
+	 */
+	private static Object fallback(JsonParser p, DeserializationContext ctxt, JsonDeserializer<Object> fallback,
+			Object bean, String name) throws IOException {
+		try {
+			if (p.hasToken(JsonToken.VALUE_NULL)) {
+				return fallback.getNullValue(ctxt);
+			}
+			return fallback.deserialize(p, ctxt);
+		} catch (JsonMappingException e) {
+			throw JsonMappingException.wrapWithPath(e, bean, name);
+		}
+	}
+}
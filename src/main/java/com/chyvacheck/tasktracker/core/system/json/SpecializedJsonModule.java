@@ -0,0 +1,51 @@
+/**
+ * @file SpecializedJsonModule.java
+ *
+ * @extends SimpleModule
+ *
+ * @description
+ * Jackson-модуль со специализированными (написанными вручную) сериализаторами и десериализаторами
+ * для горячих типов: {@code Task}, {@code TaskCreateDto}, {@code SuccessResponse}, {@code ErrorResponse}.
+ *
+ * @details
+ * - Вместо интроспекции бинов и BeanSerializer/BeanDeserializer поля пишутся и читаются напрямую
+ *   через {@code JsonGenerator}/{@code JsonParser}, имена полей закодированы заранее
+ * - Формат JSON не меняется: порядок полей, формат дат и ошибки разбора совпадают с прежними
+ * - Регистрируется в {@code ObjectMapperProvider}; отключается параметром
+ *   {@code tasktracker.json.specialized=false}
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.json;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.controller.dto.TaskCreateDto;
+import com.chyvacheck.tasktracker.core.response.http.ErrorResponse;
+import com.chyvacheck.tasktracker.core.response.http.SuccessResponse;
+import com.chyvacheck.tasktracker.model.Task;
+
+/**
+ * Модуль специализированных (де)сериализаторов.
+ */
+public class SpecializedJsonModule extends SimpleModule {
+
+	public SpecializedJsonModule() {
+		super("SpecializedJsonModule");
+
+		addSerializer(Task.class, new TaskSerializer());
+		addSerializer(SuccessResponse.class, new SuccessResponseSerializer());
+		addSerializer(ErrorResponse.class, new ErrorResponseSerializer());
+
+		addDeserializer(Task.class, new TaskDeserializer());
+		addDeserializer(TaskCreateDto.class, new TaskCreateDtoDeserializer());
+	}
+}
@@ -0,0 +1,50 @@
+/**
+ * @file SuccessResponseSerializer.java
+ *
+ * @extends InnerResponseSerializer
+ *
+ * @description
+ * Специализированный сериализатор {@link SuccessResponse}:
+ * {@code message, details, data, statusCode, httpStatusName}.
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.json;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.response.http.SuccessResponse;
+
+/**
+ * Сериализатор успешного ответа.
+ */
+class SuccessResponseSerializer extends InnerResponseSerializer<SuccessResponse> {
+
+	private static final SerializedString DATA = new SerializedString("data");
+
+	SuccessResponseSerializer() {
+		super(SuccessResponse.class);
+	}
+
+	@Override
+	protected void writeBody(SuccessResponse value, JsonGenerator gen, SerializerProvider provider)
+			throws IOException {
+		gen.writeFieldName(DATA);
+		provider.defaultSerializeValue(value.getData(), gen);
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ * @file TaskCreateDtoDeserializer.java
+ *
+ * @extends StdDeserializer
+ *
+ * @description
+ * Специализированный десериализатор {@link TaskCreateDto}: поля читаются напрямую из {@link JsonParser}
+ * без BeanDeserializer.
+ *
+ * @details
+ * Поведение при ошибках совпадает с BeanDeserializer: тот же тип исключения, целевой тип и путь до поля
+ * (на них опирается формат ошибок {@code ValidateMiddleware}); неизвестные поля обрабатываются
+ * через {@code handleUnknownProperty}.
+ *
+ * @see JsonFields
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.json;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.controller.dto.TaskCreateDto;
+
+/**
+ * Десериализатор DTO создания задачи.
+ */
+class TaskCreateDtoDeserializer extends StdDeserializer<TaskCreateDto> implements ResolvableDeserializer {
+
+	private static final List<Object> PROPERTIES = List.of("title", "deadline");
+
+	private JsonDeserializer<Object> stringDeserializer;
+	private JsonDeserializer<Object> dateTimeDeserializer;
+
+	TaskCreateDtoDeserializer() {
+		super(TaskCreateDto.class);
+	}
+
+	@Override
+	public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+		this.stringDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(String.class));
+		this.dateTimeDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(LocalDateTime.class));
+	}
+
+	@Override
+	public TaskCreateDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+		JsonToken token = p.currentToken();
+
+		if (token == JsonToken.START_OBJECT) {
+			token = p.nextToken();
+		} else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+			return (TaskCreateDto) ctxt.handleUnexpectedToken(TaskCreateDto.class, p);
+		}
+
+		TaskCreateDto dto = new TaskCreateDto();
+
+		for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+			String name = p.currentName();
+			p.nextToken();
+
+			switch (name) {
+				case "title" -> dto.setTitle(JsonFields.readString(p, ctxt, this.stringDeserializer, dto, name));
+				case "deadline" ->
+					dto.setDeadline(JsonFields.readDateTime(p, ctxt, this.dateTimeDeserializer, dto, name));
+				default -> ctxt.handleUnknownProperty(p, this, dto, name);
+			}
+		}
+
+		return dto;
+	}
+
+	@Override
+	public Collection<Object> getKnownPropertyNames() {
+		return PROPERTIES;
+	}
+}
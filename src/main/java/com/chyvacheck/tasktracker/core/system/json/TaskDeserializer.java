@@ -0,0 +1,123 @@
+/**
+ * @file TaskDeserializer.java
+ *
+ * @extends StdDeserializer
+ *
+ * @description
+ * Специализированный десериализатор {@link Task} (чтение задач из файлового хранилища):
+ * поля читаются напрямую из {@link JsonParser} без BeanDeserializer.
+ *
+ * @details
+ * Нетипичные значения (не тот тип токена, {@code null}) разбираются штатными десериализаторами Jackson,
+ * неизвестные поля — через {@code handleUnknownProperty}, как и раньше.
+ * Если в контексте задан атрибут {@link TaskProjection#FIELDS_ATTRIBUTE}, незапрошенные поля пропускаются
+ * без разбора значения ({@code skipChildren}) и остаются со значениями по умолчанию.
+ *
+ * @see JsonFields
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.json;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+
+/**
+ * Десериализатор задачи.
+ */
+class TaskDeserializer extends StdDeserializer<Task> implements ResolvableDeserializer {
+
+	private static final List<Object> PROPERTIES = List.of("createdAt", "id", "title", "completed", "deadline",
+			"version");
+
+	private JsonDeserializer<Object> stringDeserializer;
+	private JsonDeserializer<Object> longDeserializer;
+	private JsonDeserializer<Object> booleanDeserializer;
+	private JsonDeserializer<Object> dateTimeDeserializer;
+
+	TaskDeserializer() {
+		super(Task.class);
+	}
+
+	@Override
+	public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+		this.stringDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(String.class));
+		this.longDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(long.class));
+		this.booleanDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(boolean.class));
+		this.dateTimeDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(LocalDateTime.class));
+	}
+
+	@Override
+	public Task deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+		JsonToken token = p.currentToken();
+
+		if (token == JsonToken.START_OBJECT) {
+			token = p.nextToken();
+		} else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+			return (Task) ctxt.handleUnexpectedToken(Task.class, p);
+		}
+
+		@SuppressWarnings("unchecked")
+		Set<TaskField> fields = (Set<TaskField>) ctxt.getAttribute(TaskProjection.FIELDS_ATTRIBUTE);
+
+		Task task = new Task();
+
+		for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+			String name = p.currentName();
+			p.nextToken();
+
+			if (fields != null) {
+				TaskField field = TaskField.fromJsonName(name);
+				if (field != null && !fields.contains(field)) {
+					p.skipChildren();
+					continue;
+				}
+			}
+
+			switch (name) {
+				case "createdAt" ->
+					task.setCreatedAt(JsonFields.readDateTime(p, ctxt, this.dateTimeDeserializer, task, name));
+				case "id" -> task.setId(JsonFields.readLong(p, ctxt, this.longDeserializer, task, name));
+				case "title" -> task.setTitle(JsonFields.readString(p, ctxt, this.stringDeserializer, task, name));
+				case "completed" ->
+					task.setCompleted(JsonFields.readBoolean(p, ctxt, this.booleanDeserializer, task, name));
+				case "deadline" ->
+					task.setDeadline(JsonFields.readDateTime(p, ctxt, this.dateTimeDeserializer, task, name));
+				case "version" -> task.setVersion(JsonFields.readLong(p, ctxt, this.longDeserializer, task, name));
+				default -> ctxt.handleUnknownProperty(p, this, task, name);
+			}
+		}
+
+		return task;
+	}
+
+	@Override
+	public Collection<Object> getKnownPropertyNames() {
+		return PROPERTIES;
+	}
+}
@@ -0,0 +1,256 @@
+/**
+ * @file TaskProjection.java
+ *
+ * @implements SuccessTemplate.ValueWriter
+ *
+ * @description
+ * Проекция задачи ({@link Task}) на подмножество полей ({@code ?fields=id,title,completed}).
+ * Пишет в ответ только запрошенные поля и умеет читать из хранилища только их.
+ *
+ * @details
+ * - Набор полей один раз компилируется в массив writer'ов полей; проекции кешируются по набору полей
+ *   (все {@code 2^6} комбинаций создаются заранее) и по исходной строке параметра
+ *   (не больше {@link #MAX_CACHED} строк)
+ * - Поля пишутся в каноническом порядке задачи ({@code createdAt, id, title, completed, deadline, version})
+ *   независимо от порядка в запросе, в том же формате, что и {@link TaskSerializer}
+ * - {@link #reader()} — {@link ObjectReader} задач с атрибутом {@link #FIELDS_ATTRIBUTE}: специализированный
+ *   {@link TaskDeserializer} пропускает незапрошенные поля, не разбирая их значения (даты, строки).
+ *   Без {@code SpecializedJsonModule} атрибут игнорируется и задача читается целиком
+ *
+ * @example
+ * TaskProjection projection = TaskProjection.parse("id,title,completed");
+ * respond(ctx, HttpStatusCode.OK, "All tasks fetched successfully", tasks, null, projection);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.json;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.response.http.SuccessTemplate;
+import com.chyvacheck.tasktracker.core.system.ObjectMapperProvider;
+import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+
+/**
+ * Проекция задачи на подмножество полей.
+ */
+public final class TaskProjection implements SuccessTemplate.ValueWriter {
+
+	public static final int MAX_CACHED = 512;
+
+	/**
+	 * Атрибут {@link ObjectReader}: набор полей ({@code Set<TaskField>}), которые нужно прочитать.
+	 */
+	public static final String FIELDS_ATTRIBUTE = "tasktracker.task.fields";
+
+	private static final TaskField[] FIELDS = TaskField.values();
+	private static final TaskProjection[] BY_MASK = new TaskProjection[1 << FIELDS.length];
+	private static final Map<String, TaskProjection> BY_QUERY = new ConcurrentHashMap<>();
+
+	static {
+		for (int mask = 0; mask < BY_MASK.length; mask++) {
+			BY_MASK[mask] = new TaskProjection(mask);
+		}
+	}
+
+	private final Set<TaskField> fields;
+	private final FieldWriter[] writers;
+	private final ObjectReader reader;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Скомпилировать проекцию для набора полей.
+	 *
+	 * @param mask битовая маска полей (бит {@code ordinal()} поля)
+	 */
+	private TaskProjection(int mask) {
+		EnumSet<TaskField> set = EnumSet.noneOf(TaskField.class);
+		for (TaskField field : FIELDS) {
+			if ((mask & (1 << field.ordinal())) != 0) {
+				set.add(field);
+			}
+		}
+
+		this.fields = Collections.unmodifiableSet(set);
+		this.writers = set.stream().map(TaskProjection::writerFor).toArray(FieldWriter[]::new);
+
+		// Полной проекции атрибут не нужен — задача читается целиком, как раньше
+		ObjectReader taskReader = ObjectMapperProvider.get().readerFor(Task.class);
+		this.reader = set.size() == FIELDS.length
+				? taskReader
+				: taskReader.withAttribute(FIELDS_ATTRIBUTE, this.fields);
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Получить проекцию для набора полей.
+	 *
+	 * @param fields набор полей
+	 * @return проекция
+	 */
+	public static TaskProjection of(Set<TaskField> fields) {
+		int mask = 0;
+		for (TaskField field : fields) {
+			mask |= 1 << field.ordinal();
+		}
+		return BY_MASK[mask];
+	}
+
+	/**
+	 * Получить проекцию по значению параметра {@code fields} (имена полей JSON через запятую).
+	 *
+	 * @param query значение параметра, например {@code "id,title,completed"}
+	 * @return проекция
+	 * @throws IllegalArgumentException если встретилось неизвестное поле
+	 */
+	public static TaskProjection parse(String query) {
+		TaskProjection projection = BY_QUERY.get(query);
+
+		if (projection != null) {
+			return projection;
+		}
+
+		EnumSet<TaskField> set = EnumSet.noneOf(TaskField.class);
+		for (String name : query.split(",")) {
+			TaskField field = TaskField.fromJsonName(name.trim());
+			if (field == null) {
+				throw new IllegalArgumentException("Unknown task field: " + name);
+			}
+			set.add(field);
+		}
+
+		projection = of(set);
+
+		if (BY_QUERY.size() < MAX_CACHED) {
+			BY_QUERY.putIfAbsent(query, projection);
+		}
+
+		return projection;
+	}
+
+	/**
+	 * Writer одного поля задачи в формате {@link TaskSerializer}.
+	 *
+	 * @param field поле
+	 * @return writer поля
+	 */
+	private static FieldWriter writerFor(TaskField field) {
+		return switch (field) {
+			case CREATED_AT -> (gen, task) -> {
+				gen.writeFieldName(TaskSerializer.CREATED_AT);
+				JsonFields.writeDateTime(gen, task.getCreatedAt());
+			};
+			case ID -> (gen, task) -> {
+				gen.writeFieldName(TaskSerializer.ID);
+				gen.writeNumber(task.getId());
+			};
+			case TITLE -> (gen, task) -> {
+				gen.writeFieldName(TaskSerializer.TITLE);
+				gen.writeString(task.getTitle());
+			};
+			case COMPLETED -> (gen, task) -> {
+				gen.writeFieldName(TaskSerializer.COMPLETED);
+				gen.writeBoolean(task.isCompleted());
+			};
+			case DEADLINE -> (gen, task) -> {
+				gen.writeFieldName(TaskSerializer.DEADLINE);
+				JsonFields.writeDateTime(gen, task.getDeadline());
+			};
+			case VERSION -> (gen, task) -> {
+				gen.writeFieldName(TaskSerializer.VERSION);
+				gen.writeNumber(task.getVersion());
+			};
+		};
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Записать задачу или коллекцию задач с проекцией; прочие значения пишутся глобальным ObjectMapper.
+	 *
+	 * @param gen   генератор
+	 * @param value задача, коллекция задач или {@code null}
+	 */
+	@Override
+	public void write(JsonGenerator gen, Object value) throws IOException {
+		if (value instanceof Task task) {
+			writeTask(gen, task);
+		} else if (value instanceof Collection<?> collection) {
+			gen.writeStartArray(collection, collection.size());
+			for (Object item : collection) {
+				write(gen, item);
+			}
+			gen.writeEndArray();
+		} else {
+			ObjectMapperProvider.get().writeValue(gen, value);
+		}
+	}
+
+	/**
+	 * Записать одну задачу с проекцией.
+	 *
+	 * @param gen  генератор
+	 * @param task задача
+	 */
+	public void writeTask(JsonGenerator gen, Task task) throws IOException {
+		gen.writeStartObject(task);
+		for (FieldWriter writer : this.writers) {
+			writer.write(gen, task);
+		}
+		gen.writeEndObject();
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public Set<TaskField> getFields() {
+		return fields;
+	}
+
+	/**
+	 * Получить {@link ObjectReader} задач, читающий только поля проекции.
+	 *
+	 * @return reader задач
+	 */
+	public ObjectReader reader() {
+		return reader;
+	}
+
+	/**
+	 * Writer одного поля задачи.
+	 */
+	@FunctionalInterface
+	private interface FieldWriter {
+		void write(JsonGenerator gen, Task task) throws IOException;
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ * @file TaskSerializer.java
+ *
+ * @extends StdSerializer
+ *
+ * @description
+ * Специализированный сериализатор {@link Task}: поля пишутся напрямую в {@link JsonGenerator}
+ * в порядке {@code createdAt, id, title, completed, deadline, version}, даты — строкой ISO.
+ *
+ * @details
+ * Используется и для HTTP-ответов, и для файлового хранилища — формат совпадает с прежним
+ * (BeanSerializer + JavaTimeModule).
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.json;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.model.Task;
+
+/**
+ * Сериализатор задачи.
+ */
+class TaskSerializer extends StdSerializer<Task> {
+
+	static final SerializedString CREATED_AT = new SerializedString("createdAt");
+	static final SerializedString ID = new SerializedString("id");
+	static final SerializedString TITLE = new SerializedString("title");
+	static final SerializedString COMPLETED = new SerializedString("completed");
+	static final SerializedString DEADLINE = new SerializedString("deadline");
+	static final SerializedString VERSION = new SerializedString("version");
+
+	TaskSerializer() {
+		super(Task.class);
+	}
+
+	@Override
+	public void serialize(Task task, JsonGenerator gen, SerializerProvider provider) throws IOException {
+		gen.writeStartObject(task);
+
+		gen.writeFieldName(CREATED_AT);
+		JsonFields.writeDateTime(gen, task.getCreatedAt());
+
+		gen.writeFieldName(ID);
+		gen.writeNumber(task.getId());
+
+		gen.writeFieldName(TITLE);
+		gen.writeString(task.getTitle());
+
+		gen.writeFieldName(COMPLETED);
+		gen.writeBoolean(task.isCompleted());
+
+		gen.writeFieldName(DEADLINE);
+		JsonFields.writeDateTime(gen, task.getDeadline());
+
+		gen.writeFieldName(VERSION);
+		gen.writeNumber(task.getVersion());
+
+		gen.writeEndObject();
+	}
+}
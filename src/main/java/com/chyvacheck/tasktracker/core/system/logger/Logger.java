@@ -13,6 +13,7 @@
  * - {@link LoggerColor}
  * - {@link LoggerConfig}
  * - {@link ModuleType}
+ * - {@link RequestIdContext} (время с начала запроса и RequestId для логов внутри запроса)
  * 
  * @usage
  * Logger.getInstance().info("message", moduleType, className, details);
@@ -29,6 +30,7 @@ import java.util.Map;
  * ! my imports
  */
 import com.chyvacheck.tasktracker.core.system.ModuleType;
+import com.chyvacheck.tasktracker.core.system.context.RequestIdContext;
 import com.chyvacheck.tasktracker.utils.DateTimeUtil;
 
 /**
@@ -125,24 +127,24 @@ public class Logger {
 
 		String durationFormatted;
 
-		// if (RequestIdContext.getRequestId() != null) {
-		// long durationMillis = System.currentTimeMillis() -
-		// RequestIdContext.getRequestTime();
-		// durationFormatted = formatWithBrackets(String.format("+%0" + DurationW +
-		// "dms", durationMillis),
-		// color);
-		// } else {
-		// }
-		durationFormatted = String.format("%" + (DurationW + 6) + "s", "");
+		// Внутри запроса — время с начала запроса и его идентификатор
+		String requestId = RequestIdContext.getRequestId();
+
+		if (requestId != null) {
+			long durationMillis = System.currentTimeMillis() - RequestIdContext.getRequestTime();
+			durationFormatted = formatWithBrackets(String.format("+%0" + DurationW + "dms", durationMillis), color);
+		} else {
+			durationFormatted = String.format("%" + (DurationW + 6) + "s", "");
+		}
 
 		System.out.printf("%s%s%s%s %s%s%s%n",
 				levelFormatted, timeFormatted, durationFormatted, typeFormatted, classFormatted,
 				color,
 				message);
 
-		// if (RequestIdContext.getRequestId() != null) {
-		// printKeyValue("RequestId", RequestIdContext.getRequestId());
-		// }
+		if (requestId != null) {
+			printKeyValue("RequestId", requestId);
+		}
 
 		// Выводим JSON-детали, если есть
 		if (details != null && !details.isEmpty()) {
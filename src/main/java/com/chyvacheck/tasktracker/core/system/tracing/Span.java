@@ -0,0 +1,148 @@
+/**
+ * @file Span.java
+ *
+ * @description
+ * Один узел дерева трассировки запроса: операция одного слоя (validation, service, repository, storage)
+ * с временем начала относительно начала запроса и длительностью.
+ *
+ * @details
+ * - Спан создаётся через {@link Tracer#span(String, String)} и закрывается методом {@link #end()}
+ * - Для запросов вне выборки возвращается {@link #NOOP}, закрытие которого ничего не делает
+ * - Спан изменяется только потоком запроса; после публикации трассы в {@link Tracer} он неизменяем
+ *
+ * @example
+ * Span span = Tracer.span("service", "getAllTasks");
+ * try {
+ * 	...
+ * } finally {
+ * 	span.end();
+ * }
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.tracing;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * ! java imports
+ */
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Узел дерева трассировки.
+ */
+@JsonPropertyOrder({ "layer", "name", "offsetMs", "durationMs", "children" })
+public final class Span implements AutoCloseable {
+
+	/**
+	 * Пустой спан для запросов, не попавших в выборку.
+	 */
+	public static final Span NOOP = new Span(null, null, "noop", "noop", 0);
+
+	private final Trace trace;
+	private final Span parent;
+	private final String layer;
+	private final String name;
+	private final long startNanos;
+
+	private long durationNanos = -1;
+	private List<Span> children;
+
+	/**
+	 * * Constructor
+	 */
+
+	Span(Trace trace, Span parent, String layer, String name, long startNanos) {
+		this.trace = trace;
+		this.parent = parent;
+		this.layer = layer;
+		this.name = name;
+		this.startNanos = startNanos;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Завершить спан и вернуть текущий уровень трассы к родителю.
+	 * Повторный вызов игнорируется.
+	 */
+	public void end() {
+		if (this.trace == null || this.durationNanos >= 0) {
+			return;
+		}
+		this.durationNanos = System.nanoTime() - this.startNanos;
+		this.trace.exit(this);
+	}
+
+	@Override
+	public void close() {
+		end();
+	}
+
+	/**
+	 * Добавить дочерний спан.
+	 *
+	 * @param child дочерний спан
+	 */
+	void addChild(Span child) {
+		if (this.children == null) {
+			this.children = new ArrayList<>(4);
+		}
+		this.children.add(child);
+	}
+
+	Span getParent() {
+		return this.parent;
+	}
+
+	long getStartNanos() {
+		return this.startNanos;
+	}
+
+	long getDurationNanos() {
+		return this.durationNanos;
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public String getLayer() {
+		return this.layer;
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Получить смещение начала спана относительно начала запроса.
+	 *
+	 * @return смещение в миллисекундах
+	 */
+	public double getOffsetMs() {
+		return this.trace == null ? 0 : (this.startNanos - this.trace.getStartNanos()) / 1_000_000.0;
+	}
+
+	/**
+	 * Получить длительность спана.
+	 *
+	 * @return длительность в миллисекундах или -1, если спан не был завершён
+	 */
+	public double getDurationMs() {
+		return this.durationNanos < 0 ? -1 : this.durationNanos / 1_000_000.0;
+	}
+
+	public List<Span> getChildren() {
+		return this.children == null ? List.of() : this.children;
+	}
+}
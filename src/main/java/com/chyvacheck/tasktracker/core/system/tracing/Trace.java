@@ -0,0 +1,130 @@
+/**
+ * @file Trace.java
+ *
+ * @description
+ * Трасса одного запроса: корневой спан маршрута и вложенные спаны слоёв приложения.
+ *
+ * @details
+ * - Создаётся {@link Tracer} только для запросов, попавших в выборку
+ * - Текущий (самый глубокий открытый) спан хранится в трассе, поэтому вложенность строится автоматически
+ * - После {@link #finish(int)} трасса публикуется в кольцевой буфер {@link Tracer} и больше не изменяется
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.tracing;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * ! java imports
+ */
+import java.time.LocalDateTime;
+
+/**
+ * Трасса одного запроса.
+ */
+@JsonPropertyOrder({ "requestId", "route", "startedAt", "status", "durationMs", "root" })
+public final class Trace {
+
+	private final String requestId;
+	private final String route;
+	private final LocalDateTime startedAt;
+	private final long startNanos;
+	private final Span root;
+
+	private Span current;
+	private int status;
+
+	/**
+	 * * Constructor
+	 */
+
+	Trace(String requestId, String route) {
+		this.requestId = requestId;
+		this.route = route;
+		this.startedAt = LocalDateTime.now();
+		this.startNanos = System.nanoTime();
+		this.root = new Span(this, null, "request", route, this.startNanos);
+		this.current = this.root;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Открыть дочерний спан текущего уровня.
+	 *
+	 * @param layer слой
+	 * @param name  имя операции
+	 * @return открытый спан
+	 */
+	Span enter(String layer, String name) {
+		Span span = new Span(this, this.current, layer, name, System.nanoTime());
+		this.current.addChild(span);
+		this.current = span;
+		return span;
+	}
+
+	/**
+	 * Вернуть текущий уровень к родителю завершённого спана.
+	 *
+	 * @param span завершённый спан
+	 */
+	void exit(Span span) {
+		if (this.current == span && span.getParent() != null) {
+			this.current = span.getParent();
+		}
+	}
+
+	/**
+	 * Завершить трассу.
+	 *
+	 * @param status итоговый HTTP-статус ответа
+	 */
+	public void finish(int status) {
+		this.status = status;
+		this.root.end();
+	}
+
+	long getStartNanos() {
+		return this.startNanos;
+	}
+
+	long getDurationNanos() {
+		return this.root.getDurationNanos();
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public String getRequestId() {
+		return this.requestId;
+	}
+
+	public String getRoute() {
+		return this.route;
+	}
+
+	public LocalDateTime getStartedAt() {
+		return this.startedAt;
+	}
+
+	public int getStatus() {
+		return this.status;
+	}
+
+	public double getDurationMs() {
+		return this.root.getDurationMs();
+	}
+
+	public Span getRoot() {
+		return this.root;
+	}
+}
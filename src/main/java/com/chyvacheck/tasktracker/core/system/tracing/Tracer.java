@@ -0,0 +1,191 @@
+/**
+ * @file Tracer.java
+ *
+ * @extends BaseModule
+ *
+ * @description
+ * Выборочная трассировка запросов: для доли запросов строится дерево спанов по слоям приложения,
+ * а завершённые трассы хранятся в ограниченном кольцевом буфере для просмотра через {@code GET /admin/traces}.
+ *
+ * @details
+ * - Доля трассируемых запросов задаётся параметром {@code tasktracker.tracing.sampleRate} (0.0 — 1.0)
+ * - Размер буфера — параметром {@code tasktracker.tracing.capacity}; старые трассы перезаписываются
+ * - Для запросов вне выборки {@link #span(String, String)} возвращает {@link Span#NOOP} и не аллоцирует дерево
+ *
+ * @see Trace
+ * @see Span
+ * @see RequestIdContext
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.core.system.tracing;
+
+/**
+ * ! java imports
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseModule;
+import com.chyvacheck.tasktracker.core.system.ModuleType;
+import com.chyvacheck.tasktracker.core.system.context.RequestIdContext;
+
+/**
+ * Выборочный трассировщик запросов.
+ */
+public class Tracer extends BaseModule {
+
+	private static Tracer instance;
+
+	private final double sampleRate;
+	private final AtomicReferenceArray<Trace> traces;
+	private final AtomicLong written = new AtomicLong();
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор трассировщика.
+	 *
+	 * @param sampleRate доля трассируемых запросов (0.0 — 1.0)
+	 * @param capacity   количество хранимых завершённых трасс
+	 */
+	protected Tracer(double sampleRate, int capacity) {
+		super(ModuleType.SYSTEM, Tracer.class);
+		this.sampleRate = Math.max(0.0, Math.min(1.0, sampleRate));
+		this.traces = new AtomicReferenceArray<>(Math.max(1, capacity));
+
+		this.info("tracer initialized", Map.of("sampleRate", this.sampleRate, "capacity", this.traces.length()));
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр Tracer.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param sampleRate доля трассируемых запросов (0.0 — 1.0)
+	 * @param capacity   количество хранимых завершённых трасс
+	 * @return инициализированный экземпляр Tracer
+	 * @throws IllegalStateException если трассировщик уже был инициализирован
+	 */
+	public static Tracer initialize(double sampleRate, int capacity) {
+		if (Tracer.instance != null) {
+			throw new IllegalStateException("Tracer already initialized!");
+		}
+		Tracer.instance = new Tracer(sampleRate, capacity);
+		return Tracer.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр Tracer.
+	 *
+	 * @return экземпляр Tracer
+	 * @throws IllegalStateException если трассировщик ещё не был инициализирован
+	 */
+	public static Tracer getInstance() {
+		if (Tracer.instance == null) {
+			throw new IllegalStateException("Tracer is not initialized yet!");
+		}
+		return Tracer.instance;
+	}
+
+	/**
+	 * Открыть спан в контексте текущего запроса.
+	 * <p>
+	 * Всегда отмечает фазу запроса в {@link RequestIdContext}; дерево спанов строится только для
+	 * трассируемых запросов.
+	 *
+	 * @param layer слой (validation, service, repository, storage)
+	 * @param name  имя операции
+	 * @return открытый спан или {@link Span#NOOP}
+	 */
+	public static Span span(String layer, String name) {
+		RequestIdContext context = RequestIdContext.current();
+
+		if (context == null) {
+			return Span.NOOP;
+		}
+
+		context.enterPhase(layer, name);
+
+		Trace trace = context.getTrace();
+		return trace == null ? Span.NOOP : trace.enter(layer, name);
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Начать трассу запроса, если он попал в выборку.
+	 *
+	 * @param requestId идентификатор запроса
+	 * @param route     имя маршрута
+	 * @return трасса или {@code null}, если запрос не трассируется
+	 */
+	public Trace startTrace(String requestId, String route) {
+		if (this.sampleRate <= 0.0 || ThreadLocalRandom.current().nextDouble() >= this.sampleRate) {
+			return null;
+		}
+		return new Trace(requestId, route);
+	}
+
+	/**
+	 * Сохранить завершённую трассу в кольцевой буфер.
+	 *
+	 * @param trace завершённая трасса
+	 */
+	public void record(Trace trace) {
+		long slot = this.written.getAndIncrement();
+		this.traces.set((int) (slot % this.traces.length()), trace);
+	}
+
+	/**
+	 * Получить последние завершённые трассы (новые — первыми).
+	 *
+	 * @param limit         максимальное количество трасс
+	 * @param minDurationMs минимальная длительность запроса в миллисекундах
+	 * @return список трасс
+	 */
+	public List<Trace> recent(int limit, long minDurationMs) {
+		long minDurationNanos = minDurationMs * 1_000_000L;
+		long last = this.written.get();
+		int capacity = this.traces.length();
+		List<Trace> result = new ArrayList<>(Math.min(limit, capacity));
+
+		for (long slot = last - 1; slot >= 0 && slot >= last - capacity && result.size() < limit; slot--) {
+			Trace trace = this.traces.get((int) (slot % capacity));
+			if (trace != null && trace.getDurationNanos() >= minDurationNanos) {
+				result.add(trace);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public double getSampleRate() {
+		return this.sampleRate;
+	}
+
+	public int getCapacity() {
+		return this.traces.length();
+	}
+}
@@ -0,0 +1,623 @@
+/**
+ * @file AsyncTaskFileStorage.java
+ *
+ * @description
+ * Файловое хранилище задач на {@link AsynchronousFileChannel}: операции чтения и записи возвращают
+ * {@link CompletableFuture} и не держат вызывающий поток до завершения I/O.
+ * Каталог и формат документов те же, что у {@link TaskFileStorage}, поэтому хранилища взаимозаменяемы
+ * и могут работать с одними файлами одновременно.
+ *
+ * @details
+ * - Каналы открываются на общем пуле завершений ({@code storage-io-N}); размер задаётся параметром
+ *   {@code tasktracker.storage.async.threads}. Завершения (разбор JSON, продолжения сервиса) выполняются
+ *   на этом пуле
+ * - Сканирование всех задач держит до {@code tasktracker.storage.async.maxInFlight} чтений одновременно
+ *   и дочитывает файлы по мере завершения предыдущих
+ * - Запись — во временный файл с атомарной заменой, как в {@link TaskFileStorage}; удаление и список
+ *   файлов — операции над каталогом без асинхронного API, они выполняются на пуле завершений
+ * - Future завершается в контексте запроса ({@link RequestIdContext}), поэтому продолжения видят его
+ *   (логи, спаны, фаза запроса)
+ * - В JDK для Linux {@link AsynchronousFileChannel} выполняет чтение и запись на потоках пула
+ *   завершений: глубина очереди к диску ограничена размером пула, но потоки общие для всех запросов
+ *
+ * Метрики:
+ * - {@code tasktracker_storage_async_in_flight} — операции чтения и записи, ожидающие завершения
+ * - {@code tasktracker_storage_async_threads} — размер пула завершений
+ *
+ * @example
+ * AsyncTaskFileStorage storage = AsyncTaskFileStorage.initialize(registry, 4, 64);
+ * storage.loadTaskById(42, TaskField.ALL).thenAccept(task -> ...);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.filesystem;
+
+/**
+ * ! java imports
+ */
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseModule;
+import com.chyvacheck.tasktracker.core.metrics.MetricsRegistry;
+import com.chyvacheck.tasktracker.core.system.ModuleType;
+import com.chyvacheck.tasktracker.core.system.context.RequestIdContext;
+import com.chyvacheck.tasktracker.core.system.jfr.StorageEvent;
+import com.chyvacheck.tasktracker.core.system.json.TaskProjection;
+import com.chyvacheck.tasktracker.core.system.tracing.Span;
+import com.chyvacheck.tasktracker.core.system.tracing.Tracer;
+import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+
+/**
+ * Асинхронное файловое хранилище задач.
+ */
+public class AsyncTaskFileStorage extends BaseModule {
+
+	private static final Set<OpenOption> READ_OPTIONS = Set.of(StandardOpenOption.READ);
+	private static final Set<OpenOption> WRITE_OPTIONS = Set.of(StandardOpenOption.WRITE,
+			StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+
+	private static AsyncTaskFileStorage instance;
+
+	private final ExecutorService executor;
+	private final int maxInFlight;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicLong tempSequence = new AtomicLong();
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор хранилища.
+	 *
+	 * @param registry    реестр метрик
+	 * @param threads     размер пула завершений
+	 * @param maxInFlight максимальное количество одновременных чтений при сканировании
+	 */
+	protected AsyncTaskFileStorage(MetricsRegistry registry, int threads, int maxInFlight) {
+		super(ModuleType.SYSTEM, AsyncTaskFileStorage.class);
+
+		AtomicInteger threadSequence = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "storage-io-" + threadSequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.maxInFlight = maxInFlight;
+
+		registry.gauge("tasktracker_storage_async_in_flight",
+				"Asynchronous storage reads and writes waiting for completion", Map.of(), this.inFlight::get);
+		registry.gauge("tasktracker_storage_async_threads",
+				"Completion threads of the asynchronous storage", Map.of(), () -> threads);
+
+		this.info("async task storage initialized", Map.of("threads", threads, "maxInFlight", maxInFlight));
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр AsyncTaskFileStorage.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param registry    реестр метрик
+	 * @param threads     размер пула завершений
+	 * @param maxInFlight максимальное количество одновременных чтений при сканировании
+	 * @return инициализированный экземпляр AsyncTaskFileStorage
+	 * @throws IllegalStateException если хранилище уже было инициализировано
+	 */
+	public static AsyncTaskFileStorage initialize(MetricsRegistry registry, int threads, int maxInFlight) {
+		if (AsyncTaskFileStorage.instance != null) {
+			throw new IllegalStateException("AsyncTaskFileStorage already initialized!");
+		}
+		AsyncTaskFileStorage.instance = new AsyncTaskFileStorage(registry, threads, maxInFlight);
+		return AsyncTaskFileStorage.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр AsyncTaskFileStorage.
+	 *
+	 * @return экземпляр AsyncTaskFileStorage
+	 * @throws IllegalStateException если хранилище ещё не было инициализировано
+	 */
+	public static AsyncTaskFileStorage getInstance() {
+		if (AsyncTaskFileStorage.instance == null) {
+			throw new IllegalStateException("AsyncTaskFileStorage is not initialized yet!");
+		}
+		return AsyncTaskFileStorage.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Загрузить все задачи, разбирая только указанные поля.
+	 *
+	 * @param fields поля, которые нужно прочитать
+	 * @return future со списком всех задач
+	 */
+	public CompletableFuture<List<Task>> loadAllTasks(Set<TaskField> fields) {
+		ObjectReader reader = TaskProjection.of(fields).reader();
+
+		return this.readEach("readAll", bytes -> reader.readValue(bytes));
+	}
+
+	/**
+	 * Загрузить задачи, подходящие под фильтр, разбирая записи частично
+	 * (см. {@link TaskFileStorage#scanTasks}).
+	 *
+	 * @param filter фильтр записей
+	 * @param fields поля, которые нужно прочитать у подходящих задач
+	 * @return future со списком подходящих задач
+	 */
+	public CompletableFuture<List<Task>> scanTasks(TaskFilter filter, Set<TaskField> fields) {
+		Set<TaskField> read = EnumSet.of(filter.field());
+		read.addAll(fields);
+
+		ObjectReader reader = TaskProjection.of(read).reader();
+		ObjectReader fullReader = TaskProjection.of(TaskField.ALL).reader();
+
+		return this.readEach("scan", bytes -> {
+			Boolean matches = TaskFileStorage.testField(bytes, filter);
+
+			if (matches == null) {
+				Task task = fullReader.readValue(bytes);
+				return filter.test(task) ? task : null;
+			}
+			return matches ? reader.readValue(bytes) : null;
+		});
+	}
+
+	/**
+	 * Загрузить задачу по её идентификатору, разбирая только указанные поля.
+	 *
+	 * @param id     идентификатор задачи
+	 * @param fields поля, которые нужно прочитать
+	 * @return future с задачей или пустым Optional, если задача не найдена
+	 */
+	public CompletableFuture<Optional<Task>> loadTaskById(long id, Set<TaskField> fields) {
+		ObjectReader reader = TaskProjection.of(fields).reader();
+
+		StorageEvent event = StorageEvent.start("read", id);
+		Span span = Tracer.span("storage", "read");
+
+		return this.read(taskPath(id)).handle((bytes, error) -> {
+			try {
+				if (error != null) {
+					if (!(unwrap(error) instanceof NoSuchFileException)) {
+						System.err.println("Error during reading task id=" + id);
+						unwrap(error).printStackTrace();
+					}
+					return Optional.<Task>empty();
+				}
+
+				event.addBytes(bytes.length);
+				return Optional.<Task>of(reader.readValue(bytes));
+			} catch (IOException e) {
+				System.err.println("Error during reading task id=" + id);
+				e.printStackTrace();
+				return Optional.<Task>empty();
+			} finally {
+				span.end();
+				event.finish();
+			}
+		});
+	}
+
+	/**
+	 * Сохранить задачу в файл с атомарной заменой существующего.
+	 *
+	 * @param task задача для сохранения
+	 * @return future, завершающийся после замены файла
+	 */
+	public CompletableFuture<Void> saveTask(Task task) {
+		byte[] bytes;
+		try {
+			bytes = TaskFileStorage.documentWriter.writeValueAsBytes(task);
+		} catch (JsonProcessingException e) {
+			return CompletableFuture.failedFuture(
+					new RuntimeException("Error during saving task id=" + task.getId(), e));
+		}
+
+		File dir = new File(TaskFileStorage.STORAGE_DIR);
+		if (!dir.exists()) {
+			dir.mkdirs();
+		}
+
+		Path file = taskPath(task.getId());
+		// Несколько записей одного потока могут быть в полёте одновременно — имя по счётчику, а не по потоку
+		Path temp = Paths.get(TaskFileStorage.STORAGE_DIR + task.getId() + ".json.a"
+				+ this.tempSequence.incrementAndGet() + ".tmp");
+
+		StorageEvent event = StorageEvent.start("write", task.getId());
+		Span span = Tracer.span("storage", "write");
+
+		return this.write(temp, bytes).thenApply(ignored -> {
+			try {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				event.addBytes(bytes.length);
+				return (Void) null;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}).whenComplete((ignored, error) -> {
+			try {
+				if (error != null) {
+					Files.deleteIfExists(temp);
+				}
+			} catch (IOException e) {
+				this.warn("unable to delete temporary task file", Map.of("file", temp.toString()));
+			} finally {
+				span.end();
+				event.finish();
+			}
+		}).exceptionally(error -> {
+			throw new RuntimeException("Error during saving task id=" + task.getId(), unwrap(error));
+		});
+	}
+
+	/**
+	 * Удалить задачу по её идентификатору.
+	 *
+	 * @param id идентификатор задачи
+	 * @return future, завершающийся после удаления файла
+	 */
+	public CompletableFuture<Void> deleteTaskById(long id) {
+		StorageEvent event = StorageEvent.start("delete", id);
+		Span span = Tracer.span("storage", "delete");
+
+		return this.onExecutor(() -> {
+			try {
+				Files.deleteIfExists(taskPath(id));
+				return (Void) null;
+			} catch (IOException e) {
+				throw new RuntimeException("Error during deleting task id=" + id, e);
+			} finally {
+				span.end();
+				event.finish();
+			}
+		});
+	}
+
+	/**
+	 * Прочитать все файлы задач, держа до {@code maxInFlight} чтений одновременно.
+	 * Порядок результатов совпадает с порядком файлов в каталоге; файлы, которые не удалось прочитать
+	 * или которые декодер отбросил ({@code null}), пропускаются.
+	 *
+	 * @param operation имя операции для JFR и трассировки
+	 * @param decoder   разбор содержимого файла
+	 * @return future со списком задач
+	 */
+	private CompletableFuture<List<Task>> readEach(String operation, Decoder decoder) {
+		StorageEvent event = StorageEvent.start(operation, -1);
+		Span span = Tracer.span("storage", operation);
+
+		return this.onExecutor(TaskFileStorage::listTaskFiles).thenCompose(files -> {
+			if (files == null || files.length == 0) {
+				return CompletableFuture.completedFuture(List.<Task>of());
+			}
+
+			Task[] results = new Task[files.length];
+			AtomicInteger next = new AtomicInteger();
+			AtomicLong bytes = new AtomicLong();
+
+			CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(this.maxInFlight, files.length)];
+			for (int i = 0; i < lanes.length; i++) {
+				lanes[i] = this.lane(files, next, results, bytes, decoder);
+			}
+
+			return CompletableFuture.allOf(lanes).thenApply(ignored -> {
+				event.addBytes(bytes.get());
+
+				List<Task> tasks = new ArrayList<>(results.length);
+				for (Task task : results) {
+					if (task != null) {
+						tasks.add(task);
+					}
+				}
+				return tasks;
+			});
+		}).whenComplete((tasks, error) -> {
+			span.end();
+			event.finish();
+		});
+	}
+
+	/**
+	 * Последовательно читать следующие непрочитанные файлы, пока они не закончатся.
+	 *
+	 * @param files   файлы задач
+	 * @param next    индекс следующего файла (общий для всех цепочек)
+	 * @param results результаты по индексу файла
+	 * @param bytes   счётчик прочитанных байт
+	 * @param decoder разбор содержимого файла
+	 * @return future, завершающийся, когда файлы закончились
+	 */
+	private CompletableFuture<Void> lane(File[] files, AtomicInteger next, Task[] results, AtomicLong bytes,
+			Decoder decoder) {
+		int index = next.getAndIncrement();
+
+		if (index >= files.length) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		File file = files[index];
+
+		return this.read(file.toPath()).handle((content, error) -> {
+			try {
+				if (error != null) {
+					// Файл удалён между чтением каталога и чтением файла — задачи уже нет
+					if (!(unwrap(error) instanceof NoSuchFileException)) {
+						throw unwrap(error);
+					}
+					return null;
+				}
+
+				bytes.addAndGet(content.length);
+				results[index] = decoder.decode(content);
+			} catch (Throwable e) {
+				System.err.println("Ошибка при чтении файла задачи: " + file.getName());
+				e.printStackTrace();
+			}
+			return null;
+		}).thenCompose(ignored -> this.lane(files, next, results, bytes, decoder));
+	}
+
+	/**
+	 * Прочитать файл целиком через {@link AsynchronousFileChannel}.
+	 *
+	 * @param path путь к файлу
+	 * @return future с содержимым файла
+	 */
+	private CompletableFuture<byte[]> read(Path path) {
+		AsynchronousFileChannel channel;
+		ByteBuffer buffer;
+
+		try {
+			channel = AsynchronousFileChannel.open(path, READ_OPTIONS, this.executor);
+		} catch (IOException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		try {
+			buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+		} catch (IOException | ArithmeticException e) {
+			closeQuietly(channel);
+			return CompletableFuture.failedFuture(e);
+		}
+
+		Transfer<byte[]> transfer = new Transfer<>(channel, path, buffer, false);
+		transfer.start(buffer.array());
+		return transfer.future;
+	}
+
+	/**
+	 * Записать файл целиком через {@link AsynchronousFileChannel}.
+	 *
+	 * @param path  путь к файлу
+	 * @param bytes содержимое
+	 * @return future, завершающийся после записи и закрытия файла
+	 */
+	private CompletableFuture<Void> write(Path path, byte[] bytes) {
+		AsynchronousFileChannel channel;
+
+		try {
+			channel = AsynchronousFileChannel.open(path, WRITE_OPTIONS, this.executor);
+		} catch (IOException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		Transfer<Void> transfer = new Transfer<>(channel, path, ByteBuffer.wrap(bytes), true);
+		transfer.start(null);
+		return transfer.future;
+	}
+
+	/**
+	 * Выполнить операцию над каталогом на пуле завершений в контексте текущего запроса.
+	 *
+	 * @param operation операция
+	 * @param <T>       тип результата
+	 * @return future с результатом операции
+	 */
+	private <T> CompletableFuture<T> onExecutor(Supplier<T> operation) {
+		RequestIdContext context = RequestIdContext.current();
+		CompletableFuture<T> future = new CompletableFuture<>();
+
+		this.executor.execute(() -> {
+			RequestIdContext previous = RequestIdContext.attach(context);
+			try {
+				future.complete(operation.get());
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			} finally {
+				RequestIdContext.restore(previous);
+			}
+		});
+
+		return future;
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	/**
+	 * Пул завершений: на нём можно выполнять лёгкие продолжения операций хранилища.
+	 *
+	 * @return пул завершений
+	 */
+	public ExecutorService getExecutor() {
+		return this.executor;
+	}
+
+	/**
+	 * Путь к файлу задачи.
+	 *
+	 * @param id идентификатор задачи
+	 * @return путь к файлу
+	 */
+	private static Path taskPath(long id) {
+		return Paths.get(TaskFileStorage.STORAGE_DIR + id + ".json");
+	}
+
+	/**
+	 * Достать исходное исключение из обёртки {@link CompletionException}.
+	 *
+	 * @param error исключение
+	 * @return исходное исключение
+	 */
+	private static Throwable unwrap(Throwable error) {
+		return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+	}
+
+	/**
+	 * Закрыть канал, игнорируя ошибку закрытия.
+	 *
+	 * @param channel канал
+	 */
+	private static void closeQuietly(AsynchronousFileChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException ignored) {
+			// Результат операции уже известен
+		}
+	}
+
+	/**
+	 * Разбор содержимого файла задачи.
+	 */
+	@FunctionalInterface
+	private interface Decoder {
+
+		/**
+		 * @param bytes содержимое файла
+		 * @return задача или {@code null}, если запись не нужна
+		 * @throws IOException если содержимое не удалось разобрать
+		 */
+		Task decode(byte[] bytes) throws IOException;
+	}
+
+	/**
+	 * Чтение или запись всего буфера: повторяет операцию с текущей позиции, пока буфер не закончится,
+	 * затем закрывает канал и завершает future в контексте запроса.
+	 *
+	 * @param <T> тип результата
+	 */
+	private final class Transfer<T> implements CompletionHandler<Integer, ByteBuffer> {
+
+		private final AsynchronousFileChannel channel;
+		private final Path path;
+		private final ByteBuffer buffer;
+		private final boolean writing;
+		private final RequestIdContext context = RequestIdContext.current();
+		private final CompletableFuture<T> future = new CompletableFuture<>();
+		private T result;
+
+		private Transfer(AsynchronousFileChannel channel, Path path, ByteBuffer buffer, boolean writing) {
+			this.channel = channel;
+			this.path = path;
+			this.buffer = buffer;
+			this.writing = writing;
+		}
+
+		/**
+		 * Запустить передачу.
+		 *
+		 * @param result результат future после успешной передачи
+		 */
+		private void start(T result) {
+			this.result = result;
+			inFlight.incrementAndGet();
+			this.next();
+		}
+
+		private void next() {
+			if (!this.buffer.hasRemaining()) {
+				this.finish(null);
+			} else if (this.writing) {
+				this.channel.write(this.buffer, this.buffer.position(), this.buffer, this);
+			} else {
+				this.channel.read(this.buffer, this.buffer.position(), this.buffer, this);
+			}
+		}
+
+		@Override
+		public void completed(Integer transferred, ByteBuffer attachment) {
+			if (transferred < 0) {
+				this.finish(new IOException("File " + this.path.getFileName() + " was truncated while reading"));
+			} else {
+				this.next();
+			}
+		}
+
+		@Override
+		public void failed(Throwable error, ByteBuffer attachment) {
+			this.finish(error);
+		}
+
+		private void finish(Throwable error) {
+			inFlight.decrementAndGet();
+
+			Throwable failure = error;
+			try {
+				this.channel.close();
+			} catch (IOException e) {
+				// Ошибка закрытия после записи — данные могли не дойти до файла
+				if (failure == null && this.writing) {
+					failure = e;
+				}
+			}
+
+			RequestIdContext previous = RequestIdContext.attach(this.context);
+			try {
+				if (failure == null) {
+					this.future.complete(this.result);
+				} else {
+					this.future.completeExceptionally(failure);
+				}
+			} finally {
+				RequestIdContext.restore(previous);
+			}
+		}
+	}
+}
@@ -11,6 +11,11 @@
  * 
  * Использует Jackson для сериализации и десериализации JSON.
  * 
+ * Сохранение можно отложить ({@link #deferSaves()}): тогда изменения только помечают настройки,
+ * а файл пишет {@link #flush()} — конвейер изменений вызывает его один раз на пачку.
+ * При загрузке последний ID сверяется с файлами задач: если процесс остановился после записи задачи,
+ * но до сохранения настроек, ID не будет выдан повторно.
+ * 
  * @author
  * Dmytro Shakh
  */
@@ -28,7 +33,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
 import java.io.IOException;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ! my imports
@@ -39,7 +44,9 @@ public class SystemSettingsStorage {
 
 	private static final String SETTINGS_FILE = "data/settings.json";
 	private static final ObjectMapper objectMapper = ObjectMapperProvider.get();
-	private static Map<String, Object> settings = new HashMap<>();
+	private static Map<String, Object> settings = new ConcurrentHashMap<>();
+	private static volatile boolean deferred;
+	private static volatile boolean dirty;
 
 	/**
 	 * Загружает системные настройки из файла.
@@ -54,7 +61,13 @@ public class SystemSettingsStorage {
 				settings.put("lastId", 0L);
 				saveSettings();
 			} else {
-				settings = objectMapper.readValue(file, Map.class);
+				settings = new ConcurrentHashMap<>(objectMapper.readValue(file, Map.class));
+			}
+
+			long storedId = TaskFileStorage.findMaxStoredId();
+			if (storedId > getLastId()) {
+				settings.put("lastId", storedId);
+				saveSettings();
 			}
 		} catch (IOException e) {
 			throw new RuntimeException("Can not load system settings", e);
@@ -64,14 +77,32 @@ public class SystemSettingsStorage {
 	/**
 	 * Сохраняет текущие настройки в файл.
 	 */
-	public static void saveSettings() {
+	public static synchronized void saveSettings() {
 		try {
+			dirty = false;
 			objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(SETTINGS_FILE), settings);
 		} catch (IOException e) {
+			dirty = true;
 			throw new RuntimeException("Can not save system settings", e);
 		}
 	}
 
+	/**
+	 * Откладывать сохранение изменённых настроек до {@link #flush()}.
+	 */
+	public static void deferSaves() {
+		deferred = true;
+	}
+
+	/**
+	 * Сохранить настройки, если они менялись после последнего сохранения.
+	 */
+	public static void flush() {
+		if (dirty) {
+			saveSettings();
+		}
+	}
+
 	/**
 	 * Получить последний использованный ID задачи.
 	 *
@@ -89,7 +120,12 @@ public class SystemSettingsStorage {
 	 */
 	public static void setLastId(long lastId) {
 		settings.put("lastId", lastId);
-		saveSettings();
+
+		if (deferred) {
+			dirty = true;
+		} else {
+			saveSettings();
+		}
 	}
 
 }
\ No newline at end of file
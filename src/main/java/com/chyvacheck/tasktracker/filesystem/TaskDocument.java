@@ -0,0 +1,122 @@
+/**
+ * @file TaskDocument.java
+ *
+ * @description
+ * Открытый JSON-документ задачи в хранилище ({@link TaskFileStorage#openTaskDocument}).
+ * Позволяет отдать сохранённые байты клиенту как есть, без разбора в {@link com.chyvacheck.tasktracker.model.Task}
+ * и повторной сериализации.
+ *
+ * @details
+ * - Документ держит открытый {@link FileChannel}: размер известен заранее, байты передаются
+ *   через {@link FileChannel#transferTo} прямо в поток ответа
+ * - Канал открыт до {@link #close()}: удаление или перезапись файла после открытия не влияет
+ *   на уже открытый документ (перезапись выполняется заменой файла)
+ * - Содержимое не разбирается — хранилище пишет документы тем же ObjectMapper, что и ответы;
+ *   документы не в канонической форме хранилище не открывает (проверяются первые и последние байты)
+ *
+ * @example
+ * try (TaskDocument document = TaskFileStorage.openTaskDocument(42).orElseThrow()) {
+ *     document.transferTo(out);
+ * }
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.filesystem;
+
+/**
+ * ! java imports
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Открытый документ задачи.
+ */
+public final class TaskDocument implements Closeable {
+
+	private final long id;
+	private final FileChannel channel;
+	private final long size;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор документа.
+	 *
+	 * @param id      идентификатор задачи
+	 * @param channel открытый канал файла задачи
+	 * @throws IOException если не удалось получить размер файла
+	 */
+	TaskDocument(long id, FileChannel channel) throws IOException {
+		this.id = id;
+		this.channel = channel;
+		this.size = channel.size();
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Передать весь документ в поток.
+	 *
+	 * @param out поток назначения
+	 * @throws IOException если чтение или запись завершились ошибкой
+	 */
+	public void transferTo(OutputStream out) throws IOException {
+		WritableByteChannel target = Channels.newChannel(out);
+		long position = 0;
+
+		while (position < this.size) {
+			long transferred = this.channel.transferTo(position, this.size - position, target);
+			if (transferred <= 0) {
+				throw new IOException("Task document id=" + this.id + " was truncated while reading");
+			}
+			position += transferred;
+		}
+	}
+
+	/**
+	 * Прочитать весь документ в массив.
+	 *
+	 * @return байты документа
+	 * @throws IOException если чтение завершилось ошибкой
+	 */
+	public byte[] readAllBytes() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(this.size));
+
+		while (buffer.hasRemaining()) {
+			if (this.channel.read(buffer, buffer.position()) < 0) {
+				throw new IOException("Task document id=" + this.id + " was truncated while reading");
+			}
+		}
+
+		return buffer.array();
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.channel.close();
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public long getId() {
+		return id;
+	}
+
+	public long getSize() {
+		return size;
+	}
+}
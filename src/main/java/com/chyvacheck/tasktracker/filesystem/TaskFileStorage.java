@@ -11,6 +11,18 @@
  * Расположение файлов: {@code /data/tasks/}
  * 
  * Использует Jackson для сериализации и десериализации объектов.
+ * Чтение поддерживает проекцию ({@link TaskProjection}): незапрошенные поля задачи не разбираются.
+ * Фильтрующее сканирование ({@link #scanTasks}) сначала потоково проверяет поле фильтра
+ * и создаёт {@link Task} только для подходящих записей.
+ * Документ задачи можно отдать как есть, без разбора ({@link #openTaskDocument}), если включён параметр
+ * {@code tasktracker.storage.rawReads}; тогда документы пишутся компактно, как в ответах API.
+ * Документы не в канонической форме (с отступами, записанные до включения параметра, или без поля
+ * {@code version}, записанные до появления версий) как есть не отдаются — такая задача читается с разбором,
+ * пока её не перезапишет следующее изменение.
+ * Запись выполняется во временный файл с атомарной заменой, поэтому читатель никогда не видит
+ * частично записанный документ.
+ * Количество прочитанных/записанных байт и просмотренных задач отмечается в {@link IoTracker}.
+ * Каждая операция оборачивается JFR-событием {@link StorageEvent}.
  * 
  * @author
  * Dmytro Shakh
@@ -23,28 +35,60 @@ package com.chyvacheck.tasktracker.filesystem;
  */
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.Optional;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * ! lib imports
  */
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.chyvacheck.tasktracker.core.base.BaseModule;
-import com.chyvacheck.tasktracker.core.system.ModuleType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
 /**
  * ! my imports
  */
+import com.chyvacheck.tasktracker.core.base.BaseModule;
+import com.chyvacheck.tasktracker.core.metrics.IoTracker;
+import com.chyvacheck.tasktracker.core.system.ModuleType;
 import com.chyvacheck.tasktracker.core.system.ObjectMapperProvider;
+import com.chyvacheck.tasktracker.core.system.jfr.StorageEvent;
+import com.chyvacheck.tasktracker.core.system.json.TaskProjection;
+import com.chyvacheck.tasktracker.core.system.tracing.Span;
+import com.chyvacheck.tasktracker.core.system.tracing.Tracer;
 import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+import com.chyvacheck.tasktracker.utils.ConfigUtil;
 
 public class TaskFileStorage extends BaseModule {
 
-	private static final String STORAGE_DIR = "data/tasks/";
+	// Каталог, формат документов и сканирование общие с AsyncTaskFileStorage
+	static final String STORAGE_DIR = "data/tasks/";
 	private static final ObjectMapper objectMapper = ObjectMapperProvider.get();
+	private static final boolean rawReads = ConfigUtil.getBoolean("tasktracker.storage.rawReads", false);
+	// Для отдачи документов как есть они должны совпадать с телом ответа — без отступов
+	static final ObjectWriter documentWriter = rawReads
+			? objectMapper.writer()
+			: objectMapper.writerWithDefaultPrettyPrinter();
+	// Канонический документ: без отступов ({"createdAt"...) и заканчивается версией — последним полем задачи
+	private static final byte[] CANONICAL_HEAD = { '{', '"' };
+	private static final Pattern CANONICAL_TAIL = Pattern.compile(",\"version\":-?\\d+}$");
+	private static final int CANONICAL_TAIL_BYTES = 32;
 
 	TaskFileStorage() {
 		super(ModuleType.SYSTEM, TaskFileStorage.class);
@@ -56,29 +100,174 @@ public class TaskFileStorage extends BaseModule {
 	 * @return список всех задач
 	 */
 	public static List<Task> loadAllTasks() {
+		return loadAllTasks(TaskField.ALL);
+	}
+
+	/**
+	 * Загрузить все задачи из файловой системы, разбирая только указанные поля.
+	 * Остальные поля задач остаются со значениями по умолчанию.
+	 *
+	 * @param fields поля, которые нужно прочитать
+	 * @return список всех задач
+	 */
+	public static List<Task> loadAllTasks(Set<TaskField> fields) {
+		ObjectReader reader = TaskProjection.of(fields).reader();
+		List<Task> tasks = new ArrayList<>();
+
+		File[] files = listTaskFiles();
+		if (files == null) {
+			return tasks;
+		}
+
+		StorageEvent event = StorageEvent.start("readAll", -1);
+		Span span = Tracer.span("storage", "readAll");
+		try {
+			for (File file : files) {
+				try {
+					byte[] bytes = Files.readAllBytes(file.toPath());
+					IoTracker.recordRead(bytes.length);
+					IoTracker.recordScanned(1);
+					event.addBytes(bytes.length);
+
+					Task task = reader.readValue(bytes);
+					tasks.add(task);
+				} catch (IOException e) {
+					System.err.println("Ошибка при чтении файла задачи: " + file.getName());
+					e.printStackTrace();
+				}
+			}
+		} finally {
+			span.end();
+			event.finish();
+		}
+
+		return tasks;
+	}
+
+	/**
+	 * Загрузить задачи, подходящие под фильтр, разбирая записи частично.
+	 * <p>
+	 * Каждая запись сначала просматривается потоковым {@link JsonParser}: значения до поля фильтра
+	 * пропускаются без разбора, решение принимается по значению поля. {@link Task} создаётся только
+	 * для подходящих записей (с проекцией {@code fields}). Если поле отсутствует или его значение
+	 * нетипично, запись читается целиком и проверяется через {@link TaskFilter#test}.
+	 *
+	 * @param filter фильтр записей
+	 * @param fields поля, которые нужно прочитать у подходящих задач
+	 * @return список подходящих задач
+	 */
+	public static List<Task> scanTasks(TaskFilter filter, Set<TaskField> fields) {
+		Set<TaskField> read = EnumSet.of(filter.field());
+		read.addAll(fields);
+
+		ObjectReader reader = TaskProjection.of(read).reader();
+		ObjectReader fullReader = TaskProjection.of(TaskField.ALL).reader();
 		List<Task> tasks = new ArrayList<>();
+
+		File[] files = listTaskFiles();
+		if (files == null) {
+			return tasks;
+		}
+
+		StorageEvent event = StorageEvent.start("scan", -1);
+		Span span = Tracer.span("storage", "scan");
+		try {
+			for (File file : files) {
+				try {
+					byte[] bytes = Files.readAllBytes(file.toPath());
+					IoTracker.recordRead(bytes.length);
+					IoTracker.recordScanned(1);
+					event.addBytes(bytes.length);
+
+					Boolean matches = testField(bytes, filter);
+
+					if (matches == null) {
+						Task task = fullReader.readValue(bytes);
+						if (filter.test(task)) {
+							tasks.add(task);
+						}
+					} else if (matches) {
+						tasks.add(reader.readValue(bytes));
+					}
+				} catch (IOException e) {
+					System.err.println("Ошибка при чтении файла задачи: " + file.getName());
+					e.printStackTrace();
+				}
+			}
+		} finally {
+			span.end();
+			event.finish();
+		}
+
+		return tasks;
+	}
+
+	/**
+	 * Проверить поле фильтра в записи, не создавая задачу.
+	 *
+	 * @param bytes  JSON записи
+	 * @param filter фильтр
+	 * @return результат проверки или {@code null}, если поле не найдено или требует полной проверки
+	 */
+	static Boolean testField(byte[] bytes, TaskFilter filter) throws IOException {
+		String name = filter.field().getJsonName();
+
+		try (JsonParser parser = objectMapper.getFactory().createParser(bytes)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				// Имена полей канонизируются парсером — сравнение не создаёт строк
+				String current = parser.currentName();
+				parser.nextToken();
+
+				if (name.equals(current)) {
+					return filter.testValue(parser);
+				}
+				parser.skipChildren();
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Получить файлы задач, создав каталог хранилища при необходимости.
+	 *
+	 * @return файлы задач или {@code null}, если каталог не удалось прочитать
+	 */
+	static File[] listTaskFiles() {
 		File dir = new File(STORAGE_DIR);
 
 		if (!dir.exists()) {
 			dir.mkdirs();
 		}
 
-		File[] files = dir.listFiles((d, name) -> name.endsWith(".json"));
+		return dir.listFiles((d, name) -> name.endsWith(".json"));
+	}
+
+	/**
+	 * Найти наибольший идентификатор среди сохранённых задач (по именам файлов, без чтения).
+	 *
+	 * @return наибольший идентификатор или 0, если задач нет
+	 */
+	static long findMaxStoredId() {
+		File[] files = listTaskFiles();
+		long max = 0;
+
 		if (files == null) {
-			return tasks;
+			return max;
 		}
 
 		for (File file : files) {
+			String name = file.getName();
 			try {
-				Task task = objectMapper.readValue(file, Task.class);
-				tasks.add(task);
-			} catch (IOException e) {
-				System.err.println("Ошибка при чтении файла задачи: " + file.getName());
-				e.printStackTrace();
+				max = Math.max(max, Long.parseLong(name.substring(0, name.length() - ".json".length())));
+			} catch (NumberFormatException e) {
+				// Посторонний файл в каталоге задач
 			}
 		}
-
-		return tasks;
+		return max;
 	}
 
 	/**
@@ -89,25 +278,147 @@ public class TaskFileStorage extends BaseModule {
 	 *         найдена
 	 */
 	public static Optional<Task> loadTaskById(long id) {
+		return loadTaskById(id, TaskField.ALL);
+	}
+
+	/**
+	 * Загрузить задачу по её идентификатору, разбирая только указанные поля.
+	 *
+	 * @param id     идентификатор задачи
+	 * @param fields поля, которые нужно прочитать
+	 * @return задача, обёрнутая в Optional, или пустой Optional, если задача не
+	 *         найдена
+	 */
+	public static Optional<Task> loadTaskById(long id, Set<TaskField> fields) {
 		File file = new File(STORAGE_DIR + id + ".json");
 
 		if (!file.exists()) {
 			return Optional.empty();
 		}
 
+		StorageEvent event = StorageEvent.start("read", id);
+		Span span = Tracer.span("storage", "read");
 		try {
-			Task task = objectMapper.readValue(file, Task.class);
+			byte[] bytes = Files.readAllBytes(file.toPath());
+			IoTracker.recordRead(bytes.length);
+			IoTracker.recordScanned(1);
+			event.addBytes(bytes.length);
+
+			Task task = TaskProjection.of(fields).reader().readValue(bytes);
 			return Optional.of(task);
 		} catch (IOException e) {
 			System.err.println("Error during reading task id=" + id);
 			e.printStackTrace();
 			return Optional.empty();
+		} finally {
+			span.end();
+			event.finish();
+		}
+	}
+
+	/**
+	 * Включена ли отдача документов задач как есть ({@code tasktracker.storage.rawReads}).
+	 *
+	 * @return true, если {@link #openTaskDocument} может вернуть документ
+	 */
+	public static boolean isRawReadsEnabled() {
+		return rawReads;
+	}
+
+	/**
+	 * Открыть сохранённый JSON-документ задачи, не разбирая его.
+	 * <p>
+	 * Документ отдаётся, только если он в канонической форме (как тело ответа); иначе вызывающий
+	 * читает задачу с разбором.
+	 *
+	 * @param id идентификатор задачи
+	 * @return документ или пустой Optional, если задача не найдена, документ не в канонической форме
+	 *         или отдача документов как есть выключена ({@code tasktracker.storage.rawReads})
+	 */
+	public static Optional<TaskDocument> openTaskDocument(long id) {
+		if (!rawReads) {
+			return Optional.empty();
+		}
+
+		StorageEvent event = StorageEvent.start("read", id);
+		Span span = Tracer.span("storage", "read");
+		try {
+			FileChannel channel = FileChannel.open(Paths.get(STORAGE_DIR + id + ".json"), StandardOpenOption.READ);
+			TaskDocument document;
+			try {
+				document = new TaskDocument(id, channel);
+
+				if (!isCanonical(channel, document.getSize())) {
+					channel.close();
+					return Optional.empty();
+				}
+			} catch (IOException e) {
+				channel.close();
+				throw e;
+			}
+
+			// Байты документа читает вызывающий при отдаче ответа; их учитывает InstrumentedTaskRepository
+			IoTracker.recordScanned(1);
+			event.addBytes(document.getSize());
+			return Optional.of(document);
+		} catch (NoSuchFileException e) {
+			return Optional.empty();
+		} catch (IOException e) {
+			System.err.println("Error during opening task id=" + id);
+			e.printStackTrace();
+			return Optional.empty();
+		} finally {
+			span.end();
+			event.finish();
+		}
+	}
+
+	/**
+	 * Проверить, что документ в канонической форме: начинается с {@code {"} (без отступов)
+	 * и заканчивается полем {@code version}. Читаются только первые и последние байты.
+	 *
+	 * @param channel канал файла задачи
+	 * @param size    размер файла
+	 * @return true, если документ можно отдать как есть
+	 * @throws IOException если чтение завершилось ошибкой
+	 */
+	private static boolean isCanonical(FileChannel channel, long size) throws IOException {
+		if (size < CANONICAL_HEAD.length) {
+			return false;
+		}
+
+		ByteBuffer head = ByteBuffer.allocate(CANONICAL_HEAD.length);
+		readFully(channel, head, 0);
+		if (head.get(0) != CANONICAL_HEAD[0] || head.get(1) != CANONICAL_HEAD[1]) {
+			return false;
+		}
+
+		int tailLength = (int) Math.min(size, CANONICAL_TAIL_BYTES);
+		ByteBuffer tail = ByteBuffer.allocate(tailLength);
+		readFully(channel, tail, size - tailLength);
+
+		return CANONICAL_TAIL.matcher(new String(tail.array(), StandardCharsets.US_ASCII)).find();
+	}
+
+	/**
+	 * Заполнить буфер байтами канала с указанной позиции.
+	 *
+	 * @param channel  канал
+	 * @param buffer   буфер
+	 * @param position позиция в файле
+	 * @throws IOException если файл закончился раньше или чтение завершилось ошибкой
+	 */
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of task document");
+			}
 		}
 	}
 
 	/**
 	 * Сохранить задачу в файл.
-	 * Если файл существует — он будет перезаписан.
+	 * Если файл существует — он будет атомарно заменён.
 	 *
 	 * @param task задача для сохранения
 	 */
@@ -118,12 +429,27 @@ public class TaskFileStorage extends BaseModule {
 			dir.mkdirs();
 		}
 
-		File file = new File(STORAGE_DIR + task.getId() + ".json");
+		Path file = Paths.get(STORAGE_DIR + task.getId() + ".json");
 
+		StorageEvent event = StorageEvent.start("write", task.getId());
+		Span span = Tracer.span("storage", "write");
 		try {
-			objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, task);
+			byte[] bytes = documentWriter.writeValueAsBytes(task);
+			// Временный файл на поток: параллельные записи одной задачи не пишут в один файл
+			Path temp = Paths.get(STORAGE_DIR + task.getId() + ".json." + Thread.currentThread().getId() + ".tmp");
+			try {
+				Files.write(temp, bytes);
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+			IoTracker.recordWrite(bytes.length);
+			event.addBytes(bytes.length);
 		} catch (IOException e) {
 			throw new RuntimeException("Error during saving task id=" + task.getId(), e);
+		} finally {
+			span.end();
+			event.finish();
 		}
 	}
 
@@ -133,10 +459,15 @@ public class TaskFileStorage extends BaseModule {
 	 * @param id идентификатор задачи
 	 */
 	public static void deleteTaskById(long id) {
+		StorageEvent event = StorageEvent.start("delete", id);
+		Span span = Tracer.span("storage", "delete");
 		try {
 			Files.deleteIfExists(Paths.get(STORAGE_DIR + id + ".json"));
 		} catch (IOException e) {
 			throw new RuntimeException("Error during deleting task id=" + id, e);
+		} finally {
+			span.end();
+			event.finish();
 		}
 	}
 }
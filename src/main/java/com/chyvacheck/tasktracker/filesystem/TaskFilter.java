@@ -0,0 +1,97 @@
+/**
+ * @file TaskFilter.java
+ *
+ * @description
+ * Фильтр задач для сканирования хранилища ({@link TaskFileStorage#scanTasks}) с частичным разбором:
+ * решение принимается по одному полю JSON, до создания объекта {@link Task}.
+ *
+ * @details
+ * - {@link #testValue} получает парсер на токене значения поля {@link #field()} и возвращает
+ *   {@code TRUE}/{@code FALSE}, либо {@code null}, если по токену решить нельзя (нетипичное значение)
+ * - {@link #test} — та же проверка на полностью прочитанной задаче; используется, если поля нет в записи
+ *   или {@link #testValue} вернул {@code null}. Так результат совпадает с фильтрацией полных объектов
+ *
+ * @example
+ * List<Task> done = TaskFileStorage.scanTasks(TaskFilter.completed(true), TaskField.ALL);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.filesystem;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * ! java imports
+ */
+import java.io.IOException;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+
+/**
+ * Фильтр задач по одному полю.
+ */
+public interface TaskFilter {
+
+	/**
+	 * Фильтр по статусу выполнения.
+	 *
+	 * @param completed true — только выполненные задачи; false — только
+	 *                  невыполненные
+	 * @return фильтр
+	 */
+	static TaskFilter completed(boolean completed) {
+		return new TaskFilter() {
+			@Override
+			public TaskField field() {
+				return TaskField.COMPLETED;
+			}
+
+			@Override
+			public Boolean testValue(JsonParser p) {
+				JsonToken token = p.currentToken();
+				if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+					return (token == JsonToken.VALUE_TRUE) == completed;
+				}
+				return null;
+			}
+
+			@Override
+			public boolean test(Task task) {
+				return task.isCompleted() == completed;
+			}
+		};
+	}
+
+	/**
+	 * Поле задачи, по которому фильтруются записи.
+	 *
+	 * @return поле
+	 */
+	TaskField field();
+
+	/**
+	 * Проверить значение поля, не создавая задачу.
+	 *
+	 * @param p парсер на токене значения поля
+	 * @return результат проверки или {@code null}, если нужна полная проверка через {@link #test}
+	 */
+	Boolean testValue(JsonParser p) throws IOException;
+
+	/**
+	 * Проверить полностью прочитанную задачу.
+	 *
+	 * @param task задача
+	 * @return true, если задача подходит
+	 */
+	boolean test(Task task);
+}
@@ -0,0 +1,170 @@
+/**
+ * @file RequestContextMiddleware.java
+ *
+ * @extends BaseMiddleware
+ * @implements RouteInterceptor
+ *
+ * @description
+ * Middleware, которая открывает {@link RequestIdContext} для каждого запроса.
+ *
+ * @details
+ * - Идентификатор запроса берётся из заголовка {@code X-Request-Id} (если он корректен) или генерируется
+ * - Идентификатор возвращается клиенту в заголовке ответа {@code X-Request-Id}
+ * - Для запросов, попавших в выборку {@link Tracer}, создаётся трасса; после ответа она публикуется в буфер
+ * - Контекст закрывается после ответа, когда итоговый статус уже известен
+ * - Контекст хранится и в атрибуте запроса ({@link #CONTEXT_ATTRIBUTE}): завершение асинхронного запроса
+ *   может выполняться на другом потоке
+ *
+ * Должна быть первой в цепочке перехватчиков, чтобы контекст был доступен остальным.
+ *
+ * @see RequestIdContext
+ * @see Tracer
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.middleware.context;
+
+/**
+ * ! lib imports
+ */
+import io.javalin.http.Context;
+
+/**
+ * ! java imports
+ */
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseMiddleware;
+import com.chyvacheck.tasktracker.core.routes.RouteDefinition;
+import com.chyvacheck.tasktracker.core.routes.RouteInterceptor;
+import com.chyvacheck.tasktracker.core.system.context.RequestIdContext;
+import com.chyvacheck.tasktracker.core.system.tracing.Trace;
+import com.chyvacheck.tasktracker.core.system.tracing.Tracer;
+
+/**
+ * Middleware для контекста запроса и трассировки.
+ */
+public class RequestContextMiddleware extends BaseMiddleware implements RouteInterceptor {
+
+	public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+	private static final int MAX_REQUEST_ID_LENGTH = 64;
+	public static final String CONTEXT_ATTRIBUTE = "tasktracker.requestContext";
+
+	private static RequestContextMiddleware instance;
+
+	private final Tracer tracer;
+
+	// Префикс процесса + счётчик: уникально в пределах запуска и дешевле UUID
+	private final String idPrefix = Long.toHexString(ThreadLocalRandom.current().nextLong() & 0xFFFFFFFFL) + "-";
+	private final AtomicLong idSequence = new AtomicLong();
+
+	/**
+	 * * Constructor
+	 */
+
+	protected RequestContextMiddleware(Tracer tracer) {
+		super(RequestContextMiddleware.class);
+		this.tracer = tracer;
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр RequestContextMiddleware.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param tracer трассировщик запросов
+	 * @return инициализированный экземпляр RequestContextMiddleware
+	 * @throws IllegalStateException если middleware уже была инициализирована
+	 */
+	public static RequestContextMiddleware initialize(Tracer tracer) {
+		if (RequestContextMiddleware.instance != null) {
+			throw new IllegalStateException("RequestContextMiddleware already initialized!");
+		}
+		RequestContextMiddleware.instance = new RequestContextMiddleware(tracer);
+		return RequestContextMiddleware.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр RequestContextMiddleware.
+	 *
+	 * @return экземпляр RequestContextMiddleware
+	 * @throws IllegalStateException если middleware ещё не была инициализирована
+	 */
+	public static RequestContextMiddleware getInstance() {
+		if (RequestContextMiddleware.instance == null) {
+			throw new IllegalStateException("RequestContextMiddleware is not initialized yet!");
+		}
+		return RequestContextMiddleware.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	@Override
+	public void onRequestStart(Context ctx, RouteDefinition route) {
+		String requestId = ctx.header(REQUEST_ID_HEADER);
+
+		if (!isValidRequestId(requestId)) {
+			requestId = this.idPrefix + Long.toHexString(this.idSequence.incrementAndGet());
+		}
+
+		ctx.header(REQUEST_ID_HEADER, requestId);
+
+		Trace trace = this.tracer.startTrace(requestId, route.getName());
+		ctx.attribute(CONTEXT_ATTRIBUTE, RequestIdContext.open(requestId, route.getName(), trace));
+	}
+
+	@Override
+	public void onRequestEnd(Context ctx, RouteDefinition route) {
+		RequestIdContext context = ctx.attribute(CONTEXT_ATTRIBUTE);
+
+		if (context == null) {
+			return;
+		}
+
+		Trace trace = context.getTrace();
+		if (trace != null) {
+			trace.finish(ctx.statusCode());
+			this.tracer.record(trace);
+		}
+
+		RequestIdContext.detach(context);
+	}
+
+	/**
+	 * Проверить идентификатор запроса из заголовка клиента.
+	 * Допускаются только короткие значения из латиницы, цифр и символов {@code - _ . :},
+	 * чтобы не пропускать в логи и заголовки произвольный текст.
+	 *
+	 * @param requestId значение заголовка
+	 * @return true, если значение можно использовать
+	 */
+	private static boolean isValidRequestId(String requestId) {
+		if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_REQUEST_ID_LENGTH) {
+			return false;
+		}
+
+		for (int i = 0; i < requestId.length(); i++) {
+			char c = requestId.charAt(i);
+			boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+					|| c == '-' || c == '_' || c == '.' || c == ':';
+			if (!allowed) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,108 @@
+/**
+ * @file JfrRequestMiddleware.java
+ * 
+ * @extends BaseMiddleware
+ * @implements RouteInterceptor
+ * 
+ * @description
+ * Middleware, которая оборачивает обработку каждого запроса JFR-событием {@link RequestEvent}
+ * (вход в обработчик контроллера → итоговый статус ответа).
+ * 
+ * @details
+ * Пока JFR-запись событий приложения не включена, событие фактически бесплатно:
+ * JIT убирает вызовы begin/commit, а объект события не покидает стек.
+ * 
+ * @see RequestEvent
+ * @see RouteInterceptor
+ * 
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.middleware.jfr;
+
+/**
+ * ! lib imports
+ */
+import io.javalin.http.Context;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseMiddleware;
+import com.chyvacheck.tasktracker.core.routes.RouteDefinition;
+import com.chyvacheck.tasktracker.core.routes.RouteInterceptor;
+import com.chyvacheck.tasktracker.core.system.jfr.RequestEvent;
+
+/**
+ * Middleware для JFR-событий жизненного цикла запроса.
+ */
+public class JfrRequestMiddleware extends BaseMiddleware implements RouteInterceptor {
+
+	private static final String EVENT_ATTRIBUTE = "tasktracker.jfr.requestEvent";
+
+	private static JfrRequestMiddleware instance;
+
+	/**
+	 * * Constructor
+	 */
+
+	protected JfrRequestMiddleware() {
+		super(JfrRequestMiddleware.class);
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр JfrRequestMiddleware.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @return инициализированный экземпляр JfrRequestMiddleware
+	 * @throws IllegalStateException если middleware уже была инициализирована
+	 */
+	public static JfrRequestMiddleware initialize() {
+		if (JfrRequestMiddleware.instance != null) {
+			throw new IllegalStateException("JfrRequestMiddleware already initialized!");
+		}
+		JfrRequestMiddleware.instance = new JfrRequestMiddleware();
+		return JfrRequestMiddleware.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр JfrRequestMiddleware.
+	 *
+	 * @return экземпляр JfrRequestMiddleware
+	 * @throws IllegalStateException если middleware ещё не была инициализирована
+	 */
+	public static JfrRequestMiddleware getInstance() {
+		if (JfrRequestMiddleware.instance == null) {
+			throw new IllegalStateException("JfrRequestMiddleware is not initialized yet!");
+		}
+		return JfrRequestMiddleware.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	@Override
+	public void onRequestStart(Context ctx, RouteDefinition route) {
+		RequestEvent event = RequestEvent.start(route.getName());
+
+		if (event.isEnabled()) {
+			ctx.attribute(EVENT_ATTRIBUTE, event);
+		}
+	}
+
+	@Override
+	public void onRequestEnd(Context ctx, RouteDefinition route) {
+		RequestEvent event = ctx.attribute(EVENT_ATTRIBUTE);
+
+		if (event != null) {
+			event.finish(ctx.statusCode());
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ * @file RequestMetricsMiddleware.java
+ *
+ * @extends BaseMiddleware
+ * @implements RouteInterceptor
+ *
+ * @description
+ * Middleware для сбора метрик HTTP-запросов по каждому маршруту.
+ *
+ * @details
+ * Для каждой пары (маршрут, статус) записывает:
+ * - latency запроса в lock-free гистограмму ({@code tasktracker_http_request_duration_seconds})
+ * - счётчик обработанных запросов ({@code tasktracker_http_requests_total}) — из него считается throughput
+ *
+ * Дополнительно ведёт gauge с количеством запросов в обработке ({@code tasktracker_http_requests_in_flight}).
+ *
+ * Метрики по статусам кешируются в массиве, поэтому на горячем пути нет поиска по лейблам.
+ *
+ * @see RouteInterceptor
+ * @see MetricsRegistry
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.middleware.metrics;
+
+/**
+ * ! lib imports
+ */
+import io.javalin.http.Context;
+
+/**
+ * ! java imports
+ */
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseMiddleware;
+import com.chyvacheck.tasktracker.core.metrics.Counter;
+import com.chyvacheck.tasktracker.core.metrics.Histogram;
+import com.chyvacheck.tasktracker.core.metrics.MetricsRegistry;
+import com.chyvacheck.tasktracker.core.routes.RouteDefinition;
+import com.chyvacheck.tasktracker.core.routes.RouteInterceptor;
+
+/**
+ * Middleware для сбора latency и throughput метрик по маршрутам.
+ */
+public class RequestMetricsMiddleware extends BaseMiddleware implements RouteInterceptor {
+
+	private static final String START_ATTRIBUTE = "tasktracker.metrics.startNanos";
+	private static final int MAX_STATUS = 600;
+
+	private static RequestMetricsMiddleware instance;
+
+	private final MetricsRegistry registry;
+	private final Map<RouteDefinition, AtomicReferenceArray<StatusMetrics>> routes = new ConcurrentHashMap<>();
+	private final AtomicLong inFlight = new AtomicLong();
+
+	/**
+	 * * Constructor
+	 */
+
+	protected RequestMetricsMiddleware(MetricsRegistry registry) {
+		super(RequestMetricsMiddleware.class);
+		this.registry = registry;
+		this.registry.gauge("tasktracker_http_requests_in_flight",
+				"Number of HTTP requests currently being handled", Map.of(), this.inFlight::get);
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр RequestMetricsMiddleware.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param registry реестр метрик
+	 * @return инициализированный экземпляр RequestMetricsMiddleware
+	 * @throws IllegalStateException если middleware уже была инициализирована
+	 */
+	public static RequestMetricsMiddleware initialize(MetricsRegistry registry) {
+		if (RequestMetricsMiddleware.instance != null) {
+			throw new IllegalStateException("RequestMetricsMiddleware already initialized!");
+		}
+		RequestMetricsMiddleware.instance = new RequestMetricsMiddleware(registry);
+		return RequestMetricsMiddleware.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр RequestMetricsMiddleware.
+	 *
+	 * @return экземпляр RequestMetricsMiddleware
+	 * @throws IllegalStateException если middleware ещё не была инициализирована
+	 */
+	public static RequestMetricsMiddleware getInstance() {
+		if (RequestMetricsMiddleware.instance == null) {
+			throw new IllegalStateException("RequestMetricsMiddleware is not initialized yet!");
+		}
+		return RequestMetricsMiddleware.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	@Override
+	public void onRequestStart(Context ctx, RouteDefinition route) {
+		this.inFlight.incrementAndGet();
+		ctx.attribute(START_ATTRIBUTE, System.nanoTime());
+	}
+
+	@Override
+	public void onRequestEnd(Context ctx, RouteDefinition route) {
+		Long startNanos = ctx.attribute(START_ATTRIBUTE);
+
+		if (startNanos == null) {
+			return;
+		}
+
+		long elapsed = System.nanoTime() - startNanos;
+		this.inFlight.decrementAndGet();
+
+		StatusMetrics metrics = metricsFor(route, ctx.statusCode());
+		metrics.latency.record(elapsed);
+		metrics.requests.increment();
+	}
+
+	/**
+	 * Получить (или лениво создать) метрики для маршрута и статуса.
+	 *
+	 * @param route  маршрут
+	 * @param status HTTP-статус ответа
+	 * @return метрики для пары (маршрут, статус)
+	 */
+	private StatusMetrics metricsFor(RouteDefinition route, int status) {
+		AtomicReferenceArray<StatusMetrics> byStatus = this.routes.computeIfAbsent(route,
+				key -> new AtomicReferenceArray<>(MAX_STATUS));
+		int slot = (status > 0 && status < MAX_STATUS) ? status : 0;
+
+		StatusMetrics metrics = byStatus.get(slot);
+		if (metrics == null) {
+			Map<String, String> labels = Map.of(
+					"route", route.getName(),
+					"status", Integer.toString(status));
+			metrics = new StatusMetrics(
+					this.registry.histogram("tasktracker_http_request_duration_seconds",
+							"HTTP request latency by route and status", MetricsRegistry.NANOS_TO_SECONDS, labels),
+					this.registry.counter("tasktracker_http_requests_total",
+							"Total HTTP requests by route and status", labels));
+			if (!byStatus.compareAndSet(slot, null, metrics)) {
+				metrics = byStatus.get(slot);
+			}
+		}
+		return metrics;
+	}
+
+	/**
+	 * Метрики для пары (маршрут, статус).
+	 */
+	private static class StatusMetrics {
+
+		private final Histogram latency;
+		private final Counter requests;
+
+		private StatusMetrics(Histogram latency, Counter requests) {
+			this.latency = latency;
+			this.requests = requests;
+		}
+	}
+}
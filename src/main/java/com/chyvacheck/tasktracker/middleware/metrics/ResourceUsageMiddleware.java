@@ -0,0 +1,203 @@
+/**
+ * @file ResourceUsageMiddleware.java
+ *
+ * @extends BaseMiddleware
+ * @implements RouteInterceptor
+ *
+ * @description
+ * Middleware для учёта ресурсов, потраченных на обработку запроса: выделенной памяти (байты)
+ * и процессорного времени.
+ *
+ * @details
+ * Значения берутся из {@link com.sun.management.ThreadMXBean} ({@link ThreadUsage}) по участкам: запрос
+ * переходит с потока Jetty на потоки хранилища и конвейера изменений, и разница счётчиков каждого потока
+ * за время, пока к нему привязан контекст запроса, складывается в {@link RequestIdContext}
+ * (включая сериализацию ответа). При завершении запроса сумма агрегируется по маршрутам:
+ * - {@code tasktracker_http_request_allocated_bytes{route}} — байты, выделенные на запрос
+ * - {@code tasktracker_http_request_cpu_seconds{route}} — CPU-время потоков на запрос
+ *
+ * Сумма ({@code _sum}) позволяет ранжировать маршруты по давлению на память и CPU.
+ *
+ * В debug-окружении (или при {@code tasktracker.resourceUsage.headers=true}) значения дополнительно
+ * возвращаются в заголовках ответа {@code X-Allocated-Bytes} и {@code X-Cpu-Time-Micros}.
+ *
+ * Если JVM не поддерживает учёт памяти или CPU по потокам, соответствующая метрика не пишется.
+ *
+ * @see RouteInterceptor
+ * @see MetricsRegistry
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.middleware.metrics;
+
+/**
+ * ! lib imports
+ */
+import io.javalin.http.Context;
+
+/**
+ * ! java imports
+ */
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseMiddleware;
+import com.chyvacheck.tasktracker.core.metrics.Histogram;
+import com.chyvacheck.tasktracker.core.metrics.MetricsRegistry;
+import com.chyvacheck.tasktracker.core.routes.RouteDefinition;
+import com.chyvacheck.tasktracker.core.routes.RouteInterceptor;
+import com.chyvacheck.tasktracker.core.system.context.RequestIdContext;
+import com.chyvacheck.tasktracker.core.system.context.ThreadUsage;
+import com.chyvacheck.tasktracker.middleware.context.RequestContextMiddleware;
+import com.chyvacheck.tasktracker.utils.ConfigUtil;
+import com.chyvacheck.tasktracker.utils.EnvironmentUtil;
+
+/**
+ * Middleware для учёта памяти и CPU по маршрутам.
+ */
+public class ResourceUsageMiddleware extends BaseMiddleware implements RouteInterceptor {
+
+	public static final String ALLOCATED_BYTES_HEADER = "X-Allocated-Bytes";
+	public static final String CPU_TIME_HEADER = "X-Cpu-Time-Micros";
+
+	private static ResourceUsageMiddleware instance;
+
+	private final MetricsRegistry registry;
+	private final boolean allocationSupported;
+	private final boolean cpuSupported;
+	private final boolean exposeHeaders;
+	private final Map<RouteDefinition, RouteUsage> routes = new ConcurrentHashMap<>();
+
+	/**
+	 * * Constructor
+	 */
+
+	protected ResourceUsageMiddleware(MetricsRegistry registry) {
+		super(ResourceUsageMiddleware.class);
+		this.registry = registry;
+
+		ThreadUsage.enable();
+
+		this.allocationSupported = ThreadUsage.isAllocationSupported();
+		this.cpuSupported = ThreadUsage.isCpuSupported();
+		this.exposeHeaders = EnvironmentUtil.isDebug()
+				|| ConfigUtil.getBoolean("tasktracker.resourceUsage.headers", false);
+
+		if (!this.allocationSupported || !this.cpuSupported) {
+			this.warn("per-thread resource accounting is partially unavailable", Map.of(
+					"allocation", this.allocationSupported,
+					"cpu", this.cpuSupported));
+		}
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр ResourceUsageMiddleware.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param registry реестр метрик
+	 * @return инициализированный экземпляр ResourceUsageMiddleware
+	 * @throws IllegalStateException если middleware уже была инициализирована
+	 */
+	public static ResourceUsageMiddleware initialize(MetricsRegistry registry) {
+		if (ResourceUsageMiddleware.instance != null) {
+			throw new IllegalStateException("ResourceUsageMiddleware already initialized!");
+		}
+		ResourceUsageMiddleware.instance = new ResourceUsageMiddleware(registry);
+		return ResourceUsageMiddleware.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр ResourceUsageMiddleware.
+	 *
+	 * @return экземпляр ResourceUsageMiddleware
+	 * @throws IllegalStateException если middleware ещё не была инициализирована
+	 */
+	public static ResourceUsageMiddleware getInstance() {
+		if (ResourceUsageMiddleware.instance == null) {
+			throw new IllegalStateException("ResourceUsageMiddleware is not initialized yet!");
+		}
+		return ResourceUsageMiddleware.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	@Override
+	public void onRequestStart(Context ctx, RouteDefinition route) {
+		// Первый участок (поток Jetty) открывает RequestIdContext.open в RequestContextMiddleware
+	}
+
+	@Override
+	public void onRequestEnd(Context ctx, RouteDefinition route) {
+		RequestIdContext context = ctx.attribute(RequestContextMiddleware.CONTEXT_ATTRIBUTE);
+
+		if (context == null) {
+			return;
+		}
+
+		RouteUsage usage = this.routes.computeIfAbsent(route, this::createRouteUsage);
+
+		long allocated = -1;
+		long cpuNanos = -1;
+
+		// Закрытые участки всех потоков и открытый участок потока, завершающего запрос
+		if (this.allocationSupported) {
+			allocated = context.getAllocatedBytes();
+			usage.allocatedBytes.record(allocated);
+		}
+		if (this.cpuSupported) {
+			cpuNanos = context.getCpuNanos();
+			usage.cpuTime.record(cpuNanos);
+		}
+
+		if (this.exposeHeaders) {
+			if (allocated >= 0) {
+				ctx.header(ALLOCATED_BYTES_HEADER, Long.toString(allocated));
+			}
+			if (cpuNanos >= 0) {
+				ctx.header(CPU_TIME_HEADER, Long.toString(cpuNanos / 1_000));
+			}
+		}
+	}
+
+	/**
+	 * Создать метрики маршрута.
+	 *
+	 * @param route маршрут
+	 * @return метрики маршрута
+	 */
+	private RouteUsage createRouteUsage(RouteDefinition route) {
+		Map<String, String> labels = Map.of("route", route.getName());
+
+		return new RouteUsage(
+				this.registry.histogram("tasktracker_http_request_allocated_bytes",
+						"Bytes allocated by the handling threads per request", 1.0, labels),
+				this.registry.histogram("tasktracker_http_request_cpu_seconds",
+						"CPU time of the handling threads per request", MetricsRegistry.NANOS_TO_SECONDS, labels));
+	}
+
+	/**
+	 * Метрики ресурсов одного маршрута.
+	 */
+	private static class RouteUsage {
+
+		private final Histogram allocatedBytes;
+		private final Histogram cpuTime;
+
+		private RouteUsage(Histogram allocatedBytes, Histogram cpuTime) {
+			this.allocatedBytes = allocatedBytes;
+			this.cpuTime = cpuTime;
+		}
+	}
+}
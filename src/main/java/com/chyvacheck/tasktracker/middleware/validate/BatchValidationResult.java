@@ -0,0 +1,103 @@
+/**
+ * @file BatchValidationResult.java
+ *
+ * @description
+ * Итог поэлементной валидации JSON-массива из тела запроса ({@link ValidateMiddleware#forEachFromBody}).
+ *
+ * @details
+ * - {@code accepted} — элементы, прошедшие валидацию и переданные обработчику
+ * - {@code rejected} — элементы с ошибками валидации
+ * - {@code errors} — ошибки в формате {@code [index].field → message} ({@code [index]} — для элемента
+ *   {@code null}); хранится не больше {@link #MAX_ERRORS} записей, чтобы большой импорт с ошибками
+ *   не раздувал ответ
+ * - {@code failure} — ошибка, прервавшая чтение после того, как часть элементов уже обработана
+ *   (индекс элемента, код и сообщение); {@code null}, если массив прочитан целиком
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.middleware.validate;
+
+/**
+ * ! java imports
+ */
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseException;
+
+/**
+ * Итог поэлементной валидации массива.
+ */
+public class BatchValidationResult {
+
+	public static final int MAX_ERRORS = 100;
+
+	private int accepted;
+	private int rejected;
+	private final Map<String, String> errors = new LinkedHashMap<>();
+	private Map<String, Object> failure;
+
+	/**
+	 * * Methods
+	 */
+
+	void accept() {
+		this.accepted++;
+	}
+
+	void reject(int index, Map<String, String> itemErrors) {
+		this.rejected++;
+		for (Map.Entry<String, String> entry : itemErrors.entrySet()) {
+			if (this.errors.size() >= MAX_ERRORS) {
+				return;
+			}
+			this.errors.put("[" + index + "]." + entry.getKey(), entry.getValue());
+		}
+	}
+
+	void rejectNull(int index) {
+		this.rejected++;
+		if (this.errors.size() < MAX_ERRORS) {
+			this.errors.put("[" + index + "]", "Element must not be null");
+		}
+	}
+
+	void fail(BaseException exception) {
+		this.failure = new LinkedHashMap<>();
+		this.failure.put("index", this.accepted + this.rejected);
+		this.failure.put("errorCode", exception.getErrorCodeName());
+		this.failure.put("message", exception.getMessage());
+		if (exception.getErrors() != null) {
+			this.failure.put("errors", exception.getErrors());
+		}
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public int getAccepted() {
+		return accepted;
+	}
+
+	public int getRejected() {
+		return rejected;
+	}
+
+	public Map<String, String> getErrors() {
+		return errors;
+	}
+
+	public Map<String, Object> getFailure() {
+		return failure;
+	}
+
+	public boolean isFailed() {
+		return failure != null;
+	}
+}
@@ -0,0 +1,524 @@
+/**
+ * @file CompiledValidator.java
+ *
+ * @description
+ * Скомпилированный валидатор DTO: jakarta-ограничения на полях читаются один раз при первом обращении
+ * к классу и превращаются в прямые проверки значений, без движка Hibernate Validator на горячем пути.
+ *
+ * @details
+ * Поддерживаемые ограничения:
+ * - {@code @NotNull}, {@code @Null}, {@code @NotBlank}, {@code @NotEmpty}, {@code @Size}, {@code @Pattern}
+ * - {@code @Min}, {@code @Max}, {@code @Positive}, {@code @PositiveOrZero}, {@code @Negative},
+ *   {@code @NegativeOrZero} — для целочисленных типов
+ * - {@code @Future}, {@code @FutureOrPresent}, {@code @Past}, {@code @PastOrPresent} — для
+ *   {@code LocalDateTime}, {@code LocalDate} и {@code Instant}
+ * - {@code @AssertTrue}, {@code @AssertFalse}
+ *
+ * Поле целиком проверяется через {@code Validator.validateProperty}, если на нём есть неподдерживаемое
+ * ограничение, ограничение с группами/payload или сообщение-шаблон ({@code {...}}).
+ * Класс целиком проверяется через {@code Validator.validate}, если у него есть ограничения уровня класса,
+ * методов или каскадная валидация ({@code @Valid}).
+ *
+ * Ошибки возвращаются в том же формате, что и раньше: имя поля → сообщение. Если у поля нарушено
+ * несколько ограничений, берётся первое в порядке объявления (у Hibernate порядок не определён).
+ *
+ * @example
+ * Map<String, String> errors = CompiledValidator.of(TaskCreateDto.class).validate(dto, validator);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.middleware.validate;
+
+/**
+ * ! lib imports
+ */
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.AssertFalse;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Negative;
+import jakarta.validation.constraints.NegativeOrZero;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+/**
+ * ! java imports
+ */
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedParameterizedType;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Скомпилированный валидатор DTO.
+ *
+ * @param <T> тип DTO
+ */
+public final class CompiledValidator<T> {
+
+	private static final ClassValue<CompiledValidator<?>> VALIDATORS = new ClassValue<>() {
+		@Override
+		protected CompiledValidator<?> computeValue(Class<?> dtoClass) {
+			return new CompiledValidator<>(dtoClass);
+		}
+	};
+
+	private final boolean fullFallback;
+	private final FieldCheck[] fields;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Скомпилировать проверки для класса DTO.
+	 *
+	 * @param dtoClass класс DTO
+	 */
+	private CompiledValidator(Class<T> dtoClass) {
+		this.fullFallback = requiresFullFallback(dtoClass);
+
+		if (this.fullFallback) {
+			this.fields = new FieldCheck[0];
+			return;
+		}
+
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(dtoClass, MethodHandles.lookup());
+			List<FieldCheck> checks = new ArrayList<>();
+
+			for (Field field : dtoClass.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+					continue;
+				}
+
+				FieldCheck check = compileField(lookup, field);
+				if (check != null) {
+					checks.add(check);
+				}
+			}
+
+			this.fields = checks.toArray(new FieldCheck[0]);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Unable to compile validator for " + dtoClass.getName(), e);
+		}
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Получить (или скомпилировать при первом обращении) валидатор для класса DTO.
+	 *
+	 * @param dtoClass класс DTO
+	 * @param <T>      тип DTO
+	 * @return валидатор DTO
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> CompiledValidator<T> of(Class<T> dtoClass) {
+		return (CompiledValidator<T>) VALIDATORS.get(dtoClass);
+	}
+
+	/**
+	 * Проверить, нужно ли валидировать класс целиком через Hibernate Validator.
+	 *
+	 * @param dtoClass класс DTO
+	 * @return true, если у класса есть ограничения, которые не компилируются по полям
+	 */
+	private static boolean requiresFullFallback(Class<?> dtoClass) {
+		if (dtoClass.getSuperclass() != null && dtoClass.getSuperclass() != Object.class) {
+			return true;
+		}
+		if (hasConstraint(dtoClass.getAnnotations())) {
+			return true;
+		}
+		for (Method method : dtoClass.getDeclaredMethods()) {
+			if (hasConstraint(method.getAnnotations())) {
+				return true;
+			}
+		}
+		for (Field field : dtoClass.getDeclaredFields()) {
+			if (field.isAnnotationPresent(Valid.class)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Проверить, есть ли среди аннотаций ограничения jakarta validation (включая контейнеры {@code .List}).
+	 *
+	 * @param annotations аннотации элемента
+	 * @return true, если есть хотя бы одно ограничение
+	 */
+	private static boolean hasConstraint(Annotation[] annotations) {
+		for (Annotation annotation : annotations) {
+			if (isConstraint(annotation)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isConstraint(Annotation annotation) {
+		Class<? extends Annotation> type = annotation.annotationType();
+		return type.isAnnotationPresent(Constraint.class)
+				|| type.getName().startsWith("jakarta.validation.constraints.");
+	}
+
+	/**
+	 * Скомпилировать проверки одного поля.
+	 *
+	 * @param lookup lookup с доступом к приватным полям DTO
+	 * @param field  поле DTO
+	 * @return проверки поля или {@code null}, если ограничений нет
+	 */
+	private static FieldCheck compileField(MethodHandles.Lookup lookup, Field field) throws IllegalAccessException {
+		List<Check> checks = new ArrayList<>();
+		// Ограничения элементов контейнера (List<@NotBlank String>) проверяет Hibernate Validator
+		boolean fallback = hasContainerElementConstraints(field);
+
+		for (Annotation annotation : field.getAnnotations()) {
+			if (fallback) {
+				break;
+			}
+			if (!isConstraint(annotation)) {
+				continue;
+			}
+
+			Check check = compileConstraint(annotation, field.getType());
+			if (check == null) {
+				fallback = true;
+				break;
+			}
+			checks.add(check);
+		}
+
+		if (!fallback && checks.isEmpty()) {
+			return null;
+		}
+
+		MethodHandle getter = lookup.unreflectGetter(field)
+				.asType(MethodType.methodType(Object.class, Object.class));
+
+		return new FieldCheck(field.getName(), getter, fallback ? null : checks.toArray(new Check[0]));
+	}
+
+	/**
+	 * Проверить, есть ли ограничения на аргументах типа поля.
+	 *
+	 * @param field поле DTO
+	 * @return true, если хотя бы один аргумент типа аннотирован ограничением
+	 */
+	private static boolean hasContainerElementConstraints(Field field) {
+		if (field.getAnnotatedType() instanceof AnnotatedParameterizedType parameterized) {
+			for (AnnotatedType argument : parameterized.getAnnotatedActualTypeArguments()) {
+				if (hasConstraint(argument.getAnnotations())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Скомпилировать одно ограничение.
+	 *
+	 * @param annotation аннотация ограничения
+	 * @param type       тип поля
+	 * @return проверка или {@code null}, если ограничение не поддерживается
+	 */
+	private static Check compileConstraint(Annotation annotation, Class<?> type) {
+		String message = attribute(annotation, "message");
+		Class<?>[] groups = attribute(annotation, "groups");
+		Class<?>[] payload = attribute(annotation, "payload");
+
+		if (message == null || message.indexOf('{') >= 0 || groups == null || groups.length > 0
+				|| payload == null || payload.length > 0) {
+			return null;
+		}
+
+		Predicate<Object> valid = compilePredicate(annotation, type);
+		return valid == null ? null : new Check(valid, message);
+	}
+
+	/**
+	 * Построить предикат корректности значения для ограничения.
+	 * {@code null} считается корректным всеми ограничениями, кроме {@code @NotNull}, {@code @NotBlank}
+	 * и {@code @NotEmpty} — как в спецификации.
+	 *
+	 * @param annotation аннотация ограничения
+	 * @param type       тип поля
+	 * @return предикат или {@code null}, если комбинация ограничения и типа не поддерживается
+	 */
+	private static Predicate<Object> compilePredicate(Annotation annotation, Class<?> type) {
+		if (annotation instanceof NotNull) {
+			return value -> value != null;
+		}
+		if (annotation instanceof Null) {
+			return value -> value == null;
+		}
+		if (annotation instanceof NotBlank) {
+			return CharSequence.class.isAssignableFrom(type)
+					? value -> value != null && value.toString().trim().length() > 0
+					: null;
+		}
+		if (annotation instanceof NotEmpty) {
+			return sizeOf(type) ? value -> value != null && size(value) > 0 : null;
+		}
+		if (annotation instanceof Size size) {
+			int min = size.min();
+			int max = size.max();
+			return sizeOf(type) ? value -> value == null || (size(value) >= min && size(value) <= max) : null;
+		}
+		if (annotation instanceof Pattern pattern) {
+			if (!CharSequence.class.isAssignableFrom(type)) {
+				return null;
+			}
+			int flags = 0;
+			for (Pattern.Flag flag : pattern.flags()) {
+				flags |= flag.getValue();
+			}
+			java.util.regex.Pattern compiled = java.util.regex.Pattern.compile(pattern.regexp(), flags);
+			return value -> value == null || compiled.matcher((CharSequence) value).matches();
+		}
+		if (annotation instanceof AssertTrue) {
+			return (type == boolean.class || type == Boolean.class) ? value -> value == null || (Boolean) value
+					: null;
+		}
+		if (annotation instanceof AssertFalse) {
+			return (type == boolean.class || type == Boolean.class) ? value -> value == null || !(Boolean) value
+					: null;
+		}
+
+		if (isIntegral(type)) {
+			if (annotation instanceof Min min) {
+				long bound = min.value();
+				return value -> value == null || ((Number) value).longValue() >= bound;
+			}
+			if (annotation instanceof Max max) {
+				long bound = max.value();
+				return value -> value == null || ((Number) value).longValue() <= bound;
+			}
+			if (annotation instanceof Positive) {
+				return value -> value == null || ((Number) value).longValue() > 0;
+			}
+			if (annotation instanceof PositiveOrZero) {
+				return value -> value == null || ((Number) value).longValue() >= 0;
+			}
+			if (annotation instanceof Negative) {
+				return value -> value == null || ((Number) value).longValue() < 0;
+			}
+			if (annotation instanceof NegativeOrZero) {
+				return value -> value == null || ((Number) value).longValue() <= 0;
+			}
+		}
+
+		Supplier<Comparable<?>> now = nowFor(type);
+		if (now != null) {
+			if (annotation instanceof Future) {
+				return value -> value == null || compareToNow(value, now) > 0;
+			}
+			if (annotation instanceof FutureOrPresent) {
+				return value -> value == null || compareToNow(value, now) >= 0;
+			}
+			if (annotation instanceof Past) {
+				return value -> value == null || compareToNow(value, now) < 0;
+			}
+			if (annotation instanceof PastOrPresent) {
+				return value -> value == null || compareToNow(value, now) <= 0;
+			}
+		}
+
+		return null;
+	}
+
+	private static boolean isIntegral(Class<?> type) {
+		return type == long.class || type == Long.class || type == int.class || type == Integer.class
+				|| type == short.class || type == Short.class || type == byte.class || type == Byte.class;
+	}
+
+	private static boolean sizeOf(Class<?> type) {
+		return CharSequence.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type)
+				|| Map.class.isAssignableFrom(type) || type.isArray();
+	}
+
+	private static int size(Object value) {
+		if (value instanceof CharSequence sequence) {
+			return sequence.length();
+		}
+		if (value instanceof Collection<?> collection) {
+			return collection.size();
+		}
+		if (value instanceof Map<?, ?> map) {
+			return map.size();
+		}
+		return Array.getLength(value);
+	}
+
+	/**
+	 * Получить источник текущего момента для временного типа поля.
+	 *
+	 * @param type тип поля
+	 * @return источник текущего момента или {@code null}, если тип не поддерживается
+	 */
+	private static Supplier<Comparable<?>> nowFor(Class<?> type) {
+		if (type == LocalDateTime.class) {
+			return LocalDateTime::now;
+		}
+		if (type == LocalDate.class) {
+			return LocalDate::now;
+		}
+		if (type == Instant.class) {
+			return Instant::now;
+		}
+		return null;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int compareToNow(Object value, Supplier<Comparable<?>> now) {
+		return ((Comparable) value).compareTo(now.get());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <V> V attribute(Annotation annotation, String name) {
+		try {
+			return (V) annotation.annotationType().getMethod(name).invoke(annotation);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Провалидировать DTO.
+	 *
+	 * @param dto       объект DTO
+	 * @param validator Hibernate Validator для неподдерживаемых ограничений
+	 * @return ошибки по полям (имя поля → сообщение) или {@code null}, если ошибок нет
+	 */
+	public Map<String, String> validate(T dto, Validator validator) {
+		if (this.fullFallback) {
+			return collect(validator.validate(dto), null);
+		}
+
+		Map<String, String> errors = null;
+
+		for (FieldCheck field : this.fields) {
+			if (field.checks == null) {
+				errors = collect(validator.validateProperty(dto, field.name), errors);
+				continue;
+			}
+
+			Object value = field.get(dto);
+			for (Check check : field.checks) {
+				if (!check.valid.test(value)) {
+					if (errors == null) {
+						errors = new HashMap<>();
+					}
+					errors.put(field.name, check.message);
+					break;
+				}
+			}
+		}
+
+		return errors;
+	}
+
+	/**
+	 * Добавить нарушения Hibernate Validator в карту ошибок.
+	 *
+	 * @param violations нарушения
+	 * @param errors     текущая карта ошибок (может быть {@code null})
+	 * @return карта ошибок или {@code null}, если ошибок нет
+	 */
+	private static <V> Map<String, String> collect(Set<ConstraintViolation<V>> violations,
+			Map<String, String> errors) {
+		if (violations.isEmpty()) {
+			return errors;
+		}
+
+		Map<String, String> result = errors != null ? errors : new HashMap<>();
+		for (ConstraintViolation<V> violation : violations) {
+			result.put(violation.getPropertyPath().toString(), violation.getMessage());
+		}
+		return result;
+	}
+
+	/**
+	 * Проверка одного ограничения.
+	 */
+	private static final class Check {
+
+		private final Predicate<Object> valid;
+		private final String message;
+
+		private Check(Predicate<Object> valid, String message) {
+			this.valid = valid;
+			this.message = message;
+		}
+	}
+
+	/**
+	 * Проверки одного поля DTO. {@code checks == null} означает проверку поля через Hibernate Validator.
+	 */
+	private static final class FieldCheck {
+
+		private final String name;
+		private final MethodHandle getter;
+		private final Check[] checks;
+
+		private FieldCheck(String name, MethodHandle getter, Check[] checks) {
+			this.name = name;
+			this.getter = getter;
+			this.checks = checks;
+		}
+
+		private Object get(Object dto) {
+			try {
+				return (Object) this.getter.invokeExact(dto);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException("Unable to read field " + this.name, e);
+			}
+		}
+	}
+}
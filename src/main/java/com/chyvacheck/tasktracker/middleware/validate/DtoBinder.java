@@ -0,0 +1,193 @@
+/**
+ * @file DtoBinder.java
+ *
+ * @description
+ * Предкомпилированный binder строковых параметров (path/query) в поля DTO.
+ * Заменяет рефлексию на каждом запросе: конструктор и сеттеры полей DTO находятся один раз
+ * в виде {@link MethodHandle}, а парсер значения выбирается по типу поля заранее.
+ *
+ * @details
+ * - Binder создаётся при первом обращении к классу DTO и кешируется в {@link ClassValue}
+ * - На горячем пути: вызов конструктора, поиск параметра по имени, парсинг и вызов сеттера — без
+ *   {@code getDeclaredFields()}, {@code setAccessible()} и ветвления по типу
+ * - Поддерживаемые типы полей: {@code int/Integer}, {@code long/Long}, {@code boolean/Boolean}, {@code String};
+ *   для остальных типов значение, как и раньше, становится {@code null}
+ * - Ошибки парсинга ({@link NumberFormatException}) пробрасываются без изменений
+ *
+ * @example
+ * TaskIdPathDto dto = DtoBinder.of(TaskIdPathDto.class).bind(ctx.pathParamMap()::get);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.middleware.validate;
+
+/**
+ * ! java imports
+ */
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Binder строковых параметров в поля DTO.
+ *
+ * @param <T> тип DTO
+ */
+public final class DtoBinder<T> {
+
+	private static final ClassValue<DtoBinder<?>> BINDERS = new ClassValue<>() {
+		@Override
+		protected DtoBinder<?> computeValue(Class<?> dtoClass) {
+			return new DtoBinder<>(dtoClass);
+		}
+	};
+
+	private final Class<T> dtoClass;
+	private final MethodHandle constructor;
+	private final FieldBinding[] fields;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Построить binder для класса DTO.
+	 *
+	 * @param dtoClass класс DTO (должен иметь конструктор без аргументов)
+	 * @throws IllegalStateException если конструктор или поля недоступны
+	 */
+	private DtoBinder(Class<T> dtoClass) {
+		this.dtoClass = dtoClass;
+
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(dtoClass, MethodHandles.lookup());
+
+			this.constructor = lookup.findConstructor(dtoClass, MethodType.methodType(void.class))
+					.asType(MethodType.methodType(Object.class));
+
+			List<FieldBinding> bindings = new ArrayList<>();
+			for (Field field : dtoClass.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+					continue;
+				}
+
+				MethodHandle setter = lookup.unreflectSetter(field)
+						.asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+				bindings.add(new FieldBinding(field.getName(), parserFor(field.getType()), setter));
+			}
+			this.fields = bindings.toArray(new FieldBinding[0]);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Unable to build binder for " + dtoClass.getName(), e);
+		}
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Получить (или построить при первом обращении) binder для класса DTO.
+	 *
+	 * @param dtoClass класс DTO
+	 * @param <T>      тип DTO
+	 * @return binder DTO
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> DtoBinder<T> of(Class<T> dtoClass) {
+		return (DtoBinder<T>) BINDERS.get(dtoClass);
+	}
+
+	/**
+	 * Выбрать парсер строкового значения по типу поля.
+	 *
+	 * @param type тип поля
+	 * @return парсер значения
+	 */
+	private static Function<String, Object> parserFor(Class<?> type) {
+		if (type == int.class || type == Integer.class)
+			return Integer::valueOf;
+		if (type == long.class || type == Long.class)
+			return Long::valueOf;
+		if (type == boolean.class || type == Boolean.class)
+			return Boolean::valueOf;
+		if (type == String.class)
+			return value -> value;
+		// И т.д. по необходимости
+		return value -> null;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Создать DTO и заполнить его поля значениями из источника параметров.
+	 * Поля, для которых параметр отсутствует, остаются со значением по умолчанию.
+	 *
+	 * @param params источник параметров (имя → строковое значение или {@code null})
+	 * @return заполненный DTO
+	 * @throws NumberFormatException если значение не удалось преобразовать в числовой тип поля
+	 */
+	public T bind(Function<String, String> params) {
+		Object dto = newInstance();
+
+		for (FieldBinding field : this.fields) {
+			String value = params.apply(field.name);
+
+			if (value != null) {
+				field.set(dto, field.parser.apply(value));
+			}
+		}
+
+		return this.dtoClass.cast(dto);
+	}
+
+	/**
+	 * Вызвать конструктор DTO.
+	 *
+	 * @return новый экземпляр DTO
+	 */
+	private Object newInstance() {
+		try {
+			return (Object) this.constructor.invokeExact();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("Unable to instantiate " + this.dtoClass.getName(), e);
+		}
+	}
+
+	/**
+	 * Привязка одного поля DTO: имя параметра, парсер и сеттер.
+	 */
+	private static final class FieldBinding {
+
+		private final String name;
+		private final Function<String, Object> parser;
+		private final MethodHandle setter;
+
+		private FieldBinding(String name, Function<String, Object> parser, MethodHandle setter) {
+			this.name = name;
+			this.parser = parser;
+			this.setter = setter;
+		}
+
+		private void set(Object dto, Object value) {
+			try {
+				this.setter.invokeExact(dto, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException("Unable to set field " + this.name, e);
+			}
+		}
+	}
+}
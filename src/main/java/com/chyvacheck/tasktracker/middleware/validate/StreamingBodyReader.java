@@ -0,0 +1,211 @@
+/**
+ * @file StreamingBodyReader.java
+ *
+ * @description
+ * Чтение тела запроса в DTO напрямую из {@code InputStream} запроса, без промежуточной строки или массива байт.
+ *
+ * @details
+ * - Формат тела выбирается по {@code Content-Type} ({@link ContentFormat}): JSON или CBOR. Для каждого класса DTO
+ *   один раз создаётся {@link ObjectReader} формата на базе {@link ObjectMapperProvider} — те же настройки дат
+ *   и запрета приведения типов
+ * - Размер тела ограничивается: сначала по заголовку {@code Content-Length}, затем по фактически прочитанным
+ *   байтам (тело без длины, chunked); превышение — {@link PayloadTooLargeException}
+ * - {@link #readArray} разбирает JSON-массив поэлементно: в памяти одновременно находится только текущий элемент,
+ *   поэтому пакетный импорт не держит всё тело в heap
+ *
+ * Ошибки Jackson ({@code JsonParseException}, {@code MismatchedInputException} и т.д.) пробрасываются без
+ * изменений — их преобразует в ответ {@link ValidateMiddleware}.
+ *
+ * @example
+ * TaskCreateDto dto = StreamingBodyReader.read(ctx, TaskCreateDto.class, maxBytes);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.middleware.validate;
+
+/**
+ * ! lib imports
+ */
+import io.javalin.http.Context;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+/**
+ * ! java imports
+ */
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.system.ContentFormat;
+import com.chyvacheck.tasktracker.core.system.ObjectMapperProvider;
+
+/**
+ * Потоковое чтение тела запроса в DTO.
+ */
+public final class StreamingBodyReader {
+
+	/**
+	 * * Constructor
+	 */
+
+	private StreamingBodyReader() {
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Прочитать тело запроса как один DTO.
+	 *
+	 * @param ctx      контекст запроса
+	 * @param dtoClass класс DTO
+	 * @param maxBytes максимальный размер тела в байтах
+	 * @param <T>      тип DTO
+	 * @return DTO
+	 * @throws PayloadTooLargeException если тело больше {@code maxBytes}
+	 * @throws IOException              если тело не удалось прочитать или разобрать
+	 */
+	public static <T> T read(Context ctx, Class<T> dtoClass, long maxBytes) throws IOException {
+		try (InputStream body = open(ctx, maxBytes)) {
+			return reader(ctx, dtoClass).readValue(body);
+		}
+	}
+
+	/**
+	 * Прочитать тело запроса как JSON-массив DTO, передавая элементы по одному.
+	 *
+	 * @param ctx      контекст запроса
+	 * @param dtoClass класс элемента массива
+	 * @param maxBytes максимальный размер тела в байтах
+	 * @param consumer обработчик элемента (элемент, индекс в массиве)
+	 * @param <T>      тип DTO
+	 * @return количество прочитанных элементов
+	 * @throws PayloadTooLargeException если тело больше {@code maxBytes}
+	 * @throws IOException              если тело не удалось прочитать или разобрать
+	 */
+	public static <T> int readArray(Context ctx, Class<T> dtoClass, long maxBytes, ObjIntConsumer<T> consumer)
+			throws IOException {
+		ObjectReader reader = reader(ctx, dtoClass);
+
+		try (InputStream body = open(ctx, maxBytes); JsonParser parser = reader.createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw MismatchedInputException.from(parser, dtoClass.arrayType(),
+						"Expected JSON array of " + dtoClass.getSimpleName());
+			}
+
+			int index = 0;
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				T item = reader.readValue(parser);
+				consumer.accept(item, index++);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Получить reader DTO для формата тела запроса.
+	 *
+	 * @param ctx      контекст запроса
+	 * @param dtoClass класс DTO
+	 * @return reader
+	 */
+	private static ObjectReader reader(Context ctx, Class<?> dtoClass) {
+		return ContentFormat.forContentType(ctx.contentType()).readerFor(dtoClass);
+	}
+
+	/**
+	 * Открыть тело запроса с ограничением размера.
+	 *
+	 * @param ctx      контекст запроса
+	 * @param maxBytes максимальный размер тела в байтах
+	 * @return поток тела запроса
+	 * @throws PayloadTooLargeException если заявленная длина больше {@code maxBytes}
+	 */
+	private static InputStream open(Context ctx, long maxBytes) throws IOException {
+		long declared = ctx.req().getContentLengthLong();
+		if (declared > maxBytes) {
+			throw new PayloadTooLargeException(maxBytes);
+		}
+		return new LimitedInputStream(ctx.req().getInputStream(), maxBytes);
+	}
+
+	/**
+	 * Тело запроса превышает допустимый размер.
+	 * <p>
+	 * Наследует {@link IOException}, чтобы Jackson пробрасывал его без обёртки в {@code JsonMappingException}.
+	 */
+	public static class PayloadTooLargeException extends IOException {
+
+		private final long maxBytes;
+
+		PayloadTooLargeException(long maxBytes) {
+			super("Request body exceeds " + maxBytes + " bytes");
+			this.maxBytes = maxBytes;
+		}
+
+		public long getMaxBytes() {
+			return maxBytes;
+		}
+	}
+
+	/**
+	 * Поток, прерывающий чтение после {@code maxBytes} байт.
+	 */
+	private static final class LimitedInputStream extends FilterInputStream {
+
+		private final long maxBytes;
+		private long read;
+
+		private LimitedInputStream(InputStream in, long maxBytes) {
+			super(in);
+			this.maxBytes = maxBytes;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int value = super.read();
+			if (value >= 0) {
+				count(1);
+			}
+			return value;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int n = super.read(buffer, offset, length);
+			if (n > 0) {
+				count(n);
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count(skipped);
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		private void count(long n) throws PayloadTooLargeException {
+			this.read += n;
+			if (this.read > this.maxBytes) {
+				throw new PayloadTooLargeException(this.maxBytes);
+			}
+		}
+	}
+}
@@ -13,10 +13,19 @@
  * - Обработка ошибок десериализации и генерация стандартизированных исключений (BaseException)
  * 
  * Источники данных:
- * - fromBody(Context ctx, Class<T> dtoClass) — валидация тела запроса (JSON)
+ * - fromBody(Context ctx, Class<T> dtoClass) — валидация тела запроса (JSON или CBOR по Content-Type)
+ * - forEachFromBody(Context ctx, Class<T> dtoClass, Consumer<T> consumer) — поэлементная валидация JSON-массива
+ *   (ошибка посреди массива возвращается в отчёте вместе с уже обработанными элементами)
  * - fromQuery(Context ctx, Class<T> dtoClass) — валидация query-параметров
  * - fromPath(Context ctx, Class<T> dtoClass) — валидация path-параметров
  * 
+ * Тело запроса читается потоково ({@link StreamingBodyReader}) с ограничением размера
+ * {@code tasktracker.body.maxBytes} (для массивов — {@code tasktracker.body.batchMaxBytes}).
+ * 
+ * Path- и query-параметры переносятся в DTO предкомпилированным {@link DtoBinder} (без рефлексии на запрос).
+ * Ограничения DTO проверяются {@link CompiledValidator}; отключается параметром
+ * {@code tasktracker.validation.compiled=false} (тогда валидация целиком идёт через Hibernate Validator).
+ * 
  * Все валидационные ошибки автоматически конвертируются в формат ErrorResponse.
  * 
  * Пример использования в контроллере:
@@ -40,14 +49,15 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
 
 /**
  * ! java imports
  */
-import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * ! my imports
@@ -55,6 +65,11 @@ import java.util.Set;
 import com.chyvacheck.tasktracker.core.base.BaseException;
 import com.chyvacheck.tasktracker.core.base.BaseMiddleware;
 import com.chyvacheck.tasktracker.core.exceptions.base.ErrorCode;
+import com.chyvacheck.tasktracker.core.exceptions.custom.ValidationFailedException;
+import com.chyvacheck.tasktracker.core.system.jfr.ValidationEvent;
+import com.chyvacheck.tasktracker.core.system.tracing.Span;
+import com.chyvacheck.tasktracker.core.system.tracing.Tracer;
+import com.chyvacheck.tasktracker.utils.ConfigUtil;
 
 /**
  * Middleware для централизованной валидации входящих данных.
@@ -64,6 +79,9 @@ public class ValidateMiddleware extends BaseMiddleware {
 	private static ValidateMiddleware instance;
 	private static final ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
 	private static final Validator validator = factory.getValidator();
+	private static final boolean compiledValidation = ConfigUtil.getBoolean("tasktracker.validation.compiled", true);
+	private static final long maxBodyBytes = ConfigUtil.getLong("tasktracker.body.maxBytes", 1_000_000);
+	private static final long maxBatchBodyBytes = ConfigUtil.getLong("tasktracker.body.batchMaxBytes", 64_000_000);
 
 	/**
 	 * * Constructor
@@ -126,12 +144,83 @@ public class ValidateMiddleware extends BaseMiddleware {
 	 * @throws Exception если валидация или десериализация не удалась
 	 */
 	public <T> T fromBody(Context ctx, Class<T> dtoClass) throws Exception {
+		ValidationEvent event = ValidationEvent.start("body", dtoClass);
+		Span span = Tracer.span("validation", "body");
 		try {
-			T dto = ctx.bodyAsClass(dtoClass);
+			T dto = StreamingBodyReader.read(ctx, dtoClass, maxBodyBytes);
 			return validate(dto);
 		} catch (Exception e) {
 			handleDeserializationError(e);
 			throw new IllegalStateException("Unreachable");
+		} finally {
+			span.end();
+			event.finish();
+		}
+	}
+
+	/**
+	 * Прочитать тело запроса как JSON-массив и провалидировать его поэлементно.
+	 * <p>
+	 * Элементы разбираются из потока по одному; валидные сразу передаются обработчику, ошибки невалидных
+	 * (в том числе элементов {@code null}) собираются в результат.
+	 * <p>
+	 * Ошибка разбора или обработчика прерывает чтение. Если обработчик ещё не вызывался, она пробрасывается
+	 * как обычно; иначе уже обработанные элементы остаются обработанными, и ошибка возвращается в
+	 * {@link BatchValidationResult#getFailure()} вместе с отчётом о прочитанной части.
+	 *
+	 * @param ctx      контекст запроса
+	 * @param dtoClass класс элемента массива
+	 * @param consumer обработчик валидного элемента
+	 * @return итог валидации
+	 * @throws Exception если тело не удалось разобрать или оно превышает допустимый размер
+	 */
+	public <T> BatchValidationResult forEachFromBody(Context ctx, Class<T> dtoClass, Consumer<T> consumer)
+			throws Exception {
+		ValidationEvent event = ValidationEvent.start("body", dtoClass);
+		Span span = Tracer.span("validation", "bodyArray");
+		BatchValidationResult result = new BatchValidationResult();
+		try {
+			StreamingBodyReader.readArray(ctx, dtoClass, maxBatchBodyBytes, (dto, index) -> {
+				if (dto == null) {
+					result.rejectNull(index);
+					return;
+				}
+
+				Map<String, String> errors = check(dto);
+
+				if (errors != null && !errors.isEmpty()) {
+					result.reject(index, errors);
+				} else {
+					consumer.accept(dto);
+					result.accept();
+				}
+			});
+
+			return result;
+		} catch (Exception e) {
+			// ? Пока ничего не сохранено — обычный ответ об ошибке
+			if (result.getAccepted() == 0) {
+				handleDeserializationError(e);
+				throw new IllegalStateException("Unreachable");
+			}
+
+			// ? Часть элементов уже сохранена — ошибка попадает в отчёт
+			try {
+				handleDeserializationError(e);
+			} catch (BaseException be) {
+				result.fail(be);
+			} catch (Exception other) {
+				this.error("batch import aborted", Map.of("index", result.getAccepted() + result.getRejected()), other);
+				result.fail(new BaseException(
+						"Internal server error",
+						ErrorCode.INTERNAL_ERROR,
+						Map.of("exception", other.getClass().getSimpleName()),
+						null));
+			}
+			return result;
+		} finally {
+			span.end();
+			event.finish();
 		}
 	}
 
@@ -144,24 +233,18 @@ public class ValidateMiddleware extends BaseMiddleware {
 	 * @throws Exception если валидация или десериализация не удалась
 	 */
 	public <T> T fromQuery(Context ctx, Class<T> dtoClass) throws Exception {
+		ValidationEvent event = ValidationEvent.start("query", dtoClass);
+		Span span = Tracer.span("validation", "query");
 		try {
-			T dto = dtoClass.getDeclaredConstructor().newInstance();
-
-			for (Field field : dtoClass.getDeclaredFields()) {
-				field.setAccessible(true);
-				String name = field.getName();
-				String value = ctx.queryParam(name);
-				if (value != null) {
-					// преобразовать string → нужный тип
-					Object parsed = parseValue(field.getType(), value);
-					field.set(dto, parsed);
-				}
-			}
+			T dto = DtoBinder.of(dtoClass).bind(ctx::queryParam);
 
 			return validate(dto);
 		} catch (Exception e) {
 			handleDeserializationError(e);
 			throw new IllegalStateException("Unreachable");
+		} finally {
+			span.end();
+			event.finish();
 		}
 	}
 
@@ -174,73 +257,71 @@ public class ValidateMiddleware extends BaseMiddleware {
 	 * @throws Exception если валидация или десериализация не удалась
 	 */
 	public <T> T fromPath(Context ctx, Class<T> dtoClass) throws Exception {
+		ValidationEvent event = ValidationEvent.start("path", dtoClass);
+		Span span = Tracer.span("validation", "path");
 		try {
-			T dto = dtoClass.getDeclaredConstructor().newInstance();
-
-			for (Field field : dtoClass.getDeclaredFields()) {
-				field.setAccessible(true);
-				String name = field.getName();
-				String value = ctx.pathParamMap().get(name);
-
-				if (value != null) {
-					Object parsed = parseValue(field.getType(), value);
-					field.set(dto, parsed);
-				}
-			}
+			T dto = DtoBinder.of(dtoClass).bind(ctx.pathParamMap()::get);
 
 			return validate(dto);
 		} catch (Exception e) {
 			handleDeserializationError(e);
 			throw new IllegalStateException("Unreachable");
+		} finally {
+			span.end();
+			event.finish();
 		}
 	}
 
 	/**
-	 * Преобразовать строковое значение в нужный тип поля.
+	 * Провести валидацию DTO.
 	 *
-	 * @param type  класс типа поля
-	 * @param value строковое значение
-	 * @return преобразованное значение
+	 * @param dto объект DTO
+	 * @param <T> тип DTO
+	 * @return валидный объект DTO
+	 * @throws ValidationFailedException если обнаружены ошибки валидации
 	 */
-	private Object parseValue(Class<?> type, String value) {
-		if (type == int.class || type == Integer.class)
-			return Integer.parseInt(value);
-		if (type == long.class || type == Long.class)
-			return Long.parseLong(value);
-		if (type == boolean.class || type == Boolean.class)
-			return Boolean.parseBoolean(value);
-		if (type == String.class)
-			return value;
-		// И т.д. по необходимости
-		return null;
+	private <T> T validate(T dto) {
+		Map<String, String> errors = check(dto);
+
+		if (errors != null && !errors.isEmpty()) {
+			throw new ValidationFailedException("Validation failed", null, errors);
+		}
+
+		return dto;
 	}
 
 	/**
-	 * Провести валидацию DTO через Validator.
+	 * Проверить DTO и вернуть ошибки по полям.
 	 *
 	 * @param dto объект DTO
 	 * @param <T> тип DTO
-	 * @return валидный объект DTO
-	 * @throws BaseException если обнаружены ошибки валидации
+	 * @return ошибки по полям (имя поля → сообщение); {@code null} или пустая карта, если ошибок нет
 	 */
-	private <T> T validate(T dto) {
-		System.out.println("📥 validate вызван");
+	@SuppressWarnings("unchecked")
+	private <T> Map<String, String> check(T dto) {
+		return compiledValidation
+				? CompiledValidator.of((Class<T>) dto.getClass()).validate(dto, validator)
+				: validateWithHibernate(dto);
+	}
 
+	/**
+	 * Провести валидацию DTO целиком через Hibernate Validator.
+	 *
+	 * @param dto объект DTO
+	 * @param <T> тип DTO
+	 * @return ошибки по полям (имя поля → сообщение)
+	 */
+	private <T> Map<String, String> validateWithHibernate(T dto) {
 		Set<ConstraintViolation<T>> violations = validator.validate(dto);
 
-		if (!violations.isEmpty()) {
-			Map<String, String> errors = new HashMap<>();
-			for (ConstraintViolation<T> violation : violations) {
-				String field = violation.getPropertyPath().toString();
-				String message = violation.getMessage();
-				errors.put(field, message);
-			}
-
-			throw new BaseException("Validation failed", ErrorCode.VALIDATION_FAILED, null, errors);
-
+		Map<String, String> errors = new HashMap<>();
+		for (ConstraintViolation<T> violation : violations) {
+			String field = violation.getPropertyPath().toString();
+			String message = violation.getMessage();
+			errors.put(field, message);
 		}
 
-		return dto;
+		return errors;
 	}
 
 	/**
@@ -250,10 +331,19 @@ public class ValidateMiddleware extends BaseMiddleware {
 	 * @throws BaseException конвертированная ошибка
 	 */
 	private void handleDeserializationError(Exception e) throws Exception {
-		// ? Если проверка на целостность `json` объекта не прошла
+		// ? Если тело запроса больше допустимого
+		if (e instanceof StreamingBodyReader.PayloadTooLargeException ptle) {
+			throw new BaseException(
+					"Request body is too large",
+					ErrorCode.PAYLOAD_TOO_LARGE,
+					Map.of("maxBytes", ptle.getMaxBytes()),
+					null);
+		}
+
+		// ? Если проверка на целостность `json` (или `cbor`) объекта не прошла
 		if (e instanceof JsonParseException jpe) {
 			throw new BaseException(
-					"Invalid JSON format",
+					jpe.getProcessor() instanceof CBORParser ? "Invalid CBOR format" : "Invalid JSON format",
 					ErrorCode.JSON_PARSE_ERROR,
 					Map.of("exception", jpe.getClass().getSimpleName()),
 					null);
@@ -304,9 +394,8 @@ public class ValidateMiddleware extends BaseMiddleware {
 
 			Map<String, String> fieldErrors = Map.of(field, reason);
 
-			throw new BaseException(
+			throw new ValidationFailedException(
 					"Invalid request body",
-					ErrorCode.VALIDATION_FAILED,
 					Map.of("exception", mie.getClass().getSimpleName()),
 					fieldErrors);
 		}
@@ -0,0 +1,135 @@
+/**
+ * @file SlowRequestRecord.java
+ *
+ * @description
+ * Запись журнала медленных запросов: маршрут, задача, фазы и агрегированные стеки потока-обработчика,
+ * снятые {@link SlowRequestWatchdog} после превышения порога.
+ *
+ * @details
+ * - {@code stacks} — свёрнутые стеки (frames через {@code ;}, от корня к вершине) с количеством снимков,
+ *   отсортированные по убыванию; формат совместим с flame graph
+ * - {@code phases} — количество снимков в каждой фазе запроса ({@code layer:name})
+ *
+ * Запись неизменяема после публикации в журнал.
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.middleware.watchdog;
+
+/**
+ * ! lib imports
+ */
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * ! java imports
+ */
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Запись журнала медленных запросов.
+ */
+@JsonPropertyOrder({ "requestId", "route", "taskId", "status", "startedAt", "durationMs", "phase", "samples",
+		"phases", "stacks" })
+public class SlowRequestRecord {
+
+	private final String requestId;
+	private final String route;
+	private final String taskId;
+	private final int status;
+	private final LocalDateTime startedAt;
+	private final double durationMs;
+	private final String phase;
+	private final int samples;
+	private final Map<String, Integer> phases;
+	private final List<StackSample> stacks;
+
+	/**
+	 * * Constructor
+	 */
+
+	SlowRequestRecord(String requestId, String route, String taskId, int status, LocalDateTime startedAt,
+			double durationMs, String phase, int samples, Map<String, Integer> phases, List<StackSample> stacks) {
+		this.requestId = requestId;
+		this.route = route;
+		this.taskId = taskId;
+		this.status = status;
+		this.startedAt = startedAt;
+		this.durationMs = durationMs;
+		this.phase = phase;
+		this.samples = samples;
+		this.phases = phases;
+		this.stacks = stacks;
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public String getRequestId() {
+		return requestId;
+	}
+
+	public String getRoute() {
+		return route;
+	}
+
+	public String getTaskId() {
+		return taskId;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public LocalDateTime getStartedAt() {
+		return startedAt;
+	}
+
+	public double getDurationMs() {
+		return durationMs;
+	}
+
+	public String getPhase() {
+		return phase;
+	}
+
+	public int getSamples() {
+		return samples;
+	}
+
+	public Map<String, Integer> getPhases() {
+		return phases;
+	}
+
+	public List<StackSample> getStacks() {
+		return stacks;
+	}
+
+	/**
+	 * Свёрнутый стек и количество снимков с ним.
+	 */
+	@JsonPropertyOrder({ "count", "stack" })
+	public static class StackSample {
+
+		private final int count;
+		private final String stack;
+
+		StackSample(int count, String stack) {
+			this.count = count;
+			this.stack = stack;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public String getStack() {
+			return stack;
+		}
+	}
+}
@@ -0,0 +1,354 @@
+/**
+ * @file SlowRequestWatchdog.java
+ *
+ * @extends BaseMiddleware
+ * @implements RouteInterceptor
+ *
+ * @description
+ * Сторож медленных запросов. Отслеживает запросы, находящиеся в обработчиках RouteManager, и для тех,
+ * что обрабатываются дольше порога, периодически снимает стек потока-обработчика до завершения запроса.
+ *
+ * @details
+ * - Порог задаётся параметром {@code tasktracker.slow.thresholdMs}, интервал снимков —
+ *   {@code tasktracker.slow.sampleIntervalMs}, размер журнала — {@code tasktracker.slow.journalCapacity}
+ * - Снимки делает один фоновый daemon-поток; быстрые запросы стоят только вставки и удаления из map
+ * - Стеки агрегируются в свёрнутом виде вместе с фазой запроса из {@link RequestIdContext}
+ * - Асинхронный запрос, снятый со всех потоков (ждёт в очереди хранилища или конвейера), получает снимок
+ *   {@code [queued]} с фазой {@code queued}: стек чужого потока к запросу не относится
+ * - Завершённые медленные запросы попадают в ограниченный кольцевой журнал ({@code GET /admin/slow-requests})
+ *
+ * Должна стоять в цепочке после RequestContextMiddleware, чтобы видеть RequestId и фазу.
+ *
+ * @see SlowRequestRecord
+ * @see RequestIdContext
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.middleware.watchdog;
+
+/**
+ * ! lib imports
+ */
+import io.javalin.http.Context;
+
+/**
+ * ! java imports
+ */
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseMiddleware;
+import com.chyvacheck.tasktracker.core.routes.RouteDefinition;
+import com.chyvacheck.tasktracker.core.routes.RouteInterceptor;
+import com.chyvacheck.tasktracker.core.system.context.RequestIdContext;
+import com.chyvacheck.tasktracker.core.system.jfr.JfrProfiler;
+
+/**
+ * Сторож медленных запросов со снятием стеков.
+ */
+public class SlowRequestWatchdog extends BaseMiddleware implements RouteInterceptor {
+
+	private static final String IN_FLIGHT_ATTRIBUTE = "tasktracker.watchdog.inFlight";
+	private static final int MAX_STACK_DEPTH = 64;
+	private static final int MAX_STACKS_PER_RECORD = 20;
+	// Снимок запроса, который ждёт в очереди и не выполняется ни одним потоком
+	private static final String QUEUED = "[queued]";
+	private static final String QUEUED_PHASE = "queued";
+
+	private static SlowRequestWatchdog instance;
+
+	private final long thresholdNanos;
+	private final long sampleIntervalMs;
+	// По запросу, а не по потоку: поток асинхронного запроса освобождается до его завершения
+	private final Set<InFlight> inFlight = ConcurrentHashMap.newKeySet();
+	private final AtomicReferenceArray<SlowRequestRecord> journal;
+	private final AtomicLong written = new AtomicLong();
+	private final ScheduledExecutorService sampler;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор сторожа.
+	 *
+	 * @param thresholdMs      порог медленного запроса в миллисекундах
+	 * @param sampleIntervalMs интервал снятия стеков в миллисекундах
+	 * @param journalCapacity  количество хранимых записей журнала
+	 */
+	protected SlowRequestWatchdog(long thresholdMs, long sampleIntervalMs, int journalCapacity) {
+		super(SlowRequestWatchdog.class);
+		this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, thresholdMs));
+		this.sampleIntervalMs = Math.max(1, sampleIntervalMs);
+		this.journal = new AtomicReferenceArray<>(Math.max(1, journalCapacity));
+
+		this.sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "slow-request-watchdog");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.sampler.scheduleAtFixedRate(this::sample, this.sampleIntervalMs, this.sampleIntervalMs,
+				TimeUnit.MILLISECONDS);
+
+		this.info("slow request watchdog started", Map.of(
+				"thresholdMs", thresholdMs,
+				"sampleIntervalMs", this.sampleIntervalMs,
+				"journalCapacity", this.journal.length()));
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр SlowRequestWatchdog.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param thresholdMs      порог медленного запроса в миллисекундах
+	 * @param sampleIntervalMs интервал снятия стеков в миллисекундах
+	 * @param journalCapacity  количество хранимых записей журнала
+	 * @return инициализированный экземпляр SlowRequestWatchdog
+	 * @throws IllegalStateException если сторож уже был инициализирован
+	 */
+	public static SlowRequestWatchdog initialize(long thresholdMs, long sampleIntervalMs, int journalCapacity) {
+		if (SlowRequestWatchdog.instance != null) {
+			throw new IllegalStateException("SlowRequestWatchdog already initialized!");
+		}
+		SlowRequestWatchdog.instance = new SlowRequestWatchdog(thresholdMs, sampleIntervalMs, journalCapacity);
+		return SlowRequestWatchdog.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр SlowRequestWatchdog.
+	 *
+	 * @return экземпляр SlowRequestWatchdog
+	 * @throws IllegalStateException если сторож ещё не был инициализирован
+	 */
+	public static SlowRequestWatchdog getInstance() {
+		if (SlowRequestWatchdog.instance == null) {
+			throw new IllegalStateException("SlowRequestWatchdog is not initialized yet!");
+		}
+		return SlowRequestWatchdog.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	@Override
+	public void onRequestStart(Context ctx, RouteDefinition route) {
+		Thread thread = Thread.currentThread();
+		InFlight request = new InFlight(thread, route.getName(), ctx.pathParamMap().get("id"),
+				RequestIdContext.current());
+
+		ctx.attribute(IN_FLIGHT_ATTRIBUTE, request);
+		this.inFlight.add(request);
+	}
+
+	@Override
+	public void onRequestEnd(Context ctx, RouteDefinition route) {
+		InFlight request = ctx.attribute(IN_FLIGHT_ATTRIBUTE);
+
+		if (request == null) {
+			return;
+		}
+
+		this.inFlight.remove(request);
+
+		long elapsed = System.nanoTime() - request.startNanos;
+		SlowRequestRecord record;
+
+		synchronized (request) {
+			request.active = false;
+			if (elapsed < this.thresholdNanos) {
+				return;
+			}
+			record = request.toRecord(ctx.statusCode(), elapsed);
+		}
+
+		long slot = this.written.getAndIncrement();
+		this.journal.set((int) (slot % this.journal.length()), record);
+
+		this.warn("slow request", Map.of(
+				"route", record.getRoute(),
+				"durationMs", record.getDurationMs(),
+				"phase", record.getPhase(),
+				"samples", record.getSamples()));
+	}
+
+	/**
+	 * Получить последние записи журнала медленных запросов (новые — первыми).
+	 *
+	 * @param limit         максимальное количество записей
+	 * @param minDurationMs минимальная длительность запроса в миллисекундах
+	 * @return список записей
+	 */
+	public List<SlowRequestRecord> recent(int limit, long minDurationMs) {
+		long last = this.written.get();
+		int capacity = this.journal.length();
+		List<SlowRequestRecord> result = new ArrayList<>(Math.min(limit, capacity));
+
+		for (long slot = last - 1; slot >= 0 && slot >= last - capacity && result.size() < limit; slot--) {
+			SlowRequestRecord record = this.journal.get((int) (slot % capacity));
+			if (record != null && record.getDurationMs() >= minDurationMs) {
+				result.add(record);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Остановить фоновое снятие стеков.
+	 */
+	public void stop() {
+		this.sampler.shutdownNow();
+	}
+
+	/**
+	 * ? Get
+	 */
+
+	public long getThresholdMs() {
+		return TimeUnit.NANOSECONDS.toMillis(this.thresholdNanos);
+	}
+
+	public long getSampleIntervalMs() {
+		return this.sampleIntervalMs;
+	}
+
+	/**
+	 * Один тик сторожа: снять стеки всех запросов, превысивших порог.
+	 */
+	private void sample() {
+		try {
+			long now = System.nanoTime();
+
+			for (InFlight request : this.inFlight) {
+				if (now - request.startNanos < this.thresholdNanos) {
+					continue;
+				}
+
+				// Асинхронный запрос выполняется на потоке хранилища, а не на потоке, где он начат
+				Thread thread = request.context != null ? request.context.getThread() : request.thread;
+				String stack = QUEUED;
+				String phase = QUEUED_PHASE;
+
+				if (thread != null) {
+					StackTraceElement[] frames = thread.getStackTrace();
+					// Поток мог отпустить запрос, пока снимался стек: тогда стек относится к чужой работе
+					if (request.context == null || request.context.getThread() == thread) {
+						stack = collapse(frames);
+						phase = request.context != null ? request.context.getPhase() : "handler";
+					}
+				}
+
+				synchronized (request) {
+					// Поток мог завершить запрос, пока снимался стек
+					if (request.active) {
+						request.addSample(stack, phase);
+					}
+				}
+			}
+		} catch (RuntimeException e) {
+			this.error("slow request sampling failed", null, e);
+		}
+	}
+
+	/**
+	 * Свернуть стек в строку формата flame graph (от корня к вершине, через {@code ;}).
+	 *
+	 * @param frames кадры стека (вершина — первой)
+	 * @return свёрнутый стек
+	 */
+	private static String collapse(StackTraceElement[] frames) {
+		int depth = Math.min(frames.length, MAX_STACK_DEPTH);
+		StringBuilder builder = new StringBuilder(depth * 48);
+
+		for (int i = depth - 1; i >= 0; i--) {
+			StackTraceElement frame = frames[i];
+			if (builder.length() > 0) {
+				builder.append(';');
+			}
+			builder.append(JfrProfiler.normalizeType(frame.getClassName())).append('.').append(frame.getMethodName());
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Запрос в обработке.
+	 * Поля снимков защищены монитором самого объекта (поток запроса и поток сторожа).
+	 */
+	private static class InFlight {
+
+		private final Thread thread;
+		private final String route;
+		private final String taskId;
+		private final RequestIdContext context;
+		private final LocalDateTime startedAt = LocalDateTime.now();
+		private final long startNanos = System.nanoTime();
+
+		private boolean active = true;
+		private int samples;
+		private Map<String, Integer> stacks;
+		private Map<String, Integer> phases;
+
+		private InFlight(Thread thread, String route, String taskId, RequestIdContext context) {
+			this.thread = thread;
+			this.route = route;
+			this.taskId = taskId;
+			this.context = context;
+		}
+
+		private void addSample(String stack, String phase) {
+			if (this.stacks == null) {
+				this.stacks = new HashMap<>();
+				this.phases = new LinkedHashMap<>();
+			}
+			this.samples++;
+			this.stacks.merge(stack, 1, Integer::sum);
+			this.phases.merge(phase, 1, Integer::sum);
+		}
+
+		private SlowRequestRecord toRecord(int status, long elapsedNanos) {
+			List<SlowRequestRecord.StackSample> topStacks = this.stacks == null
+					? List.of()
+					: this.stacks.entrySet().stream()
+							.sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+							.limit(MAX_STACKS_PER_RECORD)
+							.map(entry -> new SlowRequestRecord.StackSample(entry.getValue(), entry.getKey()))
+							.toList();
+
+			return new SlowRequestRecord(
+					this.context != null ? this.context.getId() : null,
+					this.route,
+					this.taskId,
+					status,
+					this.startedAt,
+					elapsedNanos / 1_000_000.0,
+					this.context != null ? this.context.getPhase() : "handler",
+					this.samples,
+					this.phases == null ? Map.of() : this.phases,
+					topStacks);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+
+/**
+ * @file ExpectedVersion.java
+ *
+ * @description
+ * Ожидаемая версия задачи для условного изменения (compare-and-set по {@code If-Match}).
+ *
+ * @details
+ * - {@link #ANY} — версия не проверяется (нет {@code If-Match} или {@code *})
+ * - {@link #of(long...)} — набор допустимых версий: {@code If-Match} может перечислять несколько ETag,
+ *   условие выполнено, если версия задачи равна любой из них
+ *
+ * Примеры использования:
+ * ExpectedVersion.of(1, 2).matches(task.getVersion());
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.model;
+
+/**
+ * ! java imports
+ */
+import java.util.Arrays;
+
+/**
+ * Набор допустимых версий задачи.
+ */
+public final class ExpectedVersion {
+
+	/**
+	 * Любая версия: изменение выполняется без проверки версии.
+	 */
+	public static final ExpectedVersion ANY = new ExpectedVersion(new long[0]);
+
+	private final long[] versions;
+
+	/**
+	 * * Constructor
+	 */
+
+	private ExpectedVersion(long[] versions) {
+		this.versions = versions;
+	}
+
+	/**
+	 * Набор допустимых версий.
+	 *
+	 * @param versions версии (хотя бы одна)
+	 * @return ожидаемая версия
+	 * @throws IllegalArgumentException если версии не переданы
+	 */
+	public static ExpectedVersion of(long... versions) {
+		if (versions.length == 0) {
+			throw new IllegalArgumentException("At least one version is required");
+		}
+		return new ExpectedVersion(versions.clone());
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * Проверяется ли версия.
+	 *
+	 * @return true для {@link #ANY}
+	 */
+	public boolean isAny() {
+		return this == ANY;
+	}
+
+	/**
+	 * Допустима ли версия задачи.
+	 *
+	 * @param version текущая версия задачи
+	 * @return true для {@link #ANY} или если версия входит в набор
+	 */
+	public boolean matches(long version) {
+		if (isAny()) {
+			return true;
+		}
+		for (long expected : this.versions) {
+			if (expected == version) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Допустимые версии (для деталей ошибки).
+	 *
+	 * @return копия набора; пустой массив для {@link #ANY}
+	 */
+	public long[] getVersions() {
+		return this.versions.clone();
+	}
+
+	@Override
+	public String toString() {
+		return isAny() ? "*" : Arrays.toString(this.versions);
+	}
+}
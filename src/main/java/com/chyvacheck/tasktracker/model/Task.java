@@ -12,6 +12,8 @@
  * - Статус выполнения задачи (isComplete)
  * - Возможность устанавливать дедлайн выполнения
  * - Отметка времени создания задачи автоматически при создании
+ * - Версия задачи: репозиторий увеличивает её при каждом сохранении; по ней выполняются
+ *   условные изменения ({@code If-Match}) и строится {@code ETag}
  * 
  * Примеры использования:
  * Task task = new Task("Fix login bug", LocalDateTime.now().plusDays(1));
@@ -72,6 +74,11 @@ public class Task {
 	 */
 	private LocalDateTime deadline;
 
+	/**
+	 * Версия задачи (количество сохранений; 0 — задача ещё не сохранялась или сохранена до появления версий).
+	 */
+	private long version;
+
 	/**
 	 * * Конструкторы
 	 */
@@ -204,6 +211,19 @@ public class Task {
 		this.deadline = deadline;
 	}
 
+	/**
+	 * Получить версию задачи.
+	 *
+	 * @return версия задачи
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	/**
 	 * Отметить задачу как выполненную.
 	 */
@@ -211,6 +231,29 @@ public class Task {
 		this.completed = true;
 	}
 
+	/**
+	 * Увеличить версию задачи (вызывается репозиторием перед каждым сохранением).
+	 */
+	public void incrementVersion() {
+		this.version++;
+	}
+
+	/**
+	 * Создать копию задачи с тем же ID (новый ID не генерируется).
+	 *
+	 * @return копия задачи
+	 */
+	public Task copy() {
+		Task copy = new Task();
+		copy.createdAt = this.createdAt;
+		copy.id = this.id;
+		copy.title = this.title;
+		copy.completed = this.completed;
+		copy.deadline = this.deadline;
+		copy.version = this.version;
+		return copy;
+	}
+
 	/**
 	 * Переопределение метода toString для удобного отображения информации о задаче.
 	 *
@@ -223,6 +266,7 @@ public class Task {
 				", isComplete=" + completed +
 				", createdAt=" + createdAt +
 				", deadline=" + deadline +
+				", version=" + version +
 				'}';
 	}
 
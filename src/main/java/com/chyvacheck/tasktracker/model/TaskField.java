@@ -0,0 +1,71 @@
+/**
+ * @file TaskField.java
+ *
+ * @description
+ * Перечисление полей задачи ({@link Task}) для проекций: {@code ?fields=} в HTTP API
+ * и частичного чтения задач из хранилища.
+ *
+ * @details
+ * Порядок констант совпадает с порядком полей в JSON задачи
+ * ({@code createdAt, id, title, completed, deadline, version}).
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.model;
+
+/**
+ * ! java imports
+ */
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Поля задачи.
+ */
+public enum TaskField {
+
+	CREATED_AT("createdAt"),
+	ID("id"),
+	TITLE("title"),
+	COMPLETED("completed"),
+	DEADLINE("deadline"),
+	VERSION("version");
+
+	/**
+	 * Все поля задачи.
+	 */
+	public static final Set<TaskField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TaskField.class));
+
+	private final String jsonName;
+
+	TaskField(String jsonName) {
+		this.jsonName = jsonName;
+	}
+
+	/**
+	 * Найти поле по имени в JSON.
+	 *
+	 * @param jsonName имя поля в JSON
+	 * @return поле или {@code null}, если такого поля нет
+	 */
+	public static TaskField fromJsonName(String jsonName) {
+		for (TaskField field : values()) {
+			if (field.jsonName.equals(jsonName)) {
+				return field;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Получить имя поля в JSON.
+	 *
+	 * @return имя поля
+	 */
+	public String getJsonName() {
+		return jsonName;
+	}
+}
@@ -0,0 +1,132 @@
+/**
+ * @file IAsyncTaskRepository.java
+ *
+ * @description
+ * Асинхронный вариант репозитория задач ({@link ITaskRepository}).
+ * Каждая операция возвращает {@link CompletableFuture}: вызывающий поток не ждёт I/O,
+ * результат передаётся в продолжения future.
+ *
+ * @details
+ * - Контракт операций тот же, что у {@link ITaskRepository}
+ * - Методы чтения с набором полей ({@link TaskField}) позволяют реализации не разбирать незапрошенные поля
+ * - Несовпадение версии при условном изменении завершает future {@code TaskVersionMismatchException}
+ *
+ * @example
+ * IAsyncTaskRepository repository = AsyncFileTaskRepository.initialize(AsyncTaskFileStorage.getInstance());
+ * repository.getOneTaskById(42, TaskField.ALL).thenAccept(task -> ...);
+ *
+ * @see ITaskRepository
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.repository;
+
+/**
+ * ! java imports
+ */
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+import java.time.LocalDateTime;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
+import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+
+/**
+ * Асинхронный интерфейс для работы с задачами на уровне репозитория.
+ */
+public interface IAsyncTaskRepository {
+
+	/**
+	 * Получить список всех задач, прочитав как минимум указанные поля.
+	 *
+	 * @param fields поля, которые нужны вызывающему коду
+	 * @return future со списком задач
+	 */
+	CompletableFuture<List<Task>> getAllTask(Set<TaskField> fields);
+
+	/**
+	 * Получить список задач по статусу выполнения, прочитав как минимум указанные поля.
+	 *
+	 * @param completed true — только выполненные задачи; false — только
+	 *                  невыполненные
+	 * @param fields    поля, которые нужны вызывающему коду
+	 * @return future со списком задач, соответствующих статусу
+	 */
+	CompletableFuture<List<Task>> getTasksByCompletionStatus(boolean completed, Set<TaskField> fields);
+
+	/**
+	 * Получить задачу по её идентификатору, прочитав как минимум указанные поля.
+	 *
+	 * @param id     идентификатор задачи
+	 * @param fields поля, которые нужны вызывающему коду
+	 * @return future с задачей, если найдена; иначе с Optional.empty()
+	 */
+	CompletableFuture<Optional<Task>> getOneTaskById(long id, Set<TaskField> fields);
+
+	/**
+	 * Создать новую задачу с указанными параметрами.
+	 *
+	 * @param title    название задачи
+	 * @param complete статус выполнения задачи
+	 * @param deadline дедлайн выполнения задачи
+	 * @return future с созданной задачей
+	 */
+	CompletableFuture<Task> createOneTask(String title, boolean complete, LocalDateTime deadline);
+
+	/**
+	 * Сохранить или обновить задачу.
+	 *
+	 * @param task задача для сохранения
+	 * @return future, завершающийся после сохранения
+	 */
+	CompletableFuture<Void> saveTask(Task task);
+
+	/**
+	 * Атомарно изменить задачу: прочитать её, применить функцию и сохранить результат
+	 * (см. {@link ITaskRepository#update}).
+	 *
+	 * @param id      идентификатор задачи
+	 * @param updater функция изменения; {@code null} — задача не меняется и не сохраняется
+	 * @return future с задачей после изменения, если найдена; иначе с Optional.empty()
+	 */
+	default CompletableFuture<Optional<Task>> update(long id, UnaryOperator<Task> updater) {
+		return update(id, ExpectedVersion.ANY, updater);
+	}
+
+	/**
+	 * Атомарно изменить задачу, если её версия равна ожидаемой (compare-and-set).
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия или {@link ExpectedVersion#ANY}
+	 * @param updater         функция изменения; {@code null} — задача не меняется и не сохраняется
+	 * @return future с задачей после изменения, если найдена; иначе с Optional.empty()
+	 */
+	CompletableFuture<Optional<Task>> update(long id, ExpectedVersion expectedVersion, UnaryOperator<Task> updater);
+
+	/**
+	 * Удалить задачу по её идентификатору.
+	 *
+	 * @param id идентификатор задачи
+	 * @return future с удалённой задачей, если она была найдена; иначе с Optional.empty()
+	 */
+	default CompletableFuture<Optional<Task>> deleteTaskById(long id) {
+		return deleteTaskById(id, ExpectedVersion.ANY);
+	}
+
+	/**
+	 * Удалить задачу, если её версия равна ожидаемой (compare-and-set).
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия или {@link ExpectedVersion#ANY}
+	 * @return future с удалённой задачей, если она была найдена; иначе с Optional.empty()
+	 */
+	CompletableFuture<Optional<Task>> deleteTaskById(long id, ExpectedVersion expectedVersion);
+}
@@ -17,6 +17,14 @@
  * - Получение задачи по ID
  * - Создание новой задачи
  * - Сохранение (обновление) задачи
+ * - Атомарное изменение задачи ({@link #update}): чтение, изменение и запись без вмешательства
+ *   других изменений и удалений той же задачи
+ * - Версии задач: каждое сохранение увеличивает {@link Task#getVersion()}; изменение и удаление
+ *   с ожидаемой версией выполняются как compare-and-set и при несовпадении бросают
+ *   {@link TaskVersionMismatchException} (412)
+ * 
+ * Методы чтения с набором полей ({@link TaskField}) позволяют реализации не разбирать незапрошенные поля;
+ * по умолчанию они читают задачи целиком.
  * 
  * @example
  * ITaskRepository repository = new InMemoryTaskRepository();
@@ -32,14 +40,22 @@ package com.chyvacheck.tasktracker.repository;
 /**
  * ! java imports
  */
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.time.LocalDateTime;
 
 /**
  * ! my imports
  */
+import com.chyvacheck.tasktracker.core.exceptions.custom.TaskVersionMismatchException;
+import com.chyvacheck.tasktracker.filesystem.TaskDocument;
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
 import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
 
 /**
  * Интерфейс для работы с задачами на уровне репозитория.
@@ -53,6 +69,17 @@ public interface ITaskRepository {
 	 */
 	List<Task> getAllTask();
 
+	/**
+	 * Получить список всех задач, прочитав как минимум указанные поля.
+	 * Остальные поля могут остаться со значениями по умолчанию.
+	 *
+	 * @param fields поля, которые нужны вызывающему коду
+	 * @return список задач
+	 */
+	default List<Task> getAllTask(Set<TaskField> fields) {
+		return getAllTask();
+	}
+
 	/**
 	 * Получить список задач по статусу выполнения.
 	 *
@@ -62,6 +89,18 @@ public interface ITaskRepository {
 	 */
 	List<Task> getTasksByCompletionStatus(boolean completed);
 
+	/**
+	 * Получить список задач по статусу выполнения, прочитав как минимум указанные поля.
+	 *
+	 * @param completed true — только выполненные задачи; false — только
+	 *                  невыполненные
+	 * @param fields    поля, которые нужны вызывающему коду
+	 * @return список задач, соответствующих статусу
+	 */
+	default List<Task> getTasksByCompletionStatus(boolean completed, Set<TaskField> fields) {
+		return getTasksByCompletionStatus(completed);
+	}
+
 	/**
 	 * Получить задачу по её идентификатору.
 	 *
@@ -70,6 +109,39 @@ public interface ITaskRepository {
 	 */
 	Optional<Task> getOneTaskById(long id);
 
+	/**
+	 * Получить задачу по её идентификатору, прочитав как минимум указанные поля.
+	 *
+	 * @param id     идентификатор задачи
+	 * @param fields поля, которые нужны вызывающему коду
+	 * @return задача, если найдена; иначе Optional.empty()
+	 */
+	default Optional<Task> getOneTaskById(long id, Set<TaskField> fields) {
+		return getOneTaskById(id);
+	}
+
+	/**
+	 * Открыть сохранённый JSON-документ задачи для отдачи без разбора.
+	 * <p>
+	 * Пустой Optional означает, что документа нет или репозиторий не хранит документы —
+	 * вызывающий код должен прочитать задачу через {@link #getOneTaskById}.
+	 *
+	 * @param id идентификатор задачи
+	 * @return документ (его нужно закрыть) или Optional.empty()
+	 */
+	default Optional<TaskDocument> openTaskDocument(long id) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Может ли репозиторий отдавать сохранённые документы задач ({@link #openTaskDocument}).
+	 *
+	 * @return true, если документы поддерживаются
+	 */
+	default boolean hasTaskDocuments() {
+		return false;
+	}
+
 	/**
 	 * Создать новую задачу с указанными параметрами.
 	 *
@@ -81,17 +153,71 @@ public interface ITaskRepository {
 	Task createOneTask(String title, boolean complete, LocalDateTime deadline);
 
 	/**
-	 * Сохранить или обновить задачу.
+	 * Сохранить или обновить задачу. Версия задачи увеличивается.
 	 *
 	 * @param task задача для сохранения
 	 */
 	void saveTask(Task task);
 
+	/**
+	 * Атомарно изменить задачу: прочитать её, применить функцию и сохранить результат.
+	 * <p>
+	 * Между чтением и записью задачу не может изменить, сохранить или удалить другой вызов репозитория,
+	 * поэтому изменение не теряется и не восстанавливает удалённую задачу.
+	 *
+	 * @param id      идентификатор задачи
+	 * @param updater функция изменения: получает текущую задачу и возвращает задачу для сохранения;
+	 *                {@code null} — задача не меняется и не сохраняется
+	 * @return задача после изменения, если найдена; иначе Optional.empty()
+	 */
+	default Optional<Task> update(long id, UnaryOperator<Task> updater) {
+		return update(id, ExpectedVersion.ANY, updater);
+	}
+
+	/**
+	 * Атомарно изменить задачу, если её версия равна ожидаемой (compare-and-set).
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемые версии или {@link ExpectedVersion#ANY}
+	 * @param updater         функция изменения; {@code null} — задача не меняется и не сохраняется
+	 * @return задача после изменения, если найдена; иначе Optional.empty()
+	 * @throws TaskVersionMismatchException если версия задачи не входит в ожидаемые
+	 */
+	Optional<Task> update(long id, ExpectedVersion expectedVersion, UnaryOperator<Task> updater);
+
 	/**
 	 * Удалить задачу по её идентификатору.
 	 *
 	 * @param id идентификатор задачи
 	 * @return удалённая задача, если была найдена; иначе Optional.empty()
 	 */
-	Optional<Task> deleteTaskById(long id);
+	default Optional<Task> deleteTaskById(long id) {
+		return deleteTaskById(id, ExpectedVersion.ANY);
+	}
+
+	/**
+	 * Удалить задачу, если её версия равна ожидаемой (compare-and-set).
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемые версии или {@link ExpectedVersion#ANY}
+	 * @return удалённая задача, если была найдена; иначе Optional.empty()
+	 * @throws TaskVersionMismatchException если версия задачи не входит в ожидаемые
+	 */
+	Optional<Task> deleteTaskById(long id, ExpectedVersion expectedVersion);
+
+	/**
+	 * Проверить версию задачи перед условным изменением.
+	 *
+	 * @param task            текущая задача
+	 * @param expectedVersion ожидаемые версии или {@link ExpectedVersion#ANY}
+	 * @throws TaskVersionMismatchException если версия задачи не входит в ожидаемые
+	 */
+	static void requireVersion(Task task, ExpectedVersion expectedVersion) {
+		if (!expectedVersion.matches(task.getVersion())) {
+			throw new TaskVersionMismatchException("Task version does not match",
+					Map.of("id", task.getId(),
+							"expected", Arrays.stream(expectedVersion.getVersions()).boxed().toList(),
+							"actual", task.getVersion()));
+		}
+	}
 }
@@ -0,0 +1,254 @@
+/**
+ * @file AsyncFileTaskRepository.java
+ *
+ * @description
+ * Асинхронный репозиторий задач поверх {@link AsyncTaskFileStorage}.
+ * Хранит каждую задачу в отдельном JSON-файле — в том же каталоге и формате, что {@link FileTaskRepository}.
+ * Каждый метод открывает спан слоя {@code repository}; спан закрывается, когда завершается future операции.
+ * Сохранение, изменение ({@link #update}) и удаление одной задачи выполняются по очереди: следующая операция
+ * над id начинается после завершения future предыдущей (блокировка по ключу без удержания потока).
+ *
+ * @see AsyncTaskFileStorage
+ * @see IAsyncTaskRepository
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.repository.impl;
+
+/**
+ * ! java imports
+ */
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
+import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+import com.chyvacheck.tasktracker.repository.IAsyncTaskRepository;
+import com.chyvacheck.tasktracker.repository.ITaskRepository;
+import com.chyvacheck.tasktracker.filesystem.AsyncTaskFileStorage;
+import com.chyvacheck.tasktracker.filesystem.TaskFilter;
+import com.chyvacheck.tasktracker.core.base.BaseRepository;
+import com.chyvacheck.tasktracker.core.system.context.RequestIdContext;
+import com.chyvacheck.tasktracker.core.system.tracing.Span;
+import com.chyvacheck.tasktracker.core.system.tracing.Tracer;
+
+/**
+ * Реализация асинхронного репозитория задач, работающая через файловую систему.
+ */
+public class AsyncFileTaskRepository extends BaseRepository implements IAsyncTaskRepository {
+
+	private static AsyncFileTaskRepository instance;
+	private final AsyncTaskFileStorage storage;
+	// Последняя операция над каждым id: следующая ждёт её завершения
+	private final ConcurrentHashMap<Long, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор асинхронного файлового репозитория задач.
+	 *
+	 * @param storage асинхронное файловое хранилище
+	 */
+	protected AsyncFileTaskRepository(AsyncTaskFileStorage storage) {
+		super(AsyncFileTaskRepository.class);
+		this.storage = storage;
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр AsyncFileTaskRepository.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param storage асинхронное файловое хранилище
+	 * @return инициализированный экземпляр AsyncFileTaskRepository
+	 * @throws IllegalStateException если репозиторий уже был инициализирован
+	 */
+	public static AsyncFileTaskRepository initialize(AsyncTaskFileStorage storage) {
+		if (AsyncFileTaskRepository.instance != null) {
+			throw new IllegalStateException("AsyncFileTaskRepository already initialized!");
+		}
+		AsyncFileTaskRepository.instance = new AsyncFileTaskRepository(storage);
+		return AsyncFileTaskRepository.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр AsyncFileTaskRepository.
+	 *
+	 * @return экземпляр AsyncFileTaskRepository
+	 * @throws IllegalStateException если репозиторий ещё не был инициализирован
+	 */
+	public static AsyncFileTaskRepository getInstance() {
+		if (AsyncFileTaskRepository.instance == null) {
+			throw new IllegalStateException("AsyncFileTaskRepository is not initialized yet!");
+		}
+		return AsyncFileTaskRepository.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * ? Get
+	 */
+
+	@Override
+	public CompletableFuture<List<Task>> getAllTask(Set<TaskField> fields) {
+		Span span = Tracer.span("repository", "getAllTask");
+		return this.storage.loadAllTasks(fields).whenComplete((result, error) -> span.end());
+	}
+
+	/**
+	 * Получить список задач по статусу выполнения.
+	 * Файлы сканируются с частичным разбором ({@link AsyncTaskFileStorage#scanTasks}).
+	 *
+	 * @param completed true — только выполненные задачи; false — только
+	 *                  невыполненные
+	 * @param fields    поля, которые нужно прочитать
+	 * @return future со списком задач, соответствующих указанному статусу выполнения
+	 */
+	@Override
+	public CompletableFuture<List<Task>> getTasksByCompletionStatus(boolean completed, Set<TaskField> fields) {
+		Span span = Tracer.span("repository", "getTasksByCompletionStatus");
+		return this.storage.scanTasks(TaskFilter.completed(completed), fields)
+				.whenComplete((result, error) -> span.end());
+	}
+
+	@Override
+	public CompletableFuture<Optional<Task>> getOneTaskById(long id, Set<TaskField> fields) {
+		Span span = Tracer.span("repository", "getOneTaskById");
+		return this.storage.loadTaskById(id, fields).whenComplete((result, error) -> span.end());
+	}
+
+	/**
+	 * ? Create
+	 */
+
+	@Override
+	public CompletableFuture<Task> createOneTask(String title, boolean complete, LocalDateTime deadline) {
+		Span span = Tracer.span("repository", "createOneTask");
+		Task task = new Task(title, complete, deadline);
+
+		return this.saveTask(task)
+				.thenApply(ignored -> task)
+				.whenComplete((result, error) -> span.end());
+	}
+
+	/**
+	 * ? Update
+	 */
+
+	@Override
+	public CompletableFuture<Void> saveTask(Task task) {
+		Span span = Tracer.span("repository", "saveTask");
+		return this.serialized(task.getId(), () -> {
+			task.incrementVersion();
+			return this.storage.saveTask(task);
+		}).whenComplete((result, error) -> span.end());
+	}
+
+	/**
+	 * Атомарно изменить задачу: чтение, проверка версии, изменение и запись выполняются по очереди
+	 * с другими операциями над тем же id.
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия или {@link ExpectedVersion#ANY}
+	 * @param updater         функция изменения; {@code null} — задача не меняется и не сохраняется
+	 * @return future с задачей после изменения, если найдена; иначе с Optional.empty()
+	 */
+	@Override
+	public CompletableFuture<Optional<Task>> update(long id, ExpectedVersion expectedVersion, UnaryOperator<Task> updater) {
+		Span span = Tracer.span("repository", "update");
+
+		return this.serialized(id, () -> this.storage.loadTaskById(id, TaskField.ALL).thenCompose(existing -> {
+			if (existing.isEmpty()) {
+				return CompletableFuture.completedFuture(existing);
+			}
+
+			ITaskRepository.requireVersion(existing.get(), expectedVersion);
+
+			Task updated = updater.apply(existing.get());
+
+			if (updated == null) {
+				return CompletableFuture.completedFuture(existing);
+			}
+
+			updated.incrementVersion();
+			return this.storage.saveTask(updated).thenApply(ignored -> Optional.of(updated));
+		})).whenComplete((result, error) -> span.end());
+	}
+
+	/**
+	 * ? Delete
+	 */
+
+	/**
+	 * Удаляет задачу по её ID: сначала читает её (для ответа и проверки версии), затем удаляет файл.
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия или {@link ExpectedVersion#ANY}
+	 * @return future с удалённой задачей, если была; иначе с Optional.empty()
+	 */
+	@Override
+	public CompletableFuture<Optional<Task>> deleteTaskById(long id, ExpectedVersion expectedVersion) {
+		Span span = Tracer.span("repository", "deleteTaskById");
+
+		return this.serialized(id, () -> this.storage.loadTaskById(id, TaskField.ALL).thenCompose(existing -> {
+			if (existing.isEmpty()) {
+				return CompletableFuture.completedFuture(existing);
+			}
+			ITaskRepository.requireVersion(existing.get(), expectedVersion);
+			return this.storage.deleteTaskById(id).thenApply(ignored -> existing);
+		})).whenComplete((result, error) -> span.end());
+	}
+
+	/**
+	 * Выполнить операцию над задачей после завершения предыдущей операции над тем же id.
+	 * Операция запускается в контексте вызывающего запроса.
+	 *
+	 * @param id        идентификатор задачи
+	 * @param operation операция
+	 * @param <T>       тип результата
+	 * @return future операции
+	 */
+	private <T> CompletableFuture<T> serialized(long id, Supplier<CompletableFuture<T>> operation) {
+		RequestIdContext context = RequestIdContext.current();
+		CompletableFuture<Void> done = new CompletableFuture<>();
+		CompletableFuture<Void> previous = this.tails.put(id, done);
+		CompletableFuture<Void> ready = previous == null ? CompletableFuture.completedFuture(null) : previous;
+
+		CompletableFuture<T> result = ready.thenCompose(ignored -> {
+			RequestIdContext caller = RequestIdContext.attach(context);
+			try {
+				return operation.get();
+			} finally {
+				RequestIdContext.restore(caller);
+			}
+		});
+
+		result.whenComplete((value, error) -> {
+			this.tails.remove(id, done);
+			done.complete(null);
+		});
+
+		return result;
+	}
+}
@@ -5,6 +5,11 @@
  * @description
  * Репозиторий для работы с задачами через файловую систему.
  * Хранит каждую задачу в отдельном JSON-файле.
+ * Каждый метод открывает спан слоя {@code repository} для выборочной трассировки запросов.
+ * Методы чтения с набором полей передают проекцию в {@link TaskFileStorage}: незапрошенные поля
+ * не разбираются из JSON.
+ * Сохранение, изменение ({@link #update}) и удаление задачи выполняются под блокировкой её id
+ * ({@link StripedLocks}): чтение и запись одной задачи не перемежаются с другими изменениями.
  * 
  * @see TaskFileStorage
  * @see ITaskRepository
@@ -21,14 +26,23 @@ package com.chyvacheck.tasktracker.repository.impl;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * ! my imports
  */
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
 import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
 import com.chyvacheck.tasktracker.repository.ITaskRepository;
+import com.chyvacheck.tasktracker.filesystem.TaskDocument;
 import com.chyvacheck.tasktracker.filesystem.TaskFileStorage;
+import com.chyvacheck.tasktracker.filesystem.TaskFilter;
 import com.chyvacheck.tasktracker.core.base.BaseRepository;
+import com.chyvacheck.tasktracker.core.system.StripedLocks;
+import com.chyvacheck.tasktracker.core.system.tracing.Span;
+import com.chyvacheck.tasktracker.core.system.tracing.Tracer;
 
 /**
  * Реализация репозитория задач, работающая через файловую систему.
@@ -37,7 +51,10 @@ import com.chyvacheck.tasktracker.core.base.BaseRepository;
  */
 public class FileTaskRepository extends BaseRepository implements ITaskRepository {
 
+	private static final int LOCK_STRIPES = 64;
+
 	private static FileTaskRepository instance;
+	private final StripedLocks locks = new StripedLocks(LOCK_STRIPES);
 
 	/**
 	 * * Constructor
@@ -104,7 +121,23 @@ public class FileTaskRepository extends BaseRepository implements ITaskRepositor
 	 */
 	@Override
 	public List<Task> getAllTask() {
-		return TaskFileStorage.loadAllTasks();
+		return getAllTask(TaskField.ALL);
+	}
+
+	/**
+	 * Получить все задачи, разбирая из файлов только указанные поля.
+	 *
+	 * @param fields поля, которые нужно прочитать
+	 * @return список всех задач
+	 */
+	@Override
+	public List<Task> getAllTask(Set<TaskField> fields) {
+		Span span = Tracer.span("repository", "getAllTask");
+		try {
+			return TaskFileStorage.loadAllTasks(fields);
+		} finally {
+			span.end();
+		}
 	}
 
 	/**
@@ -116,9 +149,27 @@ public class FileTaskRepository extends BaseRepository implements ITaskRepositor
 	 */
 	@Override
 	public List<Task> getTasksByCompletionStatus(boolean completed) {
-		return TaskFileStorage.loadAllTasks().stream()
-				.filter(task -> task.isCompleted() == completed)
-				.toList();
+		return getTasksByCompletionStatus(completed, TaskField.ALL);
+	}
+
+	/**
+	 * Получить список задач по статусу выполнения.
+	 * Файлы сканируются с частичным разбором ({@link TaskFileStorage#scanTasks}): статус проверяется
+	 * потоково, задачи создаются (с указанными полями) только для подходящих записей.
+	 *
+	 * @param completed true — только выполненные задачи; false — только
+	 *                  невыполненные
+	 * @param fields    поля, которые нужно прочитать
+	 * @return список задач, соответствующих указанному статусу выполнения
+	 */
+	@Override
+	public List<Task> getTasksByCompletionStatus(boolean completed, Set<TaskField> fields) {
+		Span span = Tracer.span("repository", "getTasksByCompletionStatus");
+		try {
+			return TaskFileStorage.scanTasks(TaskFilter.completed(completed), fields);
+		} finally {
+			span.end();
+		}
 	}
 
 	/**
@@ -130,7 +181,47 @@ public class FileTaskRepository extends BaseRepository implements ITaskRepositor
 	 */
 	@Override
 	public Optional<Task> getOneTaskById(long id) {
-		return TaskFileStorage.loadTaskById(id);
+		return getOneTaskById(id, TaskField.ALL);
+	}
+
+	/**
+	 * Найти задачу по её идентификатору, разбирая из файла только указанные поля.
+	 *
+	 * @param id     идентификатор задачи
+	 * @param fields поля, которые нужно прочитать
+	 * @return {@link Optional} содержащий задачу, либо пустой {@link Optional},
+	 *         если задача не найдена
+	 */
+	@Override
+	public Optional<Task> getOneTaskById(long id, Set<TaskField> fields) {
+		Span span = Tracer.span("repository", "getOneTaskById");
+		try {
+			return TaskFileStorage.loadTaskById(id, fields);
+		} finally {
+			span.end();
+		}
+	}
+
+	/**
+	 * Открыть JSON-файл задачи для отдачи без разбора.
+	 *
+	 * @param id идентификатор задачи
+	 * @return документ, либо пустой {@link Optional}, если задача не найдена
+	 *         или отдача документов выключена
+	 */
+	@Override
+	public Optional<TaskDocument> openTaskDocument(long id) {
+		Span span = Tracer.span("repository", "openTaskDocument");
+		try {
+			return TaskFileStorage.openTaskDocument(id);
+		} finally {
+			span.end();
+		}
+	}
+
+	@Override
+	public boolean hasTaskDocuments() {
+		return TaskFileStorage.isRawReadsEnabled();
 	}
 
 	/**
@@ -147,9 +238,14 @@ public class FileTaskRepository extends BaseRepository implements ITaskRepositor
 	 */
 	@Override
 	public Task createOneTask(String title, boolean complete, LocalDateTime deadline) {
-		Task task = new Task(title, complete, deadline);
-		saveTask(task);
-		return task;
+		Span span = Tracer.span("repository", "createOneTask");
+		try {
+			Task task = new Task(title, complete, deadline);
+			saveTask(task);
+			return task;
+		} finally {
+			span.end();
+		}
 	}
 
 	/**
@@ -157,31 +253,87 @@ public class FileTaskRepository extends BaseRepository implements ITaskRepositor
 	 */
 
 	/**
-	 * Сохранить задачу в файловую систему.
+	 * Сохранить задачу в файловую систему, увеличив её версию.
 	 * Если задача уже существует (по ID), она будет перезаписана.
 	 *
 	 * @param task задача для сохранения
 	 */
 	@Override
 	public void saveTask(Task task) {
-		TaskFileStorage.saveTask(task);
+		Span span = Tracer.span("repository", "saveTask");
+		try {
+			this.locks.withLock(task.getId(), () -> {
+				task.incrementVersion();
+				TaskFileStorage.saveTask(task);
+				return null;
+			});
+		} finally {
+			span.end();
+		}
 	}
 
 	/**
-	 * Удаляет задачу из файловой системы по её ID.
+	 * Атомарно изменить задачу: чтение, проверка версии, изменение и запись файла выполняются
+	 * под блокировкой id задачи.
 	 *
-	 * @param id идентификатор задачи
-	 * @return удалённая задача, если была; иначе Optional.empty()
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия или {@link ExpectedVersion#ANY}
+	 * @param updater         функция изменения; {@code null} — задача не меняется и не сохраняется
+	 * @return задача после изменения, если найдена; иначе Optional.empty()
 	 */
 	@Override
-	public Optional<Task> deleteTaskById(long id) {
-		Optional<Task> existing = TaskFileStorage.loadTaskById(id);
+	public Optional<Task> update(long id, ExpectedVersion expectedVersion, UnaryOperator<Task> updater) {
+		Span span = Tracer.span("repository", "update");
+		try {
+			return this.locks.withLock(id, () -> {
+				Optional<Task> existing = TaskFileStorage.loadTaskById(id);
 
-		if (existing.isEmpty()) {
-			return Optional.empty();
+				if (existing.isEmpty()) {
+					return Optional.empty();
+				}
+
+				ITaskRepository.requireVersion(existing.get(), expectedVersion);
+
+				Task updated = updater.apply(existing.get());
+
+				if (updated == null) {
+					return existing;
+				}
+
+				updated.incrementVersion();
+				TaskFileStorage.saveTask(updated);
+				return Optional.of(updated);
+			});
+		} finally {
+			span.end();
 		}
+	}
+
+	/**
+	 * Удаляет задачу из файловой системы по её ID, если её версия равна ожидаемой.
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия или {@link ExpectedVersion#ANY}
+	 * @return удалённая задача, если была; иначе Optional.empty()
+	 */
+	@Override
+	public Optional<Task> deleteTaskById(long id, ExpectedVersion expectedVersion) {
+		Span span = Tracer.span("repository", "deleteTaskById");
+		try {
+			return this.locks.withLock(id, () -> {
+				Optional<Task> existing = TaskFileStorage.loadTaskById(id);
 
-		TaskFileStorage.deleteTaskById(id);
-		return existing;
+				if (existing.isEmpty()) {
+					return Optional.<Task>empty();
+				}
+
+				ITaskRepository.requireVersion(existing.get(), expectedVersion);
+
+				TaskFileStorage.deleteTaskById(id);
+				return existing;
+			});
+		} finally {
+			span.end();
+		}
 	}
 }
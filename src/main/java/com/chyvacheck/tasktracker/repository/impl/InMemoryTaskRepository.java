@@ -11,7 +11,7 @@
  * 
  * @details
  * Особенности реализации:
- * - Данные задач хранятся в HashMap (имитируется поведение базы данных)
+ * - Данные задач хранятся в ConcurrentHashMap (имитируется поведение базы данных)
  * - ID задач автоматически генерируются при создании
  * - Поддерживаются базовые операции CRUD:
  *   - Получение списка всех задач
@@ -20,11 +20,29 @@
  *   - Создание новой задачи
  *   - Сохранение обновлений задачи
  * 
- * Используется на этапе разработки, тестирования или как in-memory альтернатива реальному репозиторию.
+ * Многоверсионность (MVCC):
+ * - Каждая задача хранится цепочкой неизменяемых версий (новая — в начале); удаление — версия-надгробие.
+ *   Наружу отдаются только копии задач, поэтому сохранённые версии никто не меняет
+ * - Запись (сохранение, изменение, удаление) заменяет начало цепочки атомарно по ключу
+ *   ({@code ConcurrentHashMap.compute}): условные изменения ({@link #update}, {@link #deleteTaskById}) проверяют
+ *   версию там же, записи разных задач идут параллельно. Эпоха версии — {@code clock.incrementAndGet()},
+ *   взятый в той же замене начала цепочки: выдача эпохи и публикация версии — один шаг, писатели не ждут
+ *   друг друга, а упавшая запись оставляет только пропуск в эпохах
+ * - Чтение закрепляет текущую эпоху и видит в каждой цепочке последнюю версию не новее её. Каждая запись,
+ *   завершённая до начала чтения, видна; запись, которая идёт во время чтения и ещё не заменила начало
+ *   цепочки, не видна — она упорядочена после чтения. Если запись B началась после завершения записи A,
+ *   эпоха B больше, поэтому снимок, видящий B, видит и A. Закрепление и освобождение эпохи без блокировок
+ *   ({@code ConcurrentSkipListMap}), читатели не ждут писателей и друг друга
+ * - Версии, которые не видны ни одной закреплённой эпохе, отсекаются (и удаляются ключи надгробий)
+ *   после записи и при освобождении эпохи последним читателем; отсечение выполняет один поток за раз,
+ *   остальные его пропускают
+ * 
+ * Используется на этапе разработки, тестирования или как in-memory альтернатива реальному репозиторию
+ * ({@code tasktracker.repository.backend=memory}).
  * 
  * @example
- * InMemoryTaskRepository repo = new InMemoryTaskRepository();
- * Task task = repo.createOneTask("New task");
+ * InMemoryTaskRepository repo = InMemoryTaskRepository.initialize();
+ * Task task = repo.createOneTask("New task", false, null);
  * List<Task> tasks = repo.getAllTask();
  * 
  * @author
@@ -40,14 +58,23 @@ import java.util.Optional;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.time.LocalDateTime;
 
 /**
  * ! own imports
  */
 import com.chyvacheck.tasktracker.core.base.BaseRepository;
+import com.chyvacheck.tasktracker.core.metrics.IoTracker;
 import com.chyvacheck.tasktracker.repository.ITaskRepository;
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
 import com.chyvacheck.tasktracker.model.Task;
 
 /**
@@ -55,24 +82,79 @@ import com.chyvacheck.tasktracker.model.Task;
  */
 public class InMemoryTaskRepository extends BaseRepository implements ITaskRepository {
 
-	private Map<Long, Task> tasks = new HashMap<Long, Task>();
+	private static InMemoryTaskRepository instance;
+
+	// Последняя версия каждой задачи; более старые — по ссылке previous
+	private final Map<Long, TaskVersion> tasks = new ConcurrentHashMap<Long, TaskVersion>();
+	// Последняя выданная эпоха
+	private final AtomicLong clock = new AtomicLong();
+	// Закреплённые читателями эпохи и число читателей каждой
+	private final ConcurrentNavigableMap<Long, Integer> readers = new ConcurrentSkipListMap<Long, Integer>();
+	// Ключи, у которых могут быть лишние версии
+	private final ConcurrentLinkedQueue<Long> garbage = new ConcurrentLinkedQueue<Long>();
+	private final AtomicBoolean reclaiming = new AtomicBoolean();
+
+	/**
+	 * * Constructor
+	 */
 
 	InMemoryTaskRepository() {
 		super(InMemoryTaskRepository.class);
 	}
 
 	/**
-	 * Получить список всех задач.
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр InMemoryTaskRepository.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @return инициализированный экземпляр InMemoryTaskRepository
+	 * @throws IllegalStateException если репозиторий уже был инициализирован
+	 */
+	public static InMemoryTaskRepository initialize() {
+		if (InMemoryTaskRepository.instance != null) {
+			throw new IllegalStateException("InMemoryTaskRepository already initialized!");
+		}
+		InMemoryTaskRepository.instance = new InMemoryTaskRepository();
+		return InMemoryTaskRepository.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр InMemoryTaskRepository.
+	 *
+	 * @return экземпляр InMemoryTaskRepository
+	 * @throws IllegalStateException если репозиторий ещё не был инициализирован
+	 */
+	public static InMemoryTaskRepository getInstance() {
+		if (InMemoryTaskRepository.instance == null) {
+			throw new IllegalStateException("InMemoryTaskRepository is not initialized yet!");
+		}
+		return InMemoryTaskRepository.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * ? Get
+	 */
+
+	/**
+	 * Получить список всех задач (снимок на момент начала чтения).
 	 *
 	 * @return список всех задач
 	 */
 	@Override
 	public List<Task> getAllTask() {
-		return new ArrayList<Task>(tasks.values());
+		return scan(task -> true);
 	}
 
 	/**
-	 * Получить список задач по статусу выполнения.
+	 * Получить список задач по статусу выполнения (снимок на момент начала чтения).
 	 *
 	 * @param completed true — только выполненные задачи; false — только
 	 *                  невыполненные
@@ -80,9 +162,7 @@ public class InMemoryTaskRepository extends BaseRepository implements ITaskRepos
 	 */
 	@Override
 	public List<Task> getTasksByCompletionStatus(boolean completed) {
-		return tasks.values().stream()
-				.filter(task -> task.isCompleted() == completed)
-				.toList();
+		return scan(task -> task.isCompleted() == completed);
 	}
 
 	/**
@@ -93,9 +173,19 @@ public class InMemoryTaskRepository extends BaseRepository implements ITaskRepos
 	 */
 	@Override
 	public Optional<Task> getOneTaskById(long id) {
-		return Optional.ofNullable(tasks.get(id));
+		long epoch = pin();
+		try {
+			Task task = visible(tasks.get(id), epoch);
+			return task == null ? Optional.empty() : Optional.of(task.copy());
+		} finally {
+			unpin(epoch);
+		}
 	}
 
+	/**
+	 * ? Create
+	 */
+
 	/**
 	 * Создаёт новую задачу и сохраняет её в память.
 	 *
@@ -112,13 +202,65 @@ public class InMemoryTaskRepository extends BaseRepository implements ITaskRepos
 	}
 
 	/**
-	 * Сохраняет задачу в память.
+	 * ? Update
+	 */
+
+	/**
+	 * Сохраняет задачу в память новой версией, увеличив её версию.
 	 *
 	 * @param task задача для сохранения
 	 */
 	@Override
 	public void saveTask(Task task) {
-		tasks.put(task.getId(), task);
+		tasks.compute(task.getId(), (id, previous) -> {
+			task.incrementVersion();
+			return new TaskVersion(task.copy(), clock.incrementAndGet(), previous);
+		});
+
+		collect(task.getId());
+	}
+
+	/**
+	 * Атомарно изменяет задачу в памяти, если её версия равна ожидаемой.
+	 * Функция изменения получает копию текущей версии и выполняется под замком ключа
+	 * ({@code ConcurrentHashMap.compute}), поэтому не должна обращаться к репозиторию.
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия или {@link ExpectedVersion#ANY}
+	 * @param updater         функция изменения; {@code null} — задача не меняется
+	 * @return задача после изменения, если найдена; иначе Optional.empty()
+	 */
+	@Override
+	public Optional<Task> update(long id, ExpectedVersion expectedVersion, UnaryOperator<Task> updater) {
+		Task[] result = new Task[1];
+		boolean[] written = new boolean[1];
+
+		tasks.compute(id, (key, current) -> {
+			if (current == null || current.task == null) {
+				return current;
+			}
+
+			ITaskRepository.requireVersion(current.task, expectedVersion);
+
+			Task copy = current.task.copy();
+			Task updated = updater.apply(copy);
+
+			if (updated == null) {
+				result[0] = copy;
+				return current;
+			}
+
+			updated.incrementVersion();
+			result[0] = updated;
+			written[0] = true;
+			return new TaskVersion(updated.copy(), clock.incrementAndGet(), current);
+		});
+
+		if (written[0]) {
+			collect(id);
+		}
+
+		return Optional.ofNullable(result[0]);
 	}
 
 	/**
@@ -126,14 +268,216 @@ public class InMemoryTaskRepository extends BaseRepository implements ITaskRepos
 	 */
 
 	/**
-	 * Удаляет задачу из памяти по её ID.
+	 * Удаляет задачу из памяти по её ID, если её версия равна ожидаемой.
+	 * Удаление — версия-надгробие: читатели более ранних снимков ещё видят задачу.
 	 *
-	 * @param id идентификатор задачи
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия или {@link ExpectedVersion#ANY}
 	 * @return удалённая задача, если была; иначе Optional.empty()
 	 */
 	@Override
-	public Optional<Task> deleteTaskById(long id) {
-		Task removed = tasks.remove(id);
-		return Optional.ofNullable(removed);
+	public Optional<Task> deleteTaskById(long id, ExpectedVersion expectedVersion) {
+		Task[] deleted = new Task[1];
+
+		tasks.compute(id, (key, current) -> {
+			if (current == null || current.task == null) {
+				return current;
+			}
+
+			ITaskRepository.requireVersion(current.task, expectedVersion);
+
+			deleted[0] = current.task;
+			return new TaskVersion(null, clock.incrementAndGet(), current);
+		});
+
+		if (deleted[0] == null) {
+			return Optional.empty();
+		}
+
+		collect(id);
+		return Optional.of(deleted[0].copy());
+	}
+
+	/**
+	 * ? MVCC
+	 */
+
+	/**
+	 * Просканировать снимок задач на закреплённой эпохе.
+	 *
+	 * @param filter условие отбора
+	 * @return копии видимых задач, прошедших условие
+	 */
+	private List<Task> scan(Predicate<Task> filter) {
+		long epoch = pin();
+		try {
+			List<Task> result = new ArrayList<Task>();
+			int scanned = 0;
+
+			for (TaskVersion head : tasks.values()) {
+				Task task = visible(head, epoch);
+
+				if (task == null) {
+					continue;
+				}
+
+				scanned++;
+				if (filter.test(task)) {
+					result.add(task.copy());
+				}
+			}
+
+			IoTracker.recordScanned(scanned);
+			return result;
+		} finally {
+			unpin(epoch);
+		}
+	}
+
+	/**
+	 * Отметить, что у задачи появилась лишняя версия, и отсечь старые версии.
+	 * Вызывается после записи, вне замены начала цепочки.
+	 *
+	 * @param id идентификатор задачи
+	 */
+	private void collect(long id) {
+		garbage.add(id);
+		reclaim();
+	}
+
+	/**
+	 * Закрепить текущую эпоху для чтения.
+	 * <p>
+	 * Эпоха закрепляется, только если после регистрации читателя новых эпох не выдано: иначе отсечение
+	 * могло не увидеть читателя и убрать нужные ему версии — тогда попытка повторяется (ждать некого,
+	 * повтор нужен, только если между двумя чтениями {@code clock} прошла запись).
+	 *
+	 * @return закреплённая эпоха
+	 */
+	private long pin() {
+		while (true) {
+			long epoch = clock.get();
+			readers.merge(epoch, 1, Integer::sum);
+
+			if (clock.get() == epoch) {
+				return epoch;
+			}
+
+			release(epoch);
+		}
+	}
+
+	/**
+	 * Освободить эпоху; последний читатель старейшей эпохи пробует отсечь старые версии,
+	 * не дожидаясь писателей.
+	 *
+	 * @param epoch закреплённая эпоха
+	 */
+	private void unpin(long epoch) {
+		release(epoch);
+
+		Map.Entry<Long, Integer> oldest = readers.firstEntry();
+
+		if ((oldest == null || oldest.getKey() > epoch) && !garbage.isEmpty()) {
+			reclaim();
+		}
+	}
+
+	/**
+	 * Снять регистрацию читателя эпохи.
+	 *
+	 * @param epoch эпоха
+	 */
+	private void release(long epoch) {
+		readers.merge(epoch, -1, (count, delta) -> count + delta == 0 ? null : count + delta);
+	}
+
+	/**
+	 * Отсечь версии, которые не видны ни одной закреплённой и ни одной будущей эпохе.
+	 * Выполняется одним потоком за раз; если отсечение уже идёт, вызов ничего не делает.
+	 */
+	private void reclaim() {
+		if (!reclaiming.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			// Сначала текущая эпоха, потом читатели: новые читатели закрепят эпоху не старше неё
+			long horizon = clock.get();
+			Map.Entry<Long, Integer> oldest = readers.firstEntry();
+
+			if (oldest != null && oldest.getKey() < horizon) {
+				horizon = oldest.getKey();
+			}
+
+			for (int pending = garbage.size(); pending > 0; pending--) {
+				Long id = garbage.poll();
+
+				if (id == null) {
+					break;
+				}
+
+				TaskVersion head = tasks.get(id);
+
+				if (head == null) {
+					continue;
+				}
+
+				// Первая версия, видимая на горизонте: она и более новые нужны, более старые — нет
+				TaskVersion keep = head;
+				while (keep != null && keep.epoch > horizon) {
+					keep = keep.previous;
+				}
+
+				// Надгробие удаляется, только если за это время ключ не записали заново
+				if (keep == head && head.task == null) {
+					tasks.remove(id, head);
+					continue;
+				}
+
+				if (keep != null) {
+					keep.previous = null;
+				}
+
+				if (head.previous != null) {
+					garbage.add(id);
+				}
+			}
+		} finally {
+			reclaiming.set(false);
+		}
+	}
+
+	/**
+	 * Версия задачи, видимая на эпохе.
+	 *
+	 * @param head  последняя версия задачи или {@code null}
+	 * @param epoch эпоха чтения
+	 * @return задача или {@code null}, если на этой эпохе её нет
+	 */
+	private static Task visible(TaskVersion head, long epoch) {
+		TaskVersion version = head;
+
+		while (version != null && version.epoch > epoch) {
+			version = version.previous;
+		}
+
+		return version == null ? null : version.task;
+	}
+
+	/**
+	 * Неизменяемая версия задачи в цепочке версий.
+	 */
+	private static final class TaskVersion {
+
+		private final Task task;
+		private final long epoch;
+		private volatile TaskVersion previous;
+
+		private TaskVersion(Task task, long epoch, TaskVersion previous) {
+			this.task = task;
+			this.epoch = epoch;
+			this.previous = previous;
+		}
 	}
 }
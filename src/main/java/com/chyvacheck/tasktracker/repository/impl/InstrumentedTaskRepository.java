@@ -0,0 +1,312 @@
+/**
+ * @file InstrumentedTaskRepository.java
+ *
+ * @implements ITaskRepository
+ * @extends BaseRepository
+ *
+ * @description
+ * Инструментирующий декоратор для любой реализации {@link ITaskRepository}.
+ * Позволяет понять, сколько времени запрос проводит в слое хранения (диск, разбор JSON).
+ *
+ * @details
+ * Для каждого метода репозитория записывает в общий {@link MetricsRegistry}:
+ * - количество вызовов ({@code tasktracker_repository_calls_total})
+ * - распределение latency ({@code tasktracker_repository_call_duration_seconds})
+ * - количество просмотренных и возвращённых задач
+ *   ({@code tasktracker_repository_tasks_scanned_total} / {@code tasktracker_repository_tasks_returned_total})
+ * - прочитанные и записанные байты
+ *   ({@code tasktracker_repository_bytes_read_total} / {@code tasktracker_repository_bytes_written_total})
+ *
+ * Байты и просмотренные задачи берутся из {@link IoTracker} как разница до и после вызова.
+ * Исключение — {@code openTaskDocument}: документ читается позже, при отдаче ответа
+ * ({@link TaskDocument#transferTo}), поэтому его размер учитывается как прочитанные байты сразу
+ * при открытии, отдельно от разбираемых чтений {@code getOneTaskById}.
+ *
+ * Включается в Main параметром {@code tasktracker.repository.instrumented=true}.
+ *
+ * @example
+ * ITaskRepository repository = InstrumentedTaskRepository.initialize(FileTaskRepository.initialize(), registry);
+ *
+ * @see IoTracker
+ * @see MetricsRegistry
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.repository.impl;
+
+/**
+ * ! java imports
+ */
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseRepository;
+import com.chyvacheck.tasktracker.core.metrics.Counter;
+import com.chyvacheck.tasktracker.core.metrics.Histogram;
+import com.chyvacheck.tasktracker.core.metrics.IoTracker;
+import com.chyvacheck.tasktracker.core.metrics.MetricsRegistry;
+import com.chyvacheck.tasktracker.filesystem.TaskDocument;
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
+import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+import com.chyvacheck.tasktracker.repository.ITaskRepository;
+
+/**
+ * Декоратор репозитория задач со сбором статистики вызовов и I/O.
+ */
+public class InstrumentedTaskRepository extends BaseRepository implements ITaskRepository {
+
+	private static InstrumentedTaskRepository instance;
+
+	private final ITaskRepository delegate;
+
+	private final MethodMetrics getAllTaskMetrics;
+	private final MethodMetrics getTasksByCompletionStatusMetrics;
+	private final MethodMetrics getOneTaskByIdMetrics;
+	private final MethodMetrics openTaskDocumentMetrics;
+	private final MethodMetrics createOneTaskMetrics;
+	private final MethodMetrics saveTaskMetrics;
+	private final MethodMetrics updateMetrics;
+	private final MethodMetrics deleteTaskByIdMetrics;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор декоратора.
+	 *
+	 * @param delegate оборачиваемый репозиторий
+	 * @param registry реестр метрик
+	 */
+	protected InstrumentedTaskRepository(ITaskRepository delegate, MetricsRegistry registry) {
+		super(InstrumentedTaskRepository.class);
+		this.delegate = delegate;
+
+		this.getAllTaskMetrics = new MethodMetrics(registry, "getAllTask");
+		this.getTasksByCompletionStatusMetrics = new MethodMetrics(registry, "getTasksByCompletionStatus");
+		this.getOneTaskByIdMetrics = new MethodMetrics(registry, "getOneTaskById");
+		this.openTaskDocumentMetrics = new MethodMetrics(registry, "openTaskDocument");
+		this.createOneTaskMetrics = new MethodMetrics(registry, "createOneTask");
+		this.saveTaskMetrics = new MethodMetrics(registry, "saveTask");
+		this.updateMetrics = new MethodMetrics(registry, "update");
+		this.deleteTaskByIdMetrics = new MethodMetrics(registry, "deleteTaskById");
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр InstrumentedTaskRepository.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param delegate оборачиваемый репозиторий
+	 * @param registry реестр метрик
+	 * @return инициализированный экземпляр InstrumentedTaskRepository
+	 * @throws IllegalStateException если репозиторий уже был инициализирован
+	 */
+	public static InstrumentedTaskRepository initialize(ITaskRepository delegate, MetricsRegistry registry) {
+		if (InstrumentedTaskRepository.instance != null) {
+			throw new IllegalStateException("InstrumentedTaskRepository already initialized!");
+		}
+		InstrumentedTaskRepository.instance = new InstrumentedTaskRepository(delegate, registry);
+		return InstrumentedTaskRepository.instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр InstrumentedTaskRepository.
+	 *
+	 * @return экземпляр InstrumentedTaskRepository
+	 * @throws IllegalStateException если репозиторий ещё не был инициализирован
+	 */
+	public static InstrumentedTaskRepository getInstance() {
+		if (InstrumentedTaskRepository.instance == null) {
+			throw new IllegalStateException("InstrumentedTaskRepository is not initialized yet!");
+		}
+		return InstrumentedTaskRepository.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * ? Get
+	 */
+
+	@Override
+	public List<Task> getAllTask() {
+		return measure(this.getAllTaskMetrics, this.delegate::getAllTask, List::size);
+	}
+
+	@Override
+	public List<Task> getAllTask(Set<TaskField> fields) {
+		return measure(this.getAllTaskMetrics, () -> this.delegate.getAllTask(fields), List::size);
+	}
+
+	@Override
+	public List<Task> getTasksByCompletionStatus(boolean completed) {
+		return measure(this.getTasksByCompletionStatusMetrics,
+				() -> this.delegate.getTasksByCompletionStatus(completed), List::size);
+	}
+
+	@Override
+	public List<Task> getTasksByCompletionStatus(boolean completed, Set<TaskField> fields) {
+		return measure(this.getTasksByCompletionStatusMetrics,
+				() -> this.delegate.getTasksByCompletionStatus(completed, fields), List::size);
+	}
+
+	@Override
+	public Optional<Task> getOneTaskById(long id) {
+		return measure(this.getOneTaskByIdMetrics,
+				() -> this.delegate.getOneTaskById(id), result -> result.isPresent() ? 1 : 0);
+	}
+
+	@Override
+	public Optional<Task> getOneTaskById(long id, Set<TaskField> fields) {
+		return measure(this.getOneTaskByIdMetrics,
+				() -> this.delegate.getOneTaskById(id, fields), result -> result.isPresent() ? 1 : 0);
+	}
+
+	@Override
+	public Optional<TaskDocument> openTaskDocument(long id) {
+		return measure(this.openTaskDocumentMetrics,
+				() -> this.delegate.openTaskDocument(id), result -> result.isPresent() ? 1 : 0,
+				result -> result.map(TaskDocument::getSize).orElse(0L));
+	}
+
+	@Override
+	public boolean hasTaskDocuments() {
+		return this.delegate.hasTaskDocuments();
+	}
+
+	/**
+	 * ? Create
+	 */
+
+	@Override
+	public Task createOneTask(String title, boolean complete, LocalDateTime deadline) {
+		return measure(this.createOneTaskMetrics,
+				() -> this.delegate.createOneTask(title, complete, deadline), result -> 1);
+	}
+
+	/**
+	 * ? Update
+	 */
+
+	@Override
+	public void saveTask(Task task) {
+		measure(this.saveTaskMetrics, () -> {
+			this.delegate.saveTask(task);
+			return null;
+		}, result -> 0);
+	}
+
+	@Override
+	public Optional<Task> update(long id, ExpectedVersion expectedVersion, UnaryOperator<Task> updater) {
+		return measure(this.updateMetrics,
+				() -> this.delegate.update(id, expectedVersion, updater), result -> result.isPresent() ? 1 : 0);
+	}
+
+	/**
+	 * ? Delete
+	 */
+
+	@Override
+	public Optional<Task> deleteTaskById(long id, ExpectedVersion expectedVersion) {
+		return measure(this.deleteTaskByIdMetrics,
+				() -> this.delegate.deleteTaskById(id, expectedVersion), result -> result.isPresent() ? 1 : 0);
+	}
+
+	/**
+	 * Выполнить вызов репозитория и записать его статистику.
+	 *
+	 * @param metrics  метрики метода
+	 * @param call     вызов делегата
+	 * @param returned функция подсчёта возвращённых задач
+	 * @param <T>      тип результата
+	 * @return результат вызова делегата
+	 */
+	private <T> T measure(MethodMetrics metrics, Supplier<T> call, ToLongFunction<T> returned) {
+		return measure(metrics, call, returned, result -> 0);
+	}
+
+	/**
+	 * Выполнить вызов репозитория и записать его статистику, учитывая байты, которые вызывающий
+	 * прочитает из результата уже после вызова.
+	 *
+	 * @param metrics  метрики метода
+	 * @param call     вызов делегата
+	 * @param returned функция подсчёта возвращённых задач
+	 * @param deferred функция подсчёта байт, читаемых из результата после вызова
+	 * @param <T>      тип результата
+	 * @return результат вызова делегата
+	 */
+	private <T> T measure(MethodMetrics metrics, Supplier<T> call, ToLongFunction<T> returned,
+			ToLongFunction<T> deferred) {
+		IoTracker.Counts io = IoTracker.current();
+		long bytesRead = io.getBytesRead();
+		long bytesWritten = io.getBytesWritten();
+		long scanned = io.getRecordsScanned();
+		long start = System.nanoTime();
+
+		T result = null;
+		try {
+			result = call.get();
+			return result;
+		} finally {
+			metrics.latency.record(System.nanoTime() - start);
+			metrics.calls.increment();
+			metrics.bytesRead.add(io.getBytesRead() - bytesRead);
+			metrics.bytesWritten.add(io.getBytesWritten() - bytesWritten);
+			metrics.scanned.add(io.getRecordsScanned() - scanned);
+			if (result != null) {
+				metrics.returned.add(returned.applyAsLong(result));
+				metrics.bytesRead.add(deferred.applyAsLong(result));
+			}
+		}
+	}
+
+	/**
+	 * Метрики одного метода репозитория.
+	 */
+	private static class MethodMetrics {
+
+		private final Counter calls;
+		private final Histogram latency;
+		private final Counter scanned;
+		private final Counter returned;
+		private final Counter bytesRead;
+		private final Counter bytesWritten;
+
+		private MethodMetrics(MetricsRegistry registry, String method) {
+			Map<String, String> labels = Map.of("method", method);
+
+			this.calls = registry.counter("tasktracker_repository_calls_total",
+					"Task repository calls by method", labels);
+			this.latency = registry.histogram("tasktracker_repository_call_duration_seconds",
+					"Task repository call latency by method", MetricsRegistry.NANOS_TO_SECONDS, labels);
+			this.scanned = registry.counter("tasktracker_repository_tasks_scanned_total",
+					"Tasks read from storage by repository method", labels);
+			this.returned = registry.counter("tasktracker_repository_tasks_returned_total",
+					"Tasks returned to the caller by repository method", labels);
+			this.bytesRead = registry.counter("tasktracker_repository_bytes_read_total",
+					"Bytes read from storage by repository method", labels);
+			this.bytesWritten = registry.counter("tasktracker_repository_bytes_written_total",
+					"Bytes written to storage by repository method", labels);
+		}
+	}
+}
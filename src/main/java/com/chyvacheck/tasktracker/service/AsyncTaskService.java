@@ -0,0 +1,209 @@
+/**
+ * @file AsyncTaskService.java
+ *
+ * @implements IAsyncTaskService
+ * @extends BaseService
+ *
+ * @description
+ * Асинхронный сервис задач: выполняет операции синхронного сервиса ({@link ITaskService})
+ * на выделенном пуле хранилища ({@link StorageExecutor}).
+ *
+ * @details
+ * - Бизнес-логика не дублируется: каждая операция — вызов {@link ITaskService} на потоке хранилища,
+ *   поэтому события JFR, спаны, логи и версия набора задач остаются прежними
+ * - Контекст запроса переносится на поток хранилища самим {@link StorageExecutor}
+ * - Поток, вызвавший метод, не ждёт I/O: ответ пишется в продолжении future
+ * - Чтения ставятся в очередь с приоритетом {@link Priority#READ}, изменения — {@link Priority#WRITE};
+ *   при переполнении очереди future завершается ошибкой 503 ({@code STORAGE_OVERLOADED})
+ * - Если изменения выполняет конвейер ({@link ITaskService#hasMutationPipeline()}), изменение только
+ *   публикуется ({@code submit*}): поток хранилища не ждёт писателя и остаётся чтениям. Продолжения
+ *   переносятся с потока писателя на пул хранилища ({@link StorageExecutor#completions()}), а обратное
+ *   давление для изменений — заполненный буфер конвейера
+ *
+ * @example
+ * AsyncTaskService service = AsyncTaskService.initialize(taskService, StorageExecutor.getInstance());
+ * service.getAllTasks(TaskField.ALL).thenAccept(result -> ...);
+ *
+ * @see IAsyncTaskService
+ * @see TaskService
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.service;
+
+/**
+ * ! java imports
+ */
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.time.LocalDateTime;
+
+/**
+ * ! own imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseService;
+import com.chyvacheck.tasktracker.core.response.service.ServiceResponse;
+import com.chyvacheck.tasktracker.core.system.StorageExecutor;
+import com.chyvacheck.tasktracker.core.system.StorageExecutor.Priority;
+import com.chyvacheck.tasktracker.filesystem.TaskDocument;
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
+import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+
+/**
+ * Асинхронный сервис для работы с задачами.
+ */
+public class AsyncTaskService extends BaseService implements IAsyncTaskService {
+
+	private static AsyncTaskService instance;
+	private final ITaskService service;
+	private final StorageExecutor executor;
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор асинхронного сервиса задач.
+	 *
+	 * @param service  синхронный сервис задач
+	 * @param executor пул потоков хранилища
+	 */
+	protected AsyncTaskService(ITaskService service, StorageExecutor executor) {
+		super(AsyncTaskService.class);
+		this.service = service;
+		this.executor = executor;
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр AsyncTaskService.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param service  синхронный сервис задач
+	 * @param executor пул потоков хранилища
+	 * @return инициализированный экземпляр AsyncTaskService
+	 * @throws IllegalStateException если сервис уже был инициализирован
+	 */
+	public static AsyncTaskService initialize(ITaskService service, StorageExecutor executor) {
+		if (instance != null) {
+			throw new IllegalStateException("AsyncTaskService already initialized!");
+		}
+
+		AsyncTaskService.instance = new AsyncTaskService(service, executor);
+		return instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр AsyncTaskService.
+	 *
+	 * @return экземпляр AsyncTaskService
+	 * @throws IllegalStateException если сервис ещё не был инициализирован
+	 */
+	public static AsyncTaskService getInstance() {
+		if (AsyncTaskService.instance == null) {
+			throw new IllegalStateException("AsyncTaskService is not initialized yet!");
+		}
+		return AsyncTaskService.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * ? Get
+	 */
+
+	@Override
+	public CompletableFuture<ServiceResponse<List<Task>>> getAllTasks(Set<TaskField> fields) {
+		return this.executor.submit(Priority.READ, () -> this.service.getAllTasks(fields));
+	}
+
+	@Override
+	public CompletableFuture<ServiceResponse<List<Task>>> getTasksByCompletionStatus(boolean completed,
+			Set<TaskField> fields) {
+		return this.executor.submit(Priority.READ, () -> this.service.getTasksByCompletionStatus(completed, fields));
+	}
+
+	@Override
+	public CompletableFuture<Optional<ServiceResponse<Task>>> getOneTaskById(long id, Set<TaskField> fields) {
+		return this.executor.submit(Priority.READ, () -> this.service.getOneTaskById(id, fields));
+	}
+
+	@Override
+	public CompletableFuture<Optional<TaskDocument>> openTaskDocument(long id) {
+		return this.executor.submit(Priority.READ, () -> this.service.openTaskDocument(id));
+	}
+
+	@Override
+	public boolean hasTaskDocuments() {
+		return this.service.hasTaskDocuments();
+	}
+
+	/**
+	 * ? Create
+	 */
+
+	@Override
+	public CompletableFuture<ServiceResponse<Task>> createOneTask(String title, boolean complete,
+			LocalDateTime deadline) {
+		return this.mutate(() -> this.service.submitCreateOneTask(title, complete, deadline),
+				() -> this.service.createOneTask(title, complete, deadline));
+	}
+
+	/**
+	 * ? Update
+	 */
+
+	@Override
+	public CompletableFuture<Optional<ServiceResponse<Task>>> completeOneTaskById(long id, ExpectedVersion expectedVersion) {
+		return this.mutate(() -> this.service.submitCompleteOneTaskById(id, expectedVersion),
+				() -> this.service.completeOneTaskById(id, expectedVersion));
+	}
+
+	/**
+	 * ? Delete
+	 */
+
+	@Override
+	public CompletableFuture<Optional<ServiceResponse<Task>>> deleteOneTaskById(long id, ExpectedVersion expectedVersion) {
+		return this.mutate(() -> this.service.submitDeleteOneTaskById(id, expectedVersion),
+				() -> this.service.deleteOneTaskById(id, expectedVersion));
+	}
+
+	/**
+	 * ? Version
+	 */
+
+	@Override
+	public long getVersion() {
+		return this.service.getVersion();
+	}
+
+	/**
+	 * Выполнить изменение: через конвейер — только опубликовать его, без конвейера — на пуле хранилища.
+	 *
+	 * @param submit публикация изменения в конвейер
+	 * @param call   синхронное изменение
+	 * @param <T>    тип результата
+	 * @return future изменения; продолжения выполняются на пуле хранилища, а не на потоке писателя
+	 */
+	private <T> CompletableFuture<T> mutate(Supplier<CompletableFuture<T>> submit, Supplier<T> call) {
+		if (!this.service.hasMutationPipeline()) {
+			return this.executor.submit(Priority.WRITE, call);
+		}
+
+		return submit.get().whenCompleteAsync((result, error) -> {
+		}, this.executor.completions());
+	}
+}
@@ -0,0 +1,145 @@
+/**
+ * @file IAsyncTaskService.java
+ *
+ * @description
+ * Асинхронный вариант сервисного слоя задач ({@link ITaskService}).
+ * Каждая операция возвращает {@link CompletableFuture} и не блокирует вызывающий поток на I/O хранилища.
+ *
+ * @details
+ * - Результаты и бизнес-правила те же, что у {@link ITaskService}
+ * - Future завершается исключением операции, если она завершилась ошибкой, либо
+ *   {@code StorageOverloadedException} (503), если хранилище перегружено и операция не была поставлена
+ * - Несовпадение версии при условном изменении завершает future {@code TaskVersionMismatchException} (412)
+ * - {@link #getVersion()} и {@link #hasTaskDocuments()} синхронные: они не обращаются к хранилищу
+ *
+ * @example
+ * asyncTaskService.getAllTasks(TaskField.ALL).thenAccept(result -> ...);
+ *
+ * @see ITaskService
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.service;
+
+/**
+ * ! java imports
+ */
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.time.LocalDateTime;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.response.service.ServiceResponse;
+import com.chyvacheck.tasktracker.filesystem.TaskDocument;
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
+import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+
+/**
+ * Асинхронный интерфейс для работы с задачами на уровне сервисного слоя.
+ */
+public interface IAsyncTaskService {
+
+	/**
+	 * Получить список всех задач, прочитав как минимум указанные поля.
+	 *
+	 * @param fields поля, которые нужны вызывающему коду
+	 * @return future со списком задач
+	 */
+	CompletableFuture<ServiceResponse<List<Task>>> getAllTasks(Set<TaskField> fields);
+
+	/**
+	 * Получить список задач по статусу выполнения, прочитав как минимум указанные поля.
+	 *
+	 * @param completed true — только выполненные задачи; false — только
+	 *                  невыполненные
+	 * @param fields    поля, которые нужны вызывающему коду
+	 * @return future со списком задач
+	 */
+	CompletableFuture<ServiceResponse<List<Task>>> getTasksByCompletionStatus(boolean completed,
+			Set<TaskField> fields);
+
+	/**
+	 * Получить задачу по её ID, прочитав как минимум указанные поля.
+	 *
+	 * @param id     идентификатор задачи
+	 * @param fields поля, которые нужны вызывающему коду
+	 * @return future с задачей, если найдена; иначе с Optional.empty()
+	 */
+	CompletableFuture<Optional<ServiceResponse<Task>>> getOneTaskById(long id, Set<TaskField> fields);
+
+	/**
+	 * Открыть сохранённый документ задачи для отдачи без разбора.
+	 *
+	 * @param id идентификатор задачи
+	 * @return future с документом (его нужно закрыть), либо с Optional.empty()
+	 */
+	CompletableFuture<Optional<TaskDocument>> openTaskDocument(long id);
+
+	/**
+	 * Может ли сервис отдавать сохранённые документы задач (см. {@link ITaskService#hasTaskDocuments()}).
+	 *
+	 * @return true, если документы поддерживаются
+	 */
+	boolean hasTaskDocuments();
+
+	/**
+	 * Создать новую задачу с указанными параметрами.
+	 *
+	 * @param title    название задачи
+	 * @param complete статус выполнения задачи
+	 * @param deadline дедлайн выполнения задачи
+	 * @return future с созданной задачей
+	 */
+	CompletableFuture<ServiceResponse<Task>> createOneTask(String title, boolean complete, LocalDateTime deadline);
+
+	/**
+	 * Завершить задачу по ID с проверкой состояния.
+	 *
+	 * @param id идентификатор задачи
+	 * @return future с результатом операции
+	 */
+	default CompletableFuture<Optional<ServiceResponse<Task>>> completeOneTaskById(long id) {
+		return completeOneTaskById(id, ExpectedVersion.ANY);
+	}
+
+	/**
+	 * Завершить задачу по ID, если её версия равна ожидаемой.
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия задачи или {@link ExpectedVersion#ANY}
+	 * @return future с результатом операции
+	 */
+	CompletableFuture<Optional<ServiceResponse<Task>>> completeOneTaskById(long id, ExpectedVersion expectedVersion);
+
+	/**
+	 * Удалить задачу по её ID.
+	 *
+	 * @param id идентификатор задачи
+	 * @return future с удалённой задачей, если она была найдена; иначе с Optional.empty()
+	 */
+	default CompletableFuture<Optional<ServiceResponse<Task>>> deleteOneTaskById(long id) {
+		return deleteOneTaskById(id, ExpectedVersion.ANY);
+	}
+
+	/**
+	 * Удалить задачу по её ID, если её версия равна ожидаемой.
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия задачи или {@link ExpectedVersion#ANY}
+	 * @return future с удалённой задачей, если она была найдена; иначе с Optional.empty()
+	 */
+	CompletableFuture<Optional<ServiceResponse<Task>>> deleteOneTaskById(long id, ExpectedVersion expectedVersion);
+
+	/**
+	 * Версия набора задач (см. {@link ITaskService#getVersion()}).
+	 *
+	 * @return текущая версия
+	 */
+	long getVersion();
+}
@@ -16,6 +16,10 @@
  * - Создание новой задачи с разными параметрами
  * - Завершение задачи по ID
  * 
+ * Изменения есть в двух формах: синхронной ({@code createOneTask}) и с публикацией без ожидания
+ * ({@code submitCreateOneTask}). Если изменения выполняет конвейер ({@link #hasMutationPipeline()}),
+ * вторая форма только публикует изменение и возвращает его future — поток вызывающего не ждёт писателя.
+ * 
  * @example
  * ITaskService service = new TaskService(new InMemoryTaskRepository());
  * service.createOneTask("Implement validation logic");
@@ -32,13 +36,18 @@ package com.chyvacheck.tasktracker.service;
  */
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.time.LocalDateTime;
 
 /**
  * ! my imports
  */
 import com.chyvacheck.tasktracker.core.response.service.ServiceResponse;
+import com.chyvacheck.tasktracker.filesystem.TaskDocument;
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
 import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
 
 /**
  * Интерфейс для работы с задачами на уровне сервисного слоя.
@@ -52,6 +61,14 @@ public interface ITaskService {
 	 */
 	ServiceResponse<List<Task>> getAllTasks();
 
+	/**
+	 * Получить список всех задач, прочитав как минимум указанные поля.
+	 *
+	 * @param fields поля, которые нужны вызывающему коду
+	 * @return список задач
+	 */
+	ServiceResponse<List<Task>> getAllTasks(Set<TaskField> fields);
+
 	/**
 	 * Получить задачу по её идентификатору.
 	 *
@@ -60,6 +77,31 @@ public interface ITaskService {
 	 */
 	Optional<ServiceResponse<Task>> getOneTaskById(long id);
 
+	/**
+	 * Получить задачу по её идентификатору, прочитав как минимум указанные поля.
+	 *
+	 * @param id     идентификатор задачи
+	 * @param fields поля, которые нужны вызывающему коду
+	 * @return задача, если найдена; иначе Optional.empty()
+	 */
+	Optional<ServiceResponse<Task>> getOneTaskById(long id, Set<TaskField> fields);
+
+	/**
+	 * Открыть сохранённый документ задачи для отдачи без разбора.
+	 *
+	 * @param id идентификатор задачи
+	 * @return документ (его нужно закрыть), либо Optional.empty(), если задача не найдена
+	 *         или репозиторий не хранит документы
+	 */
+	Optional<TaskDocument> openTaskDocument(long id);
+
+	/**
+	 * Может ли сервис отдавать сохранённые документы задач ({@link #openTaskDocument}).
+	 *
+	 * @return true, если документы поддерживаются
+	 */
+	boolean hasTaskDocuments();
+
 	/**
 	 * Получить список задач по статусу выполнения.
 	 *
@@ -69,6 +111,16 @@ public interface ITaskService {
 	 */
 	ServiceResponse<List<Task>> getTasksByCompletionStatus(boolean completed);
 
+	/**
+	 * Получить список задач по статусу выполнения, прочитав как минимум указанные поля.
+	 *
+	 * @param completed true — только выполненные задачи; false — только
+	 *                  невыполненные
+	 * @param fields    поля, которые нужны вызывающему коду
+	 * @return список задач
+	 */
+	ServiceResponse<List<Task>> getTasksByCompletionStatus(boolean completed, Set<TaskField> fields);
+
 	/**
 	 * Создать новую задачу с указанными параметрами.
 	 *
@@ -79,13 +131,47 @@ public interface ITaskService {
 	 */
 	ServiceResponse<Task> createOneTask(String title, boolean complete, LocalDateTime deadline);
 
+	/**
+	 * Опубликовать создание задачи, не дожидаясь его.
+	 * Без конвейера изменений выполняется на вызывающем потоке и возвращает завершённый future.
+	 *
+	 * @param title    название задачи
+	 * @param complete статус выполнения задачи
+	 * @param deadline дедлайн выполнения задачи
+	 * @return future созданной задачи (завершается на потоке писателя)
+	 */
+	CompletableFuture<ServiceResponse<Task>> submitCreateOneTask(String title, boolean complete,
+			LocalDateTime deadline);
+
 	/**
 	 * Завершить задачу по ID с проверкой состояния.
 	 *
 	 * @param id идентификатор задачи
 	 * @return результат выполнения операции с информацией о процессе
 	 */
-	Optional<ServiceResponse<Task>> completeOneTaskById(long id);
+	default Optional<ServiceResponse<Task>> completeOneTaskById(long id) {
+		return completeOneTaskById(id, ExpectedVersion.ANY);
+	}
+
+	/**
+	 * Завершить задачу по ID, если её версия равна ожидаемой.
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия задачи или {@link ExpectedVersion#ANY}
+	 * @return результат выполнения операции с информацией о процессе
+	 */
+	Optional<ServiceResponse<Task>> completeOneTaskById(long id, ExpectedVersion expectedVersion);
+
+	/**
+	 * Опубликовать завершение задачи, не дожидаясь его.
+	 * Без конвейера изменений выполняется на вызывающем потоке и возвращает завершённый future.
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия задачи или {@link ExpectedVersion#ANY}
+	 * @return future результата (завершается на потоке писателя)
+	 */
+	CompletableFuture<Optional<ServiceResponse<Task>>> submitCompleteOneTaskById(long id,
+			ExpectedVersion expectedVersion);
 
 	/**
 	 * Удалить задачу по её ID.
@@ -94,5 +180,45 @@ public interface ITaskService {
 	 * @return Optional содержащий удалённую задачу в обёртке ServiceResponse, если
 	 *         задача была найдена; иначе Optional.empty()
 	 */
-	public Optional<ServiceResponse<Task>> deleteOneTaskById(long id);
-}
\ No newline at end of file
+	public default Optional<ServiceResponse<Task>> deleteOneTaskById(long id) {
+		return deleteOneTaskById(id, ExpectedVersion.ANY);
+	}
+
+	/**
+	 * Удалить задачу по её ID, если её версия равна ожидаемой.
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия задачи или {@link ExpectedVersion#ANY}
+	 * @return Optional содержащий удалённую задачу в обёртке ServiceResponse, если
+	 *         задача была найдена; иначе Optional.empty()
+	 */
+	public Optional<ServiceResponse<Task>> deleteOneTaskById(long id, ExpectedVersion expectedVersion);
+
+	/**
+	 * Опубликовать удаление задачи, не дожидаясь его.
+	 * Без конвейера изменений выполняется на вызывающем потоке и возвращает завершённый future.
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия задачи или {@link ExpectedVersion#ANY}
+	 * @return future удалённой задачи (завершается на потоке писателя)
+	 */
+	CompletableFuture<Optional<ServiceResponse<Task>>> submitDeleteOneTaskById(long id,
+			ExpectedVersion expectedVersion);
+
+	/**
+	 * Выполняются ли изменения конвейером с единственным писателем.
+	 *
+	 * @return true, если {@code submit*} только публикуют изменение
+	 */
+	boolean hasMutationPipeline();
+
+	/**
+	 * Версия набора задач: увеличивается при каждом изменении через сервис.
+	 * <p>
+	 * Позволяет кешировать производные данные (например, готовые ответы списков)
+	 * и сбрасывать их при изменении.
+	 *
+	 * @return текущая версия
+	 */
+	long getVersion();
+}
@@ -0,0 +1,334 @@
+/**
+ * @file NonBlockingTaskService.java
+ *
+ * @implements IAsyncTaskService
+ * @extends BaseService
+ *
+ * @description
+ * Асинхронный сервис задач поверх асинхронного репозитория ({@link IAsyncTaskRepository}).
+ * В отличие от {@link AsyncTaskService}, не занимает поток на время I/O: бизнес-правила
+ * {@link TaskService} выполняются в продолжениях future репозитория.
+ *
+ * @details
+ * - Правила те же, что у {@link TaskService}: сортировка списка по id, повторное завершение — NOTHING,
+ *   версия набора задач увеличивается при создании, завершении и удалении
+ * - Завершение задачи — атомарное изменение в репозитории ({@link IAsyncTaskRepository#update})
+ * - Версия — сумма собственных изменений и изменений синхронного сервиса (потоковый импорт):
+ *   обе части только растут, поэтому любое изменение меняет сумму
+ * - Документы задач не отдаются ({@link #hasTaskDocuments()} — false): задачи читаются через репозиторий
+ * - Изменения выполняются через конвейер с единственным писателем ({@link MutationPipeline}), если он передан;
+ *   продолжения (ответ клиенту) переносятся с потока писателя на пул {@code completions}
+ *
+ * @example
+ * NonBlockingTaskService service = NonBlockingTaskService.initialize(taskService, asyncTaskRepository,
+ *         pipeline, storage.getExecutor());
+ * service.getAllTasks(TaskField.ALL).thenAccept(result -> ...);
+ *
+ * @see IAsyncTaskService
+ * @see TaskService
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.service;
+
+/**
+ * ! java imports
+ */
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.time.LocalDateTime;
+
+/**
+ * ! own imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseService;
+import com.chyvacheck.tasktracker.core.response.service.ServiceProcessType;
+import com.chyvacheck.tasktracker.core.response.service.ServiceResponse;
+import com.chyvacheck.tasktracker.core.system.MutationPipeline;
+import com.chyvacheck.tasktracker.core.system.context.RequestIdContext;
+import com.chyvacheck.tasktracker.core.system.jfr.ServiceEvent;
+import com.chyvacheck.tasktracker.core.system.tracing.Span;
+import com.chyvacheck.tasktracker.core.system.tracing.Tracer;
+import com.chyvacheck.tasktracker.filesystem.TaskDocument;
+import com.chyvacheck.tasktracker.repository.IAsyncTaskRepository;
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
+import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
+
+/**
+ * Неблокирующий сервис для работы с задачами.
+ */
+public class NonBlockingTaskService extends BaseService implements IAsyncTaskService {
+
+	private static NonBlockingTaskService instance;
+	private final ITaskService service;
+	private final IAsyncTaskRepository repository;
+	private final MutationPipeline pipeline;
+	private final Executor completions;
+	private final AtomicLong version = new AtomicLong();
+
+	/**
+	 * * Constructor
+	 */
+
+	/**
+	 * Конструктор неблокирующего сервиса задач.
+	 *
+	 * @param service     синхронный сервис задач (его изменения учитываются в версии)
+	 * @param repository  асинхронный репозиторий задач
+	 * @param pipeline    конвейер изменений; {@code null} — изменения выполняются без него
+	 * @param completions пул для продолжений изменений после конвейера
+	 */
+	protected NonBlockingTaskService(ITaskService service, IAsyncTaskRepository repository,
+			MutationPipeline pipeline, Executor completions) {
+		super(NonBlockingTaskService.class);
+		this.service = service;
+		this.repository = repository;
+		this.pipeline = pipeline;
+		this.completions = completions;
+	}
+
+	/**
+	 * * Static methods
+	 */
+
+	/**
+	 * Инициализирует экземпляр NonBlockingTaskService.
+	 * <p>
+	 * Этот метод должен быть вызван только один раз при старте приложения.
+	 *
+	 * @param service     синхронный сервис задач
+	 * @param repository  асинхронный репозиторий задач
+	 * @param pipeline    конвейер изменений; {@code null} — изменения выполняются без него
+	 * @param completions пул для продолжений изменений после конвейера
+	 * @return инициализированный экземпляр NonBlockingTaskService
+	 * @throws IllegalStateException если сервис уже был инициализирован
+	 */
+	public static NonBlockingTaskService initialize(ITaskService service, IAsyncTaskRepository repository,
+			MutationPipeline pipeline, Executor completions) {
+		if (instance != null) {
+			throw new IllegalStateException("NonBlockingTaskService already initialized!");
+		}
+
+		NonBlockingTaskService.instance = new NonBlockingTaskService(service, repository, pipeline, completions);
+		return instance;
+	}
+
+	/**
+	 * Получить текущий экземпляр NonBlockingTaskService.
+	 *
+	 * @return экземпляр NonBlockingTaskService
+	 * @throws IllegalStateException если сервис ещё не был инициализирован
+	 */
+	public static NonBlockingTaskService getInstance() {
+		if (NonBlockingTaskService.instance == null) {
+			throw new IllegalStateException("NonBlockingTaskService is not initialized yet!");
+		}
+		return NonBlockingTaskService.instance;
+	}
+
+	/**
+	 * * Methods
+	 */
+
+	/**
+	 * ? Get
+	 */
+
+	@Override
+	public CompletableFuture<ServiceResponse<List<Task>>> getAllTasks(Set<TaskField> fields) {
+		ServiceEvent event = ServiceEvent.start("getAllTasks", -1);
+		Span span = Tracer.span("service", "getAllTasks");
+
+		this.info("get all tasks", null);
+
+		Set<TaskField> read = EnumSet.of(TaskField.ID);
+		read.addAll(fields);
+
+		return finish(this.repository.getAllTask(read).thenApply(tasks -> new ServiceResponse<>(
+				ServiceProcessType.FOUND,
+				tasks.stream().sorted(Comparator.comparingLong(Task::getId)).toList())), span, event);
+	}
+
+	@Override
+	public CompletableFuture<ServiceResponse<List<Task>>> getTasksByCompletionStatus(boolean completed,
+			Set<TaskField> fields) {
+		ServiceEvent event = ServiceEvent.start("getTasksByCompletionStatus", -1);
+		Span span = Tracer.span("service", "getTasksByCompletionStatus");
+
+		this.info("get all tasks", Map.of("completed", completed));
+
+		return finish(this.repository.getTasksByCompletionStatus(completed, fields)
+				.thenApply(tasks -> new ServiceResponse<>(ServiceProcessType.FOUND, tasks)), span, event);
+	}
+
+	@Override
+	public CompletableFuture<Optional<ServiceResponse<Task>>> getOneTaskById(long id, Set<TaskField> fields) {
+		ServiceEvent event = ServiceEvent.start("getOneTaskById", id);
+		Span span = Tracer.span("service", "getOneTaskById");
+
+		this.info("get one task", Map.of("id", id));
+
+		return finish(this.repository.getOneTaskById(id, fields)
+				.thenApply(taskOpt -> taskOpt.map(task -> new ServiceResponse<>(ServiceProcessType.FOUND, task))),
+				span, event);
+	}
+
+	@Override
+	public CompletableFuture<Optional<TaskDocument>> openTaskDocument(long id) {
+		return CompletableFuture.completedFuture(Optional.empty());
+	}
+
+	@Override
+	public boolean hasTaskDocuments() {
+		return false;
+	}
+
+	/**
+	 * ? Create
+	 */
+
+	@Override
+	public CompletableFuture<ServiceResponse<Task>> createOneTask(String title, boolean complete,
+			LocalDateTime deadline) {
+		ServiceEvent event = ServiceEvent.start("createOneTask", -1);
+		Span span = Tracer.span("service", "createOneTask");
+
+		Map<String, Object> details = new HashMap<>();
+		details.put("title", title);
+		details.put("complete", complete);
+		details.put("deadline", deadline); // даже если deadline == null, всё ок
+
+		this.info("create one task", details);
+
+		return finish(this.mutate(() -> this.repository.createOneTask(title, complete, deadline).thenApply(task -> {
+			this.version.incrementAndGet();
+			return new ServiceResponse<>(ServiceProcessType.CREATED, task);
+		})), span, event);
+	}
+
+	/**
+	 * ? Update
+	 */
+
+	@Override
+	public CompletableFuture<Optional<ServiceResponse<Task>>> completeOneTaskById(long id, ExpectedVersion expectedVersion) {
+		ServiceEvent event = ServiceEvent.start("completeOneTaskById", id);
+		Span span = Tracer.span("service", "completeOneTaskById");
+
+		this.info("complete one task", Map.of("id", id));
+
+		AtomicBoolean changed = new AtomicBoolean();
+
+		return finish(this.mutate(() -> this.repository.update(id, expectedVersion, task -> {
+			if (task.isCompleted()) {
+				return null;
+			}
+
+			task.markAsCompleted();
+			changed.set(true);
+			return task;
+		}).thenApply(taskOpt -> {
+			if (taskOpt.isEmpty()) {
+				return Optional.<ServiceResponse<Task>>empty();
+			}
+
+			Task task = taskOpt.get();
+
+			if (!changed.get()) {
+				this.info("task already completed", Map.of("id", id));
+				return Optional.of(new ServiceResponse<>(ServiceProcessType.NOTHING, task));
+			}
+
+			this.version.incrementAndGet();
+
+			this.info("task marked as complete", Map.of("id", id));
+			return Optional.of(new ServiceResponse<>(ServiceProcessType.UPDATED, task));
+		})), span, event);
+	}
+
+	/**
+	 * ? Delete
+	 */
+
+	@Override
+	public CompletableFuture<Optional<ServiceResponse<Task>>> deleteOneTaskById(long id, ExpectedVersion expectedVersion) {
+		ServiceEvent event = ServiceEvent.start("deleteOneTaskById", id);
+		Span span = Tracer.span("service", "deleteOneTaskById");
+
+		this.info("Delete task by id", Map.of("id", id));
+
+		return finish(this.mutate(() -> this.repository.deleteTaskById(id, expectedVersion).thenApply(taskOpt -> {
+			if (taskOpt.isPresent()) {
+				this.version.incrementAndGet();
+			}
+
+			return taskOpt.map(task -> new ServiceResponse<>(ServiceProcessType.DELETED, task));
+		})), span, event);
+	}
+
+	/**
+	 * ? Version
+	 */
+
+	@Override
+	public long getVersion() {
+		return this.version.get() + this.service.getVersion();
+	}
+
+	/**
+	 * Выполнить изменение через конвейер изменений (или сразу, если конвейера нет).
+	 * Поток писателя ждёт завершения I/O изменения, поэтому следующее изменение начнётся только после него;
+	 * продолжения вызывающего переносятся на пул {@code completions} в контексте запроса.
+	 *
+	 * @param mutation изменение
+	 * @param <T>      тип результата
+	 * @return future изменения
+	 */
+	private <T> CompletableFuture<T> mutate(Supplier<CompletableFuture<T>> mutation) {
+		if (this.pipeline == null) {
+			return mutation.get();
+		}
+
+		RequestIdContext context = RequestIdContext.current();
+		Executor inContext = command -> this.completions.execute(() -> {
+			RequestIdContext previous = RequestIdContext.attach(context);
+			try {
+				command.run();
+			} finally {
+				RequestIdContext.restore(previous);
+			}
+		});
+
+		return this.pipeline.submit(() -> mutation.get().join()).whenCompleteAsync((result, error) -> {
+		}, inContext);
+	}
+
+	/**
+	 * Закрыть спан и JFR-событие операции, когда завершится её future.
+	 *
+	 * @param future future операции
+	 * @param span   спан слоя {@code service}
+	 * @param event  JFR-событие операции
+	 * @param <T>    тип результата
+	 * @return future операции
+	 */
+	private static <T> CompletableFuture<T> finish(CompletableFuture<T> future, Span span, ServiceEvent event) {
+		return future.whenComplete((result, error) -> {
+			span.end();
+			event.finish();
+		});
+	}
+}
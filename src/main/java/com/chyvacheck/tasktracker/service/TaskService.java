@@ -12,8 +12,15 @@
  * @details
  * Основные задачи:
  * - Делегирование операций репозиторию (ITaskRepository)
+ * - Завершение задачи — атомарное изменение в репозитории ({@link ITaskRepository#update}):
+ *   параллельное удаление не может быть перезаписано сохранением
  * - Обработка бизнес-правил при создании и обновлении задач
  * 
+ * Изменения (создание, завершение, удаление) выполняются через конвейер с единственным писателем
+ * ({@link MutationPipeline}), если он передан: чтение, проверка и запись задачи выполняются одним потоком
+ * без гонок с другими изменениями. Синхронные методы ждут изменение, {@code submit*} только публикуют его
+ * и возвращают future ({@code AsyncTaskService} не занимает поток хранилища ожиданием писателя).
+ * 
  * Особенности:
  * - Поддержка создания задач с различными вариантами параметров
  * - Поддержка пометки задачи как выполненной
@@ -22,7 +29,7 @@
  * Используется контроллером TaskController для реализации API.
  * 
  * @example
- * TaskService service = new TaskService(new InMemoryTaskRepository());
+ * TaskService service = TaskService.initialize(new InMemoryTaskRepository(), null);
  * service.createOneTask(\"Fix bug\", false, LocalDateTime.now().plusDays(1));
  * 
  * @see ITaskService
@@ -40,8 +47,15 @@ package com.chyvacheck.tasktracker.service;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.time.LocalDateTime;
 
 /**
@@ -50,8 +64,15 @@ import java.time.LocalDateTime;
 import com.chyvacheck.tasktracker.core.base.BaseService;
 import com.chyvacheck.tasktracker.core.response.service.ServiceProcessType;
 import com.chyvacheck.tasktracker.core.response.service.ServiceResponse;
+import com.chyvacheck.tasktracker.core.system.MutationPipeline;
+import com.chyvacheck.tasktracker.core.system.jfr.ServiceEvent;
+import com.chyvacheck.tasktracker.core.system.tracing.Span;
+import com.chyvacheck.tasktracker.core.system.tracing.Tracer;
+import com.chyvacheck.tasktracker.filesystem.TaskDocument;
 import com.chyvacheck.tasktracker.repository.ITaskRepository;
+import com.chyvacheck.tasktracker.model.ExpectedVersion;
 import com.chyvacheck.tasktracker.model.Task;
+import com.chyvacheck.tasktracker.model.TaskField;
 
 /**
  * Сервис для работы с задачами.
@@ -60,6 +81,8 @@ public class TaskService extends BaseService implements ITaskService {
 
 	private static TaskService instance;
 	private final ITaskRepository repository;
+	private final MutationPipeline pipeline;
+	private final AtomicLong version = new AtomicLong();
 
 	/**
 	 * * Constructor
@@ -69,10 +92,12 @@ public class TaskService extends BaseService implements ITaskService {
 	 * Конструктор сервиса задач.
 	 *
 	 * @param repository репозиторий для работы с задачами
+	 * @param pipeline   конвейер изменений; {@code null} — изменения выполняются на вызывающем потоке
 	 */
-	protected TaskService(ITaskRepository repository) {
+	protected TaskService(ITaskRepository repository, MutationPipeline pipeline) {
 		super(TaskService.class);
 		this.repository = repository;
+		this.pipeline = pipeline;
 	}
 
 	/**
@@ -87,15 +112,16 @@ public class TaskService extends BaseService implements ITaskService {
 	 * {@link IllegalStateException}.
 	 *
 	 * @param repository репозиторий задач, необходимый для работы сервиса
+	 * @param pipeline   конвейер изменений; {@code null} — изменения выполняются на вызывающем потоке
 	 * @return инициализированный экземпляр TaskService
 	 * @throws IllegalStateException если сервис уже был инициализирован
 	 */
-	public static TaskService initialize(ITaskRepository repository) {
+	public static TaskService initialize(ITaskRepository repository, MutationPipeline pipeline) {
 		if (instance != null) {
 			throw new IllegalStateException("TaskService already initialized!");
 		}
 
-		TaskService.instance = new TaskService(repository);
+		TaskService.instance = new TaskService(repository, pipeline);
 		return instance;
 	}
 
@@ -129,13 +155,34 @@ public class TaskService extends BaseService implements ITaskService {
 	 * @return список всех задач
 	 */
 	public ServiceResponse<List<Task>> getAllTasks() {
-		this.info("get all tasks", null);
-
-		List<Task> tasks = repository.getAllTask().stream()
-				.sorted(Comparator.comparingLong(Task::getId))
-				.toList();
+		return getAllTasks(TaskField.ALL);
+	}
 
-		return new ServiceResponse<>(ServiceProcessType.FOUND, tasks);
+	/**
+	 * Получить список всех задач, прочитав из хранилища только указанные поля
+	 * (и {@code id} для сортировки).
+	 *
+	 * @param fields поля, которые нужны вызывающему коду
+	 * @return список всех задач
+	 */
+	public ServiceResponse<List<Task>> getAllTasks(Set<TaskField> fields) {
+		ServiceEvent event = ServiceEvent.start("getAllTasks", -1);
+		Span span = Tracer.span("service", "getAllTasks");
+		try {
+			this.info("get all tasks", null);
+
+			Set<TaskField> read = EnumSet.of(TaskField.ID);
+			read.addAll(fields);
+
+			List<Task> tasks = repository.getAllTask(read).stream()
+					.sorted(Comparator.comparingLong(Task::getId))
+					.toList();
+
+			return new ServiceResponse<>(ServiceProcessType.FOUND, tasks);
+		} finally {
+			span.end();
+			event.finish();
+		}
 	}
 
 	/**
@@ -146,11 +193,30 @@ public class TaskService extends BaseService implements ITaskService {
 	 * @return список задач
 	 */
 	public ServiceResponse<List<Task>> getTasksByCompletionStatus(boolean completed) {
-		this.info("get all tasks", Map.of("completed", completed));
-
-		List<Task> tasks = repository.getTasksByCompletionStatus(completed);
+		return getTasksByCompletionStatus(completed, TaskField.ALL);
+	}
 
-		return new ServiceResponse<>(ServiceProcessType.FOUND, tasks);
+	/**
+	 * Получить список задач по статусу выполнения, прочитав из хранилища только указанные поля.
+	 *
+	 * @param completed true — только выполненные задачи; false — только
+	 *                  невыполненные
+	 * @param fields    поля, которые нужны вызывающему коду
+	 * @return список задач
+	 */
+	public ServiceResponse<List<Task>> getTasksByCompletionStatus(boolean completed, Set<TaskField> fields) {
+		ServiceEvent event = ServiceEvent.start("getTasksByCompletionStatus", -1);
+		Span span = Tracer.span("service", "getTasksByCompletionStatus");
+		try {
+			this.info("get all tasks", Map.of("completed", completed));
+
+			List<Task> tasks = repository.getTasksByCompletionStatus(completed, fields);
+
+			return new ServiceResponse<>(ServiceProcessType.FOUND, tasks);
+		} finally {
+			span.end();
+			event.finish();
+		}
 	}
 
 	/**
@@ -160,17 +226,65 @@ public class TaskService extends BaseService implements ITaskService {
 	 * @return задача, если найдена; иначе Optional.empty()
 	 */
 	public Optional<ServiceResponse<Task>> getOneTaskById(long id) {
-		this.info("get one task", Map.of("id", id));
+		return getOneTaskById(id, TaskField.ALL);
+	}
+
+	/**
+	 * Получить задачу по её ID, прочитав из хранилища только указанные поля.
+	 *
+	 * @param id     идентификатор задачи
+	 * @param fields поля, которые нужны вызывающему коду
+	 * @return задача, если найдена; иначе Optional.empty()
+	 */
+	public Optional<ServiceResponse<Task>> getOneTaskById(long id, Set<TaskField> fields) {
+		ServiceEvent event = ServiceEvent.start("getOneTaskById", id);
+		Span span = Tracer.span("service", "getOneTaskById");
+		try {
+			this.info("get one task", Map.of("id", id));
+
+			Optional<Task> taskOpt = repository.getOneTaskById(id, fields);
+
+			if (taskOpt.isEmpty()) {
+				return Optional.empty();
+			}
 
-		Optional<Task> taskOpt = repository.getOneTaskById(id);
+			Task task = taskOpt.get();
 
-		if (taskOpt.isEmpty()) {
-			return Optional.empty();
+			return Optional.of(new ServiceResponse<>(ServiceProcessType.FOUND, task));
+		} finally {
+			span.end();
+			event.finish();
 		}
+	}
 
-		Task task = taskOpt.get();
+	/**
+	 * Открыть сохранённый документ задачи для отдачи без разбора.
+	 *
+	 * @param id идентификатор задачи
+	 * @return документ, либо Optional.empty(), если задача не найдена или репозиторий не хранит документы
+	 */
+	@Override
+	public Optional<TaskDocument> openTaskDocument(long id) {
+		ServiceEvent event = ServiceEvent.start("openTaskDocument", id);
+		Span span = Tracer.span("service", "openTaskDocument");
+		try {
+			this.info("open task document", Map.of("id", id));
+
+			return repository.openTaskDocument(id);
+		} finally {
+			span.end();
+			event.finish();
+		}
+	}
 
-		return Optional.of(new ServiceResponse<>(ServiceProcessType.FOUND, task));
+	/**
+	 * Может ли репозиторий отдавать сохранённые документы задач.
+	 *
+	 * @return true, если документы поддерживаются
+	 */
+	@Override
+	public boolean hasTaskDocuments() {
+		return repository.hasTaskDocuments();
 	}
 
 	/**
@@ -186,6 +300,23 @@ public class TaskService extends BaseService implements ITaskService {
 	 * @return созданная задача
 	 */
 	public ServiceResponse<Task> createOneTask(String title, boolean complete, LocalDateTime deadline) {
+		return join(this.submitCreateOneTask(title, complete, deadline));
+	}
+
+	/**
+	 * Опубликовать создание задачи, не дожидаясь его.
+	 *
+	 * @param title    название задачи
+	 * @param complete статус выполнения задачи
+	 * @param deadline дедлайн задачи
+	 * @return future созданной задачи
+	 */
+	@Override
+	public CompletableFuture<ServiceResponse<Task>> submitCreateOneTask(String title, boolean complete,
+			LocalDateTime deadline) {
+		ServiceEvent event = ServiceEvent.start("createOneTask", -1);
+		Span span = Tracer.span("service", "createOneTask");
+
 		Map<String, Object> details = new HashMap<>();
 		details.put("title", title);
 		details.put("complete", complete);
@@ -193,9 +324,11 @@ public class TaskService extends BaseService implements ITaskService {
 
 		this.info("create one task", details);
 
-		Task task = repository.createOneTask(title, complete, deadline);
-
-		return new ServiceResponse<>(ServiceProcessType.CREATED, task);
+		return finish(this.mutate(() -> {
+			Task created = repository.createOneTask(title, complete, deadline);
+			this.version.incrementAndGet();
+			return new ServiceResponse<>(ServiceProcessType.CREATED, created);
+		}), span, event);
 	}
 
 	/**
@@ -210,33 +343,62 @@ public class TaskService extends BaseService implements ITaskService {
 	 * Если задача успешно завершена в результате вызова, процесс будет
 	 * {@link ServiceProcessType#UPDATED}.
 	 * Если задача с указанным ID не найдена, возвращается {@link Optional#empty()}.
+	 * Если версия задачи не равна ожидаемой, бросается {@code TaskVersionMismatchException}.
 	 *
-	 * @param id идентификатор задачи для завершения
+	 * @param id              идентификатор задачи для завершения
+	 * @param expectedVersion ожидаемая версия задачи или {@link ExpectedVersion#ANY}
 	 * @return Optional с {@link ServiceResponse}, содержащим результат выполнения
 	 *         операции
 	 */
 	@Override
-	public Optional<ServiceResponse<Task>> completeOneTaskById(long id) {
+	public Optional<ServiceResponse<Task>> completeOneTaskById(long id, ExpectedVersion expectedVersion) {
+		return join(this.submitCompleteOneTaskById(id, expectedVersion));
+	}
+
+	/**
+	 * Опубликовать завершение задачи, не дожидаясь его.
+	 *
+	 * @param id              идентификатор задачи для завершения
+	 * @param expectedVersion ожидаемая версия задачи или {@link ExpectedVersion#ANY}
+	 * @return future результата
+	 */
+	@Override
+	public CompletableFuture<Optional<ServiceResponse<Task>>> submitCompleteOneTaskById(long id,
+			ExpectedVersion expectedVersion) {
+		ServiceEvent event = ServiceEvent.start("completeOneTaskById", id);
+		Span span = Tracer.span("service", "completeOneTaskById");
+
 		this.info("complete one task", Map.of("id", id));
 
-		Optional<Task> taskOpt = repository.getOneTaskById(id);
+		return finish(this.mutate(() -> {
+			AtomicBoolean changed = new AtomicBoolean();
 
-		if (taskOpt.isEmpty()) {
-			return Optional.empty();
-		}
+			Optional<Task> taskOpt = repository.update(id, expectedVersion, task -> {
+				if (task.isCompleted()) {
+					return null;
+				}
 
-		Task task = taskOpt.get();
+				task.markAsCompleted();
+				changed.set(true);
+				return task;
+			});
 
-		if (task.isCompleted()) {
-			this.info("task already completed", Map.of("id", id));
-			return Optional.of(new ServiceResponse<>(ServiceProcessType.NOTHING, task));
-		}
+			if (taskOpt.isEmpty()) {
+				return Optional.<ServiceResponse<Task>>empty();
+			}
 
-		task.markAsCompleted();
-		repository.saveTask(task);
+			Task task = taskOpt.get();
 
-		this.info("task marked as complete", Map.of("id", id));
-		return Optional.of(new ServiceResponse<>(ServiceProcessType.UPDATED, task));
+			if (!changed.get()) {
+				this.info("task already completed", Map.of("id", id));
+				return Optional.of(new ServiceResponse<>(ServiceProcessType.NOTHING, task));
+			}
+
+			this.version.incrementAndGet();
+
+			this.info("task marked as complete", Map.of("id", id));
+			return Optional.of(new ServiceResponse<>(ServiceProcessType.UPDATED, task));
+		}), span, event);
 	}
 
 	/**
@@ -244,18 +406,119 @@ public class TaskService extends BaseService implements ITaskService {
 	 */
 
 	/**
-	 * Удалить задачу по её ID.
+	 * Удалить задачу по её ID, если её версия равна ожидаемой.
 	 *
-	 * @param id идентификатор задачи
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия задачи или {@link ExpectedVersion#ANY}
 	 * @return Optional содержащий удалённую задачу в обёртке ServiceResponse, если
 	 *         задача была найдена; иначе Optional.empty()
 	 */
 	@Override
-	public Optional<ServiceResponse<Task>> deleteOneTaskById(long id) {
+	public Optional<ServiceResponse<Task>> deleteOneTaskById(long id, ExpectedVersion expectedVersion) {
+		return join(this.submitDeleteOneTaskById(id, expectedVersion));
+	}
+
+	/**
+	 * Опубликовать удаление задачи, не дожидаясь его.
+	 *
+	 * @param id              идентификатор задачи
+	 * @param expectedVersion ожидаемая версия задачи или {@link ExpectedVersion#ANY}
+	 * @return future удалённой задачи
+	 */
+	@Override
+	public CompletableFuture<Optional<ServiceResponse<Task>>> submitDeleteOneTaskById(long id,
+			ExpectedVersion expectedVersion) {
+		ServiceEvent event = ServiceEvent.start("deleteOneTaskById", id);
+		Span span = Tracer.span("service", "deleteOneTaskById");
+
 		this.info("Delete task by id", Map.of("id", id));
 
-		Optional<Task> taskOpt = repository.deleteTaskById(id);
+		return finish(this.mutate(() -> {
+			Optional<Task> deleted = repository.deleteTaskById(id, expectedVersion);
+			if (deleted.isPresent()) {
+				this.version.incrementAndGet();
+			}
+			return deleted.map(task -> new ServiceResponse<>(ServiceProcessType.DELETED, task));
+		}), span, event);
+	}
+
+	/**
+	 * Выполняются ли изменения конвейером с единственным писателем.
+	 *
+	 * @return true, если конвейер передан
+	 */
+	@Override
+	public boolean hasMutationPipeline() {
+		return this.pipeline != null;
+	}
+
+	/**
+	 * ? Version
+	 */
+
+	/**
+	 * Версия набора задач: увеличивается при создании, завершении и удалении задачи.
+	 *
+	 * @return текущая версия
+	 */
+	@Override
+	public long getVersion() {
+		return this.version.get();
+	}
+
+	/**
+	 * Опубликовать изменение в конвейер изменений (или выполнить сразу, если конвейера нет).
+	 *
+	 * @param mutation изменение
+	 * @param <T>      тип результата
+	 * @return future изменения
+	 */
+	private <T> CompletableFuture<T> mutate(Supplier<T> mutation) {
+		if (this.pipeline != null) {
+			return this.pipeline.submit(mutation);
+		}
 
-		return taskOpt.map(task -> new ServiceResponse<>(ServiceProcessType.DELETED, task));
+		try {
+			return CompletableFuture.completedFuture(mutation.get());
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	/**
+	 * Закрыть спан и JFR-событие операции, когда завершится её future.
+	 *
+	 * @param future future операции
+	 * @param span   спан слоя {@code service}
+	 * @param event  JFR-событие операции
+	 * @param <T>    тип результата
+	 * @return future операции
+	 */
+	private static <T> CompletableFuture<T> finish(CompletableFuture<T> future, Span span, ServiceEvent event) {
+		return future.whenComplete((result, error) -> {
+			span.end();
+			event.finish();
+		});
+	}
+
+	/**
+	 * Дождаться изменения; исключение изменения пробрасывается как есть.
+	 *
+	 * @param future future изменения
+	 * @param <T>    тип результата
+	 * @return результат изменения
+	 */
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
 	}
 }
@@ -0,0 +1,120 @@
+/**
+ * @file ConfigUtil.java
+ *
+ * @description
+ * Утилитный класс для чтения параметров конфигурации приложения.
+ *
+ * @details
+ * Значение ищется в следующем порядке:
+ * - системное свойство JVM ({@code -Dtasktracker.repository.instrumented=true})
+ * - переменная окружения ({@code TASKTRACKER_REPOSITORY_INSTRUMENTED=true}), имя получается заменой
+ *   точек и дефисов на подчёркивания и переводом в верхний регистр
+ * - значение по умолчанию
+ *
+ * Некорректные значения не роняют приложение — используется значение по умолчанию.
+ *
+ * @usage
+ * long threshold = ConfigUtil.getLong("tasktracker.slow.thresholdMs", 500);
+ *
+ * @author
+ * Dmytro Shakh
+ */
+
+package com.chyvacheck.tasktracker.utils;
+
+/**
+ * ! java imports
+ */
+import java.util.Locale;
+
+/**
+ * ! my imports
+ */
+import com.chyvacheck.tasktracker.core.base.BaseUtil;
+
+/**
+ * Утилита для чтения параметров конфигурации.
+ */
+public class ConfigUtil extends BaseUtil {
+
+	/**
+	 * Получить строковое значение параметра.
+	 *
+	 * @param key          имя параметра
+	 * @param defaultValue значение по умолчанию
+	 * @return значение параметра или значение по умолчанию
+	 */
+	public static String getString(String key, String defaultValue) {
+		String value = System.getProperty(key);
+
+		if (value == null) {
+			value = System.getenv(toEnvironmentName(key));
+		}
+
+		return (value == null || value.isBlank()) ? defaultValue : value.trim();
+	}
+
+	/**
+	 * Получить логическое значение параметра.
+	 *
+	 * @param key          имя параметра
+	 * @param defaultValue значение по умолчанию
+	 * @return значение параметра или значение по умолчанию
+	 */
+	public static boolean getBoolean(String key, boolean defaultValue) {
+		String value = getString(key, null);
+		return value == null ? defaultValue : Boolean.parseBoolean(value);
+	}
+
+	/**
+	 * Получить целочисленное значение параметра.
+	 *
+	 * @param key          имя параметра
+	 * @param defaultValue значение по умолчанию
+	 * @return значение параметра или значение по умолчанию
+	 */
+	public static long getLong(String key, long defaultValue) {
+		String value = getString(key, null);
+
+		if (value == null) {
+			return defaultValue;
+		}
+
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * Получить дробное значение параметра.
+	 *
+	 * @param key          имя параметра
+	 * @param defaultValue значение по умолчанию
+	 * @return значение параметра или значение по умолчанию
+	 */
+	public static double getDouble(String key, double defaultValue) {
+		String value = getString(key, null);
+
+		if (value == null) {
+			return defaultValue;
+		}
+
+		try {
+			return Double.parseDouble(value);
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * Преобразовать имя параметра в имя переменной окружения.
+	 *
+	 * @param key имя параметра (например, {@code tasktracker.repository.instrumented})
+	 * @return имя переменной окружения (например, {@code TASKTRACKER_REPOSITORY_INSTRUMENTED})
+	 */
+	private static String toEnvironmentName(String key) {
+		return key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+	}
+}